@@ -0,0 +1,85 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds the settings of the asynchronous range loading of a calendar.
+ */
+@SuppressWarnings("serial")
+class AsyncRangeLoading implements Serializable {
+
+  private boolean enabled;
+
+  private Duration timeout;
+
+  private transient Executor executor;
+
+  boolean isEnabled() {
+    return enabled;
+  }
+
+  void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  Duration getTimeout() {
+    return timeout;
+  }
+
+  void setTimeout(Duration timeout) {
+    if (timeout != null && (timeout.isNegative() || timeout.isZero())) {
+      throw new IllegalArgumentException("Timeout must be positive");
+    }
+    this.timeout = timeout;
+  }
+
+  Executor getExecutor() {
+    return executor != null ? executor : DefaultExecutorHolder.EXECUTOR;
+  }
+
+  void setExecutor(Executor executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * Lazily created default executor, running each range load on its own virtual thread when the
+   * JVM supports them (JDK 21+), or on a cached pool of daemon threads otherwise.
+   */
+  private static class DefaultExecutorHolder {
+
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    private static final ExecutorService EXECUTOR = createExecutor();
+
+    private static ExecutorService createExecutor() {
+      try {
+        return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+            .invoke(null);
+      } catch (ReflectiveOperationException e) {
+        return Executors.newCachedThreadPool(runnable -> {
+          Thread thread = new Thread(runnable, "vcf-schedule-x-range-" + COUNTER.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+      }
+    }
+  }
+}
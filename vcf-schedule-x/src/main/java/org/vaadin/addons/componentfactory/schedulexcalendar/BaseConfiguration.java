@@ -13,10 +13,21 @@
  */
 package org.vaadin.addons.componentfactory.schedulexcalendar;
 
-class BaseConfiguration {
+import elemental.json.Json;
+import elemental.json.JsonObject;
+import elemental.json.JsonValue;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+abstract class BaseConfiguration {
 
   BaseScheduleXCalendar calendar;
 
+  /**
+   * Properties changed since the last patch was sent to the client.
+   */
+  private final Set<String> changedProperties = new LinkedHashSet<>();
+
   BaseScheduleXCalendar getCalendar() {
     return calendar;
   }
@@ -34,4 +45,51 @@ class BaseConfiguration {
     }
   }
 
+  /**
+   * For properties the client can apply to the rendered calendar without recreating it.
+   *
+   * @param property the name of the changed property in the JSON of the configuration
+   */
+  void runPatch(String property) {
+    if (this.calendar != null) {
+      changedProperties.add(property);
+      this.calendar.patchConfiguration(this);
+    }
+  }
+
+  /**
+   * Returns the changed properties with their current values, and forgets them. Returns null if a
+   * changed property was cleared, as the defaults are only applied when the calendar is created.
+   */
+  JsonObject takePatch() {
+    if (changedProperties.isEmpty()) {
+      return Json.createObject();
+    }
+    JsonObject json = getPatchableJson();
+    JsonObject patch = Json.createObject();
+    for (String property : changedProperties) {
+      if (!json.hasKey(property)) {
+        changedProperties.clear();
+        return null;
+      }
+      patch.put(property, json.<JsonValue>get(property));
+    }
+    changedProperties.clear();
+    return patch;
+  }
+
+  /**
+   * Returns the JSON the changed properties are read from.
+   */
+  JsonObject getPatchableJson() {
+    return Json.parse(getJson());
+  }
+
+  /**
+   * Returns the name of the connector function applying the patches of this configuration.
+   */
+  abstract String getPatchFunction();
+
+  public abstract String getJson();
+
 }
@@ -34,4 +34,15 @@ class BaseConfigurationSection {
     }
   }
 
+  /**
+   * For properties the client can apply to the rendered calendar without recreating it.
+   *
+   * @param property the name of the section in the JSON of the configuration
+   */
+  void runPatch(String property) {
+    if (this.configuration != null) {
+      this.configuration.runPatch(property);
+    }
+  }
+
 }
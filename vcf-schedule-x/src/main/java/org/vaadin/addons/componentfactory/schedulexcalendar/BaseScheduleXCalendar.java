@@ -21,28 +21,50 @@ import com.vaadin.flow.component.ComponentUtil;
 import com.vaadin.flow.component.DetachEvent;
 import com.vaadin.flow.component.DomEvent;
 import com.vaadin.flow.component.EventData;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
 import com.vaadin.flow.component.dependency.CssImport;
 import com.vaadin.flow.component.dependency.NpmPackage;
 import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.page.ExtendedClientDetails;
 import com.vaadin.flow.data.provider.CallbackDataProvider;
 import com.vaadin.flow.data.provider.Query;
 import com.vaadin.flow.function.SerializableRunnable;
+import com.vaadin.flow.internal.Pair;
 import com.vaadin.flow.shared.Registration;
 import elemental.json.Json;
 import elemental.json.JsonArray;
 import elemental.json.JsonObject;
+import elemental.json.JsonValue;
+import java.io.Serializable;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.vaadin.addons.componentfactory.schedulexcalendar.Configuration.DayBoundaries;
+import org.vaadin.addons.componentfactory.schedulexcalendar.Configuration.ICal;
 import org.vaadin.addons.componentfactory.schedulexcalendar.Configuration.MonthGridOptions;
 import org.vaadin.addons.componentfactory.schedulexcalendar.Configuration.WeekOptions;
 import org.vaadin.addons.componentfactory.schedulexcalendar.model.Calendar;
@@ -50,7 +72,9 @@ import org.vaadin.addons.componentfactory.schedulexcalendar.model.Event;
 import org.vaadin.addons.componentfactory.schedulexcalendar.model.EventQueryFilter;
 import org.vaadin.addons.componentfactory.schedulexcalendar.util.CalendarViewType;
 import org.vaadin.addons.componentfactory.schedulexcalendar.util.DateTimeFormatUtils;
+import org.vaadin.addons.componentfactory.schedulexcalendar.util.JsonWriter;
 import org.vaadin.addons.componentfactory.schedulexcalendar.util.LocaleUtils;
+import org.vaadin.addons.componentfactory.schedulexcalendar.util.RangeBucket;
 import org.vaadin.addons.componentfactory.schedulexcalendar.util.ResourceViewType;
 import org.vaadin.addons.componentfactory.schedulexcalendar.util.ViewType;
 
@@ -62,13 +86,17 @@ import org.vaadin.addons.componentfactory.schedulexcalendar.util.ViewType;
 @NpmPackage(value = "@schedule-x/scroll-controller", version = "4.4.0")
 @NpmPackage(value = "@schedule-x/calendar-controls", version = "4.4.0")
 @NpmPackage(value = "@schedule-x/event-recurrence", version = "4.4.0")
-@NpmPackage(value = "@schedule-x/ical", version = "4.4.0")
 @CssImport("@schedule-x/theme-default/dist/index.css")
 @CssImport("./styles/vcf-schedule-x-calendar-styles.css")
 public abstract class BaseScheduleXCalendar extends Div {
 
   private boolean calendarRendered;
 
+  /**
+   * Actions waiting for the calendar to be rendered, run in the order they were requested.
+   */
+  private final List<SerializableRunnable> renderedActions = new ArrayList<>();
+
   /**
    * Views available to the user.
    */
@@ -98,7 +126,94 @@ public abstract class BaseScheduleXCalendar extends Div {
    */
   protected Div container;
 
-  private Registration refreshRegistration;
+  /**
+   * Whether the calendar must be recreated on the client with the current configuration.
+   */
+  private boolean refreshRequired;
+
+  /**
+   * The configurations with changes to patch into the rendered calendar.
+   */
+  private final Set<BaseConfiguration> patchedConfigurations = new LinkedHashSet<>();
+
+  /**
+   * The flush of the configuration changes scheduled before the client response, or null.
+   */
+  private Registration configurationFlush;
+
+  /**
+   * Changes to the events collected since {@link #beginUpdate()}, or null if not updating.
+   */
+  private EventChangeSet changeSet;
+
+  private Registration changeSetCommit;
+
+  /**
+   * Optional cache of the events fetched from the data provider.
+   */
+  private EventRangeCache eventCache;
+
+  /**
+   * Settings for prefetching the periods adjacent to the visible range.
+   */
+  private final RangePrefetcher prefetcher = new RangePrefetcher();
+
+  /**
+   * Number of events fetched and sent to the client at once, 0 to fetch all events at once.
+   */
+  private int fetchPageSize;
+
+  /**
+   * Whether range events are sent to the client in the compact columnar encoding.
+   */
+  private boolean compactEventEncoding;
+
+  /**
+   * Whether range events are converted to the time zone of the calendar on the server.
+   */
+  private boolean serverSideEventNormalization;
+
+  private transient EventNormalizer eventNormalizer;
+
+  /**
+   * Whether recurring events are expanded into occurrences on the server.
+   */
+  private boolean serverSideRecurrenceExpansion;
+
+  /**
+   * The range last requested by the client, used to expand the recurring events changed through
+   * the event methods, or null before the first request.
+   */
+  private LocalDateTime visibleRangeStart;
+
+  private LocalDateTime visibleRangeEnd;
+
+  /**
+   * The parsed events of the iCalendar source of the configuration.
+   */
+  private transient ICalEventSource iCalEventSource;
+
+  /**
+   * Whether the details of the browser, holding its time zone, have been requested.
+   */
+  private boolean browserTimeZoneRequested;
+
+  /**
+   * Settings for loading the events of a range outside the session lock.
+   */
+  private final AsyncRangeLoading asyncRangeLoading = new AsyncRangeLoading();
+
+  /**
+   * The latest range requested by the client.
+   */
+  private RangeRequest currentRangeRequest;
+
+  /**
+   * The events held by the client, used to send ranges as a diff.
+   */
+  private final ClientEventMirror clientEvents = new ClientEventMirror();
+
+  private int prefetchCounter;
 
   public BaseScheduleXCalendar(List<? extends ViewType> views,
       CallbackDataProvider<Event, EventQueryFilter> dataProvider, Configuration configuration) {
@@ -108,6 +223,14 @@ public abstract class BaseScheduleXCalendar extends Div {
     this.dataProvider = dataProvider;
     this.configuration = configuration;
     this.configuration.setCalendar(this);
+    this.getElement().addEventListener("calendar-rendered", ev -> {
+      calendarRendered = true;
+      List<SerializableRunnable> actions = new ArrayList<>(renderedActions);
+      renderedActions.clear();
+      actions.forEach(SerializableRunnable::run);
+      // changes made while the calendar was being created on the client are flushed once rendered
+      scheduleConfigurationFlush();
+    });
   }
 
   public BaseScheduleXCalendar(List<? extends ViewType> views,
@@ -122,16 +245,19 @@ public abstract class BaseScheduleXCalendar extends Div {
     container.setId("calendar-container-" + String.valueOf(this.hashCode()));
     container.setClassName("vcf-schedule-x-calendar");
     container.setSizeFull();
+    if (serverSideRecurrenceExpansion) {
+      container.getElement().setProperty("serverSideRecurrence", true);
+    }
   }
 
   @Override
   protected void onAttach(AttachEvent attachEvent) {
     super.onAttach(attachEvent);
+    this.clientEvents.clear();
+    // the calendar is created with the current configuration
+    this.discardConfigurationChanges();
     this.initCalendar(false);
-    addCalendarRenderedListener(() -> {
-      // This listener ensures that `calendarRendered` is true after initial render
-      // and subsequent calls to executeOnCalendarRendered will run immediately.
-    });
+    scheduleCommit();
   }
 
   /**
@@ -140,37 +266,92 @@ public abstract class BaseScheduleXCalendar extends Div {
   protected abstract void initCalendar(boolean refreshView);  
 
   /**
-   * Schedule a calendar re-initialization to be called before the client response.
+   * Refreshes the calendar by re-initializing it with the most current configuration. This triggers
+   * a rebuild of the calendar component on the client side.
+   * <p>
+   * The rebuild happens once before the client response, however many times the calendar is
+   * refreshed or its configuration changed during the request. While the calendar is detached, it
+   * is created with the current configuration on attach.
+   * </p>
    */
-  private void requireRefresh() {
-    getUI().ifPresent(ui -> {
-      if (refreshRegistration != null) {
-        refreshRegistration.remove();
-      }
-      if (this.isAttached()) {
-        refreshRegistration = ui.beforeClientResponse(this, context -> {
-          initCalendar(this.view != null && this.view != this.configuration.getDefaultView());
-        });
-      }
-    });    
+  public void refreshCalendar() {
+    refreshRequired = true;
+    scheduleConfigurationFlush();
   }
 
   /**
-   * Refreshes the calendar by re-initializing it with the most current configuration. This triggers
-   * a rebuild of the calendar component on the client side.
+   * Applies the properties of the given configuration changed since the last patch to the
+   * rendered calendar, without recreating it. The calendar is refreshed instead when a property
+   * cannot be applied on the client.
    */
-  public void refreshCalendar() {
-    this.getElement().executeJs("return").then(e -> {
-      if(calendarRendered) {
-        this.calendarRendered = false;
-        this.remove(container);
-        this.initCalendarContainer();
-        this.add(container);
-        this.requireRefresh();
+  void patchConfiguration(BaseConfiguration configuration) {
+    patchedConfigurations.add(configuration);
+    scheduleConfigurationFlush();
+  }
+
+  private void scheduleConfigurationFlush() {
+    if (configurationFlush != null || !refreshRequired && patchedConfigurations.isEmpty()) {
+      return;
+    }
+    getUI().filter(ui -> isAttached()).ifPresent(ui -> configurationFlush =
+        ui.beforeClientResponse(this, context -> flushConfigurationChanges()));
+  }
+
+  /**
+   * Sends the configuration changes of the request to the client: a single rebuild of the
+   * calendar when one is required, otherwise a patch per changed configuration.
+   */
+  private void flushConfigurationChanges() {
+    configurationFlush = null;
+    if (!calendarRendered || !isAttached()) {
+      // flushed once rendered, or dropped on attach
+      return;
+    }
+    Map<BaseConfiguration, JsonObject> patches = new LinkedHashMap<>();
+    for (BaseConfiguration patched : patchedConfigurations) {
+      JsonObject patch = patched.takePatch();
+      refreshRequired |= patch == null;
+      patches.put(patched, patch);
+    }
+    patchedConfigurations.clear();
+    if (refreshRequired) {
+      refreshRequired = false;
+      recreateCalendar();
+      return;
+    }
+    patches.forEach((patched, patch) -> {
+      if (patch.keys().length > 0) {
+        this.getElement()
+            .executeJs("return " + getJsConnector() + "." + patched.getPatchFunction() + "($0, $1)",
+                this.container, patch)
+            .then(Boolean.class, applied -> {
+              if (!Boolean.TRUE.equals(applied)) {
+                refreshCalendar();
+              }
+            });
       }
     });
   }
 
+  private void recreateCalendar() {
+    this.calendarRendered = false;
+    this.remove(container);
+    this.initCalendarContainer();
+    this.add(container);
+    clientEvents.clear();
+    initCalendar(this.view != null && this.view != this.configuration.getDefaultView());
+  }
+
+  private void discardConfigurationChanges() {
+    refreshRequired = false;
+    patchedConfigurations.forEach(BaseConfiguration::takePatch);
+    patchedConfigurations.clear();
+    if (configurationFlush != null) {
+      configurationFlush.remove();
+      configurationFlush = null;
+    }
+  }
+
   protected String viewsToJson() {
     JsonArray jsonArray = Json.createArray();
     for (int i = 0; i < views.size(); i++) {
@@ -180,11 +361,16 @@ public abstract class BaseScheduleXCalendar extends Div {
   }
 
   protected String eventsToJson(LocalDateTime start, LocalDateTime end) {
-    List<Event> events = dataProvider
-        .fetch(new Query<>(0, Integer.MAX_VALUE, null, null, new EventQueryFilter(start, end)))
-        .toList();
-    return events != null ? String.format("[%s]",
-        events.stream().map(event -> event.getJson()).collect(Collectors.joining(","))) : "";
+    return eventsToJson(fetchEvents(start, end));
+  }
+
+  private String eventsToJson(List<Event> events) {
+    if (events == null) {
+      return "";
+    }
+    JsonWriter writer = new JsonWriter().beginArray();
+    events.forEach(event -> event.writeJson(writer));
+    return writer.endArray().toString();
   }
 
   protected String configurationToJson() {
@@ -192,59 +378,1008 @@ public abstract class BaseScheduleXCalendar extends Div {
   }
 
   /**
-   * Serialize all calendars as a JSON object. Example: { "personal": { ... }, "work": { ... } }
+   * Serialize all calendars as a JSON object. Example: { "personal": { ... }, "work": { ... } }
+   */
+  protected String calendarsToJson() {
+    if (calendars == null || calendars.isEmpty()) {
+      return "{}";
+    }
+    JsonWriter writer = new JsonWriter().beginObject();
+    calendars.forEach((id, calendar) -> calendar.writeJson(writer.name(id)));
+    return writer.endObject().toString();
+  }
+
+  public CallbackDataProvider<Event, EventQueryFilter> getDataProvider() {
+    return dataProvider;
+  }
+
+  public void setDataProvider(CallbackDataProvider<Event, EventQueryFilter> dataProvider) {
+    this.dataProvider = dataProvider;
+    if (eventCache != null) {
+      eventCache.invalidateAll();
+    }
+  }
+
+  /**
+   * Returns the events of the given range, answering from the event cache when one is set.
+   * 
+   * @param start the start of the range
+   * @param end the end of the range
+   * @return the events of the range
+   */
+  protected List<Event> fetchEvents(LocalDateTime start, LocalDateTime end) {
+    return fetchEvents(start, end, getView(), createRangeRequest(0, getFetchedResourceIds()));
+  }
+
+  /**
+   * Returns the events of the given range. May run on a background thread, so the state it
+   * depends on is taken from the request, which captured it when the range was requested.
+   */
+  private List<Event> fetchEvents(LocalDateTime start, LocalDateTime end, ViewType rangeView,
+      RangeRequest request) {
+    List<Event> events = request.eventCache == null
+        ? fetchFromDataProvider(request, start, end, request.resourceIds)
+        : request.eventCache.getEvents(start, end, RangeBucket.of(rangeView),
+            request.firstDayOfWeek,
+            (rangeStart, rangeEnd) -> fetchFromDataProvider(request, rangeStart, rangeEnd, null));
+    List<Event> iCalEvents =
+        request.iCalSource == null ? List.of() : request.iCalSource.getEvents(start, end);
+    if (!iCalEvents.isEmpty()) {
+      List<Event> merged = new ArrayList<>(events);
+      merged.addAll(iCalEvents);
+      events = merged;
+    }
+    return expandRecurringEvents(request, filterByResource(events, request.resourceIds), start,
+        end);
+  }
+
+  /**
+   * Returns the ids of the resources whose events are fetched, or null to fetch the events of all
+   * resources. The ids are passed to the data provider in
+   * {@link EventQueryFilter#getResourceIds()}, unless an event cache is set, and the events of
+   * other resources are left out even if the data provider returns them. Returns null by default.
+   * <p>
+   * Called on the session thread when a range is requested. The ranges may then be fetched on a
+   * background thread, so the returned set must not be modified afterwards.
+   * </p>
+   *
+   * @return the ids of the resources, or null for all resources
+   */
+  protected Set<String> getFetchedResourceIds() {
+    return null;
+  }
+
+  /**
+   * Leaves out the events of the resources not in the given set. Events without resource are
+   * kept.
+   */
+  private static List<Event> filterByResource(List<Event> events, Set<String> resourceIds) {
+    if (resourceIds == null) {
+      return events;
+    }
+    return events.stream()
+        .filter(event -> event.getResourceId() == null
+            || resourceIds.contains(event.getResourceId()))
+        .toList();
+  }
+
+  private static List<Event> expandRecurringEvents(RangeRequest request, List<Event> events,
+      LocalDateTime start, LocalDateTime end) {
+    return request.serverSideRecurrenceExpansion ? RecurrenceExpander.expand(events, start, end)
+        : events;
+  }
+
+  /**
+   * Returns the iCalendar source of the configuration, or null if none. The source is parsed once
+   * and kept until it or the time zone of the calendar changes. Must be called on the session
+   * thread, the ranges fetched on a background thread get the source resolved when requested.
+   */
+  private ICalEventSource getICalEventSource() {
+    ICal iCal = configuration.getiCal();
+    if (iCal == null || iCal.getiCal() == null) {
+      return null;
+    }
+    // without a time zone, the events are shown in the one of the browser
+    ZoneId zone =
+        Optional.ofNullable(configuration.getTimeZone()).orElseGet(this::getBrowserTimeZone);
+    ICalEventSource source = iCalEventSource;
+    if (source == null || !source.isFor(iCal.getiCal(), zone)) {
+      source = ICalEventSource.of(iCal.getiCal(), zone);
+      iCalEventSource = source;
+    }
+    return source;
+  }
+
+  /**
+   * Returns the time zone of the browser. Until the details of the browser are retrieved, the one
+   * of the server is the best guess, and the calendar is refreshed once they are if the iCalendar
+   * source was parsed for another time zone.
+   */
+  private ZoneId getBrowserTimeZone() {
+    UI ui = getUI().orElse(null);
+    if (ui == null) {
+      return ZoneId.systemDefault();
+    }
+    ExtendedClientDetails details = ui.getInternals().getExtendedClientDetails();
+    if (details != null) {
+      return toZoneId(details);
+    }
+    if (!browserTimeZoneRequested) {
+      browserTimeZoneRequested = true;
+      ui.getPage().retrieveExtendedClientDetails(retrieved -> {
+        ICal iCal = configuration.getiCal();
+        ICalEventSource source = iCalEventSource;
+        if (source != null && iCal != null && configuration.getTimeZone() == null
+            && !source.isFor(iCal.getiCal(), toZoneId(retrieved))) {
+          iCalEventSource = null;
+          refreshCalendar();
+        }
+      });
+    }
+    return ZoneId.systemDefault();
+  }
+
+  private static ZoneId toZoneId(ExtendedClientDetails details) {
+    try {
+      return details.getTimeZoneId() != null ? ZoneId.of(details.getTimeZoneId())
+          : ZoneId.systemDefault();
+    } catch (DateTimeException e) {
+      return ZoneId.systemDefault();
+    }
+  }
+
+  private static List<Event> fetchFromDataProvider(RangeRequest request, LocalDateTime start,
+      LocalDateTime end, Set<String> resourceIds) {
+    if (request.fetchPageSize <= 0) {
+      return request.dataProvider.fetch(new Query<>(0, Integer.MAX_VALUE, null, null,
+          createFilter(request, start, end, resourceIds))).toList();
+    }
+    List<Event> events = new ArrayList<>();
+    forEachProviderPage(request, start, end, resourceIds, (page, last) -> events.addAll(page));
+    return events;
+  }
+
+  /**
+   * Passes the events of the given range to the consumer, one page at a time. Pages are fetched
+   * from the data provider through offset and limit, unless the range is answered by the event
+   * cache, in which case the cached events are split into pages. The events of the iCalendar
+   * source, if any, are passed last.
+   */
+  private void forEachEventPage(LocalDateTime start, LocalDateTime end, ViewType rangeView,
+      RangeRequest request, EventPageConsumer consumer) {
+    Set<String> resourceIds = request.resourceIds;
+    if (request.eventCache == null && request.fetchPageSize > 0) {
+      List<Event> iCalEvents = request.iCalSource == null ? List.of()
+          : expandRecurringEvents(request,
+              filterByResource(request.iCalSource.getEvents(start, end), resourceIds), start,
+              end);
+      forEachProviderPage(request, start, end, resourceIds,
+          (page, last) -> consumer.accept(
+              expandRecurringEvents(request, filterByResource(page, resourceIds), start, end),
+              last && iCalEvents.isEmpty()));
+      if (!iCalEvents.isEmpty()) {
+        forEachPage(request, iCalEvents, consumer);
+      }
+      return;
+    }
+    forEachPage(request, fetchEvents(start, end, rangeView, request), consumer);
+  }
+
+  private static void forEachPage(RangeRequest request, List<Event> events,
+      EventPageConsumer consumer) {
+    int pageSize = request.fetchPageSize;
+    if (pageSize <= 0 || events.size() <= pageSize) {
+      consumer.accept(events, true);
+      return;
+    }
+    for (int from = 0; from < events.size(); from += pageSize) {
+      int to = Math.min(from + pageSize, events.size());
+      consumer.accept(events.subList(from, to), to == events.size());
+    }
+  }
+
+  /**
+   * Passes the events of the given range fetched from the data provider to the consumer, one page
+   * at a time. A provider ignoring the offset and limit of the query is queried at most twice: a
+   * page larger than the limit is taken as all the events of the range, and a page starting with
+   * the same event as the previous one as a repeat of it, which ends the range.
+   */
+  private static void forEachProviderPage(RangeRequest request, LocalDateTime start,
+      LocalDateTime end, Set<String> resourceIds, EventPageConsumer consumer) {
+    EventQueryFilter filter = createFilter(request, start, end, resourceIds);
+    int pageSize = request.fetchPageSize;
+    int offset = 0;
+    String previousFirstId = null;
+    while (true) {
+      List<Event> page =
+          request.dataProvider.fetch(new Query<>(offset, pageSize, null, null, filter)).toList();
+      if (previousFirstId != null && !page.isEmpty()
+          && previousFirstId.equals(page.get(0).getId())) {
+        // the provider ignores the offset, the previous page already held all the events
+        consumer.accept(List.of(), true);
+        return;
+      }
+      // a shorter page is the last one, a larger one means the provider ignores the limit
+      boolean last = page.size() != pageSize;
+      consumer.accept(page, last);
+      if (last) {
+        return;
+      }
+      previousFirstId = page.get(0).getId();
+      offset += pageSize;
+    }
+  }
+
+  private static EventQueryFilter createFilter(RangeRequest request, LocalDateTime start,
+      LocalDateTime end, Set<String> resourceIds) {
+    EventQueryFilter filter = new EventQueryFilter(start, end);
+    // the event cache holds the events of whole ranges, whatever else the filter would restrict
+    if (request.eventCache == null) {
+      filter.setResourceIds(resourceIds);
+    }
+    return filter;
+  }
+
+  @FunctionalInterface
+  private interface EventPageConsumer {
+    void accept(List<Event> page, boolean last);
+  }
+
+  /**
+   * Sets the number of events fetched from the data provider and sent to the client at once.
+   * When set, the events of a range are requested page by page through the offset and limit of
+   * the query, and each page is sent to the client as soon as it is serialized, so the client
+   * renders the range progressively. The data provider must then return the events in a stable
+   * order. Set to 0 to fetch all the events of a range with a single query (default).
+   * 
+   * @param fetchPageSize the number of events per page, or 0 to disable paging
+   */
+  public void setFetchPageSize(int fetchPageSize) {
+    if (fetchPageSize < 0) {
+      throw new IllegalArgumentException("Fetch page size must not be negative");
+    }
+    this.fetchPageSize = fetchPageSize;
+  }
+
+  /**
+   * Returns the number of events fetched from the data provider and sent to the client at once.
+   * 
+   * @return the number of events per page, or 0 if paging is disabled
+   */
+  public int getFetchPageSize() {
+    return fetchPageSize;
+  }
+
+  /**
+   * Sets whether the events of ranges are sent to the client in a compact columnar encoding
+   * instead of one JSON object per event. The compact encoding sends each property as a column,
+   * repeated strings such as calendar and resource ids, people or CSS classes only once, and
+   * start and end as minute offsets from the range start, which considerably reduces the payload
+   * of ranges with thousands of events. The connector expands it into the same events. Fractions
+   * of seconds of the start and end are not sent. Defaults to false.
+   * 
+   * @param compactEventEncoding true to send the events of ranges in the compact encoding
+   */
+  public void setCompactEventEncoding(boolean compactEventEncoding) {
+    this.compactEventEncoding = compactEventEncoding;
+  }
+
+  /**
+   * Returns whether the events of ranges are sent to the client in the compact encoding.
+   * 
+   * @return true if the compact encoding is used
+   */
+  public boolean isCompactEventEncoding() {
+    return compactEventEncoding;
+  }
+
+  /**
+   * Sets whether the events of ranges are converted to the time zone of the calendar on the
+   * server. The connector then only parses the start and end of the events instead of converting
+   * them, and shows the events spanning a whole day as all-day events in the day and week views
+   * without inspecting their times, which saves considerable client CPU time for ranges with
+   * thousands of events. The converted events are cached until they change.
+   * <p>
+   * Only applies when a time zone is set in the configuration. The events added or updated through
+   * the event methods are normalized as well. Ranges sent in the compact event encoding are not,
+   * as the encoding sends local minute offsets, converted by the connector. Defaults to false.
+   * 
+   * @param serverSideEventNormalization true to convert the events of ranges on the server
+   */
+  public void setServerSideEventNormalization(boolean serverSideEventNormalization) {
+    this.serverSideEventNormalization = serverSideEventNormalization;
+    if (!serverSideEventNormalization) {
+      eventNormalizer = null;
+    }
+  }
+
+  /**
+   * Returns whether the events of ranges are converted to the time zone of the calendar on the
+   * server.
+   * 
+   * @return true if the events of ranges are converted on the server
+   */
+  public boolean isServerSideEventNormalization() {
+    return serverSideEventNormalization;
+  }
+
+  /**
+   * Sets whether recurring events are expanded into occurrences on the server. When enabled, only
+   * the occurrences overlapping the requested range are sent to the client, as plain events, and
+   * the recurrence plugin of the client is not used, which saves the client from expanding every
+   * recurring event on each navigation. All the rule parts supported by
+   * {@link org.vaadin.addons.componentfactory.schedulexcalendar.util.CompiledRecurrenceRule} are
+   * honored, and the excluded dates are applied on the server.
+   * <p>
+   * Each occurrence gets an id derived from the id of its recurring event and its original start,
+   * such as <code>standup#20250106T090000</code>, which stays the same from one range to the
+   * next. The events fired for occurrences, such as {@link EventUpdateEvent} on drag and drop or
+   * resize, carry that id, and {@link EventUpdateEvent#getRecurringEventId()} and
+   * {@link EventUpdateEvent#getOccurrenceStart()} map it back to the recurring event.
+   * </p>
+   * <p>
+   * Recurring events added, updated or removed through the event methods are expanded for the
+   * visible range, and sent as batch changes. Changing this setting on a rendered calendar
+   * recreates it on the client. Defaults to false.
+   * </p>
+   * 
+   * @param serverSideRecurrenceExpansion true to expand recurring events on the server
+   */
+  public void setServerSideRecurrenceExpansion(boolean serverSideRecurrenceExpansion) {
+    if (this.serverSideRecurrenceExpansion == serverSideRecurrenceExpansion) {
+      return;
+    }
+    this.serverSideRecurrenceExpansion = serverSideRecurrenceExpansion;
+    container.getElement().setProperty("serverSideRecurrence", serverSideRecurrenceExpansion);
+    if (calendarRendered) {
+      refreshCalendar();
+    }
+  }
+
+  /**
+   * Returns whether recurring events are expanded into occurrences on the server.
+   * 
+   * @return true if recurring events are expanded on the server
+   */
+  public boolean isServerSideRecurrenceExpansion() {
+    return serverSideRecurrenceExpansion;
+  }
+
+  private EventNormalizer getEventNormalizer() {
+    ZoneId timeZone = configuration.getTimeZone();
+    if (!serverSideEventNormalization || timeZone == null) {
+      return null;
+    }
+    if (eventNormalizer == null || !timeZone.equals(eventNormalizer.getZone())) {
+      eventNormalizer = new EventNormalizer(timeZone);
+    }
+    return eventNormalizer;
+  }
+
+  /**
+   * Encodes the given events for the client, in the compact encoding or normalized if enabled
+   * when the range was requested.
+   *
+   * @param request the request of the range the events belong to
+   * @param events the events to encode
+   * @param base the start of the range the events belong to
+   * @return the encoded events
+   */
+  private static JsonValue encodeEvents(RangeRequest request, Collection<Event> events,
+      LocalDateTime base) {
+    EventNormalizer normalizer = request.eventNormalizer;
+    if (request.compactEventEncoding) {
+      return CompactEventEncoder.encode(events, base);
+    }
+    JsonArray array = Json.createArray();
+    if (normalizer == null) {
+      events.forEach(event -> array.set(array.length(), event.toJsonObject()));
+      return array;
+    }
+    events.forEach(event -> array.set(array.length(), normalizer.normalize(event)));
+    JsonObject normalized = Json.createObject();
+    normalized.put("normalized", true);
+    normalized.put("events", array);
+    return normalized;
+  }
+
+  /**
+   * Sets the cache used to answer range requests of the calendar. When set, the ranges requested
+   * by the client are snapped to day, week or month buckets depending on the view in display, and
+   * only the buckets not cached yet are fetched from the data provider. Pass {@code null} to
+   * disable caching (default).
+   * 
+   * <p>
+   * Events added, updated or removed through this component invalidate the cache automatically.
+   * Changes made directly to the backing data must be reported to the cache.
+   * </p>
+   * 
+   * @param eventCache the cache to use, or null to disable caching
+   */
+  public void setEventCache(EventRangeCache eventCache) {
+    this.eventCache = eventCache;
+  }
+
+  /**
+   * Returns the cache used to answer range requests of the calendar.
+   * 
+   * @return the event cache, or null if caching is disabled
+   */
+  public EventRangeCache getEventCache() {
+    return eventCache;
+  }
+
+  private void invalidateCachedEvent(Event event) {
+    if (eventCache == null) {
+      return;
+    }
+    if (event.getRecurrenceRule() != null || event.getStart() == null
+        || event.getEnd() == null) {
+      eventCache.invalidateAll();
+    } else {
+      eventCache.invalidateEvent(event.getId());
+      eventCache.invalidateRange(event.getStart(), event.getEnd());
+    }
+  }
+
+  /**
+   * Returns current calendar configuration.
+   * 
+   * @return the configuration of the calendar
+   */
+  public Configuration getConfiguration() {
+    return configuration;
+  }
+
+  @Override
+  protected void onDetach(DetachEvent detachEvent) {
+    super.onDetach(detachEvent);
+    this.getElement().removeAllChildren();
+    this.clientEvents.clear();
+  }
+
+  /**
+   * Handles a range update on client side.
+   * 
+   * @param start the start of the visible range
+   * @param end the end of the visible range
+   * @param viewName the name of the view in display, may be null
+   * @param prefetchId the id of the prefetched range the client already rendered, or 0
+   * @param seq the sequence number of the request, echoed back with the events of the range
+   */
+  @ClientCallable
+  void updateRange(String start, String end, String viewName, int prefetchId, int seq) {
+    handleRangeUpdate(start, end, viewName, prefetchId, seq);
+  }
+  
+  /**
+   * Sends a page of the diff of a range to the client: the events the client does not hold yet
+   * or holds in another version, and, with the last page, the ids of the events no longer in the
+   * range. The client does not render the pages of requests superseded by a newer one.
+   */
+  void sendRangePage(JsonValue events, JsonArray removedIds, String start, String end,
+      boolean first, boolean last, int seq) {
+    this.container.getElement().executeJs(
+        getJsConnector() + ".onRangeChunk($0, $1, $2, $3, $4, $5, $6, $7);", this.container,
+        events, removedIds, start, end, first, last, seq);
+  }
+  
+  @ClientCallable
+  void updateResourceSchedulerRange(String start, String end, String viewName, int prefetchId,
+      int seq) {
+    handleRangeUpdate(start, end, viewName, prefetchId, seq);
+  }
+
+  /**
+   * Handles a range request of the client. A new request supersedes the previous one: loads still
+   * in flight are cancelled and, when several requests arrive in the same round trip, only the
+   * last one is answered.
+   */
+  private void handleRangeUpdate(String start, String end, String viewName, int prefetchId,
+      int seq) {
+    if (currentRangeRequest != null) {
+      currentRangeRequest.cancel();
+    }
+    RangeRequest request = createRangeRequest(seq, getFetchedResourceIds());
+    currentRangeRequest = request;
+    this.container.getElement().removeAttribute("loading");
+
+    LocalDateTime startDate = LocalDateTime.parse(start, DateTimeFormatter.ISO_DATE_TIME);
+    LocalDateTime endDate = LocalDateTime.parse(end, DateTimeFormatter.ISO_DATE_TIME);
+    visibleRangeStart = startDate;
+    visibleRangeEnd = endDate;
+    ViewType rangeView = Optional.ofNullable(viewName).map(BaseScheduleXCalendar::findViewType)
+        .orElseGet(this::getView);
+    UI ui = getUI().orElse(null);
+    // the adjacent periods are prefetched once the events of the visible range are sent
+    if (prefetchId > 0) {
+      // the client added the prefetched events to the ones it holds, the others are removed
+      JsonArray removedIds = Json.createArray();
+      clientEvents.applyPrefetch(prefetchId)
+          .forEach(id -> removedIds.set(removedIds.length(), id));
+      if (removedIds.length() > 0) {
+        sendRangePage(Json.createArray(), removedIds, start, end, false, false, seq);
+      }
+      prefetchAdjacentRanges(request, rangeView, startDate, endDate);
+    } else if (ui == null) {
+      loadRange(request, startDate, endDate, rangeView, start, end);
+    } else if (asyncRangeLoading.isEnabled()) {
+      loadRangeAsync(ui, request, startDate, endDate, rangeView, start, end);
+    } else {
+      request.deferredLoad = ui.beforeClientResponse(this,
+          context -> loadRange(request, startDate, endDate, rangeView, start, end));
+    }
+  }
+
+  /**
+   * Loads the events of the given range and sends them to the client, then prefetches the
+   * adjacent periods.
+   */
+  private void loadRange(RangeRequest request, LocalDateTime startDate, LocalDateTime endDate,
+      ViewType rangeView, String start, String end) {
+    boolean[] first = {true};
+    Set<String> rangeEventIds = new HashSet<>();
+    forEachEventPage(startDate, endDate, rangeView, request, (page, last) -> {
+      sendRangeDiff(request, serialize(page), rangeEventIds, startDate, start, end, first[0],
+          last);
+      first[0] = false;
+    });
+    prefetchAdjacentRanges(request, rangeView, startDate, endDate);
+  }
+
+  /**
+   * Sends the events of the given resources in the range last requested by the client, as a page
+   * of that range: the client adds them to the events it holds without firing
+   * {@link CalendarEventsAddedEvent}. Used when resources are loaded after the range was sent.
+   *
+   * @param resourceIds the ids of the resources
+   */
+  void sendRangeEventsOf(Set<String> resourceIds) {
+    RangeRequest request = currentRangeRequest;
+    if (request == null || visibleRangeStart == null) {
+      return;
+    }
+    RangeRequest resourcesRequest = createRangeRequest(request.seq, resourceIds);
+    List<Event> events = new ArrayList<>();
+    serialize(fetchEvents(visibleRangeStart, visibleRangeEnd, getView(), resourcesRequest))
+        .forEach((id, event) -> {
+          request.sentEventIds.add(id);
+          if (clientEvents.update(id, event.getJson())) {
+            events.add(event);
+          }
+        });
+    if (!events.isEmpty()) {
+      sendRangePage(encodeEvents(resourcesRequest, events, visibleRangeStart),
+          Json.createArray(), visibleRangeStart.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME),
+          visibleRangeEnd.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME), false, false,
+          request.seq);
+    }
+  }
+
+  /**
+   * Serializes the given events, so the serialization happens on the calling thread and the
+   * cached JSON of the events is used later on.
+   * 
+   * @return the events by id
+   */
+  private static Map<String, Event> serialize(List<Event> events) {
+    Map<String, Event> serialized = new LinkedHashMap<>();
+    events.forEach(event -> {
+      event.toJsonObject();
+      serialized.put(event.getId(), event);
+    });
+    return serialized;
+  }
+
+  /**
+   * Sends the diff of a page of a range against the events held by the client.
+   * 
+   * @param page the serialized events of the page by id
+   * @param rangeEventIds the ids of the events of the range sent so far, updated by this call
+   */
+  private void sendRangeDiff(RangeRequest request, Map<String, Event> page,
+      Set<String> rangeEventIds, LocalDateTime startDate, String start, String end, boolean first,
+      boolean last) {
+    // null removed ids make the client drop all its events, when their ids are no longer known
+    boolean reset = first && clientEvents.beginRange();
+    List<Event> events = new ArrayList<>();
+    page.forEach((id, event) -> {
+      rangeEventIds.add(id);
+      if (clientEvents.update(id, event.getJson())) {
+        events.add(event);
+      }
+    });
+    JsonArray removedIds = Json.createArray();
+    if (last) {
+      rangeEventIds.addAll(request.sentEventIds);
+      clientEvents.retainAll(rangeEventIds)
+          .forEach(id -> removedIds.set(removedIds.length(), id));
+    }
+    sendRangePage(encodeEvents(request, events, startDate),
+        reset ? null : removedIds, start, end, first, last, request.seq);
+  }
+
+  /**
+   * Loads the events of the given range on the range loading executor, without holding the
+   * session lock, and delivers each page to the client through {@link UI#access}. The container
+   * is marked as loading until the range is completely delivered or the loading fails.
+   */
+  private void loadRangeAsync(UI ui, RangeRequest request, LocalDateTime startDate,
+      LocalDateTime endDate, ViewType rangeView, String start, String end) {
+    Div target = this.container;
+    target.getElement().setAttribute("loading", true);
+
+    CompletableFuture<Void> future;
+    try {
+      future = CompletableFuture.runAsync(() -> {
+        if (request.isCancelled()) {
+          // superseded while waiting for the executor
+          throw new CancellationException();
+        }
+        boolean[] first = {true};
+        Set<String> rangeEventIds = new HashSet<>();
+        forEachEventPage(startDate, endDate, rangeView, request, (page, last) -> {
+          if (request.isCancelled()) {
+            throw new CancellationException();
+          }
+          Map<String, Event> serialized = serialize(page);
+          boolean firstPage = first[0];
+          first[0] = false;
+          ui.access(() -> {
+            if (!request.isCancelled() && target == this.container) {
+              sendRangeDiff(request, serialized, rangeEventIds, startDate, start, end, firstPage,
+                  last);
+            }
+          });
+        });
+      }, asyncRangeLoading.getExecutor());
+    } catch (RejectedExecutionException e) {
+      future = CompletableFuture.failedFuture(e);
+    }
+
+    Duration timeout = asyncRangeLoading.getTimeout();
+    if (timeout != null) {
+      future = future.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    future.whenComplete((result, error) -> {
+      if (error == null || request.isCancelled()) {
+        if (error == null) {
+          completeRangeLoad(ui, request, target, rangeView, startDate, endDate);
+        }
+        return;
+      }
+      request.cancel();
+      Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+      try {
+        ui.access(() -> {
+          if (target == this.container && request == currentRangeRequest) {
+            target.getElement().removeAttribute("loading");
+            ComponentUtil.fireEvent(this, new RangeLoadErrorEvent(this, startDate, endDate, cause,
+                cause instanceof TimeoutException));
+          }
+        });
+      } catch (UIDetachedException e) {
+        // nothing to report to a detached UI
+      }
+    });
+  }
+
+  /**
+   * Removes the loading state of a range delivered asynchronously, then prefetches the adjacent
+   * periods.
+   */
+  private void completeRangeLoad(UI ui, RangeRequest request, Div target, ViewType rangeView,
+      LocalDateTime startDate, LocalDateTime endDate) {
+    try {
+      ui.access(() -> {
+        if (target == this.container && request == currentRangeRequest) {
+          target.getElement().removeAttribute("loading");
+          prefetchAdjacentRanges(request, rangeView, startDate, endDate);
+        }
+      });
+    } catch (UIDetachedException e) {
+      // nothing to update in a detached UI
+    }
+  }
+
+  /**
+   * Creates a request for a range, capturing the state the range is fetched and encoded with.
+   * Must be called on the session thread.
+   *
+   * @param seq the sequence number of the request
+   * @param resourceIds the ids of the resources whose events are fetched, or null for all
+   */
+  private RangeRequest createRangeRequest(int seq, Set<String> resourceIds) {
+    return new RangeRequest(seq, dataProvider, eventCache,
+        RangeBucket.toDayOfWeek(configuration.getFirstDayOfWeek()), fetchPageSize,
+        compactEventEncoding, serverSideRecurrenceExpansion, resourceIds, getEventNormalizer(),
+        getICalEventSource());
+  }
+
+  /**
+   * A range request of the client, identified by the sequence number assigned by the client.
+   * <p>
+   * The state the range is fetched and encoded with is captured when the range is requested, as
+   * the range may be fetched on a background thread, which must not read the state of the
+   * component without holding the session lock.
+   * </p>
+   */
+  private static class RangeRequest implements Serializable {
+
+    private final int seq;
+
+    private final CallbackDataProvider<Event, EventQueryFilter> dataProvider;
+
+    private final EventRangeCache eventCache;
+
+    private final DayOfWeek firstDayOfWeek;
+
+    private final int fetchPageSize;
+
+    private final boolean compactEventEncoding;
+
+    private final boolean serverSideRecurrenceExpansion;
+
+    /**
+     * The ids of the resources whose events are fetched, or null for all.
+     */
+    private final Set<String> resourceIds;
+
+    /**
+     * The normalizer of the events of the range, or null if they are not normalized.
+     */
+    private final EventNormalizer eventNormalizer;
+
+    /**
+     * The iCalendar source of the configuration, or null if none.
+     */
+    private final ICalEventSource iCalSource;
+
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    /**
+     * The ids of the events of the range sent outside its pages, kept by the client when the last
+     * page arrives. Only accessed on the session thread.
+     */
+    private final Set<String> sentEventIds = new HashSet<>();
+
+    private Registration deferredLoad;
+
+    RangeRequest(int seq, CallbackDataProvider<Event, EventQueryFilter> dataProvider,
+        EventRangeCache eventCache, DayOfWeek firstDayOfWeek, int fetchPageSize,
+        boolean compactEventEncoding, boolean serverSideRecurrenceExpansion,
+        Set<String> resourceIds, EventNormalizer eventNormalizer, ICalEventSource iCalSource) {
+      this.seq = seq;
+      this.dataProvider = dataProvider;
+      this.eventCache = eventCache;
+      this.firstDayOfWeek = firstDayOfWeek;
+      this.fetchPageSize = fetchPageSize;
+      this.compactEventEncoding = compactEventEncoding;
+      this.serverSideRecurrenceExpansion = serverSideRecurrenceExpansion;
+      this.resourceIds = resourceIds;
+      this.eventNormalizer = eventNormalizer;
+      this.iCalSource = iCalSource;
+    }
+
+    boolean isCancelled() {
+      return cancelled.get();
+    }
+
+    void cancel() {
+      cancelled.set(true);
+      if (deferredLoad != null) {
+        deferredLoad.remove();
+      }
+    }
+  }
+
+  /**
+   * Enables or disables asynchronous range loading. When enabled, the events of the ranges
+   * requested by the client are fetched on the range loading executor, without holding the
+   * session lock, so a slow data provider does not block the other interactions of the UI. The
+   * events are delivered through {@link UI#access(com.vaadin.flow.server.Command)}, so server push
+   * must be enabled. Meanwhile, the calendar container has the {@code loading} attribute. Failures
+   * and timeouts are reported through {@link RangeLoadErrorEvent}. Disabled by default.
+   * 
+   * <p>
+   * The data provider is called from a background thread without the session being locked.
+   * </p>
+   * 
+   * @param asyncRangeLoading true to load ranges asynchronously
+   */
+  public void setAsyncRangeLoading(boolean asyncRangeLoading) {
+    this.asyncRangeLoading.setEnabled(asyncRangeLoading);
+  }
+
+  /**
+   * Returns whether ranges are loaded asynchronously.
+   * 
+   * @return true if ranges are loaded asynchronously
+   */
+  public boolean isAsyncRangeLoading() {
+    return asyncRangeLoading.isEnabled();
+  }
+
+  /**
+   * Sets the executor running the asynchronous range loads. By default, each load runs on its own
+   * virtual thread when the JVM supports them (JDK 21+), or on a shared pool of daemon threads
+   * otherwise.
+   * 
+   * @param executor the executor to use, or null for the default one
+   */
+  public void setRangeLoadingExecutor(Executor executor) {
+    asyncRangeLoading.setExecutor(executor);
+  }
+
+  /**
+   * Sets the maximum time an asynchronous range load may take before it is abandoned and a
+   * {@link RangeLoadErrorEvent} is fired.
+   * 
+   * @param timeout the timeout, or null for no timeout (default)
+   */
+  public void setRangeLoadingTimeout(Duration timeout) {
+    asyncRangeLoading.setTimeout(timeout);
+  }
+
+  /**
+   * Returns the maximum time an asynchronous range load may take.
+   * 
+   * @return the timeout, or null if there is no timeout
+   */
+  public Duration getRangeLoadingTimeout() {
+    return asyncRangeLoading.getTimeout();
+  }
+
+  /**
+   * Fetches the periods adjacent to the given range in the background and pushes them to the
+   * client, so navigating to them renders without waiting for the data provider.
+   */
+  private void prefetchAdjacentRanges(RangeRequest request, ViewType rangeView,
+      LocalDateTime start, LocalDateTime end) {
+    UI ui = getUI().orElse(null);
+    if (ui == null || !prefetcher.isEnabled(rangeView)) {
+      return;
+    }
+    List<Pair<LocalDateTime, LocalDateTime>> ranges =
+        prefetcher.getAdjacentRanges(rangeView, start, end, request.firstDayOfWeek);
+    Div target = this.container;
+    try {
+      prefetcher.getExecutor().execute(() -> {
+        for (Pair<LocalDateTime, LocalDateTime> range : ranges) {
+          if (request.isCancelled()) {
+            // the user already moved on, the adjacent periods are no longer relevant
+            return;
+          }
+          Map<String, Event> serialized;
+          try {
+            serialized =
+                serialize(fetchEvents(range.getFirst(), range.getSecond(), rangeView, request));
+          } catch (RuntimeException e) {
+            // prefetching is best effort, the range is fetched again when displayed
+            return;
+          }
+          JsonValue events = encodeEvents(request, serialized.values(), range.getFirst());
+          Map<String, Long> versions = new HashMap<>();
+          serialized.forEach(
+              (id, event) -> versions.put(id, ClientEventMirror.version(event.getJson())));
+          try {
+            ui.access(() -> {
+              if (target == this.container) {
+                int prefetchId = ++prefetchCounter;
+                clientEvents.recordPrefetch(prefetchId, versions);
+                target.getElement().executeJs(
+                    getJsConnector() + ".onPrefetch($0, $1, $2, $3, $4);", target, events,
+                    range.getFirst().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME),
+                    range.getSecond().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME), prefetchId);
+              }
+            });
+          } catch (UIDetachedException e) {
+            return;
+          }
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      // prefetching is best effort, the range is fetched again when displayed
+    }
+  }
+
+  /**
+   * Enables or disables prefetching of the periods adjacent to the visible range. When enabled,
+   * after the events of the visible range are sent to the client, the previous and next periods
+   * are fetched in the background and pushed to the client ahead of time, so navigating forwards
+   * or backwards renders without waiting for the data provider. Disabled by default.
+   * 
+   * <p>
+   * The period is a day, a week or a month depending on the calendar view in display, and the
+   * visible span for the resource views. Prefetched events are delivered through
+   * {@link UI#access(com.vaadin.flow.server.Command)}, so server push must be enabled for them to
+   * reach the client before the user navigates. The data provider is called from a background
+   * thread without the session being locked.
+   * </p>
+   * 
+   * @param prefetchEnabled true to enable prefetching for all views
+   */
+  public void setPrefetchEnabled(boolean prefetchEnabled) {
+    prefetcher.setEnabled(prefetchEnabled);
+  }
+
+  /**
+   * Returns whether prefetching of the adjacent periods is enabled by default.
+   * 
+   * @return true if prefetching is enabled
+   */
+  public boolean isPrefetchEnabled() {
+    return prefetcher.isEnabled();
+  }
+
+  /**
+   * Enables or disables prefetching of the adjacent periods for the given view, overriding
+   * {@link #setPrefetchEnabled(boolean)}.
+   * 
+   * @param view the view to configure
+   * @param prefetchEnabled true to enable prefetching for the view
+   */
+  public void setPrefetchEnabled(ViewType view, boolean prefetchEnabled) {
+    prefetcher.setEnabled(view, prefetchEnabled);
+  }
+
+  /**
+   * Returns whether prefetching of the adjacent periods is enabled for the given view.
+   * 
+   * @param view the view to check
+   * @return true if prefetching is enabled for the view
    */
-  protected String calendarsToJson() {
-    if (calendars == null || calendars.isEmpty()) {
-      return "{}";
-    }
-    JsonObject calendarJson = Json.createObject();
-    calendars.forEach((id, calendar) -> calendarJson.put(id, calendar.toJsonObject()));
-    return calendarJson.toJson();
+  public boolean isPrefetchEnabled(ViewType view) {
+    return prefetcher.isEnabled(view);
   }
 
-  public CallbackDataProvider<Event, EventQueryFilter> getDataProvider() {
-    return dataProvider;
+  /**
+   * Sets how many periods before and after the visible range are prefetched. Defaults to 1.
+   * 
+   * @param depth the number of periods to prefetch in each direction
+   */
+  public void setPrefetchDepth(int depth) {
+    prefetcher.setDepth(depth);
   }
 
-  public void setDataProvider(CallbackDataProvider<Event, EventQueryFilter> dataProvider) {
-    this.dataProvider = dataProvider;
+  /**
+   * Returns how many periods before and after the visible range are prefetched by default.
+   * 
+   * @return the number of periods prefetched in each direction
+   */
+  public int getPrefetchDepth() {
+    return prefetcher.getDepth();
   }
 
   /**
-   * Returns current calendar configuration.
+   * Sets how many periods before and after the visible range are prefetched for the given view,
+   * overriding {@link #setPrefetchDepth(int)}.
    * 
-   * @return the configuration of the calendar
+   * @param view the view to configure
+   * @param depth the number of periods to prefetch in each direction
    */
-  public Configuration getConfiguration() {
-    return configuration;
+  public void setPrefetchDepth(ViewType view, int depth) {
+    prefetcher.setDepth(view, depth);
   }
 
-  @Override
-  protected void onDetach(DetachEvent detachEvent) {
-    super.onDetach(detachEvent);
-    this.getElement().removeAllChildren();
+  /**
+   * Returns how many periods before and after the visible range are prefetched for the given view.
+   * 
+   * @param view the view to check
+   * @return the number of periods prefetched in each direction
+   */
+  public int getPrefetchDepth(ViewType view) {
+    return prefetcher.getDepth(view);
   }
 
-  @ClientCallable
-  void updateRange(String start, String end) {
-    LocalDateTime startDate = LocalDateTime.parse(start, DateTimeFormatter.ISO_DATE_TIME);
-    LocalDateTime endDate = LocalDateTime.parse(end, DateTimeFormatter.ISO_DATE_TIME);
-    String events = eventsToJson(startDate, endDate);
-    updateRange(events, start, end);
-  }
-  
-  void updateRange(String events, String start, String end) {
-    this.container.getElement().executeJs(getJsConnector() + ".onUpdateRange($0, $1, $2, $3);",
-        this.container, events, start, end);
-  }
-  
-  @ClientCallable
-  void updateResourceSchedulerRange(String start, String end){
-    LocalDateTime startDate = LocalDateTime.parse(start, DateTimeFormatter.ISO_DATE_TIME);
-    LocalDateTime endDate = LocalDateTime.parse(end, DateTimeFormatter.ISO_DATE_TIME);
-    String events = eventsToJson(startDate, endDate);
-    updateRange(events, start, end);
+  /**
+   * Sets the executor running the prefetch tasks. By default, a shared pool of low-priority daemon
+   * threads is used.
+   * 
+   * @param executor the executor to use, or null for the default one
+   */
+  public void setPrefetchExecutor(Executor executor) {
+    prefetcher.setExecutor(executor);
   }
 
   protected abstract String getJsConnector();
@@ -545,23 +1680,22 @@ public abstract class BaseScheduleXCalendar extends Div {
     return configuration.getMonthGridOptions();
   }
 
+  /**
+   * Records that the client holds an event in a version unknown to the server, such as an event
+   * drawn on the client.
+   */
+  void onClientEventChanged(String eventId) {
+    clientEvents.touch(eventId);
+  }
+
   private void executeOnCalendarRendered(SerializableRunnable runnable) {
     if (!calendarRendered) {
-      addCalendarRenderedListener(runnable);
+      renderedActions.add(runnable);
     } else {
       runnable.run();
     }
   }
 
-  private void addCalendarRenderedListener(SerializableRunnable onRendered) {
-    this.getElement().addEventListener("calendar-rendered", ev -> {
-      if (!calendarRendered) {
-        calendarRendered = true;
-        onRendered.run();
-      }
-    });
-  }
-
   /**
    * Allows to navigate calendar forwards.
    */
@@ -679,9 +1813,24 @@ public abstract class BaseScheduleXCalendar extends Div {
    * @param event calendar event to be added
    */
   public void addEvent(Event event) {
+    invalidateCachedEvent(event);
+    if (changeSet != null) {
+      changeSet.add(event);
+      return;
+    }
     this.executeOnCalendarRendered(() -> {
-      this.getElement().executeJs(getJsConnector() + ".addEvent($0, $1);", this.container,
-          event.getJson());
+      if (serverSideRecurrenceExpansion && RecurrenceExpander.isRecurring(event)) {
+        sendEventChanges(List.of(event), List.of(), List.of());
+        return;
+      }
+      if (!clientEvents.update(event.getId(), event.getJson())) {
+        // the client already holds the event as is
+        return;
+      }
+      EventNormalizer normalizer = getEventNormalizer();
+      this.getElement().executeJs(
+          getJsConnector() + ".addEvent($0, $1" + normalizedArgument(normalizer) + ");",
+          this.container, toClientJson(event, normalizer));
     });
   }
 
@@ -691,6 +1840,21 @@ public abstract class BaseScheduleXCalendar extends Div {
    * @param eventId id of the event to be removed
    */
   public void removeEvent(String eventId) {
+    if (eventCache != null) {
+      eventCache.invalidateEvent(eventId);
+    }
+    if (changeSet != null) {
+      changeSet.remove(eventId);
+      return;
+    }
+    if (holdsOccurrences(eventId)) {
+      sendEventChanges(List.of(), List.of(), List.of(eventId));
+      return;
+    }
+    if (!clientEvents.remove(eventId) && calendarRendered) {
+      // the client does not hold the event
+      return;
+    }
     this.getElement().executeJs(getJsConnector() + ".removeEvent($0, $1);", this.container,
         eventId);
   }
@@ -701,8 +1865,241 @@ public abstract class BaseScheduleXCalendar extends Div {
    * @param event the event to be updated
    */
   public void updateEvent(Event event) {
-    this.getElement().executeJs(getJsConnector() + ".updateEvent($0, $1);", this.container,
-        event.getJson());
+    invalidateCachedEvent(event);
+    if (changeSet != null) {
+      changeSet.update(event);
+      return;
+    }
+    if (serverSideRecurrenceExpansion
+        && (RecurrenceExpander.isRecurring(event) || holdsOccurrences(event.getId()))) {
+      sendEventChanges(List.of(), List.of(event), List.of());
+      return;
+    }
+    if (!clientEvents.update(event.getId(), event.getJson()) && calendarRendered) {
+      // the client already holds the event as is
+      return;
+    }
+    EventNormalizer normalizer = getEventNormalizer();
+    this.getElement().executeJs(
+        getJsConnector() + ".updateEvent($0, $1" + normalizedArgument(normalizer) + ");",
+        this.container, toClientJson(event, normalizer));
+  }
+
+  /**
+   * Adds the given events to the calendar. All the events are sent to the client at once and
+   * added in a single update of the calendar, which then fires a single
+   * {@link CalendarEventsAddedEvent} with the ids of all the events, instead of one
+   * {@link CalendarEventAddedEvent} per event.
+   * 
+   * @param events calendar events to be added
+   */
+  public void addEvents(Collection<Event> events) {
+    List<Event> added = new ArrayList<>(events);
+    added.forEach(this::invalidateCachedEvent);
+    if (changeSet != null) {
+      added.forEach(changeSet::add);
+      return;
+    }
+    this.executeOnCalendarRendered(() -> sendEventChanges(added, List.of(), List.of()));
+  }
+
+  /**
+   * Removes the events with the given ids from the calendar. All the ids are sent to the client
+   * at once, which then fires a single {@link CalendarEventsRemovedEvent}.
+   * 
+   * @param eventIds ids of the events to be removed
+   */
+  public void removeEvents(Collection<String> eventIds) {
+    List<String> removedIds = new ArrayList<>(eventIds);
+    if (eventCache != null) {
+      removedIds.forEach(eventCache::invalidateEvent);
+    }
+    if (changeSet != null) {
+      removedIds.forEach(changeSet::remove);
+      return;
+    }
+    this.executeOnCalendarRendered(() -> sendEventChanges(List.of(), List.of(), removedIds));
+  }
+
+  /**
+   * Updates the given events. All the events are sent to the client at once and updated in a
+   * single update of the calendar, which then fires a single {@link CalendarEventsUpdatedEvent}.
+   * 
+   * @param events the events to be updated
+   */
+  public void updateEvents(Collection<Event> events) {
+    List<Event> updated = new ArrayList<>(events);
+    updated.forEach(this::invalidateCachedEvent);
+    if (changeSet != null) {
+      updated.forEach(changeSet::update);
+      return;
+    }
+    this.executeOnCalendarRendered(() -> sendEventChanges(List.of(), updated, List.of()));
+  }
+
+  /**
+   * Starts collecting the changes made to the events of the calendar through
+   * {@link #addEvent(Event)}, {@link #updateEvent(Event)}, {@link #removeEvent(String)} and their
+   * batch variants, instead of sending each of them to the client. The collected changes are
+   * folded together and sent at once when {@link #commit()} is called, or right before the
+   * response to the client if it was not called: an event added then updated is sent as added,
+   * an event added then removed is not sent at all. As with the batch variants, the client then
+   * fires a single {@link CalendarEventsAddedEvent}, {@link CalendarEventsUpdatedEvent} and
+   * {@link CalendarEventsRemovedEvent} with the ids of the changed events.
+   * <p>
+   * If the calendar is detached, the changes are sent right before the first response after it
+   * is attached, unless committed before. Calling this method while an update is already in
+   * progress has no effect.
+   */
+  public void beginUpdate() {
+    if (changeSet != null) {
+      return;
+    }
+    changeSet = new EventChangeSet();
+    scheduleCommit();
+  }
+
+  /**
+   * Registers the commit of the update in progress before the next client response. While the
+   * calendar is detached, it is registered on attach instead.
+   */
+  private void scheduleCommit() {
+    if (changeSet != null && changeSetCommit == null) {
+      getUI().ifPresent(ui -> changeSetCommit = ui.beforeClientResponse(this, context -> commit()));
+    }
+  }
+
+  /**
+   * Sends the changes collected since {@link #beginUpdate()} to the client and stops collecting
+   * them. Has no effect if no update is in progress.
+   */
+  public void commit() {
+    if (changeSet == null) {
+      return;
+    }
+    EventChangeSet committed = changeSet;
+    changeSet = null;
+    if (changeSetCommit != null) {
+      changeSetCommit.remove();
+      changeSetCommit = null;
+    }
+    if (!committed.isEmpty()) {
+      List<Event> added = committed.getAdded();
+      List<Event> updated = committed.getUpdated();
+      List<String> removedIds = committed.getRemovedIds();
+      this.executeOnCalendarRendered(() -> sendEventChanges(added, updated, removedIds));
+    }
+  }
+
+  /**
+   * Returns whether the changes made to the events are being collected, between
+   * {@link #beginUpdate()} and {@link #commit()}.
+   * 
+   * @return true if an update is in progress
+   */
+  public boolean isUpdateInProgress() {
+    return changeSet != null;
+  }
+
+  /**
+   * Sends the given changes to the client, leaving out the ones that would not change the events
+   * it holds: removals of events it does not hold, and events it already holds as they are.
+   */
+  void sendEventChanges(List<Event> added, List<Event> updated, List<String> removedIds) {
+    if (serverSideRecurrenceExpansion) {
+      // the changed events replace the occurrences the client holds for them
+      Set<String> changedIds = new HashSet<>(removedIds);
+      Set<String> occurrenceIds = new HashSet<>();
+      added = expandChangedEvents(added, changedIds, occurrenceIds);
+      updated = expandChangedEvents(updated, changedIds, occurrenceIds);
+      List<String> removed = new ArrayList<>(removedIds);
+      for (String id : clientEvents.getEventIds()) {
+        String recurringEventId = RecurrenceExpander.getRecurringEventId(id);
+        if (recurringEventId != null && changedIds.contains(recurringEventId)
+            && !occurrenceIds.contains(id)) {
+          removed.add(id);
+        }
+      }
+      removedIds = removed;
+    }
+    JsonArray removedJson = Json.createArray();
+    removedIds.forEach(id -> {
+      if (clientEvents.remove(id) || !calendarRendered) {
+        removedJson.set(removedJson.length(), id);
+      }
+    });
+    EventNormalizer normalizer = getEventNormalizer();
+    JsonArray addedJson = Json.createArray();
+    added.forEach(event -> {
+      if (clientEvents.update(event.getId(), event.getJson()) || !calendarRendered) {
+        addedJson.set(addedJson.length(), toClientJson(event, normalizer));
+      }
+    });
+    JsonArray updatedJson = Json.createArray();
+    updated.forEach(event -> {
+      if (clientEvents.update(event.getId(), event.getJson()) || !calendarRendered) {
+        updatedJson.set(updatedJson.length(), toClientJson(event, normalizer));
+      }
+    });
+    if (addedJson.length() == 0 && updatedJson.length() == 0 && removedJson.length() == 0) {
+      return;
+    }
+    this.getElement().executeJs(getJsConnector() + ".applyEventChanges($0, $1, $2, $3"
+        + normalizedArgument(normalizer) + ");", this.container, addedJson, updatedJson,
+        removedJson);
+  }
+
+  /**
+   * Returns the given event as sent to the client, normalized if a normalizer is given.
+   */
+  private static JsonObject toClientJson(Event event, EventNormalizer normalizer) {
+    return normalizer != null ? normalizer.normalize(event) : event.toJsonObject();
+  }
+
+  /**
+   * Returns the trailing argument telling the connector the events it is passed are normalized.
+   */
+  private static String normalizedArgument(EventNormalizer normalizer) {
+    return normalizer != null ? ", true" : "";
+  }
+
+  /**
+   * Replaces the recurring events by their occurrences in the visible range.
+   * 
+   * @param changedIds the ids of the changed events, updated by this call
+   * @param occurrenceIds the ids of the occurrences sent, updated by this call
+   */
+  private List<Event> expandChangedEvents(List<Event> events, Set<String> changedIds,
+      Set<String> occurrenceIds) {
+    List<Event> expanded = new ArrayList<>(events.size());
+    for (Event event : events) {
+      changedIds.add(event.getId());
+      if (!RecurrenceExpander.isRecurring(event)) {
+        expanded.add(event);
+      } else if (visibleRangeStart != null) {
+        RecurrenceExpander.expand(event, visibleRangeStart, visibleRangeEnd).forEach(occurrence -> {
+          occurrenceIds.add(occurrence.getId());
+          expanded.add(occurrence);
+        });
+      }
+    }
+    return expanded;
+  }
+
+  /**
+   * Returns whether the client holds occurrences of the event with the given id, expanded on the
+   * server.
+   */
+  private boolean holdsOccurrences(String eventId) {
+    if (!serverSideRecurrenceExpansion) {
+      return false;
+    }
+    for (String id : clientEvents.getEventIds()) {
+      if (RecurrenceExpander.isOccurrenceOf(id, eventId)) {
+        return true;
+      }
+    }
+    return false;
   }
 
   /**
@@ -795,6 +2192,197 @@ public abstract class BaseScheduleXCalendar extends Div {
     return addListener(CalendarEventUpdatedEvent.class, listener);
   }
 
+  /**
+   * Event fired once when calendar events are added to the calendar through
+   * {@link BaseScheduleXCalendar#addEvents(Collection)}.
+   */
+  @DomEvent("calendar-events-added")
+  public static class CalendarEventsAddedEvent extends ComponentEvent<BaseScheduleXCalendar> {
+
+    private final List<String> eventIds;
+
+    public CalendarEventsAddedEvent(BaseScheduleXCalendar source, boolean fromClient,
+        @EventData(value = "event.detail.eventIds") JsonArray eventIds) {
+      super(source, fromClient);
+      this.eventIds = toStringList(eventIds);
+    }
+
+    public List<String> getEventIds() {
+      return eventIds;
+    }
+  }
+
+  /**
+   * Adds a CalendarEventsAddedEvent listener.
+   * 
+   * @param listener the listener to be added
+   * @return a handle that can be used for removing the listener
+   */
+  public Registration addCalendarEventsAddedEventListener(
+      ComponentEventListener<CalendarEventsAddedEvent> listener) {
+    return addListener(CalendarEventsAddedEvent.class, listener);
+  }
+
+  /**
+   * Event fired once when calendar events are removed from the calendar through
+   * {@link BaseScheduleXCalendar#removeEvents(Collection)}.
+   */
+  @DomEvent("calendar-events-removed")
+  public static class CalendarEventsRemovedEvent extends ComponentEvent<BaseScheduleXCalendar> {
+
+    private final List<String> eventIds;
+
+    public CalendarEventsRemovedEvent(BaseScheduleXCalendar source, boolean fromClient,
+        @EventData(value = "event.detail.eventIds") JsonArray eventIds) {
+      super(source, fromClient);
+      this.eventIds = toStringList(eventIds);
+    }
+
+    public List<String> getEventIds() {
+      return eventIds;
+    }
+  }
+
+  /**
+   * Adds a CalendarEventsRemovedEvent listener.
+   * 
+   * @param listener the listener to be added
+   * @return a handle that can be used for removing the listener
+   */
+  public Registration addCalendarEventsRemovedEventListener(
+      ComponentEventListener<CalendarEventsRemovedEvent> listener) {
+    return addListener(CalendarEventsRemovedEvent.class, listener);
+  }
+
+  /**
+   * Event fired once when calendar events are updated through
+   * {@link BaseScheduleXCalendar#updateEvents(Collection)}.
+   */
+  @DomEvent("calendar-events-updated")
+  public static class CalendarEventsUpdatedEvent extends ComponentEvent<BaseScheduleXCalendar> {
+
+    private final List<String> eventIds;
+
+    public CalendarEventsUpdatedEvent(BaseScheduleXCalendar source, boolean fromClient,
+        @EventData(value = "event.detail.eventIds") JsonArray eventIds) {
+      super(source, fromClient);
+      this.eventIds = toStringList(eventIds);
+    }
+
+    public List<String> getEventIds() {
+      return eventIds;
+    }
+  }
+
+  /**
+   * Adds a CalendarEventsUpdatedEvent listener.
+   * 
+   * @param listener the listener to be added
+   * @return a handle that can be used for removing the listener
+   */
+  public Registration addCalendarEventsUpdatedEventListener(
+      ComponentEventListener<CalendarEventsUpdatedEvent> listener) {
+    return addListener(CalendarEventsUpdatedEvent.class, listener);
+  }
+
+  private static List<String> toStringList(JsonArray array) {
+    List<String> list = new ArrayList<>(array.length());
+    for (int i = 0; i < array.length(); i++) {
+      list.add(array.getString(i));
+    }
+    return List.copyOf(list);
+  }
+
+  /**
+   * Event fired when all the events of a range requested by the calendar were received and
+   * rendered on the client side.
+   */
+  @DomEvent("calendar-range-loaded")
+  public static class CalendarRangeLoadedEvent extends ComponentEvent<BaseScheduleXCalendar> {
+
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+
+    public CalendarRangeLoadedEvent(BaseScheduleXCalendar source, boolean fromClient,
+        @EventData(value = "event.detail.start") String start,
+        @EventData(value = "event.detail.end") String end) {
+      super(source, fromClient);
+      this.start = LocalDateTime.parse(start, DateTimeFormatter.ISO_DATE_TIME);
+      this.end = LocalDateTime.parse(end, DateTimeFormatter.ISO_DATE_TIME);
+    }
+
+    public LocalDateTime getStart() {
+      return start;
+    }
+
+    public LocalDateTime getEnd() {
+      return end;
+    }
+  }
+
+  /**
+   * Adds a CalendarRangeLoadedEvent listener.
+   * 
+   * @param listener the listener to be added
+   * @return a handle that can be used for removing the listener
+   */
+  public Registration addCalendarRangeLoadedEventListener(
+      ComponentEventListener<CalendarRangeLoadedEvent> listener) {
+    return addListener(CalendarRangeLoadedEvent.class, listener);
+  }
+
+  /**
+   * Event fired when loading the events of a range asynchronously fails or times out.
+   */
+  public static class RangeLoadErrorEvent extends ComponentEvent<BaseScheduleXCalendar> {
+
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final Throwable error;
+    private final boolean timeout;
+
+    public RangeLoadErrorEvent(BaseScheduleXCalendar source, LocalDateTime start,
+        LocalDateTime end, Throwable error, boolean timeout) {
+      super(source, false);
+      this.start = start;
+      this.end = end;
+      this.error = error;
+      this.timeout = timeout;
+    }
+
+    public LocalDateTime getStart() {
+      return start;
+    }
+
+    public LocalDateTime getEnd() {
+      return end;
+    }
+
+    public Throwable getError() {
+      return error;
+    }
+
+    /**
+     * Returns whether the loading was abandoned because it exceeded the range loading timeout.
+     * 
+     * @return true if the loading timed out
+     */
+    public boolean isTimeout() {
+      return timeout;
+    }
+  }
+
+  /**
+   * Adds a RangeLoadErrorEvent listener.
+   * 
+   * @param listener the listener to be added
+   * @return a handle that can be used for removing the listener
+   */
+  public Registration addRangeLoadErrorEventListener(
+      ComponentEventListener<RangeLoadErrorEvent> listener) {
+    return addListener(RangeLoadErrorEvent.class, listener);
+  }
+
   /**
    * Handles event update on resize or drag and drop.
    * 
@@ -804,6 +2392,8 @@ public abstract class BaseScheduleXCalendar extends Div {
    */
   @ClientCallable
   private void onEventUpdate(String eventId, String start, String end) {
+    // the client now holds another version of the event than the one sent
+    clientEvents.touch(eventId);
     String startFormatted = DateTimeFormatUtils.formatZonedDateTime(start);
     String endFormatted = DateTimeFormatUtils.formatZonedDateTime(end);
     ComponentUtil.fireEvent(this,
@@ -820,6 +2410,8 @@ public abstract class BaseScheduleXCalendar extends Div {
     private final String eventId;
     private final LocalDateTime startDate;
     private final LocalDateTime endDate;
+    private final String recurringEventId;
+    private final LocalDateTime occurrenceStart;
 
     public EventUpdateEvent(BaseScheduleXCalendar source, String eventId, LocalDateTime startDate,
         LocalDateTime endDate, boolean fromClient) {
@@ -827,12 +2419,41 @@ public abstract class BaseScheduleXCalendar extends Div {
       this.eventId = eventId;
       this.startDate = startDate;
       this.endDate = endDate;
+      LocalDateTime occurrence = source.isServerSideRecurrenceExpansion()
+          ? RecurrenceExpander.getOccurrenceStart(eventId)
+          : null;
+      this.occurrenceStart = occurrence;
+      this.recurringEventId =
+          occurrence != null ? RecurrenceExpander.getRecurringEventId(eventId) : null;
     }
 
     public String getEventId() {
       return eventId;
     }
 
+    /**
+     * Returns the id of the recurring event the updated event is an occurrence of, when recurring
+     * events are expanded on the server.
+     * 
+     * @return the id of the recurring event, or null if the updated event is not an occurrence
+     * @see BaseScheduleXCalendar#setServerSideRecurrenceExpansion(boolean)
+     */
+    public String getRecurringEventId() {
+      return recurringEventId;
+    }
+
+    /**
+     * Returns the original start of the occurrence, before it was moved or resized, when the
+     * updated event is an occurrence of a recurring event expanded on the server.
+     * 
+     * @return the original start of the occurrence, or null if the updated event is not an
+     *         occurrence
+     * @see BaseScheduleXCalendar#setServerSideRecurrenceExpansion(boolean)
+     */
+    public LocalDateTime getOccurrenceStart() {
+      return occurrenceStart;
+    }
+
     public LocalDateTime getStartDate() {
       return startDate;
     }
@@ -914,6 +2535,14 @@ public abstract class BaseScheduleXCalendar extends Div {
     return addListener(CalendarViewAndDateChangeEvent.class, listener);
   }
 
+  /**
+   * Returns the {@link ViewType} matching the given view name, or null if none matches.
+   */
+  private static ViewType findViewType(String viewName) {
+    return Optional.<ViewType>ofNullable(CalendarViewType.fromViewName(viewName))
+        .orElseGet(() -> ResourceViewType.fromViewName(viewName));
+  }
+
   /**
    * Parses a view name string to its corresponding {@link ViewType}.
    *
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Server-side record of the events held by the client, by id and version. The version of an event
+ * is a 64-bit fingerprint of its serialized form, so the events of a range can be sent to the
+ * client as a diff: only the events the client does not hold yet or holds in another version are
+ * sent, along with the ids of the events no longer in the range. Updates of events the client
+ * already holds in the same version and removals of events the client does not hold are not sent
+ * at all.
+ *
+ * <p>
+ * The mirror is bounded to {@link #MAX_EVENTS} events. Beyond that, it stops tracking the client
+ * state, every change is sent, and the next range replaces all the events held by the client,
+ * after which the mirror is rebuilt from that range. It is also rebuilt from scratch when the
+ * client state is, such as when the component is attached again.
+ * </p>
+ *
+ * <p>
+ * Not thread-safe, must be used while holding the session lock.
+ * </p>
+ */
+@SuppressWarnings("serial")
+class ClientEventMirror implements Serializable {
+
+  /**
+   * Maximum number of prefetched ranges remembered, matching the client.
+   */
+  static final int MAX_PREFETCHED_RANGES = 16;
+
+  /**
+   * Maximum number of events tracked.
+   */
+  static final int MAX_EVENTS = 100_000;
+
+  /**
+   * Version of the events the client holds in a version unknown to the server, such as events
+   * moved by the user or drawn on the client. Never returned by {@link #version(String)}.
+   */
+  private static final long UNKNOWN_VERSION = 0;
+
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private final Map<String, Long> versions = new HashMap<>();
+
+  private final Map<Integer, Map<String, Long>> prefetchedRanges =
+      new LinkedHashMap<>(MAX_PREFETCHED_RANGES, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Map<String, Long>> eldest) {
+          return size() > MAX_PREFETCHED_RANGES;
+        }
+      };
+
+  /**
+   * Whether the mirror reflects the client state, false once it overflowed.
+   */
+  private boolean tracking = true;
+
+  /**
+   * Returns the version of the given serialized event: its 64-bit FNV-1a hash, which unlike the
+   * 32-bit string hash makes collisions between two versions of an event negligible.
+   */
+  static long version(String json) {
+    long hash = FNV_OFFSET_BASIS;
+    for (int i = 0; i < json.length(); i++) {
+      char c = json.charAt(i);
+      hash = (hash ^ (c & 0xff)) * FNV_PRIME;
+      hash = (hash ^ (c >>> 8)) * FNV_PRIME;
+    }
+    return hash == UNKNOWN_VERSION ? 1 : hash;
+  }
+
+  /**
+   * Records that the client holds the given version of an event.
+   *
+   * @return true if the client did not hold that version yet and the event must be sent
+   */
+  boolean update(String eventId, String json) {
+    if (!tracking) {
+      return true;
+    }
+    Long version = version(json);
+    Long previous = versions.put(eventId, version);
+    if (previous == null && versions.size() > MAX_EVENTS) {
+      overflow();
+    }
+    return !version.equals(previous);
+  }
+
+  /**
+   * Records that the client holds an event in a version unknown to the server.
+   */
+  void touch(String eventId) {
+    if (tracking) {
+      versions.put(eventId, UNKNOWN_VERSION);
+      if (versions.size() > MAX_EVENTS) {
+        overflow();
+      }
+    }
+  }
+
+  /**
+   * Records that the client no longer holds an event.
+   *
+   * @return false if the client is known not to hold the event, so the removal need not be sent
+   */
+  boolean remove(String eventId) {
+    return versions.remove(eventId) != null || !tracking;
+  }
+
+  /**
+   * Forgets the events whose ids are not in the given set.
+   *
+   * @return the ids of the forgotten events, to be removed from the client
+   */
+  List<String> retainAll(Set<String> eventIds) {
+    List<String> removed = new ArrayList<>();
+    Iterator<String> iterator = versions.keySet().iterator();
+    while (iterator.hasNext()) {
+      String eventId = iterator.next();
+      if (!eventIds.contains(eventId)) {
+        iterator.remove();
+        removed.add(eventId);
+      }
+    }
+    return removed;
+  }
+
+  /**
+   * Starts sending a range. If the mirror no longer tracks the client state, it is reset so it is
+   * rebuilt from the range, and the client must then drop all the events it holds.
+   *
+   * @return true if the client must drop all the events it holds before applying the range
+   */
+  boolean beginRange() {
+    if (tracking) {
+      return false;
+    }
+    tracking = true;
+    return true;
+  }
+
+  /**
+   * Remembers the versions of the events of a range pushed to the client ahead of time.
+   */
+  void recordPrefetch(int prefetchId, Map<String, Long> eventVersions) {
+    if (tracking) {
+      prefetchedRanges.put(prefetchId, eventVersions);
+    }
+  }
+
+  /**
+   * Records that the client rendered a prefetched range, adding its events to the client state and
+   * forgetting the events no longer in the range, as a range sent by the server does.
+   *
+   * @return the ids of the forgotten events, to be removed from the client
+   */
+  List<String> applyPrefetch(int prefetchId) {
+    Map<String, Long> eventVersions = prefetchedRanges.get(prefetchId);
+    if (eventVersions == null || !tracking) {
+      return List.of();
+    }
+    versions.putAll(eventVersions);
+    return retainAll(eventVersions.keySet());
+  }
+
+  /**
+   * Returns the ids of the events held by the client, empty if they are not tracked. The returned
+   * set is a view, it must not be used once the events are changed.
+   */
+  Set<String> getEventIds() {
+    return Collections.unmodifiableSet(versions.keySet());
+  }
+
+  int size() {
+    return versions.size();
+  }
+
+  boolean isTracking() {
+    return tracking;
+  }
+
+  /**
+   * Forgets everything, when the client state is rebuilt.
+   */
+  void clear() {
+    versions.clear();
+    prefetchedRanges.clear();
+    tracking = true;
+  }
+
+  private void overflow() {
+    versions.clear();
+    prefetchedRanges.clear();
+    tracking = false;
+  }
+}
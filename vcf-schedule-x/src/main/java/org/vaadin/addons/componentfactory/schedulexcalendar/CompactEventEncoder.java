@@ -0,0 +1,201 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import elemental.json.JsonValue;
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.Event;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.Event.EventCustomContent;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.Event.EventOptions;
+import org.vaadin.addons.componentfactory.schedulexcalendar.util.DateTimeFormatUtils;
+
+/**
+ * Encodes events in a compact columnar form, decoded by the connector into the same objects the
+ * regular JSON form produces. Each property is sent as a column with one entry per event, repeated
+ * strings (titles, calendar and resource ids, people, CSS classes...) are sent once in a string
+ * table and referenced by index, and start and end are sent as minute offsets from a base date
+ * time. Columns of properties no event has are omitted.
+ * <p>
+ * Example: <code>{"v":1, "base":"2025-01-06T00:00:00", "strings":["Standup","work"],
+ * "id":["e1","e2"], "start":[540,2000], "end":[555,2015], "title":[0,0], "calendarId":[1,1]}</code>
+ * <p>
+ * Absent values are encoded as -1 for string columns and null for the others. Seconds are kept in
+ * optional {@code startSeconds}/{@code endSeconds} columns; fractions of seconds are dropped.
+ */
+@SuppressWarnings("serial")
+final class CompactEventEncoder implements Serializable {
+
+  static final int VERSION = 1;
+
+  private final Map<String, Integer> stringIndexes = new HashMap<>();
+
+  private final JsonArray strings = Json.createArray();
+
+  private CompactEventEncoder() {}
+
+  /**
+   * Encodes the given events.
+   *
+   * @param events the events to encode
+   * @param base the date time the start and end offsets are relative to, usually the range start
+   * @return the encoded events
+   */
+  static JsonObject encode(Collection<Event> events, LocalDateTime base) {
+    return new CompactEventEncoder().encodeEvents(events, base);
+  }
+
+  private JsonObject encodeEvents(Collection<Event> events, LocalDateTime base) {
+    JsonObject encoded = Json.createObject();
+    encoded.put("v", VERSION);
+    encoded.put("base", base.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+    encoded.put("strings", strings);
+
+    JsonArray ids = Json.createArray();
+    JsonArray starts = Json.createArray();
+    JsonArray ends = Json.createArray();
+    JsonArray startSeconds = Json.createArray();
+    JsonArray endSeconds = Json.createArray();
+    boolean hasSeconds = false;
+    for (Event event : events) {
+      ids.set(ids.length(), event.getId());
+      long start = Duration.between(base, event.getStart()).getSeconds();
+      long end = Duration.between(base, event.getEnd()).getSeconds();
+      starts.set(starts.length(), Math.floorDiv(start, 60));
+      ends.set(ends.length(), Math.floorDiv(end, 60));
+      startSeconds.set(startSeconds.length(), Math.floorMod(start, 60));
+      endSeconds.set(endSeconds.length(), Math.floorMod(end, 60));
+      hasSeconds |= Math.floorMod(start, 60) != 0 || Math.floorMod(end, 60) != 0;
+    }
+    encoded.put("id", ids);
+    encoded.put("start", starts);
+    encoded.put("end", ends);
+    if (hasSeconds) {
+      encoded.put("startSeconds", startSeconds);
+      encoded.put("endSeconds", endSeconds);
+    }
+
+    putStringColumn(encoded, "title", events, Event::getTitle);
+    putStringColumn(encoded, "description", events, Event::getDescription);
+    putStringColumn(encoded, "location", events, Event::getLocation);
+    putStringColumn(encoded, "calendarId", events, Event::getCalendarId);
+    putColumn(encoded, "people", events, event -> indexes(event.getPeople()));
+    putColumn(encoded, "options", events, event -> encodeOptions(event.getOptions()));
+    putColumn(encoded, "customContent", events,
+        event -> encodeCustomContent(event.getCustomContent()));
+    putStringColumn(encoded, "resourceId", events, Event::getResourceId);
+    putStringColumn(encoded, "rrule", events, CompactEventEncoder::getRule);
+    putColumn(encoded, "exdate", events, event -> encodeExcludedDates(event.getExcludedDates()));
+    return encoded;
+  }
+
+  private void putStringColumn(JsonObject encoded, String name, Collection<Event> events,
+      Function<Event, String> getter) {
+    JsonArray column = Json.createArray();
+    boolean present = false;
+    for (Event event : events) {
+      String value = getter.apply(event);
+      present |= value != null;
+      column.set(column.length(), index(value));
+    }
+    if (present) {
+      encoded.put(name, column);
+    }
+  }
+
+  private void putColumn(JsonObject encoded, String name, Collection<Event> events,
+      Function<Event, JsonValue> getter) {
+    JsonArray column = Json.createArray();
+    boolean present = false;
+    for (Event event : events) {
+      JsonValue value = getter.apply(event);
+      present |= value != null;
+      column.set(column.length(), value != null ? value : Json.createNull());
+    }
+    if (present) {
+      encoded.put(name, column);
+    }
+  }
+
+  private int index(String value) {
+    if (value == null) {
+      return -1;
+    }
+    return stringIndexes.computeIfAbsent(value, key -> {
+      strings.set(strings.length(), key);
+      return strings.length() - 1;
+    });
+  }
+
+  private JsonArray indexes(List<String> values) {
+    if (values == null || values.isEmpty()) {
+      return null;
+    }
+    JsonArray indexes = Json.createArray();
+    values.forEach(value -> indexes.set(indexes.length(), index(value)));
+    return indexes;
+  }
+
+  private JsonArray encodeOptions(EventOptions options) {
+    if (options == null) {
+      return null;
+    }
+    JsonArray encoded = Json.createArray();
+    encoded.set(0, toJsonValue(options.getDisableDND()));
+    encoded.set(1, toJsonValue(options.getDisableResize()));
+    JsonArray classes = indexes(options.getAdditionalClasses());
+    encoded.set(2, classes != null ? classes : Json.createNull());
+    return encoded;
+  }
+
+  private JsonArray encodeCustomContent(EventCustomContent customContent) {
+    if (customContent == null) {
+      return null;
+    }
+    JsonArray encoded = Json.createArray();
+    encoded.set(0, index(customContent.getTimeGrid()));
+    encoded.set(1, index(customContent.getDateGrid()));
+    encoded.set(2, index(customContent.getMonthGrid()));
+    encoded.set(3, index(customContent.getMonthAgenda()));
+    return encoded;
+  }
+
+  private JsonArray encodeExcludedDates(List<LocalDateTime> excludedDates) {
+    if (excludedDates == null || excludedDates.isEmpty()) {
+      return null;
+    }
+    JsonArray encoded = Json.createArray();
+    excludedDates.forEach(date -> encoded.set(encoded.length(),
+        index(date.format(DateTimeFormatUtils.DATE_TIME_FORMATTER))));
+    return encoded;
+  }
+
+  private static String getRule(Event event) {
+    return event.getRecurrenceRule() != null ? event.getRecurrenceRule().format() : null;
+  }
+
+  private static JsonValue toJsonValue(Boolean value) {
+    return value != null ? Json.create(value) : Json.createNull();
+  }
+}
@@ -23,6 +23,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import org.vaadin.addons.componentfactory.schedulexcalendar.util.DateTimeFormatUtils;
+import org.vaadin.addons.componentfactory.schedulexcalendar.util.JsonWriter;
 import org.vaadin.addons.componentfactory.schedulexcalendar.util.LocaleUtils;
 import org.vaadin.addons.componentfactory.schedulexcalendar.util.TimeInterval;
 import org.vaadin.addons.componentfactory.schedulexcalendar.util.ViewType;
@@ -272,6 +273,12 @@ public class Configuration extends BaseConfiguration implements Serializable {
     return iCal;
   }
 
+  /**
+   * Sets the iCalendar source of the calendar. Its events are converted to the time zone of the
+   * calendar, or to the one of the browser when none is set, as when the client parsed them.
+   *
+   * @param iCal the iCalendar source
+   */
   public void setiCal(ICal iCal) {
     this.iCal = iCal;
     this.runRefresh();
@@ -283,7 +290,7 @@ public class Configuration extends BaseConfiguration implements Serializable {
 
   public void setShowWeekNumbers(boolean showWeekNumbers) {
     this.showWeekNumbers = showWeekNumbers;
-    this.runRefresh();
+    this.runPatch("showWeekNumbers");
   }
 
   public boolean isResponsive() {
@@ -347,37 +354,69 @@ public class Configuration extends BaseConfiguration implements Serializable {
   }
 
   public String getJson() {
-    JsonObject js = Json.createObject();
-    Optional.ofNullable(defaultView).ifPresent(value -> js.put("defaultView", value.getName()));
-    Optional.ofNullable(selectedDate).ifPresent(
-        value -> js.put("selectedDate", value.format(DateTimeFormatUtils.DATE_FORMATTER)));
-    Optional.ofNullable(locale)
-        .ifPresent(value -> js.put("locale", LocaleUtils.toScheduleXLocale(value)));
-    Optional.ofNullable(timeZone).ifPresent(value -> js.put("timezone", timeZone.getId()));
-    Optional.ofNullable(firstDayOfWeek).ifPresent(value -> js.put("firstDayOfWeek", value));
-    js.put("isDark", isDark);
-    Optional.ofNullable(dayBoundaries).ifPresent(value -> js.put("dayBoundaries", value.toJson()));
-    Optional.ofNullable(minDate)
-        .ifPresent(value -> js.put("minDate", value.format(DateTimeFormatUtils.DATE_FORMATTER)));
-    Optional.ofNullable(maxDate)
-        .ifPresent(value -> js.put("maxDate", value.format(DateTimeFormatUtils.DATE_FORMATTER)));
-    Optional.ofNullable(weekOptions).ifPresent(value -> js.put("weekOptions", value.toJson()));
-    Optional.ofNullable(drawOptions).ifPresent(value -> js.put("drawOptions", value.toJson()));
-    Optional.ofNullable(iCal).ifPresent(value -> js.put("iCal", value.toJson()));
-    Optional.ofNullable(monthGridOptions)
-        .ifPresent(value -> js.put("monthGridOptions", value.toJson()));
-    js.put("showWeekNumbers", showWeekNumbers);
-    js.put("isResponsive", isResponsive);
-    js.put("skipValidation", skipValidation);
-    Optional.ofNullable(resizeInterval)
-        .ifPresent(value -> js.put("resizeInterval", value.getInterval()));
-    Optional.ofNullable(dragAndDropInterval)
-        .ifPresent(value -> js.put("dragAndDropInterval", value.getInterval()));
-    Optional.ofNullable(currentTimeIndicatorConfig)
-        .ifPresent(value -> js.put("currentTimeIndicatorConfig", value.toJson()));
-    Optional.ofNullable(scrollControllerConfig)
-        .ifPresent(value -> js.put("scrollControllerConfig", value.toJson()));
-    return js.toJson();
+    JsonWriter writer = new JsonWriter();
+    writeJson(writer);
+    return writer.toString();
+  }
+
+  @Override
+  String getPatchFunction() {
+    return "applyConfigurationPatch";
+  }
+
+  /**
+   * Writes the configuration as JSON to the given writer.
+   */
+  public void writeJson(JsonWriter writer) {
+    writer.beginObject();
+    if (defaultView != null) {
+      writer.name("defaultView").value(defaultView.getName());
+    }
+    if (selectedDate != null) {
+      writer.name("selectedDate").value(selectedDate.format(DateTimeFormatUtils.DATE_FORMATTER));
+    }
+    if (locale != null) {
+      writer.name("locale").value(LocaleUtils.toScheduleXLocale(locale));
+    }
+    if (timeZone != null) {
+      writer.name("timezone").value(timeZone.getId());
+    }
+    writer.optional("firstDayOfWeek", firstDayOfWeek);
+    writer.name("isDark").value(isDark);
+    if (dayBoundaries != null) {
+      dayBoundaries.writeJson(writer.name("dayBoundaries"));
+    }
+    if (minDate != null) {
+      writer.name("minDate").value(minDate.format(DateTimeFormatUtils.DATE_FORMATTER));
+    }
+    if (maxDate != null) {
+      writer.name("maxDate").value(maxDate.format(DateTimeFormatUtils.DATE_FORMATTER));
+    }
+    if (weekOptions != null) {
+      weekOptions.writeJson(writer.name("weekOptions"));
+    }
+    if (drawOptions != null) {
+      drawOptions.writeJson(writer.name("drawOptions"));
+    }
+    if (monthGridOptions != null) {
+      monthGridOptions.writeJson(writer.name("monthGridOptions"));
+    }
+    writer.name("showWeekNumbers").value(showWeekNumbers);
+    writer.name("isResponsive").value(isResponsive);
+    writer.name("skipValidation").value(skipValidation);
+    if (resizeInterval != null) {
+      writer.name("resizeInterval").value(resizeInterval.getInterval());
+    }
+    if (dragAndDropInterval != null) {
+      writer.name("dragAndDropInterval").value(dragAndDropInterval.getInterval());
+    }
+    if (currentTimeIndicatorConfig != null) {
+      currentTimeIndicatorConfig.writeJson(writer.name("currentTimeIndicatorConfig"));
+    }
+    if (scrollControllerConfig != null) {
+      scrollControllerConfig.writeJson(writer.name("scrollControllerConfig"));
+    }
+    writer.endObject();
   }
 
   /**
@@ -420,12 +459,20 @@ public class Configuration extends BaseConfiguration implements Serializable {
     }
 
     public JsonObject toJson() {
-      JsonObject js = Json.createObject();
-      Optional.ofNullable(start)
-          .ifPresent(value -> js.put("start", value.format(DateTimeFormatUtils.TIME_FORMATTER)));
-      Optional.ofNullable(end)
-          .ifPresent(value -> js.put("end", value.format(DateTimeFormatUtils.TIME_FORMATTER)));
-      return js;
+      JsonWriter writer = new JsonWriter();
+      writeJson(writer);
+      return Json.parse(writer.toString());
+    }
+
+    void writeJson(JsonWriter writer) {
+      writer.beginObject();
+      if (start != null) {
+        writer.name("start").value(start.format(DateTimeFormatUtils.TIME_FORMATTER));
+      }
+      if (end != null) {
+        writer.name("end").value(end.format(DateTimeFormatUtils.TIME_FORMATTER));
+      }
+      writer.endObject();
     }
   }
 
@@ -509,17 +556,23 @@ public class Configuration extends BaseConfiguration implements Serializable {
     }
 
     public JsonObject toJson() {
-      JsonObject js = Json.createObject();
-      Optional.ofNullable(gridHeight).ifPresent(value -> js.put("gridHeight", value));
-      Optional.ofNullable(nDays).ifPresent(value -> js.put("nDays", value));
-      Optional.ofNullable(eventWidth).ifPresent(value -> js.put("eventWidth", value));
-      Optional.ofNullable(timeAxisFormatOptions).ifPresent(map -> {
-        JsonObject opts = Json.createObject();
-        map.forEach(opts::put);
-        js.put("timeAxisFormatOptions", opts);
-      });
-      js.put("eventOverlap", eventOverlap);
-      return js;
+      JsonWriter writer = new JsonWriter();
+      writeJson(writer);
+      return Json.parse(writer.toString());
+    }
+
+    void writeJson(JsonWriter writer) {
+      writer.beginObject();
+      writer.optional("gridHeight", gridHeight);
+      writer.optional("nDays", nDays);
+      writer.optional("eventWidth", eventWidth);
+      if (timeAxisFormatOptions != null) {
+        writer.name("timeAxisFormatOptions").beginObject();
+        timeAxisFormatOptions.forEach((key, value) -> writer.name(key).value(value));
+        writer.endObject();
+      }
+      writer.name("eventOverlap").value(eventOverlap);
+      writer.endObject();
     }
   }
 
@@ -545,9 +598,15 @@ public class Configuration extends BaseConfiguration implements Serializable {
     }
     
     public JsonObject toJson() {
-      JsonObject js = Json.createObject();
-      Optional.ofNullable(nEventsPerDay).ifPresent(value -> js.put("nEventsPerDay", value));
-      return js;
+      JsonWriter writer = new JsonWriter();
+      writeJson(writer);
+      return Json.parse(writer.toString());
+    }
+
+    void writeJson(JsonWriter writer) {
+      writer.beginObject();
+      writer.optional("nEventsPerDay", nEventsPerDay);
+      writer.endObject();
     }
   }
 
@@ -582,20 +641,28 @@ public class Configuration extends BaseConfiguration implements Serializable {
 
     public void setDefaultTitle(String defaultTitle) {
       this.defaultTitle = defaultTitle;
-      this.runRefresh();
+      this.runPatch("drawOptions");
     }
 
     public JsonObject toJson() {
-      JsonObject js = Json.createObject();
-      Optional.ofNullable(snapDrawDuration)
-          .ifPresent(value -> js.put("snapDrawDuration", value.getInterval()));
-      Optional.ofNullable(defaultTitle).ifPresent(value -> js.put("defaultTitle", value));
-      return js;
+      JsonWriter writer = new JsonWriter();
+      writeJson(writer);
+      return Json.parse(writer.toString());
+    }
+
+    void writeJson(JsonWriter writer) {
+      writer.beginObject();
+      if (snapDrawDuration != null) {
+        writer.name("snapDrawDuration").value(snapDrawDuration.getInterval());
+      }
+      writer.optional("defaultTitle", defaultTitle);
+      writer.endObject();
     }
   }
 
   /**
-   * iCalendar data configuration.
+   * iCalendar data configuration. The source is parsed on the server and its events are sent to
+   * the client with the other events of the displayed range, as read-only events.
    */
   public static class ICal implements Serializable {
 
@@ -654,10 +721,16 @@ public class Configuration extends BaseConfiguration implements Serializable {
     }
 
     public JsonObject toJson() {
-      JsonObject js = Json.createObject();
-      Optional.ofNullable(fullWeekWidth).ifPresent(value -> js.put("fullWeekWidth", value));
-      Optional.ofNullable(timeZoneOffset).ifPresent(value -> js.put("timeZoneOffset", value));
-      return js;
+      JsonWriter writer = new JsonWriter();
+      writeJson(writer);
+      return Json.parse(writer.toString());
+    }
+
+    void writeJson(JsonWriter writer) {
+      writer.beginObject();
+      writer.optional("fullWeekWidth", fullWeekWidth);
+      writer.optional("timeZoneOffset", timeZoneOffset);
+      writer.endObject();
     }
   }
 
@@ -677,14 +750,22 @@ public class Configuration extends BaseConfiguration implements Serializable {
 
     public void setInitialScroll(LocalTime initialScroll) {
       this.initialScroll = initialScroll;
-      this.runRefresh();
+      this.runPatch("scrollControllerConfig");
     }
 
     public JsonObject toJson() {
-      JsonObject js = Json.createObject();
-      Optional.ofNullable(initialScroll).ifPresent(
-          value -> js.put("initialScroll", value.format(DateTimeFormatUtils.TIME_FORMATTER)));
-      return js;
+      JsonWriter writer = new JsonWriter();
+      writeJson(writer);
+      return Json.parse(writer.toString());
+    }
+
+    void writeJson(JsonWriter writer) {
+      writer.beginObject();
+      if (initialScroll != null) {
+        writer.name("initialScroll")
+            .value(initialScroll.format(DateTimeFormatUtils.TIME_FORMATTER));
+      }
+      writer.endObject();
     }
   }
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.Event;
+
+/**
+ * Changes made to the events of a calendar during an update, folded into the minimal set of
+ * changes to send to the client: an event added then updated is sent as added with its last
+ * state, an event added then removed is not sent at all, and an event updated several times is
+ * sent once. Changes are kept in the order the events were first changed.
+ *
+ * <p>
+ * Not thread-safe, must be used while holding the session lock.
+ * </p>
+ */
+@SuppressWarnings("serial")
+class EventChangeSet implements Serializable {
+
+  private enum Kind {
+    /** The client does not hold the event yet. */
+    ADD,
+    /** The client holds the event in another version. */
+    UPDATE,
+    /** The client holds the event, which must be removed. */
+    REMOVE,
+    /** The client holds an event with the same id, which must be removed before adding. */
+    REPLACE
+  }
+
+  private static class Change implements Serializable {
+    private Kind kind;
+    private Event event;
+
+    private Change(Kind kind, Event event) {
+      this.kind = kind;
+      this.event = event;
+    }
+  }
+
+  private final Map<String, Change> changes = new LinkedHashMap<>();
+
+  void add(Event event) {
+    Change change = changes.get(event.getId());
+    if (change == null) {
+      changes.put(event.getId(), new Change(Kind.ADD, event));
+    } else {
+      if (change.kind == Kind.REMOVE) {
+        // re-adding an event the client holds replaces it
+        change.kind = Kind.REPLACE;
+      }
+      change.event = event;
+    }
+  }
+
+  void update(Event event) {
+    Change change = changes.get(event.getId());
+    if (change == null) {
+      changes.put(event.getId(), new Change(Kind.UPDATE, event));
+    } else {
+      // an added event is still sent as added, with its last state
+      change.kind = change.kind == Kind.REMOVE ? Kind.UPDATE : change.kind;
+      change.event = event;
+    }
+  }
+
+  void remove(String eventId) {
+    Change change = changes.get(eventId);
+    if (change == null) {
+      changes.put(eventId, new Change(Kind.REMOVE, null));
+    } else if (change.kind == Kind.ADD) {
+      // the client never saw the event
+      changes.remove(eventId);
+    } else {
+      change.kind = Kind.REMOVE;
+      change.event = null;
+    }
+  }
+
+  boolean isEmpty() {
+    return changes.isEmpty();
+  }
+
+  /**
+   * Returns the events to add, including the ones replacing removed events.
+   */
+  List<Event> getAdded() {
+    List<Event> added = new ArrayList<>();
+    for (Change change : changes.values()) {
+      if (change.kind == Kind.ADD || change.kind == Kind.REPLACE) {
+        added.add(change.event);
+      }
+    }
+    return added;
+  }
+
+  List<Event> getUpdated() {
+    List<Event> updated = new ArrayList<>();
+    for (Change change : changes.values()) {
+      if (change.kind == Kind.UPDATE) {
+        updated.add(change.event);
+      }
+    }
+    return updated;
+  }
+
+  /**
+   * Returns the ids of the events to remove, applied before adding the replacing events.
+   */
+  List<String> getRemovedIds() {
+    List<String> removedIds = new ArrayList<>();
+    for (Map.Entry<String, Change> entry : changes.entrySet()) {
+      Kind kind = entry.getValue().kind;
+      if (kind == Kind.REMOVE || kind == Kind.REPLACE) {
+        removedIds.add(entry.getKey());
+      }
+    }
+    return removedIds;
+  }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.Event;
+
+/**
+ * Augmented interval tree of events: an AVL tree ordered by start (then id), where each node also
+ * holds the latest end of its subtree, so the events overlapping a range are found in
+ * O(log n + k) by skipping the subtrees ending before the range and the ones starting after it.
+ * <p>
+ * The start and end an event is indexed with are given separately, so an event modified in place
+ * can still be found and removed with the values it was indexed with.
+ * <p>
+ * Not thread-safe.
+ */
+@SuppressWarnings("serial")
+final class EventIntervalTree implements Serializable {
+
+  private static final class Node implements Serializable {
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private String id;
+    private Event event;
+    private LocalDateTime maxEnd;
+    private int height = 1;
+    private Node left;
+    private Node right;
+
+    private Node(LocalDateTime start, LocalDateTime end, String id, Event event) {
+      this.start = start;
+      this.end = end;
+      this.id = id;
+      this.event = event;
+      this.maxEnd = end;
+    }
+  }
+
+  private Node root;
+
+  private int size;
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * Adds an event. There must be no event with the same id and start in the tree.
+   *
+   * @param start the start the event is indexed with
+   * @param end the end the event is indexed with
+   */
+  void insert(LocalDateTime start, LocalDateTime end, String id, Event event) {
+    root = insert(root, new Node(start, end, id, event));
+    size++;
+  }
+
+  /**
+   * Removes the event with the given id, indexed with the given start.
+   *
+   * @return whether the event was found
+   */
+  boolean remove(LocalDateTime start, String id) {
+    int sizeBefore = size;
+    root = remove(root, start, id);
+    return size < sizeBefore;
+  }
+
+  /**
+   * Passes the events overlapping the given range to the consumer, in start order. Both ends of
+   * the range are inclusive.
+   */
+  void query(LocalDateTime from, LocalDateTime to, Consumer<Event> consumer) {
+    query(root, from, to, consumer);
+  }
+
+  /**
+   * Passes all the events to the consumer, in start order.
+   */
+  void forEach(Consumer<Event> consumer) {
+    forEach(root, consumer);
+  }
+
+  void clear() {
+    root = null;
+    size = 0;
+  }
+
+  private static void query(Node node, LocalDateTime from, LocalDateTime to,
+      Consumer<Event> consumer) {
+    while (node != null && !node.maxEnd.isBefore(from)) {
+      query(node.left, from, to, consumer);
+      if (node.start.isAfter(to)) {
+        // the right subtree starts even later
+        return;
+      }
+      if (!node.end.isBefore(from)) {
+        consumer.accept(node.event);
+      }
+      node = node.right;
+    }
+  }
+
+  private static void forEach(Node node, Consumer<Event> consumer) {
+    while (node != null) {
+      forEach(node.left, consumer);
+      consumer.accept(node.event);
+      node = node.right;
+    }
+  }
+
+  private static int compare(LocalDateTime start, String id, Node node) {
+    int result = start.compareTo(node.start);
+    return result != 0 ? result : id.compareTo(node.id);
+  }
+
+  private static Node insert(Node node, Node inserted) {
+    if (node == null) {
+      return inserted;
+    }
+    if (compare(inserted.start, inserted.id, node) < 0) {
+      node.left = insert(node.left, inserted);
+    } else {
+      node.right = insert(node.right, inserted);
+    }
+    return balance(node);
+  }
+
+  private Node remove(Node node, LocalDateTime start, String id) {
+    if (node == null) {
+      return null;
+    }
+    int comparison = compare(start, id, node);
+    if (comparison < 0) {
+      node.left = remove(node.left, start, id);
+    } else if (comparison > 0) {
+      node.right = remove(node.right, start, id);
+    } else {
+      size--;
+      if (node.left == null || node.right == null) {
+        return node.left != null ? node.left : node.right;
+      }
+      // replaced by its successor, removed from the right subtree
+      Node successor = node.right;
+      while (successor.left != null) {
+        successor = successor.left;
+      }
+      node.start = successor.start;
+      node.end = successor.end;
+      node.id = successor.id;
+      node.event = successor.event;
+      node.right = removeMin(node.right);
+    }
+    return balance(node);
+  }
+
+  private static Node removeMin(Node node) {
+    if (node.left == null) {
+      return node.right;
+    }
+    node.left = removeMin(node.left);
+    return balance(node);
+  }
+
+  private static int height(Node node) {
+    return node != null ? node.height : 0;
+  }
+
+  private static void update(Node node) {
+    node.height = 1 + Math.max(height(node.left), height(node.right));
+    LocalDateTime maxEnd = node.end;
+    if (node.left != null && node.left.maxEnd.isAfter(maxEnd)) {
+      maxEnd = node.left.maxEnd;
+    }
+    if (node.right != null && node.right.maxEnd.isAfter(maxEnd)) {
+      maxEnd = node.right.maxEnd;
+    }
+    node.maxEnd = maxEnd;
+  }
+
+  private static Node balance(Node node) {
+    update(node);
+    int factor = height(node.left) - height(node.right);
+    if (factor > 1) {
+      if (height(node.left.left) < height(node.left.right)) {
+        node.left = rotateLeft(node.left);
+      }
+      return rotateRight(node);
+    }
+    if (factor < -1) {
+      if (height(node.right.right) < height(node.right.left)) {
+        node.right = rotateRight(node.right);
+      }
+      return rotateLeft(node);
+    }
+    return node;
+  }
+
+  private static Node rotateRight(Node node) {
+    Node left = node.left;
+    node.left = left.right;
+    left.right = node;
+    update(node);
+    update(left);
+    return left;
+  }
+
+  private static Node rotateLeft(Node node) {
+    Node right = node.right;
+    node.right = right.left;
+    right.left = node;
+    update(node);
+    update(right);
+    return right;
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar;
+
+import com.vaadin.flow.internal.Pair;
+import elemental.json.Json;
+import elemental.json.JsonObject;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.Event;
+
+/**
+ * Converts events to the form the connector passes to the calendar without converting them
+ * itself: start and end are sent as zoned date times in the time zone of the calendar, such as
+ * <code>2025-01-06T08:00:00+02:00[Europe/Helsinki]</code>, which only need to be parsed, and
+ * events spanning a whole day (00:00 to 23:59 on the same date) are flagged with
+ * <code>"_allDay":true</code>, so the connector can show them as all-day events in the day and
+ * week views without inspecting their times.
+ * <p>
+ * The converted events are cached by event id, and reused as long as the serialized form of the
+ * event is equal, so events built again by each fetch of a data provider hit the cache as well.
+ * The cache is bounded, the least recently used events are dropped first.
+ * <p>
+ * Thread-safe, as the events of prefetched ranges are normalized on a background thread.
+ */
+@SuppressWarnings("serial")
+class EventNormalizer implements Serializable {
+
+  /**
+   * Maximum number of converted events kept.
+   */
+  static final int MAX_CACHED_EVENTS = 20_000;
+
+  private final ZoneId zone;
+
+  private final String zoneSuffix;
+
+  private final Map<String, Pair<String, JsonObject>> cache =
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Pair<String, JsonObject>> eldest) {
+          return size() > MAX_CACHED_EVENTS;
+        }
+      };
+
+  EventNormalizer(ZoneId zone) {
+    this.zone = zone;
+    // Temporal requires a bracketed time zone, which ZoneOffset.UTC does not print as such
+    this.zoneSuffix = "[" + (ZoneOffset.UTC.equals(zone) ? "UTC" : zone.getId()) + "]";
+  }
+
+  ZoneId getZone() {
+    return zone;
+  }
+
+  /**
+   * Returns the normalized form of the given event.
+   */
+  JsonObject normalize(Event event) {
+    String json = event.getJson();
+    Pair<String, JsonObject> cached;
+    synchronized (this) {
+      cached = cache.get(event.getId());
+    }
+    // equals is an identity check for an unchanged event, and compares the content otherwise
+    if (cached != null && json.equals(cached.getFirst())) {
+      return cached.getSecond();
+    }
+    JsonObject normalized = Json.parse(json);
+    normalized.put("start", format(event.getStart()));
+    normalized.put("end", format(event.getEnd()));
+    if (isAllDay(event.getStart(), event.getEnd())) {
+      normalized.put("_allDay", true);
+    }
+    synchronized (this) {
+      cache.put(event.getId(), new Pair<>(json, normalized));
+    }
+    return normalized;
+  }
+
+  synchronized int size() {
+    return cache.size();
+  }
+
+  /**
+   * Formats a local date time in the time zone. Nonexistent local times (in daylight saving gaps)
+   * are shifted forward and ambiguous ones take the earlier offset, as Temporal does by default.
+   */
+  String format(LocalDateTime dateTime) {
+    return dateTime.atZone(zone).format(DateTimeFormatter.ISO_OFFSET_DATE_TIME) + zoneSuffix;
+  }
+
+  /**
+   * Returns whether an event spans a whole day, with the same rules as the connector.
+   */
+  static boolean isAllDay(LocalDateTime start, LocalDateTime end) {
+    return start.toLocalDate().equals(end.toLocalDate()) && start.getHour() == 0
+        && start.getMinute() == 0 && end.getHour() == 23 && end.getMinute() == 59;
+  }
+}
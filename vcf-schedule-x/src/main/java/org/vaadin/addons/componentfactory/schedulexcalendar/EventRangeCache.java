@@ -0,0 +1,357 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar;
+
+import java.io.Serializable;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.Event;
+import org.vaadin.addons.componentfactory.schedulexcalendar.util.RangeBucket;
+
+/**
+ * Server-side cache of the events fetched from the data provider of a calendar, organized by the
+ * time windows they were fetched for.
+ *
+ * <p>
+ * Requested ranges are snapped to day, week or month buckets (see {@link RangeBucket}). Buckets
+ * already covered by a cached window are answered from memory and only the uncovered buckets are
+ * fetched, in a single query per contiguous gap. Windows are evicted when the configured maximum
+ * number of windows is exceeded (least recently used first) or when they get older than the
+ * configured maximum age.
+ * </p>
+ *
+ * <p>
+ * Thread-safe. The missing buckets are loaded without holding the lock of the cache, so a slow
+ * load does not block other ranges answered from memory, nor invalidations. A window loaded while
+ * the cache was invalidated is returned but not cached, as it may predate the change.
+ * </p>
+ *
+ * <p>
+ * The cache must be invalidated whenever the backing data changes. The calendar takes care of this
+ * for changes made through {@link BaseScheduleXCalendar#addEvent(Event)},
+ * {@link BaseScheduleXCalendar#updateEvent(Event)},
+ * {@link BaseScheduleXCalendar#removeEvent(String)} and their batch variants; other changes must
+ * be reported through {@link #invalidateEvent(String)},
+ * {@link #invalidateRange(LocalDateTime, LocalDateTime)} or {@link #invalidateAll()}.
+ * </p>
+ */
+@SuppressWarnings("serial")
+public class EventRangeCache implements Serializable {
+
+  /**
+   * Default maximum number of cached windows.
+   */
+  public static final int DEFAULT_MAX_WINDOWS = 32;
+
+  /**
+   * Loads the events of the given range from the backing data provider. Both ends of the range are
+   * inclusive, as in {@link org.vaadin.addons.componentfactory.schedulexcalendar.model.EventQueryFilter}.
+   */
+  @FunctionalInterface
+  public interface EventLoader extends Serializable {
+    List<Event> load(LocalDateTime start, LocalDateTime end);
+  }
+
+  private final int maxWindows;
+
+  private final Duration maxAge;
+
+  private final Clock clock;
+
+  /**
+   * Cached windows in least recently used order.
+   */
+  private final LinkedList<Window> windows = new LinkedList<>();
+
+  /**
+   * Number of invalidations so far, to detect the ones happening while a range is loaded.
+   */
+  private long invalidations;
+
+  /**
+   * Creates a cache holding up to {@link #DEFAULT_MAX_WINDOWS} windows without age limit.
+   */
+  public EventRangeCache() {
+    this(DEFAULT_MAX_WINDOWS, null);
+  }
+
+  /**
+   * Creates a cache holding up to the given number of windows without age limit.
+   *
+   * @param maxWindows the maximum number of cached windows
+   */
+  public EventRangeCache(int maxWindows) {
+    this(maxWindows, null);
+  }
+
+  /**
+   * Creates a cache holding up to the given number of windows, each one for at most the given
+   * duration.
+   *
+   * @param maxWindows the maximum number of cached windows
+   * @param maxAge the maximum age of a cached window, or null for no age limit
+   */
+  public EventRangeCache(int maxWindows, Duration maxAge) {
+    this(maxWindows, maxAge, Clock.systemUTC());
+  }
+
+  EventRangeCache(int maxWindows, Duration maxAge, Clock clock) {
+    if (maxWindows < 1) {
+      throw new IllegalArgumentException("maxWindows must be at least 1");
+    }
+    this.maxWindows = maxWindows;
+    this.maxAge = maxAge;
+    this.clock = Objects.requireNonNull(clock);
+  }
+
+  public int getMaxWindows() {
+    return maxWindows;
+  }
+
+  public Duration getMaxAge() {
+    return maxAge;
+  }
+
+  /**
+   * Returns the events of the given range, loading the parts of the range not yet cached with the
+   * given loader.
+   *
+   * @param start the start of the range
+   * @param end the end of the range (inclusive)
+   * @param bucket the bucket the range is snapped to
+   * @param firstDayOfWeek the first day of the week, used by week buckets
+   * @param loader the loader fetching the missing parts of the range
+   * @return the events of the range, without duplicates
+   */
+  public List<Event> getEvents(LocalDateTime start, LocalDateTime end, RangeBucket bucket,
+      DayOfWeek firstDayOfWeek, EventLoader loader) {
+    // the cached parts are collected and the missing ones planned under the lock, then loaded
+    List<Segment> segments = new ArrayList<>();
+    long invalidationsBefore;
+    synchronized (this) {
+      evictExpired();
+      invalidationsBefore = invalidations;
+      Segment missing = null;
+      LocalDateTime bucketStart = bucket.floor(start, firstDayOfWeek);
+      while (!bucketStart.isAfter(end)) {
+        LocalDateTime bucketEnd = bucket.next(bucketStart);
+        Window window = findCovering(bucketStart, bucketEnd);
+        if (window == null) {
+          if (missing == null) {
+            missing = new Segment(bucketStart);
+            segments.add(missing);
+          }
+          missing.end = bucketEnd;
+        } else {
+          missing = null;
+          Segment cached = new Segment(bucketStart);
+          window.collect(bucketStart, bucketEnd, cached.events);
+          segments.add(cached);
+        }
+        bucketStart = bucketEnd;
+      }
+    }
+
+    for (Segment segment : segments) {
+      if (segment.end != null) {
+        segment.loaded = loader.load(segment.start, segment.end.minusNanos(1));
+      }
+    }
+
+    synchronized (this) {
+      boolean cacheable = invalidations == invalidationsBefore;
+      for (Segment segment : segments) {
+        if (segment.loaded != null && cacheable) {
+          store(segment.start, segment.end, bucket, segment.loaded);
+        }
+      }
+    }
+
+    Map<String, Event> result = new LinkedHashMap<>();
+    for (Segment segment : segments) {
+      if (segment.loaded != null) {
+        segment.loaded.forEach(event -> result.putIfAbsent(event.getId(), event));
+      } else {
+        segment.events.forEach(result::putIfAbsent);
+      }
+    }
+    return new ArrayList<>(result.values());
+  }
+
+  /**
+   * Removes all cached windows containing the event with the given id.
+   *
+   * @param eventId the id of the event that changed
+   */
+  public synchronized void invalidateEvent(String eventId) {
+    invalidations++;
+    windows.removeIf(window -> window.contains(eventId));
+  }
+
+  /**
+   * Removes all cached windows overlapping the given range.
+   *
+   * @param start the start of the range
+   * @param end the end of the range (inclusive)
+   */
+  public synchronized void invalidateRange(LocalDateTime start, LocalDateTime end) {
+    invalidations++;
+    windows.removeIf(window -> window.start.isBefore(end.plusNanos(1)) && window.end.isAfter(start));
+  }
+
+  /**
+   * Removes all cached windows.
+   */
+  public synchronized void invalidateAll() {
+    invalidations++;
+    windows.clear();
+  }
+
+  /**
+   * Returns the number of cached windows.
+   *
+   * @return the number of cached windows
+   */
+  public synchronized int size() {
+    return windows.size();
+  }
+
+  /**
+   * Caches the events loaded for the given buckets, except the buckets another load cached
+   * meanwhile.
+   */
+  private void store(LocalDateTime from, LocalDateTime to, RangeBucket bucket,
+      List<Event> loaded) {
+    Instant now = clock.instant();
+    // one window per bucket keeps eviction and invalidation granular
+    LocalDateTime bucketStart = from;
+    while (bucketStart.isBefore(to)) {
+      LocalDateTime bucketEnd = bucket.next(bucketStart);
+      if (findCovering(bucketStart, bucketEnd) == null) {
+        List<Event> bucketEvents = new ArrayList<>();
+        for (Event event : loaded) {
+          if (overlaps(event, bucketStart, bucketEnd)) {
+            bucketEvents.add(event);
+          }
+        }
+        windows.addLast(new Window(bucketStart, bucketEnd, bucketEvents, now));
+      }
+      bucketStart = bucketEnd;
+    }
+    while (windows.size() > maxWindows) {
+      windows.removeFirst();
+    }
+  }
+
+  private Window findCovering(LocalDateTime start, LocalDateTime end) {
+    Iterator<Window> iterator = windows.iterator();
+    while (iterator.hasNext()) {
+      Window window = iterator.next();
+      if (!window.start.isAfter(start) && !window.end.isBefore(end)) {
+        iterator.remove();
+        windows.addLast(window);
+        return window;
+      }
+    }
+    return null;
+  }
+
+  private void evictExpired() {
+    if (maxAge != null) {
+      Instant oldest = clock.instant().minus(maxAge);
+      windows.removeIf(window -> window.fetchedAt.isBefore(oldest));
+    }
+  }
+
+  /**
+   * Events returned for a range are kept in the windows they overlap. Events not overlapping any
+   * window (e.g. recurring events, whose start and end describe the first occurrence only) are kept
+   * in all windows of the range they were returned for.
+   */
+  private static boolean overlaps(Event event, LocalDateTime start, LocalDateTime end) {
+    if (event.getRecurrenceRule() != null || event.getStart() == null || event.getEnd() == null) {
+      return true;
+    }
+    return event.getStart().isBefore(end) && !event.getEnd().isBefore(start);
+  }
+
+  /**
+   * A contiguous part of a requested range, either answered by the cache or to be loaded.
+   */
+  private static class Segment {
+
+    private final LocalDateTime start;
+
+    /**
+     * Exclusive end of the part to load, null if the part is cached.
+     */
+    private LocalDateTime end;
+
+    /**
+     * The cached events of the part by id.
+     */
+    private final Map<String, Event> events = new LinkedHashMap<>();
+
+    private List<Event> loaded;
+
+    Segment(LocalDateTime start) {
+      this.start = start;
+    }
+  }
+
+  private static class Window implements Serializable {
+
+    private final LocalDateTime start;
+
+    /**
+     * Exclusive end of the window.
+     */
+    private final LocalDateTime end;
+
+    private final Collection<Event> events;
+
+    private final Instant fetchedAt;
+
+    Window(LocalDateTime start, LocalDateTime end, Collection<Event> events, Instant fetchedAt) {
+      this.start = start;
+      this.end = end;
+      this.events = events;
+      this.fetchedAt = fetchedAt;
+    }
+
+    boolean contains(String eventId) {
+      return events.stream().anyMatch(event -> Objects.equals(event.getId(), eventId));
+    }
+
+    void collect(LocalDateTime from, LocalDateTime to, Map<String, Event> result) {
+      boolean exact = start.equals(from) && end.equals(to);
+      for (Event event : events) {
+        if (exact || overlaps(event, from, to)) {
+          result.putIfAbsent(event.getId(), event);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,384 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar;
+
+import com.vaadin.flow.data.provider.CallbackDataProvider;
+import com.vaadin.flow.data.provider.Query;
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.Event;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.EventQueryFilter;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.RecurrenceRule;
+import org.vaadin.addons.componentfactory.schedulexcalendar.util.RecurrenceEvaluator;
+
+/**
+ * In-memory data provider of calendar events, indexed for range queries.
+ *
+ * <p>
+ * Events are kept in an interval tree, so the events of a range are found in O(log n + k) instead
+ * of filtering all the events, along with one tree per calendar id and per resource id for the
+ * queries restricted to a calendar or a resource, including the data provider queries whose
+ * filter has {@link EventQueryFilter#getResourceIds() resource ids}. Recurring events are
+ * indexed over the whole period of their recurrence and returned when one of their occurrences
+ * falls in the range, as determined by {@link RecurrenceEvaluator}. Events are returned in start
+ * order, so the store honors the offset and limit of queries and can be used with
+ * {@link BaseScheduleXCalendar#setFetchPageSize(int)}.
+ * </p>
+ *
+ * <p>
+ * The store is thread-safe: events may be added, updated and removed from any thread while
+ * calendars query it. The events are stored as given, not copied, so an event changed in place
+ * must be passed to {@link #update(Event)} to be re-indexed. Changes are not pushed to the
+ * calendars using the store; make them through the calendar event methods, such as
+ * {@link BaseScheduleXCalendar#addEvent(Event)}, or refresh the calendars.
+ * </p>
+ */
+@SuppressWarnings("serial")
+public class EventStore extends CallbackDataProvider<Event, EventQueryFilter> {
+
+  /**
+   * Values an event was indexed with, so it can be found again once changed in place.
+   */
+  private record Entry(Event event, LocalDateTime start, LocalDateTime end, String calendarId,
+      String resourceId) implements Serializable {
+  }
+
+  /**
+   * The indexes, separate from the store so the provider callbacks can use them.
+   */
+  private static final class Index implements Serializable {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    private final EventIntervalTree events = new EventIntervalTree();
+
+    private final Map<String, EventIntervalTree> eventsByCalendar = new HashMap<>();
+
+    private final Map<String, EventIntervalTree> eventsByResource = new HashMap<>();
+
+    private Stream<Event> fetch(Query<Event, EventQueryFilter> query) {
+      List<Event> result = query(query.getFilter().orElse(null));
+      int from = Math.min(query.getOffset(), result.size());
+      int to = (int) Math.min((long) from + query.getLimit(), result.size());
+      return result.subList(from, to).stream();
+    }
+
+    private int count(Query<Event, EventQueryFilter> query) {
+      return query(query.getFilter().orElse(null)).size();
+    }
+
+    private List<Event> query(EventQueryFilter filter) {
+      if (filter == null || filter.getStartDate() == null || filter.getEndDate() == null) {
+        return getAll();
+      }
+      if (filter.getResourceIds() != null) {
+        return queryResources(filter.getResourceIds(), filter.getStartDate(), filter.getEndDate());
+      }
+      return query(events, filter.getStartDate(), filter.getEndDate());
+    }
+
+    /**
+     * Queries the trees of the given resources, merging their events in start order.
+     */
+    private List<Event> queryResources(Collection<String> resourceIds, LocalDateTime start,
+        LocalDateTime end) {
+      List<Event> result = new ArrayList<>();
+      resourceIds.forEach(id -> result.addAll(query(id, eventsByResource, start, end)));
+      if (resourceIds.size() > 1) {
+        result.sort(Comparator.comparing(Event::getStart).thenComparing(Event::getId));
+      }
+      return result;
+    }
+
+    private List<Event> getAll() {
+      lock.readLock().lock();
+      try {
+        List<Event> result = new ArrayList<>(events.size());
+        events.forEach(result::add);
+        return result;
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    private List<Event> query(String key, Map<String, EventIntervalTree> index,
+        LocalDateTime start, LocalDateTime end) {
+      lock.readLock().lock();
+      try {
+        EventIntervalTree tree = index.get(key);
+        return tree != null ? query(tree, start, end) : new ArrayList<>();
+      } finally {
+        lock.readLock().unlock();
+      }
+    }
+
+    private List<Event> query(EventIntervalTree tree, LocalDateTime start, LocalDateTime end) {
+      List<Event> result = new ArrayList<>();
+      Consumer<Event> consumer = event -> {
+        if (occursInRange(event, start, end)) {
+          result.add(event);
+        }
+      };
+      lock.readLock().lock();
+      try {
+        tree.query(start, end, consumer);
+      } finally {
+        lock.readLock().unlock();
+      }
+      return result;
+    }
+
+    private void put(Event event) {
+      lock.writeLock().lock();
+      try {
+        removeEntry(event.getId());
+        Entry entry = new Entry(event, event.getStart(), indexedEnd(event), event.getCalendarId(),
+            event.getResourceId());
+        entries.put(event.getId(), entry);
+        events.insert(entry.start(), entry.end(), event.getId(), event);
+        if (entry.calendarId() != null) {
+          eventsByCalendar.computeIfAbsent(entry.calendarId(), key -> new EventIntervalTree())
+              .insert(entry.start(), entry.end(), event.getId(), event);
+        }
+        if (entry.resourceId() != null) {
+          eventsByResource.computeIfAbsent(entry.resourceId(), key -> new EventIntervalTree())
+              .insert(entry.start(), entry.end(), event.getId(), event);
+        }
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    private boolean remove(String eventId) {
+      lock.writeLock().lock();
+      try {
+        return removeEntry(eventId);
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+
+    private boolean removeEntry(String eventId) {
+      Entry entry = entries.remove(eventId);
+      if (entry == null) {
+        return false;
+      }
+      events.remove(entry.start(), eventId);
+      removeFrom(eventsByCalendar, entry.calendarId(), entry.start(), eventId);
+      removeFrom(eventsByResource, entry.resourceId(), entry.start(), eventId);
+      return true;
+    }
+
+    private static void removeFrom(Map<String, EventIntervalTree> index, String key,
+        LocalDateTime start, String eventId) {
+      EventIntervalTree tree = key != null ? index.get(key) : null;
+      if (tree != null) {
+        tree.remove(start, eventId);
+        if (tree.size() == 0) {
+          index.remove(key);
+        }
+      }
+    }
+  }
+
+  private final Index index;
+
+  /**
+   * Creates an empty store.
+   */
+  public EventStore() {
+    this(new Index());
+  }
+
+  /**
+   * Creates a store holding the given events.
+   *
+   * @param events the events of the store
+   */
+  public EventStore(Collection<Event> events) {
+    this(new Index());
+    addAll(events);
+  }
+
+  private EventStore(Index index) {
+    super(index::fetch, index::count);
+    this.index = index;
+  }
+
+  /**
+   * Adds an event, replacing the event with the same id if any.
+   *
+   * @param event the event to add
+   */
+  public void add(Event event) {
+    index.put(event);
+  }
+
+  /**
+   * Adds the given events, replacing the events with the same ids if any.
+   *
+   * @param events the events to add
+   */
+  public void addAll(Collection<Event> events) {
+    index.lock.writeLock().lock();
+    try {
+      events.forEach(index::put);
+    } finally {
+      index.lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Re-indexes an event after it was changed, or replaces the event with the same id. The event
+   * is added if the store holds no event with its id.
+   *
+   * @param event the changed event
+   */
+  public void update(Event event) {
+    index.put(event);
+  }
+
+  /**
+   * Removes the event with the given id.
+   *
+   * @param eventId the id of the event to remove
+   * @return true if the store held the event
+   */
+  public boolean remove(String eventId) {
+    return index.remove(eventId);
+  }
+
+  /**
+   * Removes all the events.
+   */
+  public void clear() {
+    index.lock.writeLock().lock();
+    try {
+      index.entries.clear();
+      index.events.clear();
+      index.eventsByCalendar.clear();
+      index.eventsByResource.clear();
+    } finally {
+      index.lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Returns the event with the given id.
+   *
+   * @param eventId the id of the event
+   * @return the event, or an empty optional if the store holds no event with that id
+   */
+  public Optional<Event> get(String eventId) {
+    index.lock.readLock().lock();
+    try {
+      return Optional.ofNullable(index.entries.get(eventId)).map(Entry::event);
+    } finally {
+      index.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Returns the number of events in the store.
+   *
+   * @return the number of events
+   */
+  public int size() {
+    index.lock.readLock().lock();
+    try {
+      return index.entries.size();
+    } finally {
+      index.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Returns the events occurring in the given range, in start order. Both ends of the range are
+   * inclusive.
+   *
+   * @param start the start of the range
+   * @param end the end of the range
+   * @return the events of the range
+   */
+  public List<Event> getEvents(LocalDateTime start, LocalDateTime end) {
+    return index.query(index.events, start, end);
+  }
+
+  /**
+   * Returns the events of the given calendar occurring in the given range, in start order.
+   *
+   * @param calendarId the id of the calendar
+   * @param start the start of the range
+   * @param end the end of the range
+   * @return the events of the calendar in the range
+   */
+  public List<Event> getCalendarEvents(String calendarId, LocalDateTime start, LocalDateTime end) {
+    return index.query(calendarId, index.eventsByCalendar, start, end);
+  }
+
+  /**
+   * Returns the events of the given resource occurring in the given range, in start order.
+   *
+   * @param resourceId the id of the resource
+   * @param start the start of the range
+   * @param end the end of the range
+   * @return the events of the resource in the range
+   */
+  public List<Event> getResourceEvents(String resourceId, LocalDateTime start, LocalDateTime end) {
+    return index.query(resourceId, index.eventsByResource, start, end);
+  }
+
+  /**
+   * Returns the end an event is indexed with: its end, or the end of its last occurrence for
+   * recurring events, unbounded if the rule has no UNTIL.
+   */
+  private static LocalDateTime indexedEnd(Event event) {
+    RecurrenceRule rule = event.getRecurrenceRule();
+    if (rule == null) {
+      return event.getEnd();
+    }
+    if (rule.getUntil() == null) {
+      return LocalDateTime.MAX;
+    }
+    LocalTime time = rule.getUntil().getTime() != null ? rule.getUntil().getTime() : LocalTime.MAX;
+    LocalDateTime lastStart = rule.getUntil().getDate().atTime(time);
+    return lastStart.plus(Duration.between(event.getStart(), event.getEnd()));
+  }
+
+  private static boolean occursInRange(Event event, LocalDateTime start, LocalDateTime end) {
+    RecurrenceRule rule = event.getRecurrenceRule();
+    if (rule == null || !event.getStart().isAfter(end) && !event.getEnd().isBefore(start)) {
+      // the tree only returns the events overlapping the range
+      return true;
+    }
+    // the evaluator range end is exclusive
+    return RecurrenceEvaluator.occursInRange(rule, event.getStart().toLocalDate(),
+        start.toLocalDate(), end.toLocalDate().plusDays(1));
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.Event;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.RecurrenceRule.Until;
+import org.vaadin.addons.componentfactory.schedulexcalendar.util.ICalParser;
+
+/**
+ * Events of an iCalendar source, parsed once and indexed by start, so the events of a range are
+ * found without scanning the whole source. Recurring events are returned for every range between
+ * their first occurrence and the end of their recurrence, as their occurrences are expanded by the
+ * connector.
+ * <p>
+ * Immutable once built, the events of a range may be looked up from any thread. The returned
+ * events are shared and must not be modified.
+ */
+@SuppressWarnings("serial")
+final class ICalEventSource implements Serializable {
+
+  private final String iCal;
+
+  private final ZoneId zone;
+
+  /**
+   * The non-recurring events, sorted by start.
+   */
+  private final List<Event> events;
+
+  /**
+   * The longest duration of the non-recurring events, bounding how far before a range the events
+   * overlapping it can start.
+   */
+  private final Duration maxDuration;
+
+  private final List<Event> recurringEvents;
+
+  private ICalEventSource(String iCal, ZoneId zone) {
+    this.iCal = iCal;
+    this.zone = zone;
+    List<Event> single = new ArrayList<>();
+    List<Event> recurring = new ArrayList<>();
+    Duration longest = Duration.ZERO;
+    for (Event event : ICalParser.parse(iCal, zone)) {
+      // serialized once, so range requests reuse the cached JSON
+      event.toJsonObject();
+      if (event.getRecurrenceRule() != null) {
+        recurring.add(event);
+      } else {
+        single.add(event);
+        Duration duration = Duration.between(event.getStart(), event.getEnd());
+        longest = duration.compareTo(longest) > 0 ? duration : longest;
+      }
+    }
+    single.sort(Comparator.comparing(Event::getStart));
+    this.events = single;
+    this.recurringEvents = recurring;
+    this.maxDuration = longest;
+  }
+
+  /**
+   * Parses the given iCalendar source.
+   *
+   * @param iCal the iCalendar source
+   * @param zone the time zone of the calendar
+   */
+  static ICalEventSource of(String iCal, ZoneId zone) {
+    return new ICalEventSource(iCal, zone);
+  }
+
+  /**
+   * Returns whether this source was parsed from the given iCalendar source and time zone.
+   */
+  boolean isFor(String iCal, ZoneId zone) {
+    return this.iCal.equals(iCal) && this.zone.equals(zone);
+  }
+
+  int size() {
+    return events.size() + recurringEvents.size();
+  }
+
+  /**
+   * Returns the events overlapping the given range, sorted by start, followed by the recurring
+   * events that may have occurrences in the range.
+   */
+  List<Event> getEvents(LocalDateTime start, LocalDateTime end) {
+    List<Event> result = new ArrayList<>();
+    for (int i = firstStartingFrom(start.minus(maxDuration)); i < events.size(); i++) {
+      Event event = events.get(i);
+      if (event.getStart().isAfter(end)) {
+        break;
+      }
+      if (!event.getEnd().isBefore(start)) {
+        result.add(event);
+      }
+    }
+    for (Event event : recurringEvents) {
+      if (!event.getStart().isAfter(end) && !endsBefore(event, start)) {
+        result.add(event);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the index of the first event starting at or after the given date time.
+   */
+  private int firstStartingFrom(LocalDateTime dateTime) {
+    int low = 0;
+    int high = events.size();
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (events.get(middle).getStart().isBefore(dateTime)) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Returns whether the last occurrence of a recurring event, starting at the latest at the UNTIL
+   * of its rule, ends before the given date time.
+   */
+  private static boolean endsBefore(Event event, LocalDateTime dateTime) {
+    Until until = event.getRecurrenceRule().getUntil();
+    if (until == null) {
+      return false;
+    }
+    LocalTime time = until.getTime() != null ? until.getTime() : LocalTime.MAX;
+    Duration duration = Duration.between(event.getStart(), event.getEnd());
+    // a day of margin, as an UNTIL in UTC is read as a floating date time
+    return until.getDate().atTime(time).plus(duration).plusDays(1).isBefore(dateTime);
+  }
+}
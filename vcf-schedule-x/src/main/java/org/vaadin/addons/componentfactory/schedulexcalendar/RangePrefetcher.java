@@ -0,0 +1,159 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar;
+
+import com.vaadin.flow.internal.Pair;
+import java.io.Serializable;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.vaadin.addons.componentfactory.schedulexcalendar.util.RangeBucket;
+import org.vaadin.addons.componentfactory.schedulexcalendar.util.ResourceViewType;
+import org.vaadin.addons.componentfactory.schedulexcalendar.util.ViewType;
+
+/**
+ * Holds the prefetch settings of a calendar and computes the periods adjacent to a visible range.
+ */
+@SuppressWarnings("serial")
+class RangePrefetcher implements Serializable {
+
+  static final int DEFAULT_DEPTH = 1;
+
+  private boolean enabled;
+
+  private int depth = DEFAULT_DEPTH;
+
+  private final Map<ViewType, Boolean> enabledByView = new HashMap<>();
+
+  private final Map<ViewType, Integer> depthByView = new HashMap<>();
+
+  private transient Executor executor;
+
+  boolean isEnabled() {
+    return enabled;
+  }
+
+  void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  boolean isEnabled(ViewType view) {
+    return enabledByView.getOrDefault(view, enabled) && getDepth(view) > 0;
+  }
+
+  void setEnabled(ViewType view, boolean enabled) {
+    enabledByView.put(view, enabled);
+  }
+
+  int getDepth() {
+    return depth;
+  }
+
+  void setDepth(int depth) {
+    this.depth = checkDepth(depth);
+  }
+
+  int getDepth(ViewType view) {
+    return depthByView.getOrDefault(view, depth);
+  }
+
+  void setDepth(ViewType view, int depth) {
+    depthByView.put(view, checkDepth(depth));
+  }
+
+  Executor getExecutor() {
+    return executor != null ? executor : DefaultExecutorHolder.EXECUTOR;
+  }
+
+  void setExecutor(Executor executor) {
+    this.executor = executor;
+  }
+
+  private static int checkDepth(int depth) {
+    if (depth < 0) {
+      throw new IllegalArgumentException("Prefetch depth must not be negative");
+    }
+    return depth;
+  }
+
+  /**
+   * Returns the ranges of the periods adjacent to the given visible range, nearest first,
+   * alternating between the next and the previous period.
+   *
+   * <p>
+   * The period is a day, a week or a month for the calendar views, depending on the view. Month
+   * ranges span the whole weeks the month grid displays. For the resource views, the period is the
+   * visible span itself.
+   * </p>
+   */
+  List<Pair<LocalDateTime, LocalDateTime>> getAdjacentRanges(ViewType view, LocalDateTime start,
+      LocalDateTime end, DayOfWeek firstDayOfWeek) {
+    List<Pair<LocalDateTime, LocalDateTime>> ranges = new ArrayList<>();
+    int viewDepth = getDepth(view);
+    for (int i = 1; i <= viewDepth; i++) {
+      ranges.add(getAdjacentRange(view, start, end, firstDayOfWeek, i));
+      ranges.add(getAdjacentRange(view, start, end, firstDayOfWeek, -i));
+    }
+    return ranges;
+  }
+
+  private static Pair<LocalDateTime, LocalDateTime> getAdjacentRange(ViewType view,
+      LocalDateTime start, LocalDateTime end, DayOfWeek firstDayOfWeek, int offset) {
+    if (view instanceof ResourceViewType) {
+      long spanDays = Math.max(1, Duration.between(start, end).plusHours(1).toDays());
+      return new Pair<>(start.plusDays(spanDays * offset), end.plusDays(spanDays * offset));
+    }
+    RangeBucket bucket = RangeBucket.of(view);
+    switch (bucket) {
+      case MONTH:
+        // the displayed month is the one in the middle of the visible range
+        LocalDateTime middle = start.plus(Duration.between(start, end).dividedBy(2));
+        YearMonth month = YearMonth.from(middle).plusMonths(offset);
+        LocalDateTime monthStart = RangeBucket.WEEK
+            .floor(month.atDay(1).atStartOfDay(), firstDayOfWeek);
+        LocalDateTime monthEnd = RangeBucket.WEEK.next(
+            RangeBucket.WEEK.floor(month.atEndOfMonth().atStartOfDay(), firstDayOfWeek));
+        return new Pair<>(monthStart, monthEnd.minusNanos(1));
+      case WEEK:
+        return new Pair<>(start.plusWeeks(offset), end.plusWeeks(offset));
+      default:
+        return new Pair<>(start.plusDays(offset), end.plusDays(offset));
+    }
+  }
+
+  /**
+   * Lazily created default executor running prefetch tasks on low-priority daemon threads.
+   */
+  private static class DefaultExecutorHolder {
+
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(2, runnable -> {
+      Thread thread = new Thread(runnable,
+          "vcf-schedule-x-prefetch-" + COUNTER.incrementAndGet());
+      thread.setDaemon(true);
+      thread.setPriority(Thread.MIN_PRIORITY);
+      return thread;
+    });
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.Event;
+import org.vaadin.addons.componentfactory.schedulexcalendar.util.CompiledRecurrenceRule;
+
+/**
+ * Expands recurring events into concrete occurrences on the server, so the client does not have
+ * to. Each occurrence is a copy of the recurring event without its recurrence rule and excluded
+ * dates, moved to the start of the occurrence, with an id derived from the id of the recurring
+ * event and the original start of the occurrence, such as <code>standup#20250106T090000</code>,
+ * which stays the same from one range to the next.
+ * <p>
+ * Occurrences starting on an excluded date time of the recurring event are skipped. The
+ * occurrences are expanded with {@link CompiledRecurrenceRule}, so all the rule parts it supports
+ * are honored.
+ */
+final class RecurrenceExpander {
+
+  /**
+   * Separates the id of the recurring event from the start of the occurrence in occurrence ids.
+   */
+  static final char SEPARATOR = '#';
+
+  private static final DateTimeFormatter OCCURRENCE_FORMATTER =
+      DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+  private RecurrenceExpander() {}
+
+  /**
+   * Returns the given events with the recurring ones replaced by their occurrences overlapping
+   * the given range. Both ends of the range are inclusive.
+   */
+  static List<Event> expand(List<Event> events, LocalDateTime start, LocalDateTime end) {
+    if (events.stream().noneMatch(RecurrenceExpander::isRecurring)) {
+      return events;
+    }
+    List<Event> expanded = new ArrayList<>(events.size());
+    for (Event event : events) {
+      if (isRecurring(event)) {
+        expanded.addAll(expand(event, start, end));
+      } else {
+        expanded.add(event);
+      }
+    }
+    return expanded;
+  }
+
+  /**
+   * Returns the occurrences of the given recurring event overlapping the given range. Both ends
+   * of the range are inclusive.
+   */
+  static List<Event> expand(Event event, LocalDateTime start, LocalDateTime end) {
+    Duration duration = Duration.between(event.getStart(), event.getEnd());
+    Set<LocalDateTime> excluded = event.getExcludedDates() != null
+        ? new HashSet<>(event.getExcludedDates())
+        : Set.of();
+    List<Event> occurrences = new ArrayList<>();
+    // occurrences starting before the range may still overlap it
+    for (LocalDateTime occurrenceStart : CompiledRecurrenceRule.of(event.getRecurrenceRule())
+        .getOccurrences(event.getStart(), start.minus(duration), end.plusNanos(1))) {
+      if (!excluded.contains(occurrenceStart)) {
+        occurrences.add(toOccurrence(event, occurrenceStart, duration));
+      }
+    }
+    return occurrences;
+  }
+
+  static boolean isRecurring(Event event) {
+    return event.getRecurrenceRule() != null && event.getRecurrenceRule().getFreq() != null
+        && event.getStart() != null && event.getEnd() != null;
+  }
+
+  /**
+   * Returns the id of the occurrence of the given recurring event starting at the given date
+   * time.
+   */
+  static String occurrenceId(String eventId, LocalDateTime occurrenceStart) {
+    return eventId + SEPARATOR + occurrenceStart.format(OCCURRENCE_FORMATTER);
+  }
+
+  /**
+   * Returns whether the given id is the id of an occurrence of the given recurring event.
+   */
+  static boolean isOccurrenceOf(String id, String eventId) {
+    return id.length() == eventId.length() + 16 && id.startsWith(eventId)
+        && id.charAt(eventId.length()) == SEPARATOR;
+  }
+
+  /**
+   * Returns the id of the recurring event of the given occurrence id, or null if the id is not
+   * an occurrence id.
+   */
+  static String getRecurringEventId(String id) {
+    return getOccurrenceStart(id) != null ? id.substring(0, id.length() - 16) : null;
+  }
+
+  /**
+   * Returns the original start of the occurrence with the given id, or null if the id is not an
+   * occurrence id.
+   */
+  static LocalDateTime getOccurrenceStart(String id) {
+    if (id == null || id.length() < 17 || id.charAt(id.length() - 16) != SEPARATOR) {
+      return null;
+    }
+    try {
+      return LocalDateTime.parse(id.substring(id.length() - 15), OCCURRENCE_FORMATTER);
+    } catch (DateTimeParseException e) {
+      return null;
+    }
+  }
+
+  private static Event toOccurrence(Event event, LocalDateTime start, Duration duration) {
+    Event occurrence =
+        new Event(occurrenceId(event.getId(), start), start, start.plus(duration));
+    occurrence.setTitle(event.getTitle());
+    occurrence.setDescription(event.getDescription());
+    occurrence.setLocation(event.getLocation());
+    occurrence.setPeople(event.getPeople());
+    occurrence.setCalendarId(event.getCalendarId());
+    occurrence.setOptions(event.getOptions());
+    occurrence.setCustomContent(event.getCustomContent());
+    occurrence.setResourceId(event.getResourceId());
+    return occurrence;
+  }
+}
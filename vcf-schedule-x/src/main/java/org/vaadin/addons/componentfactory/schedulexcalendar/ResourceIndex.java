@@ -0,0 +1,143 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.Resource;
+
+/**
+ * Index of a resource tree by resource id, with the parent of each resource, so resources are
+ * found and changed without walking the tree.
+ * <p>
+ * The index does not see the changes made to the resource lists directly; it must be rebuilt
+ * after them. Not thread-safe.
+ */
+@SuppressWarnings("serial")
+final class ResourceIndex implements Serializable {
+
+  private final Map<String, Resource> resources = new HashMap<>();
+
+  /**
+   * The parent of each resource, absent for the top-level resources.
+   */
+  private final Map<String, Resource> parents = new HashMap<>();
+
+  /**
+   * Creates the index of the given top-level resources and their descendants.
+   */
+  ResourceIndex(List<Resource> roots) {
+    if (roots != null) {
+      roots.forEach(root -> add(null, root));
+    }
+  }
+
+  Resource get(String id) {
+    return resources.get(id);
+  }
+
+  /**
+   * Returns the parent of the resource with the given id, or null for a top-level resource.
+   */
+  Resource getParent(String id) {
+    return parents.get(id);
+  }
+
+  boolean contains(String id) {
+    return resources.containsKey(id);
+  }
+
+  Set<String> getIds() {
+    return resources.keySet();
+  }
+
+  /**
+   * Returns whether the resource with the given id is the given ancestor or one of its
+   * descendants.
+   */
+  boolean isInSubtree(String id, String ancestorId) {
+    for (String current = id; current != null; current = idOf(parents.get(current))) {
+      if (current.equals(ancestorId)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Indexes a resource and its descendants under the given parent, or as a top-level resource if
+   * the parent is null.
+   */
+  void add(Resource parent, Resource resource) {
+    forEachInSubtree(parent, resource, (node, nodeParent) -> {
+      resources.put(node.getId(), node);
+      if (nodeParent != null) {
+        parents.put(node.getId(), nodeParent);
+      } else {
+        parents.remove(node.getId());
+      }
+    });
+  }
+
+  /**
+   * Removes a resource and its descendants from the index.
+   */
+  void remove(Resource resource) {
+    forEachInSubtree(null, resource, (node, nodeParent) -> {
+      resources.remove(node.getId());
+      parents.remove(node.getId());
+    });
+  }
+
+  /**
+   * Moves a resource, with its descendants, under the given parent, or to the top level if the
+   * parent is null.
+   */
+  void move(Resource resource, Resource parent) {
+    if (parent != null) {
+      parents.put(resource.getId(), parent);
+    } else {
+      parents.remove(resource.getId());
+    }
+  }
+
+  private interface NodeVisitor {
+    void visit(Resource node, Resource parent);
+  }
+
+  /**
+   * Visits a resource and its descendants, iteratively so deep trees cannot overflow the stack.
+   */
+  private static void forEachInSubtree(Resource parent, Resource resource, NodeVisitor visitor) {
+    Deque<Resource[]> pending = new ArrayDeque<>();
+    pending.push(new Resource[] {resource, parent});
+    while (!pending.isEmpty()) {
+      Resource[] entry = pending.pop();
+      visitor.visit(entry[0], entry[1]);
+      List<Resource> children = entry[0].getResources();
+      if (children != null) {
+        children.forEach(child -> pending.push(new Resource[] {child, entry[0]}));
+      }
+    }
+  }
+
+  private static String idOf(Resource resource) {
+    return resource != null ? resource.getId() : null;
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar;
+
+import java.io.Serializable;
+import java.util.List;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.Resource;
+
+/**
+ * Provider of the resources of a {@link ScheduleXResourceScheduler}, fetched one level at a time,
+ * so large hierarchies are loaded as the user expands them instead of all at once.
+ * <p>
+ * The children of the open resources are fetched right away; the children of the collapsed ones
+ * are only counted, and fetched when the resource is expanded.
+ *
+ * @see ScheduleXResourceScheduler#setResourceProvider(ResourceProvider)
+ */
+public interface ResourceProvider extends Serializable {
+
+  /**
+   * Returns the children of the resource with the given id. The child resources of the returned
+   * resources are ignored; they are fetched in turn.
+   *
+   * @param parentId the id of the parent resource, or null for the top-level resources
+   * @return the child resources, in display order
+   */
+  List<Resource> fetchChildren(String parentId);
+
+  /**
+   * Returns the number of children of the resource with the given id, used to show collapsed
+   * resources as expandable without fetching their children.
+   *
+   * @param parentId the id of the parent resource
+   * @return the number of child resources
+   */
+  int getChildCount(String parentId);
+}
@@ -17,6 +17,7 @@ import com.vaadin.flow.internal.Pair;
 import elemental.json.Json;
 import elemental.json.JsonArray;
 import elemental.json.JsonObject;
+import elemental.json.JsonValue;
 import java.io.Serializable;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -24,9 +25,11 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.vaadin.addons.componentfactory.schedulexcalendar.model.Resource;
 import org.vaadin.addons.componentfactory.schedulexcalendar.util.DateTimeFormatUtils;
 import org.vaadin.addons.componentfactory.schedulexcalendar.util.DayNameFormat;
+import org.vaadin.addons.componentfactory.schedulexcalendar.util.JsonWriter;
 
 /**
  * Java representation of the configuration options for the {@link ScheduleXResourceScheduler
@@ -103,13 +106,23 @@ public class ResourceSchedulerConfig extends BaseConfiguration implements Serial
    */
   private DayNameFormat dayNameFormat;
 
+  /**
+   * Index of the resources by id, built on the first resource operation.
+   */
+  private ResourceIndex resourceIndex;
+
+  /**
+   * Resource operations not sent to the client yet.
+   */
+  private JsonArray resourceOperations = Json.createArray();
+
   public Integer getHourWidth() {
     return hourWidth;
   }
 
   public void setHourWidth(Integer hourWidth) {
     this.hourWidth = hourWidth;
-    this.runRefresh();
+    this.runPatch("hourWidth");
   }
 
   public Integer getDayWidth() {
@@ -118,7 +131,7 @@ public class ResourceSchedulerConfig extends BaseConfiguration implements Serial
 
   public void setDayWidth(Integer dayWidth) {
     this.dayWidth = dayWidth;
-    this.runRefresh();
+    this.runPatch("dayWidth");
   }
 
   public List<Resource> getResources() {
@@ -127,16 +140,215 @@ public class ResourceSchedulerConfig extends BaseConfiguration implements Serial
 
   public void setResources(List<Resource> resources) {
     this.resources = resources;
+    this.resourceIndex = null;
+    this.resourceOperations = Json.createArray();
     this.runRefresh();
   }
 
+  /**
+   * Adds a resource, with its child resources, as the last child of the given parent.
+   *
+   * @param parentId the id of the parent resource, or null to add a top-level resource
+   * @param resource the resource to add
+   * @throws IllegalArgumentException if there is no resource with the parent id, or if the id of
+   *         the resource or of one of its children is already used
+   */
+  void addResource(String parentId, Resource resource) {
+    ResourceIndex index = getResourceIndex();
+    Resource parent = getParentResource(index, parentId);
+    if (new ResourceIndex(List.of(resource)).getIds().stream().anyMatch(index::contains)) {
+      throw new IllegalArgumentException(
+          "Resource " + resource.getId() + " or one of its children is already in the scheduler");
+    }
+    getMutableChildren(parent).add(resource);
+    index.add(parent, resource);
+    JsonObject operation = createOperation("add", resource.getId());
+    operation.put("parentId", toJsonValue(parentId));
+    operation.put("resource", Json.parse(resource.getJson()));
+    addOperation(operation);
+  }
+
+  /**
+   * Removes a resource with its child resources.
+   *
+   * @param id the id of the resource to remove
+   * @return true if the resource was found
+   */
+  boolean removeResource(String id) {
+    ResourceIndex index = getResourceIndex();
+    Resource resource = index.get(id);
+    if (resource == null) {
+      return false;
+    }
+    getMutableChildren(index.getParent(id)).remove(resource);
+    index.remove(resource);
+    addOperation(createOperation("remove", id));
+    return true;
+  }
+
+  /**
+   * Replaces the resource with the id of the given resource, keeping its position.
+   *
+   * @param resource the updated resource, with its child resources
+   * @throws IllegalArgumentException if there is no resource with the id of the given resource,
+   *         or if the id of one of its children is already used elsewhere
+   */
+  void updateResource(Resource resource) {
+    ResourceIndex index = getResourceIndex();
+    Resource current = getResource(index, resource.getId());
+    Resource parent = index.getParent(resource.getId());
+    index.remove(current);
+    if (new ResourceIndex(List.of(resource)).getIds().stream().anyMatch(index::contains)) {
+      index.add(parent, current);
+      throw new IllegalArgumentException(
+          "A child of resource " + resource.getId() + " is already in the scheduler");
+    }
+    List<Resource> siblings = getMutableChildren(parent);
+    siblings.set(siblings.indexOf(current), resource);
+    index.add(parent, resource);
+    JsonObject operation = createOperation("update", resource.getId());
+    operation.put("resource", Json.parse(resource.getJson()));
+    addOperation(operation);
+  }
+
+  /**
+   * Moves a resource, with its child resources, under another parent or to another position.
+   *
+   * @param id the id of the resource to move
+   * @param parentId the id of the new parent, or null to move the resource to the top level
+   * @param position the position among the children of the new parent, or -1 to move the
+   *        resource last
+   * @throws IllegalArgumentException if there is no resource with one of the ids, or if the new
+   *         parent is the resource or one of its descendants
+   */
+  void moveResource(String id, String parentId, int position) {
+    ResourceIndex index = getResourceIndex();
+    Resource resource = getResource(index, id);
+    Resource parent = getParentResource(index, parentId);
+    if (parentId != null && index.isInSubtree(parentId, id)) {
+      throw new IllegalArgumentException(
+          "Resource " + id + " cannot be moved under itself or its descendants");
+    }
+    getMutableChildren(index.getParent(id)).remove(resource);
+    List<Resource> siblings = getMutableChildren(parent);
+    int clamped = position < 0 || position > siblings.size() ? siblings.size() : position;
+    siblings.add(clamped, resource);
+    index.move(resource, parent);
+    JsonObject operation = createOperation("move", id);
+    operation.put("parentId", toJsonValue(parentId));
+    operation.put("position", clamped);
+    addOperation(operation);
+  }
+
+  /**
+   * Expands or collapses a resource.
+   *
+   * @param id the id of the resource
+   * @param open true to expand the resource, false to collapse it
+   * @throws IllegalArgumentException if there is no resource with the given id
+   */
+  void setResourceOpen(String id, boolean open) {
+    Resource resource = getResource(getResourceIndex(), id);
+    if (resource.isOpen() == open) {
+      return;
+    }
+    resource.setOpen(open);
+    JsonObject operation = createOperation("open", id);
+    operation.put("open", open);
+    addOperation(operation);
+  }
+
+  /**
+   * Returns the resource with the given id.
+   *
+   * @param id the id of the resource
+   * @return the resource, or an empty optional if there is no resource with that id
+   */
+  Optional<Resource> findResource(String id) {
+    return Optional.ofNullable(getResourceIndex().get(id));
+  }
+
+  /**
+   * Returns a copy of the ids of the resources, at any level of the resource tree.
+   */
+  Set<String> getResourceIds() {
+    return Set.copyOf(getResourceIndex().getIds());
+  }
+
+  private ResourceIndex getResourceIndex() {
+    if (resourceIndex == null) {
+      resourceIndex = new ResourceIndex(resources);
+    }
+    return resourceIndex;
+  }
+
+  private static Resource getResource(ResourceIndex index, String id) {
+    Resource resource = index.get(id);
+    if (resource == null) {
+      throw new IllegalArgumentException("No resource with id " + id);
+    }
+    return resource;
+  }
+
+  private static Resource getParentResource(ResourceIndex index, String parentId) {
+    return parentId != null ? getResource(index, parentId) : null;
+  }
+
+  /**
+   * Returns the children of the given resource, or the top-level resources if it is null, in a
+   * list that can be changed, replacing immutable lists with copies.
+   */
+  private List<Resource> getMutableChildren(Resource parent) {
+    List<Resource> children = parent != null ? parent.getResources() : resources;
+    if (!(children instanceof ArrayList)) {
+      children = children != null ? new ArrayList<>(children) : new ArrayList<>();
+      if (parent != null) {
+        parent.setResources(children);
+      } else {
+        resources = children;
+      }
+    }
+    return children;
+  }
+
+  private static JsonObject createOperation(String type, String id) {
+    JsonObject operation = Json.createObject();
+    operation.put("type", type);
+    operation.put("id", id);
+    return operation;
+  }
+
+  private static JsonValue toJsonValue(String value) {
+    return value != null ? Json.create(value) : Json.createNull();
+  }
+
+  /**
+   * Queues an operation, sent to the client with the next patch of this configuration.
+   */
+  private void addOperation(JsonObject operation) {
+    if (getCalendar() != null) {
+      resourceOperations.set(resourceOperations.length(), operation);
+      getCalendar().patchConfiguration(this);
+    }
+  }
+
+  @Override
+  JsonObject takePatch() {
+    JsonObject patch = super.takePatch();
+    if (patch != null && resourceOperations.length() > 0) {
+      patch.put("resourceOperations", resourceOperations);
+    }
+    resourceOperations = Json.createArray();
+    return patch;
+  }
+
   public Integer getResourceHeight() {
     return resourceHeight;
   }
 
   public void setResourceHeight(Integer resourceHeight) {
     this.resourceHeight = resourceHeight;
-    this.runRefresh();
+    this.runPatch("resourceHeight");
   }
 
   public Integer getEventHeight() {
@@ -145,7 +357,7 @@ public class ResourceSchedulerConfig extends BaseConfiguration implements Serial
 
   public void setEventHeight(Integer eventHeight) {
     this.eventHeight = eventHeight;
-    this.runRefresh();
+    this.runPatch("eventHeight");
   }
 
   public boolean isDragAndDrop() {
@@ -154,7 +366,7 @@ public class ResourceSchedulerConfig extends BaseConfiguration implements Serial
 
   public void setDragAndDrop(boolean dragAndDrop) {
     this.dragAndDrop = dragAndDrop;
-    this.runRefresh();
+    this.runPatch("dragAndDrop");
   }
 
   public boolean isResize() {
@@ -163,7 +375,7 @@ public class ResourceSchedulerConfig extends BaseConfiguration implements Serial
 
   public void setResize(boolean resize) {
     this.resize = resize;
-    this.runRefresh();
+    this.runPatch("resize");
   }
 
   public boolean isInfiniteScroll() {
@@ -172,7 +384,7 @@ public class ResourceSchedulerConfig extends BaseConfiguration implements Serial
 
   public void setInfiniteScroll(boolean infiniteScroll) {
     this.infiniteScroll = infiniteScroll;
-    this.runRefresh();
+    this.runPatch("infiniteScroll");
   }
 
   public Pair<LocalDateTime, LocalDateTime> getInitialHours() {
@@ -199,7 +411,7 @@ public class ResourceSchedulerConfig extends BaseConfiguration implements Serial
 
   public void setHighlightToday(Boolean highlightToday) {
     this.highlightToday = highlightToday;
-    this.runRefresh();
+    this.runPatch("highlightToday");
   }
 
   public String getDayNameFormat() {
@@ -208,46 +420,70 @@ public class ResourceSchedulerConfig extends BaseConfiguration implements Serial
 
   public void setDayNameFormat(DayNameFormat dayNameFormat) {
     this.dayNameFormat = dayNameFormat;
-    this.runRefresh();
+    this.runPatch("dayNameFormat");
   }
 
   public String getJson() {
-    JsonObject js = Json.createObject();
-    Optional.ofNullable(hourWidth).ifPresent(value -> js.put("hourWidth", value));
-    Optional.ofNullable(dayWidth).ifPresent(value -> js.put("dayWidth", value));
-    Optional.ofNullable(resourceHeight).ifPresent(value -> js.put("resourceHeight", value));
-    Optional.ofNullable(eventHeight).ifPresent(value -> js.put("eventHeight", value));
-    js.put("dragAndDrop", dragAndDrop);
-    js.put("resize", resize);
-    js.put("infiniteScroll", infiniteScroll);
-
-    if (resources != null && !resources.isEmpty()) {
-      JsonArray resArray = Json.createArray();
-      for (int i = 0; i < resources.size(); i++) {
-        resArray.set(i, Json.parse(resources.get(i).getJson()));
-      }
-      js.put("resources", resArray);
+    JsonWriter writer = new JsonWriter();
+    writeJson(writer, true);
+    return writer.toString();
+  }
+
+  /**
+   * Only the properties other than the resources can be patched, so they are skipped.
+   */
+  @Override
+  JsonObject getPatchableJson() {
+    JsonWriter writer = new JsonWriter();
+    writeJson(writer, false);
+    return Json.parse(writer.toString());
+  }
+
+  @Override
+  String getPatchFunction() {
+    return "applyResourceConfigPatch";
+  }
+
+  /**
+   * Writes the configuration in a single pass, with the resources written straight into the same
+   * buffer instead of being serialized and parsed again for each level of the tree.
+   */
+  private void writeJson(JsonWriter writer, boolean includeResources) {
+    writer.beginObject();
+    writer.optional("hourWidth", hourWidth);
+    writer.optional("dayWidth", dayWidth);
+    writer.optional("resourceHeight", resourceHeight);
+    writer.optional("eventHeight", eventHeight);
+    writer.name("dragAndDrop").value(dragAndDrop);
+    writer.name("resize").value(resize);
+    writer.name("infiniteScroll").value(infiniteScroll);
+
+    if (includeResources && resources != null && !resources.isEmpty()) {
+      writer.name("resources").beginArray();
+      resources.forEach(resource -> resource.writeJson(writer));
+      writer.endArray();
     }
 
     if (initialHours != null) {
-      js.put("initialHours", initialHours.getFirst().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
-          + "," + initialHours.getSecond().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+      writer.name("initialHours").value(
+          initialHours.getFirst().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + ","
+              + initialHours.getSecond().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
     }
 
     if (initialDays != null) {
-      js.put("initialDays", initialDays.getFirst().format(DateTimeFormatUtils.DATE_FORMATTER) + ","
-          + initialDays.getSecond().format(DateTimeFormatUtils.DATE_FORMATTER));
+      writer.name("initialDays").value(
+          initialDays.getFirst().format(DateTimeFormatUtils.DATE_FORMATTER) + ","
+              + initialDays.getSecond().format(DateTimeFormatUtils.DATE_FORMATTER));
     }
 
-    Optional.ofNullable(highlightToday).ifPresent(value -> js.put("highlightToday", value));
-    
+    writer.optional("highlightToday", highlightToday);
+
     if (dayNameFormat != null) {
-      js.put("dayNameFormat", dayNameFormat.getValue());
+      writer.name("dayNameFormat").value(dayNameFormat.getValue());
     } else {
-      js.put("dayNameFormat", false);
+      writer.name("dayNameFormat").value(false);
     }
-
-    return js.toJson();
+    writer.endObject();
   }
 
 }
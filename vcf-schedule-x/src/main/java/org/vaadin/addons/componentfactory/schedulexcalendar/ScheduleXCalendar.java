@@ -73,6 +73,7 @@ public class ScheduleXCalendar extends BaseScheduleXCalendar {
   @ClientCallable
   void addEvent(JsonValue jsonValue) {
     Event event = new Event(jsonValue);
+    onClientEventChanged(event.getId());
     this.fireEvent(new CalendarEventDrawnEvent(this, true, event));
   }
 
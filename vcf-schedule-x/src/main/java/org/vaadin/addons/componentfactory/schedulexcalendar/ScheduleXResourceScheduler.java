@@ -13,13 +13,22 @@
  */
 package org.vaadin.addons.componentfactory.schedulexcalendar;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import org.vaadin.addons.componentfactory.schedulexcalendar.model.Calendar;
 import org.vaadin.addons.componentfactory.schedulexcalendar.model.Event;
 import org.vaadin.addons.componentfactory.schedulexcalendar.model.EventQueryFilter;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.Resource;
 import org.vaadin.addons.componentfactory.schedulexcalendar.util.DateTimeFormatUtils;
 import org.vaadin.addons.componentfactory.schedulexcalendar.util.ResourceViewType;
+import com.vaadin.flow.component.ClientCallable;
 import com.vaadin.flow.component.ComponentEvent;
 import com.vaadin.flow.component.ComponentEventListener;
 import com.vaadin.flow.component.DomEvent;
@@ -28,6 +37,9 @@ import com.vaadin.flow.component.dependency.JsModule;
 import com.vaadin.flow.component.dependency.NpmPackage;
 import com.vaadin.flow.data.provider.CallbackDataProvider;
 import com.vaadin.flow.shared.Registration;
+import elemental.json.JsonArray;
+import elemental.json.JsonType;
+import elemental.json.JsonValue;
 
 /**
  * A view for displaying resources (people, rooms, equipment etc.) in a time grid.
@@ -43,10 +55,35 @@ import com.vaadin.flow.shared.Registration;
 @JsModule("./src/vcf-schedule-x-resource-scheduler.js")
 public class ScheduleXResourceScheduler extends BaseScheduleXCalendar {
 
+  /**
+   * The default number of rows above and below the ones in display whose events are fetched.
+   */
+  public static final int DEFAULT_RESOURCE_WINDOW_OVERSCAN = 10;
+
+  /**
+   * The maximum number of rows in display a client can report, besides the overscan rows.
+   */
+  static final int MAX_RESOURCE_WINDOW_ROWS = 500;
+
   private ResourceSchedulerConfig resourceSchedulerConfig;
 
   private SchedulingAssistantConfig schedulingAssistantConfig;
 
+  private ResourceProvider resourceProvider;
+
+  /**
+   * Whether only the events of the resources in display are fetched.
+   */
+  private boolean resourceWindowing;
+
+  private int resourceWindowOverscan = DEFAULT_RESOURCE_WINDOW_OVERSCAN;
+
+  /**
+   * The ids of the resources in display, with the overscan rows, as last reported by the client,
+   * or null before the first report.
+   */
+  private Set<String> resourceWindow;
+
   public ScheduleXResourceScheduler(List<ResourceViewType> views,
       CallbackDataProvider<Event, EventQueryFilter> dataProvider, Configuration configuration,
       ResourceSchedulerConfig resourceSchedulerConfig) {
@@ -111,6 +148,267 @@ public class ScheduleXResourceScheduler extends BaseScheduleXCalendar {
     return resourceSchedulerConfig;
   }
 
+  /**
+   * Adds a resource, with its child resources, as the last child of the given parent. Unlike
+   * {@link ResourceSchedulerConfig#setResources(List)}, which recreates the scheduler, the resource
+   * is added to the rendered scheduler in place.
+   * <p>
+   * The resource operations of this class use an index of the resources by id, built from the
+   * resources of the {@link ResourceSchedulerConfig}. Changes made directly to the lists of
+   * resources are not seen by the index; set the resources again after such changes. The
+   * operations made during a request are sent to the client together, before the response.
+   * </p>
+   *
+   * @param parentId the id of the parent resource, or null to add a top-level resource
+   * @param resource the resource to add
+   * @throws IllegalArgumentException if there is no resource with the parent id, or if the id of
+   *         the resource or of one of its children is already used
+   */
+  public void addResource(String parentId, Resource resource) {
+    resourceSchedulerConfig.addResource(parentId, resource);
+  }
+
+  /**
+   * Removes a resource, with its child resources, from the scheduler in place.
+   *
+   * @param id the id of the resource to remove
+   * @return true if the resource was found
+   * @see #addResource(String, Resource)
+   */
+  public boolean removeResource(String id) {
+    return resourceSchedulerConfig.removeResource(id);
+  }
+
+  /**
+   * Replaces the resource with the id of the given resource, keeping its position, and updates
+   * the scheduler in place.
+   *
+   * @param resource the updated resource, with its child resources
+   * @throws IllegalArgumentException if there is no resource with the id of the given resource,
+   *         or if the id of one of its children is already used elsewhere
+   * @see #addResource(String, Resource)
+   */
+  public void updateResource(Resource resource) {
+    resourceSchedulerConfig.updateResource(resource);
+  }
+
+  /**
+   * Moves a resource, with its child resources, under another parent or to another position, and
+   * updates the scheduler in place.
+   *
+   * @param id the id of the resource to move
+   * @param parentId the id of the new parent, or null to move the resource to the top level
+   * @param position the position among the children of the new parent, once the resource is
+   *        removed from its current parent, or -1 to move the resource last
+   * @throws IllegalArgumentException if there is no resource with one of the ids, or if the new
+   *         parent is the resource or one of its descendants
+   * @see #addResource(String, Resource)
+   */
+  public void moveResource(String id, String parentId, int position) {
+    resourceSchedulerConfig.moveResource(id, parentId, position);
+  }
+
+  /**
+   * Expands or collapses a resource in place.
+   *
+   * @param id the id of the resource
+   * @param open true to expand the resource, false to collapse it
+   * @throws IllegalArgumentException if there is no resource with the given id
+   * @see #addResource(String, Resource)
+   */
+  public void setResourceOpen(String id, boolean open) {
+    if (open && loadChildResources(id)) {
+      return;
+    }
+    resourceSchedulerConfig.setResourceOpen(id, open);
+  }
+
+  /**
+   * Returns the resource with the given id, at any level of the resource tree.
+   *
+   * @param id the id of the resource
+   * @return the resource, or an empty optional if there is no resource with that id
+   */
+  public Optional<Resource> getResource(String id) {
+    return resourceSchedulerConfig.findResource(id);
+  }
+
+  /**
+   * Sets the provider the resources are fetched from, replacing the resources of the
+   * {@link ResourceSchedulerConfig}. The children of the open resources are fetched right away,
+   * while the collapsed resources with children are sent without them, and their children are
+   * fetched when they are expanded, along with the events of the range in display for them. The
+   * events of the resources not loaded yet are not sent to the client.
+   * <p>
+   * Setting the resources of the {@link ResourceSchedulerConfig} afterwards replaces the loaded
+   * resources, but the children of their collapsed resources are still fetched from the provider.
+   * </p>
+   *
+   * @param resourceProvider the provider of the resources, or null to stop loading resources
+   *        lazily
+   */
+  public void setResourceProvider(ResourceProvider resourceProvider) {
+    this.resourceProvider = resourceProvider;
+    if (resourceProvider != null) {
+      resourceSchedulerConfig.setResources(fetchResources(null));
+    }
+  }
+
+  public ResourceProvider getResourceProvider() {
+    return resourceProvider;
+  }
+
+  /**
+   * Fetches the children of the given resource from the provider, along with the children of the
+   * open ones, level by level. The collapsed resources are only given their child count.
+   */
+  private List<Resource> fetchResources(String parentId) {
+    List<Resource> children = new ArrayList<>(resourceProvider.fetchChildren(parentId));
+    Deque<Resource> pending = new ArrayDeque<>(children);
+    while (!pending.isEmpty()) {
+      Resource resource = pending.pop();
+      if (resource.isOpen()) {
+        resource.setResources(new ArrayList<>(resourceProvider.fetchChildren(resource.getId())));
+        resource.setUnloadedChildCount(0);
+        pending.addAll(resource.getResources());
+      } else {
+        resource.setResources(new ArrayList<>());
+        resource.setUnloadedChildCount(resourceProvider.getChildCount(resource.getId()));
+      }
+    }
+    return children;
+  }
+
+  /**
+   * Loads the children of a collapsed resource when the user expands it.
+   */
+  @ClientCallable
+  private void onResourceExpand(String id) {
+    loadChildResources(id);
+  }
+
+  /**
+   * Fetches the children of the given resource if they are not loaded yet, expands it and sends
+   * the events of the range in display for the loaded resources.
+   *
+   * @return true if the children were loaded
+   */
+  private boolean loadChildResources(String id) {
+    Resource resource = resourceSchedulerConfig.findResource(id).orElse(null);
+    if (resourceProvider == null || resource == null || resource.getUnloadedChildCount() == 0) {
+      return false;
+    }
+    resource.setOpen(true);
+    resource.setResources(fetchResources(id));
+    resource.setUnloadedChildCount(0);
+    resourceSchedulerConfig.updateResource(resource);
+    sendRangeEventsOf(Set.copyOf(new ResourceIndex(resource.getResources()).getIds()));
+    return true;
+  }
+
+  /**
+   * Sets whether only the events of the resources in display are fetched. When enabled, the
+   * client reports the resources in display, plus {@link #getResourceWindowOverscan()} rows above
+   * and below them, as the user scrolls and expands resources. The ids of these resources are
+   * passed to the data provider in {@link EventQueryFilter#getResourceIds()}, so it can push them
+   * down to its backend. Only the resources entering the window are queried as the user scrolls;
+   * the events of the resources scrolled out of view are removed from the client when the next
+   * range is requested.
+   * <p>
+   * The events of the other resources are left out even if the data provider returns them. With
+   * an event cache, the events of all resources are fetched and cached, and only sent for the
+   * resources in display.
+   * </p>
+   * <p>
+   * The rows in display are derived from the scroll position, assuming every row is of the
+   * configured resource height. Rows made taller by overlapping events push the actual rows
+   * further down than reported, so the window drifts ahead of the display as the user scrolls
+   * past them. Raise the {@link #setResourceWindowOverscan(int) overscan} when rows often grow.
+   * </p>
+   *
+   * @param resourceWindowing true to fetch only the events of the resources in display
+   */
+  public void setResourceWindowing(boolean resourceWindowing) {
+    if (this.resourceWindowing == resourceWindowing) {
+      return;
+    }
+    this.resourceWindowing = resourceWindowing;
+    this.resourceWindow = null;
+    this.getElement().setProperty("resourceWindowing", resourceWindowing);
+    refreshCalendar();
+  }
+
+  public boolean isResourceWindowing() {
+    return resourceWindowing;
+  }
+
+  /**
+   * Sets the number of rows above and below the ones in display whose events are fetched with
+   * {@link #setResourceWindowing(boolean) resource windowing}, so the events are already there
+   * when the user scrolls a little. Defaults to {@value #DEFAULT_RESOURCE_WINDOW_OVERSCAN}.
+   *
+   * @param resourceWindowOverscan the number of rows, not negative
+   * @throws IllegalArgumentException if the number of rows is negative
+   */
+  public void setResourceWindowOverscan(int resourceWindowOverscan) {
+    if (resourceWindowOverscan < 0) {
+      throw new IllegalArgumentException("Overscan must not be negative");
+    }
+    this.resourceWindowOverscan = resourceWindowOverscan;
+    this.getElement().setProperty("resourceWindowOverscan", resourceWindowOverscan);
+  }
+
+  public int getResourceWindowOverscan() {
+    return resourceWindowOverscan;
+  }
+
+  /**
+   * Records the resources in display reported by the client, and sends the events of the range
+   * in display of the resources that entered the window. Only the ids of loaded resources are kept, up to
+   * {@value #MAX_RESOURCE_WINDOW_ROWS} rows plus the overscan rows, so a client cannot fetch the
+   * events of resources it was not given.
+   *
+   * @param resourceIds the ids of the resources in display
+   */
+  @ClientCallable
+  void onResourceWindowChange(JsonArray resourceIds) {
+    if (!resourceWindowing) {
+      return;
+    }
+    Set<String> loaded = resourceSchedulerConfig.getResourceIds();
+    int maxSize = MAX_RESOURCE_WINDOW_ROWS + 2 * resourceWindowOverscan;
+    Set<String> window = new LinkedHashSet<>();
+    for (int i = 0; i < resourceIds.length() && window.size() < maxSize; i++) {
+      JsonValue id = resourceIds.get(i);
+      if (id.getType() == JsonType.STRING && loaded.contains(id.asString())) {
+        window.add(id.asString());
+      }
+    }
+    Set<String> previous = resourceWindow;
+    resourceWindow = Collections.unmodifiableSet(window);
+    if (previous != null) {
+      // without a previous window, the events of all the loaded resources were fetched
+      Set<String> entered = new LinkedHashSet<>(window);
+      entered.removeAll(previous);
+      if (!entered.isEmpty()) {
+        sendRangeEventsOf(entered);
+      }
+    }
+  }
+
+  /**
+   * Returns the ids of the resources in display, with resource windowing, or of the resources
+   * loaded from the {@link ResourceProvider}, so the events of the other resources are not
+   * fetched.
+   */
+  @Override
+  protected Set<String> getFetchedResourceIds() {
+    if (resourceWindow != null) {
+      return resourceWindow;
+    }
+    return resourceProvider != null ? resourceSchedulerConfig.getResourceIds() : null;
+  }
+
   public SchedulingAssistantConfig getSchedulingAssistantConfig() {
     return schedulingAssistantConfig;
   }
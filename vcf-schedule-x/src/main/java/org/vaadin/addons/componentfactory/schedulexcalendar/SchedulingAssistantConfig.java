@@ -45,7 +45,7 @@ public class SchedulingAssistantConfig extends BaseConfiguration implements Seri
 
   public void setInitialStart(LocalDateTime initialStart) {
     this.initialStart = initialStart;
-    this.runRefresh();
+    this.runPatch("initialStart");
   }
 
   public LocalDateTime getInitialEnd() {
@@ -54,7 +54,7 @@ public class SchedulingAssistantConfig extends BaseConfiguration implements Seri
 
   public void setInitialEnd(LocalDateTime initialEnd) {
     this.initialEnd = initialEnd;
-    this.runRefresh();
+    this.runPatch("initialEnd");
   }
 
   public String getJson() {
@@ -66,5 +66,10 @@ public class SchedulingAssistantConfig extends BaseConfiguration implements Seri
     return js.toJson();
   }
 
+  @Override
+  String getPatchFunction() {
+    return "applySchedulingAssistantPatch";
+  }
+
 }
 
@@ -16,7 +16,7 @@ package org.vaadin.addons.componentfactory.schedulexcalendar.model;
 import elemental.json.Json;
 import elemental.json.JsonObject;
 import java.io.Serializable;
-import java.util.Optional;
+import org.vaadin.addons.componentfactory.schedulexcalendar.util.JsonWriter;
 
 /**
  * Represents a single calendar definition.
@@ -85,13 +85,24 @@ public class Calendar implements Serializable {
    * Serialize this calendar to a JsonObject (excluding its ID).
    */
   public JsonObject toJsonObject() {
-    JsonObject js = Json.createObject();
-    js.put("colorName", colorName);
-    Optional.ofNullable(lightColors)
-        .ifPresent(colors -> js.put("lightColors", colors.toJsonObject()));
-    Optional.ofNullable(darkColors)
-        .ifPresent(colors -> js.put("darkColors", colors.toJsonObject()));
-    return js;
+    JsonWriter writer = new JsonWriter();
+    writeJson(writer);
+    return Json.parse(writer.toString());
+  }
+
+  /**
+   * Writes this calendar as JSON (excluding its ID) to the given writer.
+   */
+  public void writeJson(JsonWriter writer) {
+    writer.beginObject();
+    writer.name("colorName").value(colorName);
+    if (lightColors != null) {
+      lightColors.writeJson(writer.name("lightColors"));
+    }
+    if (darkColors != null) {
+      darkColors.writeJson(writer.name("darkColors"));
+    }
+    writer.endObject();
   }
 
   /**
@@ -134,11 +145,20 @@ public class Calendar implements Serializable {
     }
 
     public JsonObject toJsonObject() {
-      JsonObject js = Json.createObject();
-      js.put("main", main);
-      js.put("container", container);
-      js.put("onContainer", onContainer);
-      return js;
+      JsonWriter writer = new JsonWriter();
+      writeJson(writer);
+      return Json.parse(writer.toString());
+    }
+
+    /**
+     * Writes this color definition as JSON to the given writer.
+     */
+    public void writeJson(JsonWriter writer) {
+      writer.beginObject();
+      writer.name("main").value(main);
+      writer.name("container").value(container);
+      writer.name("onContainer").value(onContainer);
+      writer.endObject();
     }
   }
 }
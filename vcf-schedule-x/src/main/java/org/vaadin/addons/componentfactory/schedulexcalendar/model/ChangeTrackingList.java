@@ -0,0 +1,92 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar.model;
+
+import com.vaadin.flow.function.SerializableRunnable;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * List view notifying its owner when it is modified, so the owner can discard its cached JSON.
+ * Modifications made directly to the wrapped list are not tracked.
+ *
+ * @param <E> the type of the elements
+ */
+@SuppressWarnings("serial")
+class ChangeTrackingList<E> extends AbstractList<E> implements RandomAccess, Serializable {
+
+  private final List<E> list;
+
+  private final SerializableRunnable onChange;
+
+  private ChangeTrackingList(List<E> list, SerializableRunnable onChange) {
+    this.list = Objects.requireNonNull(list);
+    this.onChange = onChange;
+  }
+
+  /**
+   * Wraps the given list, or returns null if the list is null.
+   */
+  static <E> List<E> wrap(List<E> list, SerializableRunnable onChange) {
+    if (list == null) {
+      return null;
+    }
+    if (list instanceof ChangeTrackingList) {
+      list = ((ChangeTrackingList<E>) list).list;
+    }
+    return new ChangeTrackingList<>(list, onChange);
+  }
+
+  @Override
+  public E get(int index) {
+    return list.get(index);
+  }
+
+  @Override
+  public int size() {
+    return list.size();
+  }
+
+  @Override
+  public E set(int index, E element) {
+    E previous = list.set(index, element);
+    onChange.run();
+    return previous;
+  }
+
+  @Override
+  public void add(int index, E element) {
+    list.add(index, element);
+    modCount++;
+    onChange.run();
+  }
+
+  @Override
+  public E remove(int index) {
+    E removed = list.remove(index);
+    modCount++;
+    onChange.run();
+    return removed;
+  }
+
+  @Override
+  public void clear() {
+    list.clear();
+    modCount++;
+    onChange.run();
+  }
+}
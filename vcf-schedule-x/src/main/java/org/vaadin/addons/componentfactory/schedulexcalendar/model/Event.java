@@ -13,6 +13,7 @@
  */
 package org.vaadin.addons.componentfactory.schedulexcalendar.model;
 
+import com.vaadin.flow.internal.Pair;
 import elemental.json.Json;
 import elemental.json.JsonArray;
 import elemental.json.JsonObject;
@@ -22,9 +23,9 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
 import org.vaadin.addons.componentfactory.schedulexcalendar.ScheduleXResourceScheduler;
 import org.vaadin.addons.componentfactory.schedulexcalendar.util.DateTimeFormatUtils;
+import org.vaadin.addons.componentfactory.schedulexcalendar.util.JsonWriter;
 
 /**
  * Calendar event definition.
@@ -94,6 +95,22 @@ public class Event implements Serializable {
    */
   private List<LocalDateTime> excludedDates;
 
+  /**
+   * The serialized form of the event, discarded when the event is modified.
+   */
+  private transient String json;
+
+  /**
+   * The parsed form of the event, paired with the JSON it was parsed from.
+   */
+  private transient volatile Pair<String, JsonObject> jsonObject;
+
+  private transient int optionsModCount;
+
+  private transient int customContentModCount;
+
+  private transient int recurrenceRuleModCount;
+
   /**
    * Constructs an {@code Event} with the specified ID, start, and end date-times.
    *
@@ -209,6 +226,7 @@ public class Event implements Serializable {
 
   public void setId(String id) {
     this.id = id;
+    markDirty();
   }
 
   public LocalDateTime getStart() {
@@ -217,6 +235,7 @@ public class Event implements Serializable {
 
   public void setStart(LocalDateTime start) {
     this.start = start;
+    markDirty();
   }
 
   public LocalDateTime getEnd() {
@@ -225,6 +244,7 @@ public class Event implements Serializable {
 
   public void setEnd(LocalDateTime end) {
     this.end = end;
+    markDirty();
   }
 
   public String getTitle() {
@@ -233,6 +253,7 @@ public class Event implements Serializable {
 
   public void setTitle(String title) {
     this.title = title;
+    markDirty();
   }
 
   public String getDescription() {
@@ -241,6 +262,7 @@ public class Event implements Serializable {
 
   public void setDescription(String description) {
     this.description = description;
+    markDirty();
   }
 
   public String getLocation() {
@@ -249,14 +271,19 @@ public class Event implements Serializable {
 
   public void setLocation(String location) {
     this.location = location;
+    markDirty();
   }
 
   public List<String> getPeople() {
     return people;
   }
 
+  /**
+   * Sets the names of the participants.
+   */
   public void setPeople(List<String> people) {
-    this.people = people;
+    this.people = ChangeTrackingList.wrap(people, this::markDirty);
+    markDirty();
   }
 
   public String getCalendarId() {
@@ -265,6 +292,7 @@ public class Event implements Serializable {
 
   public void setCalendarId(String calendarId) {
     this.calendarId = calendarId;
+    markDirty();
   }
 
   public EventOptions getOptions() {
@@ -273,6 +301,7 @@ public class Event implements Serializable {
 
   public void setOptions(EventOptions options) {
     this.options = options;
+    markDirty();
   }
 
   public EventCustomContent getCustomContent() {
@@ -281,6 +310,7 @@ public class Event implements Serializable {
 
   public void setCustomContent(EventCustomContent customContent) {
     this.customContent = customContent;
+    markDirty();
   }
 
   public String getResourceId() {
@@ -289,6 +319,7 @@ public class Event implements Serializable {
 
   public void setResourceId(String resourceId) {
     this.resourceId = resourceId;
+    markDirty();
   }
 
   public RecurrenceRule getRecurrenceRule() {
@@ -297,65 +328,121 @@ public class Event implements Serializable {
 
   public void setRecurrenceRule(RecurrenceRule recurrenceRule) {
     this.recurrenceRule = recurrenceRule;
+    markDirty();
   }
 
   public List<LocalDateTime> getExcludedDates() {
     return excludedDates;
   }
 
+  /**
+   * Sets the date-times excluded from the recurrence set.
+   */
   public void setExcludedDates(List<LocalDateTime> excludedDates) {
-    this.excludedDates = excludedDates;
+    this.excludedDates = ChangeTrackingList.wrap(excludedDates, this::markDirty);
+    markDirty();
   }
 
+  /**
+   * Discards the cached JSON of the event, so it is serialized again on the next call to
+   * {@link #getJson()}. Setters call it automatically, as do the lists returned by the getters,
+   * which track their modifications; it is only needed after modifying a list passed to a setter
+   * directly.
+   */
+  public void markDirty() {
+    json = null;
+  }
+
+  /**
+   * Returns the event as JSON. The result is cached until the event, its options, custom content
+   * or recurrence rule are modified.
+   */
   public String getJson() {
-    JsonObject js = Json.createObject();
-    js.put("id", id);
-    js.put("start", start.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
-    js.put("end", end.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+    String cached = json;
+    if (cached != null && isNestedUnchanged()) {
+      return cached;
+    }
+    optionsModCount = options != null ? options.modCount : 0;
+    customContentModCount = customContent != null ? customContent.modCount : 0;
+    recurrenceRuleModCount = recurrenceRule != null ? recurrenceRule.getModCount() : 0;
+    cached = toJson();
+    json = cached;
+    return cached;
+  }
+
+  private boolean isNestedUnchanged() {
+    return (options == null || options.modCount == optionsModCount)
+        && (customContent == null || customContent.modCount == customContentModCount)
+        && (recurrenceRule == null || recurrenceRule.getModCount() == recurrenceRuleModCount);
+  }
+
+  /**
+   * Returns the event as a {@link JsonObject}, to be sent to the client as a structured value
+   * rather than as a string it has to parse again. The result is cached until the event is
+   * modified and shared between calls, so it must not be modified.
+   */
+  public JsonObject toJsonObject() {
+    String currentJson = getJson();
+    Pair<String, JsonObject> parsed = jsonObject;
+    if (parsed == null || parsed.getFirst() != currentJson) {
+      parsed = new Pair<>(currentJson, Json.parse(currentJson));
+      jsonObject = parsed;
+    }
+    return parsed.getSecond();
+  }
+
+  /**
+   * Writes the event as JSON to the given writer, reusing the cached JSON if the event is
+   * unchanged.
+   */
+  public void writeJson(JsonWriter writer) {
+    writer.rawValue(getJson());
+  }
 
-    Optional.ofNullable(title).ifPresent(value -> js.put("title", value));
-    Optional.ofNullable(description).ifPresent(value -> js.put("description", value));
-    Optional.ofNullable(location).ifPresent(value -> js.put("location", value));
-    Optional.ofNullable(calendarId).ifPresent(value -> js.put("calendarId", value));
+  private String toJson() {
+    JsonWriter writer = new JsonWriter().beginObject();
+    writer.name("id").value(id);
+    writer.name("start").value(start.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+    writer.name("end").value(end.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+
+    writer.optional("title", title);
+    writer.optional("description", description);
+    writer.optional("location", location);
+    writer.optional("calendarId", calendarId);
 
     if (people != null && !people.isEmpty()) {
-      JsonArray jsonPeople = Json.createArray();
-      for (int i = 0; i < people.size(); i++) {
-        jsonPeople.set(i, people.get(i));
-      }
-      js.put("people", jsonPeople);
+      writer.name("people").beginArray();
+      people.forEach(writer::value);
+      writer.endArray();
     }
 
     if (options != null) {
-      js.put("_options", options.toJson());
+      options.writeJson(writer.name("_options"));
     }
 
     if (customContent != null) {
-      JsonObject jsonCustomContent = Json.createObject();
-      Optional.ofNullable(customContent.getTimeGrid())
-          .ifPresent(v -> jsonCustomContent.put("timeGrid", v));
-      Optional.ofNullable(customContent.getDateGrid())
-          .ifPresent(v -> jsonCustomContent.put("dateGrid", v));
-      Optional.ofNullable(customContent.getMonthGrid())
-          .ifPresent(v -> jsonCustomContent.put("monthGrid", v));
-      Optional.ofNullable(customContent.getMonthAgenda())
-          .ifPresent(v -> jsonCustomContent.put("monthAgenda", v));
-      js.put("_customContent", jsonCustomContent);
+      writer.name("_customContent").beginObject();
+      writer.optional("timeGrid", customContent.getTimeGrid());
+      writer.optional("dateGrid", customContent.getDateGrid());
+      writer.optional("monthGrid", customContent.getMonthGrid());
+      writer.optional("monthAgenda", customContent.getMonthAgenda());
+      writer.endObject();
     }
 
-    Optional.ofNullable(resourceId).ifPresent(value -> js.put("resourceId", value));
+    writer.optional("resourceId", resourceId);
 
-    Optional.ofNullable(recurrenceRule).ifPresent(value -> js.put("rrule", value.getRule()));
+    if (recurrenceRule != null) {
+      writer.name("rrule").value(recurrenceRule.getRule());
+    }
 
     if (excludedDates != null && !excludedDates.isEmpty()) {
-      JsonArray jsonExDates = Json.createArray();
-      for (int i = 0; i < excludedDates.size(); i++) {
-        jsonExDates.set(i, excludedDates.get(i).format(DateTimeFormatUtils.DATE_TIME_FORMATTER));
-      }
-      js.put("exdate", jsonExDates);
+      writer.name("exdate").beginArray();
+      excludedDates.forEach(
+          date -> writer.value(date.format(DateTimeFormatUtils.DATE_TIME_FORMATTER)));
+      writer.endArray();
     }
 
-    return js.toJson();
+    return writer.endObject().toString();
   }
 
   /**
@@ -379,12 +466,15 @@ public class Event implements Serializable {
      */
     private List<String> additionalClasses;
 
+    private transient int modCount;
+
     public Boolean getDisableDND() {
       return disableDND;
     }
 
     public void setDisableDND(Boolean disableDND) {
       this.disableDND = disableDND;
+      markDirty();
     }
 
     public Boolean getDisableResize() {
@@ -393,28 +483,46 @@ public class Event implements Serializable {
 
     public void setDisableResize(Boolean disableResize) {
       this.disableResize = disableResize;
+      markDirty();
     }
 
     public List<String> getAdditionalClasses() {
       return additionalClasses;
     }
 
+    /**
+     * Sets the additional classes.
+     */
     public void setAdditionalClasses(List<String> additionalClasses) {
-      this.additionalClasses = additionalClasses;
+      this.additionalClasses = ChangeTrackingList.wrap(additionalClasses, this::markDirty);
+      markDirty();
+    }
+
+    /**
+     * Discards the cached JSON of the events using these options. Setters and the list returned by
+     * {@link #getAdditionalClasses()} call it automatically; it is only needed after modifying the
+     * list passed to {@link #setAdditionalClasses(List)} directly.
+     */
+    public void markDirty() {
+      modCount++;
     }
 
     public JsonObject toJson() {
-      JsonObject json = Json.createObject();
-      Optional.ofNullable(disableDND).ifPresent(value -> json.put("disableDND", value));
-      Optional.ofNullable(disableResize).ifPresent(value -> json.put("disableResize", value));
+      JsonWriter writer = new JsonWriter();
+      writeJson(writer);
+      return Json.parse(writer.toString());
+    }
+
+    private void writeJson(JsonWriter writer) {
+      writer.beginObject();
+      writer.optional("disableDND", disableDND);
+      writer.optional("disableResize", disableResize);
       if (additionalClasses != null && !additionalClasses.isEmpty()) {
-        JsonArray jsonArray = Json.createArray();
-        for (int i = 0; i < additionalClasses.size(); i++) {
-          jsonArray.set(i, additionalClasses.get(i));
-        }
-        json.put("additionalClasses", jsonArray);
+        writer.name("additionalClasses").beginArray();
+        additionalClasses.forEach(writer::value);
+        writer.endArray();
       }
-      return json;
+      writer.endObject();
     }
   }
 
@@ -443,12 +551,15 @@ public class Event implements Serializable {
      */
     private String monthAgenda;
 
+    private transient int modCount;
+
     public String getTimeGrid() {
       return timeGrid;
     }
 
     public void setTimeGrid(String timeGrid) {
       this.timeGrid = timeGrid;
+      markDirty();
     }
 
     public String getDateGrid() {
@@ -457,6 +568,7 @@ public class Event implements Serializable {
 
     public void setDateGrid(String dateGrid) {
       this.dateGrid = dateGrid;
+      markDirty();
     }
 
     public String getMonthGrid() {
@@ -465,6 +577,7 @@ public class Event implements Serializable {
 
     public void setMonthGrid(String monthGrid) {
       this.monthGrid = monthGrid;
+      markDirty();
     }
 
     public String getMonthAgenda() {
@@ -473,6 +586,14 @@ public class Event implements Serializable {
 
     public void setMonthAgenda(String monthAgenda) {
       this.monthAgenda = monthAgenda;
+      markDirty();
+    }
+
+    /**
+     * Discards the cached JSON of the events using this custom content.
+     */
+    public void markDirty() {
+      modCount++;
     }
   }
 
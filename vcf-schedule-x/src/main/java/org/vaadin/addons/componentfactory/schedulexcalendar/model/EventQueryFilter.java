@@ -1,6 +1,7 @@
 package org.vaadin.addons.componentfactory.schedulexcalendar.model;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 
 /**
  * Filter object for querying events in the DataProvider.
@@ -10,6 +11,11 @@ public class EventQueryFilter {
   private LocalDateTime startDate;
   private LocalDateTime endDate;
 
+  /**
+   * The ids of the resources whose events are queried, or null for the events of all resources.
+   */
+  private Set<String> resourceIds;
+
   public EventQueryFilter(LocalDateTime startDate, LocalDateTime endDate) {
     this.startDate = startDate;
     this.endDate = endDate;
@@ -30,4 +36,19 @@ public class EventQueryFilter {
   public void setEndDate(LocalDateTime endDate) {
     this.endDate = endDate;
   }
-}
\ No newline at end of file
+
+  /**
+   * Returns the ids of the resources whose events are queried. Set by the resource scheduler to
+   * the resources in display, when only their events are fetched, or to the resources loaded from
+   * its resource provider; data providers should push it down to their backend.
+   *
+   * @return the ids of the resources, or null for the events of all resources
+   */
+  public Set<String> getResourceIds() {
+    return resourceIds;
+  }
+
+  public void setResourceIds(Set<String> resourceIds) {
+    this.resourceIds = resourceIds;
+  }
+}
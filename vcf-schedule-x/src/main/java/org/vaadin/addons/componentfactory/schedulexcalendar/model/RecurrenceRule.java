@@ -17,13 +17,24 @@ import java.io.Serializable;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
+import org.vaadin.addons.componentfactory.schedulexcalendar.util.CompiledRecurrenceRule;
 import org.vaadin.addons.componentfactory.schedulexcalendar.util.DateTimeFormatUtils;
 
 /**
  * Representation for the events recurrence rules.
  * 
+ * <p>
+ * The BYMONTH, BYWEEKNO, BYYEARDAY, BYSETPOS, BYHOUR and BYMINUTE rule parts, and the BYDAY values
+ * preceded by an ordinal, are evaluated on the server by {@link CompiledRecurrenceRule}, and are
+ * not supported by the recurrence plugin of Schedule-X.
+ * </p>
+ * 
  * @see <a href="https://schedule-x.dev/docs/calendar/plugins/recurrence">Event Recurrence
  *      documentation</a>.
  * 
@@ -73,6 +84,17 @@ public class RecurrenceRule implements Serializable {
    */
   private List<Day> byDay;
 
+  /**
+   * The BYDAY values preceded by an ordinal, such as {@code 2TU} for the second Tuesday or
+   * {@code -1FR} for the last Friday of the month, or of the year in a YEARLY rule without
+   * BYMONTH.
+   *
+   * <p>
+   * Compatible with {@code Frequency.MONTHLY} and {@code Frequency.YEARLY}
+   * </p>
+   */
+  private List<OrdinalDay> byOrdinalDay;
+
   /**
    * The BYMONTHDAY rule part specifies a COMMA-separated list of days of the month.
    * 
@@ -82,6 +104,44 @@ public class RecurrenceRule implements Serializable {
    */
   private List<Integer> byMonthDay;
 
+  /**
+   * The BYMONTH rule part specifies a COMMA-separated list of months of the year (1 to 12).
+   */
+  private List<Integer> byMonth;
+
+  /**
+   * The BYWEEKNO rule part specifies a COMMA-separated list of ordinals specifying weeks of the
+   * year (1 to 53, or -53 to -1 counting from the end of the year).
+   *
+   * <p>
+   * Compatible with {@code Frequency.YEARLY}
+   * </p>
+   */
+  private List<Integer> byWeekNo;
+
+  /**
+   * The BYYEARDAY rule part specifies a COMMA-separated list of days of the year (1 to 366, or
+   * -366 to -1 counting from the end of the year).
+   */
+  private List<Integer> byYearDay;
+
+  /**
+   * The BYSETPOS rule part specifies a COMMA-separated list of values which corresponds to the nth
+   * occurrence within the set of occurrences of each period specified by the rule (1 to 366, or
+   * -366 to -1 counting from the end of the set).
+   */
+  private List<Integer> bySetPos;
+
+  /**
+   * The BYHOUR rule part specifies a COMMA-separated list of hours of the day (0 to 23).
+   */
+  private List<Integer> byHour;
+
+  /**
+   * The BYMINUTE rule part specifies a COMMA-separated list of minutes within an hour (0 to 59).
+   */
+  private List<Integer> byMinute;
+
   private Until until;
 
   /**
@@ -89,6 +149,13 @@ public class RecurrenceRule implements Serializable {
    * TH, FR, SA, and SU.
    */
   private Day wkst;
+
+  /**
+   * The rule string, discarded when the rule is modified.
+   */
+  private transient String rule;
+
+  private transient int modCount;
   
   /**
    * Constructs a {@code RecurrenceRule} with the specified frequency value.
@@ -99,12 +166,99 @@ public class RecurrenceRule implements Serializable {
     this.freq = freq;
   }
   
+  /**
+   * Parses a recurrence rule string such as {@code FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,WE}, as found in
+   * the RRULE property of iCalendar events.
+   * 
+   * @param rule the rule string, without the {@code RRULE:} prefix
+   * @return the recurrence rule
+   * @throws IllegalArgumentException if the rule is malformed or uses rule parts that are not
+   *         supported, which would change the meaning of the rule if ignored
+   */
+  public static RecurrenceRule parse(String rule) {
+    RecurrenceRule recurrenceRule = new RecurrenceRule(null);
+    for (String part : rule.split(";")) {
+      int separator = part.indexOf('=');
+      if (separator < 0) {
+        throw new IllegalArgumentException("Malformed recurrence rule part: " + part);
+      }
+      String name = part.substring(0, separator).trim().toUpperCase();
+      String value = part.substring(separator + 1).trim();
+      try {
+        switch (name) {
+          case "FREQ" -> recurrenceRule.freq = Frequency.valueOf(value);
+          case "COUNT" -> recurrenceRule.count = Integer.valueOf(value);
+          case "INTERVAL" -> recurrenceRule.interval = Integer.valueOf(value);
+          case "BYDAY" -> recurrenceRule.parseByDay(value);
+          case "BYMONTHDAY" -> recurrenceRule.setByMonthDay(parseNumbers(value, 1, 31, true));
+          case "BYMONTH" -> recurrenceRule.setByMonth(parseNumbers(value, 1, 12, false));
+          case "BYWEEKNO" -> recurrenceRule.setByWeekNo(parseNumbers(value, 1, 53, true));
+          case "BYYEARDAY" -> recurrenceRule.setByYearDay(parseNumbers(value, 1, 366, true));
+          case "BYSETPOS" -> recurrenceRule.setBySetPos(parseNumbers(value, 1, 366, true));
+          case "BYHOUR" -> recurrenceRule.setByHour(parseNumbers(value, 0, 23, false));
+          case "BYMINUTE" -> recurrenceRule.setByMinute(parseNumbers(value, 0, 59, false));
+          case "UNTIL" -> recurrenceRule.until = Until.parse(value);
+          case "WKST" -> recurrenceRule.wkst = Day.valueOf(value);
+          default -> throw new IllegalArgumentException(
+              "Unsupported recurrence rule part: " + name);
+        }
+      } catch (DateTimeParseException | IllegalArgumentException e) {
+        throw new IllegalArgumentException("Invalid recurrence rule: " + rule, e);
+      }
+    }
+    if (recurrenceRule.freq == null) {
+      throw new IllegalArgumentException("Recurrence rule without FREQ: " + rule);
+    }
+    if (recurrenceRule.byOrdinalDay != null && (recurrenceRule.freq == Frequency.DAILY
+        || recurrenceRule.freq == Frequency.WEEKLY)) {
+      throw new IllegalArgumentException(
+          "BYDAY ordinals are only allowed in MONTHLY and YEARLY rules: " + rule);
+    }
+    recurrenceRule.markDirty();
+    return recurrenceRule;
+  }
+
+  /**
+   * Splits the BYDAY values into the plain days and the days preceded by an ordinal.
+   */
+  private void parseByDay(String value) {
+    List<Day> days = new ArrayList<>();
+    List<OrdinalDay> ordinalDays = new ArrayList<>();
+    for (String day : value.split(",")) {
+      OrdinalDay ordinalDay = OrdinalDay.parse(day.trim());
+      if (ordinalDay.getOrdinal() == 0) {
+        days.add(ordinalDay.getDay());
+      } else {
+        ordinalDays.add(ordinalDay);
+      }
+    }
+    setByDay(days.isEmpty() ? null : days);
+    setByOrdinalDay(ordinalDays.isEmpty() ? null : ordinalDays);
+  }
+
+  /**
+   * Parses a list of numbers between {@code min} and {@code max}, or between {@code -max} and
+   * {@code -min} if negative values are allowed.
+   */
+  private static List<Integer> parseNumbers(String value, int min, int max, boolean negative) {
+    List<Integer> numbers = Arrays.stream(value.split(",")).map(String::trim)
+        .map(Integer::valueOf).collect(Collectors.toList());
+    for (int number : numbers) {
+      int magnitude = negative ? Math.abs(number) : number;
+      if (magnitude < min || magnitude > max) {
+        throw new IllegalArgumentException("Value out of range: " + number);
+      }
+    }
+    return numbers;
+  }
+
   public Frequency getFreq() {
     return freq;
   }
 
   public void setFreq(Frequency freq) {
     this.freq = freq;
+    markDirty();
   }
 
   public Integer getCount() {
@@ -113,6 +267,7 @@ public class RecurrenceRule implements Serializable {
 
   public void setCount(Integer count) {
     this.count = count;
+    markDirty();
   }
 
   public Integer getInterval() {
@@ -121,22 +276,118 @@ public class RecurrenceRule implements Serializable {
 
   public void setInterval(Integer interval) {
     this.interval = interval;
+    markDirty();
   }
 
   public List<Day> getByDay() {
     return byDay;
   }
 
+  /**
+   * Sets the BYDAY values. Modifications made through the list returned by {@link #getByDay()} are
+   * tracked, while modifications made directly to the given list require a call to
+   * {@link #markDirty()}.
+   */
   public void setByDay(List<Day> byDay) {
-    this.byDay = byDay;
+    this.byDay = ChangeTrackingList.wrap(byDay, this::markDirty);
+    markDirty();
+  }
+
+  public List<OrdinalDay> getByOrdinalDay() {
+    return byOrdinalDay;
+  }
+
+  /**
+   * Sets the BYDAY values preceded by an ordinal, which are formatted along with the values of
+   * {@link #setByDay(List)}.
+   */
+  public void setByOrdinalDay(List<OrdinalDay> byOrdinalDay) {
+    this.byOrdinalDay = ChangeTrackingList.wrap(byOrdinalDay, this::markDirty);
+    markDirty();
   }
 
   public List<Integer> getByMonthDay() {
     return byMonthDay;
   }
 
+  /**
+   * Sets the BYMONTHDAY values.
+   */
   public void setByMonthDay(List<Integer> byMonthDay) {
-    this.byMonthDay = byMonthDay;
+    this.byMonthDay = ChangeTrackingList.wrap(byMonthDay, this::markDirty);
+    markDirty();
+  }
+
+  public List<Integer> getByMonth() {
+    return byMonth;
+  }
+
+  /**
+   * Sets the BYMONTH values.
+   */
+  public void setByMonth(List<Integer> byMonth) {
+    this.byMonth = ChangeTrackingList.wrap(byMonth, this::markDirty);
+    markDirty();
+  }
+
+  public List<Integer> getByWeekNo() {
+    return byWeekNo;
+  }
+
+  /**
+   * Sets the BYWEEKNO values.
+   */
+  public void setByWeekNo(List<Integer> byWeekNo) {
+    this.byWeekNo = ChangeTrackingList.wrap(byWeekNo, this::markDirty);
+    markDirty();
+  }
+
+  public List<Integer> getByYearDay() {
+    return byYearDay;
+  }
+
+  /**
+   * Sets the BYYEARDAY values.
+   */
+  public void setByYearDay(List<Integer> byYearDay) {
+    this.byYearDay = ChangeTrackingList.wrap(byYearDay, this::markDirty);
+    markDirty();
+  }
+
+  public List<Integer> getBySetPos() {
+    return bySetPos;
+  }
+
+  /**
+   * Sets the BYSETPOS values.
+   */
+  public void setBySetPos(List<Integer> bySetPos) {
+    this.bySetPos = ChangeTrackingList.wrap(bySetPos, this::markDirty);
+    markDirty();
+  }
+
+  public List<Integer> getByHour() {
+    return byHour;
+  }
+
+  /**
+   * Sets the BYHOUR values.
+   */
+  public void setByHour(List<Integer> byHour) {
+    this.byHour = ChangeTrackingList.wrap(byHour, this::markDirty);
+    markDirty();
+  }
+
+  public List<Integer> getByMinute() {
+    return byMinute;
+  }
+
+  /**
+   * Sets the BYMINUTE values.
+   */
+  public void setByMinute(List<Integer> byMinute) {
+    this.byMinute = ChangeTrackingList.wrap(byMinute, this::markDirty);
+    markDirty();
   }
 
   public Until getUntil() {
@@ -145,6 +396,7 @@ public class RecurrenceRule implements Serializable {
 
   public void setUntil(Until until) {
     this.until = until;
+    markDirty();
   }
 
   public Day getWkst() {
@@ -153,9 +405,43 @@ public class RecurrenceRule implements Serializable {
 
   public void setWkst(Day wkst) {
     this.wkst = wkst;
+    markDirty();
+  }
+
+  /**
+   * Discards the cached rule string, so it is built again when the rule is serialized. Setters
+   * call it automatically, as do the lists returned by the getters, which track their
+   * modifications; it is only needed after modifying a list passed to a setter directly.
+   */
+  public void markDirty() {
+    rule = null;
+    modCount++;
+  }
+
+  int getModCount() {
+    return modCount;
+  }
+
+  /**
+   * Returns the rule string, such as {@code FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,WE}, as used in the
+   * RRULE property of iCalendar events.
+   *
+   * @return the rule string
+   */
+  public String format() {
+    return getRule();
   }
 
   protected String getRule() {
+    String cached = rule;
+    if (cached == null) {
+      cached = buildRule();
+      rule = cached;
+    }
+    return cached;
+  }
+
+  private String buildRule() {
     StringBuilder sb = new StringBuilder("FREQ=" + this.getFreq());
 
     if (this.getCount() != null) {
@@ -164,15 +450,27 @@ public class RecurrenceRule implements Serializable {
     if (this.getInterval() != null) {
       sb.append(";INTERVAL=").append(this.getInterval());
     }
-    if (this.getByDay() != null && !this.getByDay().isEmpty()) {
-      String byDay = this.getByDay().stream().map(Enum::name).collect(Collectors.joining(","));
-      sb.append(";BYDAY=").append(byDay);;
+    List<String> byDay = new ArrayList<>();
+    if (this.getByDay() != null) {
+      this.getByDay().stream().map(Enum::name).forEach(byDay::add);
+    }
+    if (this.getByOrdinalDay() != null) {
+      this.getByOrdinalDay().stream().map(OrdinalDay::format).forEach(byDay::add);
+    }
+    if (!byDay.isEmpty()) {
+      sb.append(";BYDAY=").append(String.join(",", byDay));
     }
     if (this.getByMonthDay() != null && !this.getByMonthDay().isEmpty()) {
       String byMonthDay =
           this.getByMonthDay().stream().map(String::valueOf).collect(Collectors.joining(","));
       sb.append(";BYMONTHDAY=").append(byMonthDay);
     }
+    appendNumbers(sb, "BYMONTH", this.getByMonth());
+    appendNumbers(sb, "BYWEEKNO", this.getByWeekNo());
+    appendNumbers(sb, "BYYEARDAY", this.getByYearDay());
+    appendNumbers(sb, "BYSETPOS", this.getBySetPos());
+    appendNumbers(sb, "BYHOUR", this.getByHour());
+    appendNumbers(sb, "BYMINUTE", this.getByMinute());
     if (this.getUntil() != null) {
       sb.append(";UNTIL=").append(this.getUntil().format());
     }
@@ -183,6 +481,89 @@ public class RecurrenceRule implements Serializable {
     return sb.toString();
   }
 
+  private static void appendNumbers(StringBuilder sb, String name, List<Integer> numbers) {
+    if (numbers != null && !numbers.isEmpty()) {
+      sb.append(';').append(name).append('=').append(
+          numbers.stream().map(String::valueOf).collect(Collectors.joining(",")));
+    }
+  }
+
+  /**
+   * A BYDAY value preceded by an ordinal, such as {@code 2TU} or {@code -1FR}, selecting the nth
+   * (or nth to last if negative) day of the week of the month or year.
+   */
+  public static class OrdinalDay implements Serializable {
+
+    private final int ordinal;
+    private final Day day;
+
+    /**
+     * Constructs an {@code OrdinalDay}.
+     *
+     * @param ordinal the ordinal, 1 to 53 or -53 to -1 counting from the end of the month or year
+     * @param day the day of the week
+     * @throws IllegalArgumentException if the ordinal is out of range
+     */
+    public OrdinalDay(int ordinal, Day day) {
+      if (ordinal == 0 || Math.abs(ordinal) > 53) {
+        throw new IllegalArgumentException("Ordinal out of range: " + ordinal);
+      }
+      this.ordinal = ordinal;
+      this.day = Objects.requireNonNull(day);
+    }
+
+    public int getOrdinal() {
+      return ordinal;
+    }
+
+    public Day getDay() {
+      return day;
+    }
+
+    /**
+     * Parses a BYDAY value such as {@code 2TU}, {@code +3MO} or {@code -1FR}, or a plain day such
+     * as {@code MO}, for which the ordinal is 0.
+     */
+    static OrdinalDay parse(String value) {
+      if (value.length() < 2) {
+        throw new IllegalArgumentException("Invalid BYDAY value: " + value);
+      }
+      Day day = Day.valueOf(value.substring(value.length() - 2));
+      String ordinal = value.substring(0, value.length() - 2);
+      if (ordinal.isEmpty()) {
+        return new OrdinalDay(day);
+      }
+      return new OrdinalDay(Integer.parseInt(ordinal), day);
+    }
+
+    private OrdinalDay(Day day) {
+      this.ordinal = 0;
+      this.day = day;
+    }
+
+    /**
+     * Formats to RFC-compliant string, such as `2TU` or `-1FR`.
+     */
+    public String format() {
+      return ordinal + day.name();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof OrdinalDay other && ordinal == other.ordinal && day == other.day;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * ordinal + day.hashCode();
+    }
+
+    @Override
+    public String toString() {
+      return format();
+    }
+  }
+
   /**
    * The UNTIL rule part defines a DATE or DATE-TIME value that bounds the recurrence rule in an
    * inclusive manner. (Floating date, for example 20240101 or date-time 20240101T120000)
@@ -210,6 +591,27 @@ public class RecurrenceRule implements Serializable {
       return time;
     }
 
+    /**
+     * Parses an RFC-compliant string: either `YYYYMMDD` or `YYYYMMDDTHHMMSS`, optionally followed
+     * by `Z`, which is ignored as the date is floating.
+     */
+    static Until parse(String value) {
+      String dateTime = value.endsWith("Z") ? value.substring(0, value.length() - 1) : value;
+      if (dateTime.length() != 8 && dateTime.length() != 15) {
+        throw new DateTimeParseException("Invalid UNTIL value", value, 0);
+      }
+      LocalDate date =
+          LocalDate.parse(dateTime.substring(0, 8), DateTimeFormatUtils.COMPACT_DATE_FORMATTER);
+      if (dateTime.length() == 8) {
+        return new Until(date);
+      }
+      if (dateTime.charAt(8) != 'T') {
+        throw new DateTimeParseException("Invalid UNTIL value", value, 8);
+      }
+      return new Until(date,
+          LocalTime.parse(dateTime.substring(9), DateTimeFormatUtils.COMPACT_TIME_FORMATTER));
+    }
+
     /**
      * Formats to RFC-compliant string: either `YYYYMMDD` or `YYYYMMDDTHHMMSS`.
      */
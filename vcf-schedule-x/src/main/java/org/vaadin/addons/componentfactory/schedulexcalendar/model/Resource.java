@@ -1,14 +1,14 @@
 package org.vaadin.addons.componentfactory.schedulexcalendar.model;
 
-import elemental.json.Json;
-import elemental.json.JsonArray;
-import elemental.json.JsonObject;
 import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
 import org.vaadin.addons.componentfactory.schedulexcalendar.model.Calendar.ColorDefinition;
+import org.vaadin.addons.componentfactory.schedulexcalendar.util.JsonWriter;
 
 @SuppressWarnings("serial")
 public class Resource implements Serializable {
@@ -28,6 +28,11 @@ public class Resource implements Serializable {
   private List<Resource> resources = new ArrayList<Resource>();
   
   private boolean isOpen = true;
+
+  /**
+   * The number of child resources not loaded yet, fetched when the resource is expanded.
+   */
+  private int unloadedChildCount;
   
   /**
    * Constructs an {@code Resource} with the specified id.
@@ -102,6 +107,21 @@ public class Resource implements Serializable {
     this.isOpen = isOpen;
   }
 
+  public int getUnloadedChildCount() {
+    return unloadedChildCount;
+  }
+
+  /**
+   * Sets the number of child resources not loaded yet. A resource without loaded children but with
+   * unloaded ones is shown as an expandable group, whose children are fetched from the
+   * {@code ResourceProvider} of the scheduler when it is expanded.
+   *
+   * @param unloadedChildCount the number of child resources not loaded yet
+   */
+  public void setUnloadedChildCount(int unloadedChildCount) {
+    this.unloadedChildCount = unloadedChildCount;
+  }
+
   @Override
   public int hashCode() {
     return Objects.hash(id);
@@ -120,25 +140,62 @@ public class Resource implements Serializable {
   }
   
   public String getJson() {
-    JsonObject js = Json.createObject();
-    js.put("id", id);
-    Optional.ofNullable(label).ifPresent(value -> js.put("label", value));
-    Optional.ofNullable(labelHtml).ifPresent(value -> js.put("labelHTML", value));
-    Optional.ofNullable(colorName).ifPresent(value -> js.put("colorName", value));
-    Optional.ofNullable(lightColors).ifPresent(colors -> js.put("lightColors", colors.toJsonObject()));
-    Optional.ofNullable(darkColors).ifPresent(colors -> js.put("darkColors", colors.toJsonObject()));
-    
-    if (resources != null && !resources.isEmpty()) {
-      JsonArray resArray = Json.createArray();
-      for (int i = 0; i < resources.size(); i++) {
-        resArray.set(i, Json.parse(resources.get(i).getJson()));
+    JsonWriter writer = new JsonWriter();
+    writeJson(writer);
+    return writer.toString();
+  }
+
+  /**
+   * Writes the resource and its child resources as JSON to the given writer, in a single pass.
+   * The tree is walked iteratively, so deep hierarchies cannot overflow the stack.
+   */
+  public void writeJson(JsonWriter writer) {
+    Deque<Iterator<Resource>> pending = new ArrayDeque<>();
+    Deque<Resource> open = new ArrayDeque<>();
+    pending.push(List.of(this).iterator());
+    while (!pending.isEmpty()) {
+      Iterator<Resource> siblings = pending.peek();
+      if (!siblings.hasNext()) {
+        pending.pop();
+        if (!open.isEmpty()) {
+          // all the children of the innermost open resource are written
+          writer.endArray();
+          open.pop().writeJsonEnd(writer);
+        }
+        continue;
+      }
+      Resource resource = siblings.next();
+      resource.writeJsonStart(writer);
+      if (resource.resources != null && !resource.resources.isEmpty()) {
+        writer.name("resources").beginArray();
+        open.push(resource);
+        pending.push(resource.resources.iterator());
+      } else {
+        resource.writeJsonEnd(writer);
       }
-      js.put("resources", resArray);
     }
-    
-    js.put("isOpen", isOpen);
-    
-    return js.toJson();
+  }
+
+  private void writeJsonStart(JsonWriter writer) {
+    writer.beginObject();
+    writer.name("id").value(id);
+    writer.optional("label", label);
+    writer.optional("labelHTML", labelHtml);
+    writer.optional("colorName", colorName);
+    if (lightColors != null) {
+      lightColors.writeJson(writer.name("lightColors"));
+    }
+    if (darkColors != null) {
+      darkColors.writeJson(writer.name("darkColors"));
+    }
+    if (unloadedChildCount > 0 && (resources == null || resources.isEmpty())) {
+      writer.name("unloadedChildCount").value(unloadedChildCount);
+    }
+  }
+
+  private void writeJsonEnd(JsonWriter writer) {
+    writer.name("isOpen").value(isOpen);
+    writer.endObject();
   }
   
 }
@@ -0,0 +1,624 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar.util;
+
+import java.io.Serializable;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.RecurrenceRule;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.RecurrenceRule.Frequency;
+
+/**
+ * Immutable, compiled form of a {@link RecurrenceRule}, expanding the occurrences of the rule.
+ * <p>
+ * The BY* rule parts are compiled to bitsets: BYMONTH, BYWEEKNO, BYYEARDAY, BYMONTHDAY, BYDAY,
+ * BYHOUR and BYMINUTE, along with BYSETPOS, are evaluated as in RFC 5545. Negative values count
+ * from the end of the year, month or set. BYDAY values preceded by an ordinal, such as
+ * {@code 2TU} or {@code -1FR}, select the nth day of the week of the month in MONTHLY rules and in
+ * YEARLY rules with BYMONTH, and of the year in other YEARLY rules. Compiled rules are cached by rule string and shared by
+ * all the events and sessions using the same rule, so expanding the occurrences of thousands of
+ * events sharing a few rules only compiles each rule once.
+ * </p>
+ *
+ * <p>
+ * The occurrences are expanded as follows. The series is divided in periods of one day, week,
+ * month or year, of which one in INTERVAL is selected. The days of a selected period are limited
+ * by the BY* day rule parts, which default to the day of the week, day of the month and month of
+ * the start of the series as RFC 5545 requires, then expanded to the times of BYHOUR and BYMINUTE,
+ * which default to the time of the start. BYSETPOS then selects among the date times of each
+ * period. Occurrences before the start of the series are skipped, and COUNT and UNTIL bound the
+ * series. The evaluation jumps to the period holding the start of the range with interval
+ * arithmetic, so it only generates the periods of the range.
+ * </p>
+ */
+@SuppressWarnings("serial")
+public final class CompiledRecurrenceRule implements Serializable {
+
+  private static final int MAX_CACHE_SIZE = 1024;
+
+  private static final Map<String, CompiledRecurrenceRule> CACHE = new ConcurrentHashMap<>();
+
+  private final String rule;
+
+  private final Frequency freq;
+
+  private final int interval;
+
+  /**
+   * The COUNT, -1 if not set.
+   */
+  private final int count;
+
+  private final LocalDateTime until;
+
+  /**
+   * Bitsets of the BY* rule parts, 0 if not set. Negative values are kept in separate bitsets.
+   */
+  private final int months;
+  private final long weekNumbers;
+  private final long negativeWeekNumbers;
+  private final long[] yearDays;
+  private final long[] negativeYearDays;
+  private final long monthDays;
+  private final long negativeMonthDays;
+  private final int days;
+  /**
+   * The ordinals of the BYDAY values preceded by one, indexed by day of the week.
+   */
+  private final long[] ordinalDays;
+  private final long[] negativeOrdinalDays;
+  private final int hours;
+  private final long minutes;
+
+  private final int[] setPositions;
+
+  private final DayOfWeek weekStart;
+
+  /**
+   * Whether all the BY* values are in range. Values out of range can only be set through the
+   * setters of a rule; they are ignored, and the rule is not cached so that {@link #compile} still
+   * rejects its string.
+   */
+  private final boolean valid;
+
+  private CompiledRecurrenceRule(String rule, RecurrenceRule parsed) {
+    this.rule = rule;
+    freq = parsed.getFreq();
+    interval = parsed.getInterval() != null ? Math.max(1, parsed.getInterval()) : 1;
+    count = parsed.getCount() != null ? Math.max(0, parsed.getCount()) : -1;
+    if (parsed.getUntil() == null) {
+      until = null;
+    } else {
+      LocalTime time = parsed.getUntil().getTime();
+      until = parsed.getUntil().getDate().atTime(time != null ? time : LocalTime.MAX);
+    }
+    months = (int) positiveBits(parsed.getByMonth(), 1, 12);
+    weekNumbers = positiveBits(parsed.getByWeekNo(), 1, 53);
+    negativeWeekNumbers = negativeBits(parsed.getByWeekNo(), 53);
+    yearDays = new long[6];
+    negativeYearDays = new long[6];
+    if (parsed.getByYearDay() != null) {
+      for (Integer yearDay : parsed.getByYearDay()) {
+        if (yearDay != 0 && Math.abs(yearDay) <= 366) {
+          long[] bits = yearDay > 0 ? yearDays : negativeYearDays;
+          bits[Math.abs(yearDay) >> 6] |= 1L << Math.abs(yearDay);
+        }
+      }
+    }
+    monthDays = positiveBits(parsed.getByMonthDay(), 1, 31);
+    negativeMonthDays = negativeBits(parsed.getByMonthDay(), 31);
+    int dayBits = 0;
+    if (parsed.getByDay() != null) {
+      for (RecurrenceRule.Day day : parsed.getByDay()) {
+        dayBits |= 1 << day.ordinal();
+      }
+    }
+    ordinalDays = new long[7];
+    negativeOrdinalDays = new long[7];
+    if (parsed.getByOrdinalDay() != null) {
+      for (RecurrenceRule.OrdinalDay day : parsed.getByOrdinalDay()) {
+        if (freq == Frequency.DAILY || freq == Frequency.WEEKLY) {
+          // ordinals are meaningless in a day or week, as parsing rejects them
+          dayBits |= 1 << day.getDay().ordinal();
+        } else if (day.getOrdinal() > 0) {
+          ordinalDays[day.getDay().ordinal()] |= 1L << day.getOrdinal();
+        } else {
+          negativeOrdinalDays[day.getDay().ordinal()] |= 1L << -day.getOrdinal();
+        }
+      }
+    }
+    days = dayBits;
+    hours = (int) positiveBits(parsed.getByHour(), 0, 23);
+    minutes = positiveBits(parsed.getByMinute(), 0, 59);
+    setPositions = parsed.getBySetPos() != null
+        ? parsed.getBySetPos().stream().mapToInt(Integer::intValue).filter(pos -> pos != 0)
+            .toArray()
+        : new int[0];
+    weekStart = parsed.getWkst() != null ? DayOfWeek.of(parsed.getWkst().ordinal() + 1)
+        : DayOfWeek.MONDAY;
+    valid = inRange(parsed.getByMonth(), 1, 12, false)
+        && inRange(parsed.getByWeekNo(), 1, 53, true)
+        && inRange(parsed.getByYearDay(), 1, 366, true)
+        && inRange(parsed.getByMonthDay(), 1, 31, true)
+        && inRange(parsed.getByHour(), 0, 23, false)
+        && inRange(parsed.getByMinute(), 0, 59, false)
+        && (parsed.getByOrdinalDay() == null || freq == Frequency.MONTHLY
+            || freq == Frequency.YEARLY);
+  }
+
+  /**
+   * Returns the compiled form of the given rule string, compiling it if it is not cached yet.
+   *
+   * @param rule the rule string, such as {@code FREQ=MONTHLY;BYDAY=FR;BYSETPOS=-1}
+   * @return the compiled rule
+   * @throws IllegalArgumentException if the rule cannot be parsed
+   * @see RecurrenceRule#parse(String)
+   */
+  public static CompiledRecurrenceRule compile(String rule) {
+    CompiledRecurrenceRule compiled = CACHE.get(rule);
+    if (compiled == null) {
+      compiled = new CompiledRecurrenceRule(rule, RecurrenceRule.parse(rule));
+      cache(compiled);
+    }
+    return compiled;
+  }
+
+  private static void cache(CompiledRecurrenceRule compiled) {
+    if (CACHE.size() >= MAX_CACHE_SIZE) {
+      // rules are cheap to compile again, unlike an unbounded cache
+      CACHE.clear();
+    }
+    CACHE.putIfAbsent(compiled.rule, compiled);
+  }
+
+  /**
+   * Returns the compiled form of the given rule.
+   *
+   * @param rule the recurrence rule
+   * @return the compiled rule
+   * @throws IllegalArgumentException if the rule has no frequency
+   */
+  public static CompiledRecurrenceRule of(RecurrenceRule rule) {
+    if (rule.getFreq() == null) {
+      throw new IllegalArgumentException("Recurrence rule without FREQ");
+    }
+    // compiled from the fields, which the setters do not validate as parsing does
+    String formatted = rule.format();
+    CompiledRecurrenceRule compiled = CACHE.get(formatted);
+    if (compiled == null) {
+      compiled = new CompiledRecurrenceRule(formatted, rule);
+      if (compiled.valid) {
+        cache(compiled);
+      }
+    }
+    return compiled;
+  }
+
+  /**
+   * Returns the rule string this rule was compiled from.
+   *
+   * @return the rule string
+   */
+  public String getRule() {
+    return rule;
+  }
+
+  /**
+   * Returns the occurrences of a series starting at {@code start} between {@code rangeStart} and
+   * {@code rangeEnd}.
+   *
+   * @param start the start of the first occurrence
+   * @param rangeStart the inclusive start of the range
+   * @param rangeEnd the exclusive end of the range
+   * @return the start of the occurrences in the range, in ascending order
+   */
+  public List<LocalDateTime> getOccurrences(LocalDateTime start, LocalDateTime rangeStart,
+      LocalDateTime rangeEnd) {
+    List<LocalDateTime> occurrences = new ArrayList<>();
+    forEachOccurrence(start, rangeStart, rangeEnd, occurrences::add);
+    return occurrences;
+  }
+
+  /**
+   * Returns whether a series starting at {@code start} has at least one occurrence between
+   * {@code rangeStart} and {@code rangeEnd}.
+   *
+   * @param start the start of the first occurrence
+   * @param rangeStart the inclusive start of the range
+   * @param rangeEnd the exclusive end of the range
+   * @return true if at least one occurrence starts in the range
+   */
+  public boolean occursInRange(LocalDateTime start, LocalDateTime rangeStart,
+      LocalDateTime rangeEnd) {
+    boolean[] found = new boolean[1];
+    forEachOccurrence(start, rangeStart, rangeEnd, occurrence -> {
+      found[0] = true;
+      return false;
+    });
+    return found[0];
+  }
+
+  /**
+   * Passes the occurrences in the range to the consumer, in ascending order, until it returns
+   * false.
+   */
+  void forEachOccurrence(LocalDateTime start, LocalDateTime rangeStart, LocalDateTime rangeEnd,
+      Predicate<LocalDateTime> consumer) {
+    if (!start.isBefore(rangeEnd) || count == 0 || until != null && until.isBefore(rangeStart)) {
+      return;
+    }
+    Series series = new Series(start);
+
+    // the last selected period starting before the range
+    long period = 0;
+    if (rangeStart.isAfter(start)) {
+      period = Math.floorDiv(series.periodIndex(rangeStart.toLocalDate()), interval) * interval;
+    }
+    long counted = count >= 0 ? series.countBefore(period) : 0;
+
+    List<LocalDateTime> candidates = new ArrayList<>();
+    for (;; period += interval) {
+      LocalDateTime periodStart = series.periodStart(period).atStartOfDay();
+      if (!periodStart.isBefore(rangeEnd) || until != null && periodStart.isAfter(until)) {
+        return;
+      }
+      series.addCandidates(period, candidates);
+      for (LocalDateTime candidate : candidates) {
+        if (candidate.isBefore(start)) {
+          continue;
+        }
+        if (!candidate.isBefore(rangeEnd) || until != null && candidate.isAfter(until)
+            || count >= 0 && counted >= count) {
+          return;
+        }
+        counted++;
+        if (!candidate.isBefore(rangeStart) && !consumer.test(candidate)) {
+          return;
+        }
+      }
+    }
+  }
+
+  private static long positiveBits(List<Integer> values, int min, int max) {
+    long bits = 0;
+    if (values != null) {
+      for (Integer value : values) {
+        bits |= value >= min && value <= max ? 1L << value : 0;
+      }
+    }
+    return bits;
+  }
+
+  private static long negativeBits(List<Integer> values, int max) {
+    long bits = 0;
+    if (values != null) {
+      for (Integer value : values) {
+        bits |= value < 0 && value >= -max ? 1L << -value : 0;
+      }
+    }
+    return bits;
+  }
+
+  /**
+   * Returns whether the values are between {@code min} and {@code max}, or between {@code -max}
+   * and {@code -min} if negative values are allowed.
+   */
+  private static boolean inRange(List<Integer> values, int min, int max, boolean negative) {
+    if (values != null) {
+      for (Integer value : values) {
+        int magnitude = negative ? Math.abs(value) : value;
+        if (magnitude < min || magnitude > max) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private static boolean has(long bits, int index) {
+    return (bits & 1L << index) != 0;
+  }
+
+  /**
+   * The rule resolved against the start of a series: the periods are numbered from the one
+   * holding the start, and the rule parts that are not set default to the start.
+   */
+  private final class Series {
+
+    private final LocalDateTime start;
+
+    private final LocalDate firstPeriodStart;
+
+    private final int seriesMonths;
+
+    private final long seriesMonthDays;
+
+    private final int seriesDays;
+
+    /**
+     * The times of the occurrences of a day, in ascending order.
+     */
+    private final LocalTime[] times;
+
+    private final boolean dayDefaults;
+
+    /**
+     * Whether BYDAY has values preceded by an ordinal, which count the days of the week of the
+     * month if {@link #ordinalsInMonth}, or of the year otherwise.
+     */
+    private final boolean ordinalDayParts;
+
+    private final boolean ordinalsInMonth;
+
+    private Series(LocalDateTime start) {
+      this.start = start;
+      LocalDate date = start.toLocalDate();
+      firstPeriodStart = periodOf(date);
+
+      boolean byDayParts = weekNumbers != 0 || negativeWeekNumbers != 0 || !isEmpty(yearDays)
+          || !isEmpty(negativeYearDays) || monthDays != 0 || negativeMonthDays != 0 || days != 0
+          || !isEmpty(ordinalDays) || !isEmpty(negativeOrdinalDays);
+      dayDefaults = !byDayParts;
+      int defaultMonths = months;
+      long defaultMonthDays = monthDays;
+      int defaultDays = days;
+      if (!byDayParts) {
+        switch (freq) {
+          case YEARLY -> {
+            defaultMonths = months != 0 ? months : 1 << date.getMonthValue();
+            defaultMonthDays = 1L << date.getDayOfMonth();
+          }
+          case MONTHLY -> defaultMonthDays = 1L << date.getDayOfMonth();
+          case WEEKLY -> defaultDays = 1 << date.getDayOfWeek().ordinal();
+          case DAILY -> {
+          }
+        }
+      }
+      seriesMonths = defaultMonths;
+      seriesMonthDays = defaultMonthDays;
+      seriesDays = defaultDays;
+      ordinalDayParts = !isEmpty(ordinalDays) || !isEmpty(negativeOrdinalDays);
+      ordinalsInMonth = freq == Frequency.MONTHLY || months != 0;
+
+      long hourBits = hours != 0 ? hours : 1L << start.getHour();
+      long minuteBits = minutes != 0 ? minutes : 1L << start.getMinute();
+      times = new LocalTime[Long.bitCount(hourBits) * Long.bitCount(minuteBits)];
+      int i = 0;
+      for (int hour = 0; hour < 24; hour++) {
+        for (int minute = 0; has(hourBits, hour) && minute < 60; minute++) {
+          if (has(minuteBits, minute)) {
+            times[i++] = LocalTime.of(hour, minute, start.getSecond(), start.getNano());
+          }
+        }
+      }
+    }
+
+    private LocalDate periodOf(LocalDate date) {
+      return switch (freq) {
+        case DAILY -> date;
+        case WEEKLY -> date.with(TemporalAdjusters.previousOrSame(weekStart));
+        case MONTHLY -> date.withDayOfMonth(1);
+        case YEARLY -> date.withDayOfYear(1);
+      };
+    }
+
+    /**
+     * Returns the index of the period holding the given date.
+     */
+    private long periodIndex(LocalDate date) {
+      return switch (freq) {
+        case DAILY -> ChronoUnit.DAYS.between(firstPeriodStart, date);
+        case WEEKLY -> ChronoUnit.WEEKS.between(firstPeriodStart, periodOf(date));
+        case MONTHLY -> ChronoUnit.MONTHS.between(firstPeriodStart, periodOf(date));
+        case YEARLY -> ChronoUnit.YEARS.between(firstPeriodStart, periodOf(date));
+      };
+    }
+
+    private LocalDate periodStart(long period) {
+      return switch (freq) {
+        case DAILY -> firstPeriodStart.plusDays(period);
+        case WEEKLY -> firstPeriodStart.plusWeeks(period);
+        case MONTHLY -> firstPeriodStart.plusMonths(period);
+        case YEARLY -> firstPeriodStart.plusYears(period);
+      };
+    }
+
+    /**
+     * Replaces the content of the list with the date times of the given period matching the
+     * rule, in ascending order, including the ones before the start or after UNTIL.
+     */
+    private void addCandidates(long period, List<LocalDateTime> candidates) {
+      candidates.clear();
+      LocalDate periodStart = periodStart(period);
+      if (freq == Frequency.YEARLY && dayDefaults) {
+        // only the default day, in each month of BYMONTH
+        for (int month = 1; month <= 12; month++) {
+          LocalDate monthStart = periodStart.withMonth(month);
+          int day = start.getDayOfMonth();
+          if (has(seriesMonths, month) && day <= monthStart.lengthOfMonth()) {
+            addTimes(monthStart.withDayOfMonth(day), candidates);
+          }
+        }
+      } else {
+        LocalDate periodEnd = periodStart(period + 1);
+        for (LocalDate date = periodStart; date.isBefore(periodEnd); date = date.plusDays(1)) {
+          if (matches(date)) {
+            addTimes(date, candidates);
+          }
+        }
+      }
+      if (setPositions.length > 0) {
+        selectPositions(candidates);
+      }
+    }
+
+    private void addTimes(LocalDate date, List<LocalDateTime> candidates) {
+      for (LocalTime time : times) {
+        candidates.add(date.atTime(time));
+      }
+    }
+
+    private void selectPositions(List<LocalDateTime> candidates) {
+      int size = candidates.size();
+      boolean[] selected = new boolean[size];
+      for (int position : setPositions) {
+        int index = position > 0 ? position - 1 : size + position;
+        if (index >= 0 && index < size) {
+          selected[index] = true;
+        }
+      }
+      int kept = 0;
+      for (int i = 0; i < size; i++) {
+        if (selected[i]) {
+          candidates.set(kept++, candidates.get(i));
+        }
+      }
+      candidates.subList(kept, size).clear();
+    }
+
+    private boolean matches(LocalDate date) {
+      if (seriesMonths != 0 && !has(seriesMonths, date.getMonthValue())
+          || (seriesDays != 0 || ordinalDayParts) && !matchesDay(date)) {
+        return false;
+      }
+      if (seriesMonthDays != 0 || negativeMonthDays != 0) {
+        int day = date.getDayOfMonth();
+        if (!has(seriesMonthDays, day)
+            && !has(negativeMonthDays, date.lengthOfMonth() + 1 - day)) {
+          return false;
+        }
+      }
+      if (!isEmpty(yearDays) || !isEmpty(negativeYearDays)) {
+        int day = date.getDayOfYear();
+        int fromEnd = date.lengthOfYear() + 1 - day;
+        if ((yearDays[day >> 6] & 1L << day) == 0
+            && (negativeYearDays[fromEnd >> 6] & 1L << fromEnd) == 0) {
+          return false;
+        }
+      }
+      return weekNumbers == 0 && negativeWeekNumbers == 0 || matchesWeekNumber(date);
+    }
+
+    private boolean matchesDay(LocalDate date) {
+      int dayOfWeek = date.getDayOfWeek().ordinal();
+      if ((seriesDays & 1 << dayOfWeek) != 0) {
+        return true;
+      }
+      if (!ordinalDayParts) {
+        return false;
+      }
+      int day = ordinalsInMonth ? date.getDayOfMonth() : date.getDayOfYear();
+      int length = ordinalsInMonth ? date.lengthOfMonth() : date.lengthOfYear();
+      return has(ordinalDays[dayOfWeek], (day - 1) / 7 + 1)
+          || has(negativeOrdinalDays[dayOfWeek], (length - day) / 7 + 1);
+    }
+
+    /**
+     * Checks the week number of the date, the weeks starting on WKST and the first week of a year
+     * being the first one with at least four days in the year.
+     */
+    private boolean matchesWeekNumber(LocalDate date) {
+      LocalDate weekYearStart = firstWeekStart(date.getYear());
+      if (date.isBefore(weekYearStart)) {
+        weekYearStart = firstWeekStart(date.getYear() - 1);
+      } else {
+        LocalDate nextWeekYearStart = firstWeekStart(date.getYear() + 1);
+        if (!date.isBefore(nextWeekYearStart)) {
+          weekYearStart = nextWeekYearStart;
+        }
+      }
+      int week = (int) (ChronoUnit.DAYS.between(weekYearStart, date) / 7) + 1;
+      int weeksInYear = (int) (ChronoUnit.DAYS.between(weekYearStart,
+          firstWeekStart(weekYearStart.plusDays(7).getYear() + 1)) / 7);
+      return has(weekNumbers, week) || has(negativeWeekNumbers, weeksInYear + 1 - week);
+    }
+
+    private LocalDate firstWeekStart(int year) {
+      return LocalDate.of(year, 1, 4).with(TemporalAdjusters.previousOrSame(weekStart));
+    }
+
+    /**
+     * Returns the number of occurrences in the periods before the given one, at most COUNT.
+     */
+    private long countBefore(long period) {
+      if (period == 0) {
+        return 0;
+      }
+      List<LocalDateTime> candidates = new ArrayList<>();
+      addCandidates(0, candidates);
+      long counted = candidates.stream().filter(candidate -> !candidate.isBefore(start)).count();
+      long periods = period / interval;
+      boolean weekDaysOnly = !ordinalDayParts && seriesMonths == 0 && seriesMonthDays == 0
+          && negativeMonthDays == 0
+          && isEmpty(yearDays) && isEmpty(negativeYearDays) && weekNumbers == 0
+          && negativeWeekNumbers == 0;
+      if (weekDaysOnly && freq == Frequency.WEEKLY) {
+        // every week after the first one has the same occurrences
+        addCandidates(interval, candidates);
+        return Math.min(counted + (periods - 1) * candidates.size(), count);
+      }
+      if (weekDaysOnly && freq == Frequency.DAILY) {
+        // the days of the week of the selected days repeat every 7 periods
+        int perDay = setPositions.length > 0 ? selectedCount(times.length) : times.length;
+        long matchingDays = 0;
+        for (int i = 1; i <= 7; i++) {
+          long daysOfWeek = (periods - i + 6) / 7;
+          if (daysOfWeek > 0 && matches(start.toLocalDate().plusDays((long) i * interval))) {
+            matchingDays += daysOfWeek;
+          }
+        }
+        return Math.min(counted + matchingDays * perDay, count);
+      }
+      for (long i = 1; i < periods && counted < count; i++) {
+        addCandidates(i * interval, candidates);
+        counted += candidates.size();
+      }
+      return Math.min(counted, count);
+    }
+
+    /**
+     * Returns the number of positions BYSETPOS selects in a set of the given size.
+     */
+    private int selectedCount(int size) {
+      boolean[] selected = new boolean[size];
+      int selectedCount = 0;
+      for (int position : setPositions) {
+        int index = position > 0 ? position - 1 : size + position;
+        if (index >= 0 && index < size && !selected[index]) {
+          selected[index] = true;
+          selectedCount++;
+        }
+      }
+      return selectedCount;
+    }
+  }
+
+  private static boolean isEmpty(long[] bits) {
+    for (long word : bits) {
+      if (word != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,487 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar.util;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.Event;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.RecurrenceRule;
+
+/**
+ * Utility class to parse the events of an iCalendar (RFC 5545) source.
+ * <p>
+ * Supported event properties:
+ * </p>
+ * <ul>
+ *   <li>{@code UID}, used as event id</li>
+ *   <li>{@code SUMMARY}, {@code DESCRIPTION} and {@code LOCATION}</li>
+ *   <li>{@code DTSTART}, {@code DTEND} and {@code DURATION}, as floating, UTC or {@code TZID}
+ *   date times, or as dates for all-day events. Besides IANA time zone ids, Windows time zone
+ *   names and the ids of {@code VTIMEZONE} definitions naming their IANA time zone are resolved,
+ *   date times of other time zones are kept floating</li>
+ *   <li>{@code RRULE}, with the rule parts supported by {@link RecurrenceRule}, other rules only
+ *   keep their first occurrence</li>
+ *   <li>{@code EXDATE}</li>
+ *   <li>{@code RECURRENCE-ID}, for occurrences of recurring events that were moved or changed</li>
+ *   <li>{@code STATUS:CANCELLED}, for events that are skipped</li>
+ * </ul>
+ *
+ * <p>
+ * Date times with a time zone are converted to the time zone given to the parser, floating ones
+ * are kept as they are. Events are returned with their options set to disable dragging and
+ * resizing, as changes to them cannot be written back to the source. Events that cannot be parsed
+ * are skipped and logged.
+ * </p>
+ */
+public final class ICalParser {
+
+  private static final Logger LOGGER = Logger.getLogger(ICalParser.class.getName());
+
+  private static final DateTimeFormatter DATE_TIME_FORMATTER =
+      DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+  /**
+   * The IANA time zones of the Windows time zone names used as TZID by Outlook and Exchange.
+   */
+  private static final Map<String, String> WINDOWS_ZONES = Map.ofEntries(
+      Map.entry("Dateline Standard Time", "Etc/GMT+12"),
+      Map.entry("UTC-11", "Etc/GMT+11"),
+      Map.entry("Hawaiian Standard Time", "Pacific/Honolulu"),
+      Map.entry("Alaskan Standard Time", "America/Anchorage"),
+      Map.entry("Pacific Standard Time", "America/Los_Angeles"),
+      Map.entry("US Mountain Standard Time", "America/Phoenix"),
+      Map.entry("Mountain Standard Time", "America/Denver"),
+      Map.entry("Central America Standard Time", "America/Guatemala"),
+      Map.entry("Central Standard Time", "America/Chicago"),
+      Map.entry("Central Standard Time (Mexico)", "America/Mexico_City"),
+      Map.entry("Canada Central Standard Time", "America/Regina"),
+      Map.entry("SA Pacific Standard Time", "America/Bogota"),
+      Map.entry("Eastern Standard Time", "America/New_York"),
+      Map.entry("US Eastern Standard Time", "America/Indiana/Indianapolis"),
+      Map.entry("Venezuela Standard Time", "America/Caracas"),
+      Map.entry("Atlantic Standard Time", "America/Halifax"),
+      Map.entry("SA Western Standard Time", "America/La_Paz"),
+      Map.entry("Pacific SA Standard Time", "America/Santiago"),
+      Map.entry("Newfoundland Standard Time", "America/St_Johns"),
+      Map.entry("E. South America Standard Time", "America/Sao_Paulo"),
+      Map.entry("Argentina Standard Time", "America/Argentina/Buenos_Aires"),
+      Map.entry("SA Eastern Standard Time", "America/Cayenne"),
+      Map.entry("UTC-02", "Etc/GMT+2"),
+      Map.entry("Azores Standard Time", "Atlantic/Azores"),
+      Map.entry("Cape Verde Standard Time", "Atlantic/Cape_Verde"),
+      Map.entry("GMT Standard Time", "Europe/London"),
+      Map.entry("Greenwich Standard Time", "Atlantic/Reykjavik"),
+      Map.entry("W. Europe Standard Time", "Europe/Berlin"),
+      Map.entry("Central Europe Standard Time", "Europe/Budapest"),
+      Map.entry("Romance Standard Time", "Europe/Paris"),
+      Map.entry("Central European Standard Time", "Europe/Warsaw"),
+      Map.entry("W. Central Africa Standard Time", "Africa/Lagos"),
+      Map.entry("GTB Standard Time", "Europe/Bucharest"),
+      Map.entry("FLE Standard Time", "Europe/Kiev"),
+      Map.entry("E. Europe Standard Time", "Europe/Chisinau"),
+      Map.entry("Egypt Standard Time", "Africa/Cairo"),
+      Map.entry("South Africa Standard Time", "Africa/Johannesburg"),
+      Map.entry("Israel Standard Time", "Asia/Jerusalem"),
+      Map.entry("Turkey Standard Time", "Europe/Istanbul"),
+      Map.entry("Arabic Standard Time", "Asia/Baghdad"),
+      Map.entry("Arab Standard Time", "Asia/Riyadh"),
+      Map.entry("Russian Standard Time", "Europe/Moscow"),
+      Map.entry("E. Africa Standard Time", "Africa/Nairobi"),
+      Map.entry("Iran Standard Time", "Asia/Tehran"),
+      Map.entry("Arabian Standard Time", "Asia/Dubai"),
+      Map.entry("Pakistan Standard Time", "Asia/Karachi"),
+      Map.entry("India Standard Time", "Asia/Kolkata"),
+      Map.entry("Nepal Standard Time", "Asia/Kathmandu"),
+      Map.entry("Bangladesh Standard Time", "Asia/Dhaka"),
+      Map.entry("SE Asia Standard Time", "Asia/Bangkok"),
+      Map.entry("China Standard Time", "Asia/Shanghai"),
+      Map.entry("Singapore Standard Time", "Asia/Singapore"),
+      Map.entry("Taipei Standard Time", "Asia/Taipei"),
+      Map.entry("W. Australia Standard Time", "Australia/Perth"),
+      Map.entry("Tokyo Standard Time", "Asia/Tokyo"),
+      Map.entry("Korea Standard Time", "Asia/Seoul"),
+      Map.entry("Cen. Australia Standard Time", "Australia/Adelaide"),
+      Map.entry("AUS Central Standard Time", "Australia/Darwin"),
+      Map.entry("E. Australia Standard Time", "Australia/Brisbane"),
+      Map.entry("AUS Eastern Standard Time", "Australia/Sydney"),
+      Map.entry("Tasmania Standard Time", "Australia/Hobart"),
+      Map.entry("New Zealand Standard Time", "Pacific/Auckland"),
+      Map.entry("Tonga Standard Time", "Pacific/Tongatapu"));
+
+  private ICalParser() {}
+
+  /**
+   * Parses the events of the given iCalendar source.
+   *
+   * @param iCal the iCalendar source
+   * @param zone the time zone to convert the date times with a time zone to
+   * @return the events of the source
+   */
+  public static List<Event> parse(String iCal, ZoneId zone) {
+    List<Map<String, Property>> components = new ArrayList<>();
+    Map<String, String> zoneLocations = new HashMap<>();
+    // the VEVENT or VTIMEZONE being read
+    String component = null;
+    Map<String, Property> properties = null;
+    // depth of the components nested in it, such as VALARM
+    int depth = 0;
+    for (String line : unfold(iCal)) {
+      if (component == null) {
+        if (line.equalsIgnoreCase("BEGIN:VEVENT") || line.equalsIgnoreCase("BEGIN:VTIMEZONE")) {
+          component = line.substring("BEGIN:".length()).toUpperCase();
+          properties = new HashMap<>();
+          depth = 0;
+        }
+      } else if (line.equalsIgnoreCase("END:" + component)) {
+        if (component.equals("VEVENT")) {
+          components.add(properties);
+        } else {
+          Property tzid = properties.get("TZID");
+          Property location = properties.get("X-LIC-LOCATION");
+          if (tzid != null && location != null) {
+            zoneLocations.put(tzid.value, location.value);
+          }
+        }
+        component = null;
+        properties = null;
+      } else if (startsWithIgnoreCase(line, "BEGIN:")) {
+        depth++;
+      } else if (startsWithIgnoreCase(line, "END:")) {
+        depth = Math.max(depth - 1, 0);
+      } else if (depth == 0) {
+        Property property = Property.parse(line);
+        if (property == null) {
+          continue;
+        }
+        if (property.name.equals("EXDATE")) {
+          properties.merge(property.name, property, Property::append);
+        } else {
+          // other properties may occur once, the first one is kept
+          properties.putIfAbsent(property.name, property);
+        }
+      }
+    }
+
+    ZoneResolver zones = new ZoneResolver(zone, zoneLocations);
+    List<Event> events = new ArrayList<>();
+    Map<String, Event> eventsByUid = new HashMap<>();
+    List<Map<String, Property>> overrides = new ArrayList<>();
+    int index = 0;
+    for (Map<String, Property> eventProperties : components) {
+      index++;
+      if (eventProperties.containsKey("RECURRENCE-ID")) {
+        // applied once all the recurring events are known
+        overrides.add(eventProperties);
+      } else {
+        Event event = toEvent(eventProperties, "ical-" + index, zones);
+        if (event != null) {
+          events.add(event);
+          eventsByUid.put(event.getId(), event);
+        }
+      }
+    }
+    for (Map<String, Property> override : overrides) {
+      index++;
+      Event event = toEvent(override, "ical-" + index, zones);
+      if (event == null) {
+        continue;
+      }
+      // the occurrence replaces the one of the recurring event
+      Property recurrenceId = override.get("RECURRENCE-ID");
+      LocalDateTime occurrence;
+      try {
+        occurrence = parseDateTime(recurrenceId, recurrenceId.value, zones);
+      } catch (DateTimeException e) {
+        LOGGER.log(Level.WARNING, "Skipping iCalendar event that cannot be parsed", e);
+        continue;
+      }
+      Event recurring = eventsByUid.get(event.getId());
+      if (recurring != null) {
+        List<LocalDateTime> excludedDates = recurring.getExcludedDates() != null
+            ? new ArrayList<>(recurring.getExcludedDates())
+            : new ArrayList<>();
+        excludedDates.add(occurrence);
+        recurring.setExcludedDates(excludedDates);
+      }
+      event.setId(event.getId() + "_" + recurrenceId.value);
+      events.add(event);
+    }
+    return events;
+  }
+
+  private static Event toEvent(Map<String, Property> properties, String defaultId,
+      ZoneResolver zones) {
+    try {
+      Property status = properties.get("STATUS");
+      Property dtStart = properties.get("DTSTART");
+      if (dtStart == null || status != null && status.value.equalsIgnoreCase("CANCELLED")) {
+        return null;
+      }
+      Property uid = properties.get("UID");
+      String id = uid != null ? uid.value : defaultId;
+
+      LocalDateTime start;
+      LocalDateTime end;
+      if (isDate(dtStart)) {
+        // all-day events end at 23:59 of their last day, DTEND is exclusive
+        LocalDate startDate = parseDate(dtStart.value);
+        LocalDate endDate = startDate;
+        Property dtEnd = properties.get("DTEND");
+        Property duration = properties.get("DURATION");
+        if (dtEnd != null) {
+          endDate = parseDate(dtEnd.value).minusDays(1);
+        } else if (duration != null) {
+          endDate = startDate.plusDays(parseDuration(duration.value).toDays() - 1);
+        }
+        start = startDate.atStartOfDay();
+        end = (endDate.isBefore(startDate) ? startDate : endDate).atTime(23, 59);
+      } else {
+        start = parseDateTime(dtStart, dtStart.value, zones);
+        Property dtEnd = properties.get("DTEND");
+        Property duration = properties.get("DURATION");
+        if (dtEnd != null) {
+          end = parseDateTime(dtEnd, dtEnd.value, zones);
+        } else if (duration != null) {
+          end = start.plus(parseDuration(duration.value));
+        } else {
+          end = start;
+        }
+      }
+
+      Event event = new Event(id, start, end);
+      event.setTitle(text(properties.get("SUMMARY")));
+      event.setDescription(text(properties.get("DESCRIPTION")));
+      event.setLocation(text(properties.get("LOCATION")));
+      Property rrule = properties.get("RRULE");
+      if (rrule != null) {
+        try {
+          event.setRecurrenceRule(RecurrenceRule.parse(rrule.value));
+        } catch (IllegalArgumentException e) {
+          LOGGER.log(Level.WARNING, "Showing only the first occurrence of iCalendar event " + id,
+              e);
+        }
+      }
+      Property exDate = properties.get("EXDATE");
+      if (exDate != null) {
+        List<LocalDateTime> excludedDates = new ArrayList<>();
+        for (String value : exDate.value.split(",")) {
+          excludedDates.add(isDate(exDate) ? parseDate(value).atStartOfDay()
+              : parseDateTime(exDate, value, zones));
+        }
+        event.setExcludedDates(excludedDates);
+      }
+      Event.EventOptions options = new Event.EventOptions();
+      options.setDisableDND(true);
+      options.setDisableResize(true);
+      event.setOptions(options);
+      return event;
+    } catch (DateTimeException | IllegalArgumentException e) {
+      LOGGER.log(Level.WARNING, "Skipping iCalendar event that cannot be parsed", e);
+      return null;
+    }
+  }
+
+  /**
+   * Joins the folded lines, which continue on the next lines starting with a space or a tab.
+   */
+  private static List<String> unfold(String iCal) {
+    List<String> lines = new ArrayList<>();
+    StringBuilder current = null;
+    for (String line : iCal.split("\r?\n")) {
+      if (current != null && !line.isEmpty()
+          && (line.charAt(0) == ' ' || line.charAt(0) == '\t')) {
+        current.append(line, 1, line.length());
+        continue;
+      }
+      if (current != null) {
+        lines.add(current.toString().strip());
+      }
+      current = new StringBuilder(line);
+    }
+    if (current != null) {
+      lines.add(current.toString().strip());
+    }
+    return lines;
+  }
+
+  private static boolean startsWithIgnoreCase(String line, String prefix) {
+    return line.regionMatches(true, 0, prefix, 0, prefix.length());
+  }
+
+  private static boolean isDate(Property property) {
+    return "DATE".equalsIgnoreCase(property.parameters.get("VALUE"))
+        || property.value.length() == 8;
+  }
+
+  private static LocalDate parseDate(String value) {
+    return LocalDate.parse(value.trim(), DateTimeFormatUtils.COMPACT_DATE_FORMATTER);
+  }
+
+  private static LocalDateTime parseDateTime(Property property, String value,
+      ZoneResolver zones) {
+    value = value.trim();
+    if (value.length() == 8) {
+      return parseDate(value).atStartOfDay();
+    }
+    if (value.endsWith("Z")) {
+      LocalDateTime utc =
+          LocalDateTime.parse(value.substring(0, value.length() - 1), DATE_TIME_FORMATTER);
+      return utc.atZone(ZoneOffset.UTC).withZoneSameInstant(zones.zone).toLocalDateTime();
+    }
+    LocalDateTime dateTime = LocalDateTime.parse(value, DATE_TIME_FORMATTER);
+    ZoneId tzid = zones.resolve(property.parameters.get("TZID"));
+    if (tzid == null) {
+      // floating, or in a time zone that cannot be resolved
+      return dateTime;
+    }
+    return dateTime.atZone(tzid).withZoneSameInstant(zones.zone).toLocalDateTime();
+  }
+
+  private static Duration parseDuration(String value) {
+    // java.time does not support weeks in durations
+    int weeks = value.indexOf('W');
+    if (weeks > 0) {
+      int start = value.indexOf('P') + 1;
+      long days = Long.parseLong(value.substring(start, weeks)) * 7;
+      return Duration.ofDays(value.startsWith("-") ? -days : days);
+    }
+    return Duration.parse(value);
+  }
+
+  private static String text(Property property) {
+    if (property == null) {
+      return null;
+    }
+    String value = property.value;
+    StringBuilder text = new StringBuilder(value.length());
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '\\' && i + 1 < value.length()) {
+        char next = value.charAt(++i);
+        text.append(next == 'n' || next == 'N' ? '\n' : next);
+      } else {
+        text.append(c);
+      }
+    }
+    return text.toString().strip();
+  }
+
+  /**
+   * Content line of the form {@code NAME;PARAM=VALUE:VALUE}.
+   */
+  private static final class Property {
+    private final String name;
+    private final Map<String, String> parameters = new HashMap<>();
+    private String value;
+
+    private Property(String name, String value) {
+      this.name = name;
+      this.value = value;
+    }
+
+    static Property parse(String line) {
+      // the value starts at the first colon outside quoted parameter values
+      boolean quoted = false;
+      int colon = -1;
+      for (int i = 0; i < line.length() && colon < 0; i++) {
+        char c = line.charAt(i);
+        if (c == '"') {
+          quoted = !quoted;
+        } else if (c == ':' && !quoted) {
+          colon = i;
+        }
+      }
+      if (colon < 0) {
+        return null;
+      }
+      String[] nameAndParameters = line.substring(0, colon).split(";");
+      Property property =
+          new Property(nameAndParameters[0].toUpperCase(), line.substring(colon + 1));
+      for (int i = 1; i < nameAndParameters.length; i++) {
+        String[] parameter = nameAndParameters[i].split("=", 2);
+        if (parameter.length == 2) {
+          property.parameters.put(parameter[0].toUpperCase(),
+              parameter[1].replace("\"", ""));
+        }
+      }
+      return property;
+    }
+
+    /**
+     * Merges repeated EXDATE lines.
+     */
+    static Property append(Property first, Property second) {
+      first.value = first.value + "," + second.value;
+      return first;
+    }
+  }
+
+  /**
+   * Resolves the time zones of the TZID parameters: IANA time zone ids, Windows time zone names,
+   * ids of VTIMEZONE definitions with an {@code X-LIC-LOCATION} and ids ending with an IANA time
+   * zone id, such as {@code /mozilla.org/20050126_1/Europe/Berlin}.
+   */
+  private static final class ZoneResolver {
+    private final ZoneId zone;
+    private final Map<String, String> locations;
+    private final Map<String, Optional<ZoneId>> resolved = new HashMap<>();
+
+    private ZoneResolver(ZoneId zone, Map<String, String> locations) {
+      this.zone = zone;
+      this.locations = locations;
+    }
+
+    /**
+     * Returns the time zone of the given TZID, or null if there is none or it cannot be resolved.
+     */
+    ZoneId resolve(String tzid) {
+      if (tzid == null) {
+        return null;
+      }
+      return resolved.computeIfAbsent(tzid, this::lookup).orElse(null);
+    }
+
+    private Optional<ZoneId> lookup(String tzid) {
+      List<String> candidates = new ArrayList<>();
+      candidates.add(tzid);
+      Optional.ofNullable(locations.get(tzid)).ifPresent(candidates::add);
+      Optional.ofNullable(WINDOWS_ZONES.get(tzid)).ifPresent(candidates::add);
+      for (int slash = tzid.indexOf('/'); slash >= 0; slash = tzid.indexOf('/', slash + 1)) {
+        candidates.add(tzid.substring(slash + 1));
+      }
+      for (String candidate : candidates) {
+        try {
+          return Optional.of(ZoneId.of(candidate));
+        } catch (DateTimeException e) {
+          // not a time zone id, try the next one
+        }
+      }
+      LOGGER.log(Level.WARNING,
+          "Unknown iCalendar time zone " + tzid + ", its date times are kept floating");
+      return Optional.empty();
+    }
+  }
+}
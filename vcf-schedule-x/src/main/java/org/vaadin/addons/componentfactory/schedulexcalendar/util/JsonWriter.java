@@ -0,0 +1,222 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar.util;
+
+import java.io.Serializable;
+
+/**
+ * Streaming JSON writer appending straight into a single buffer, without building an intermediate
+ * JSON tree. Strings and numbers are written exactly as elemental's {@code toJson()} writes them,
+ * so the output is identical to serializing the equivalent {@code JsonObject}.
+ * <p>
+ * The writer does not validate the structure; callers are expected to pair
+ * {@link #beginObject()}/{@link #endObject()} and {@link #beginArray()}/{@link #endArray()}, and
+ * to call {@link #name(String)} before each value inside an object.
+ */
+@SuppressWarnings("serial")
+public final class JsonWriter implements Serializable {
+
+  private final StringBuilder buffer;
+
+  private boolean needsSeparator;
+
+  /**
+   * Creates a writer with a new buffer.
+   */
+  public JsonWriter() {
+    this(new StringBuilder());
+  }
+
+  /**
+   * Creates a writer appending to the given buffer.
+   *
+   * @param buffer the buffer to write to
+   */
+  public JsonWriter(StringBuilder buffer) {
+    this.buffer = buffer;
+  }
+
+  public JsonWriter beginObject() {
+    separate();
+    buffer.append('{');
+    needsSeparator = false;
+    return this;
+  }
+
+  public JsonWriter endObject() {
+    buffer.append('}');
+    needsSeparator = true;
+    return this;
+  }
+
+  public JsonWriter beginArray() {
+    separate();
+    buffer.append('[');
+    needsSeparator = false;
+    return this;
+  }
+
+  public JsonWriter endArray() {
+    buffer.append(']');
+    needsSeparator = true;
+    return this;
+  }
+
+  /**
+   * Writes the name of the next property of the current object.
+   */
+  public JsonWriter name(String name) {
+    separate();
+    quote(name);
+    buffer.append(':');
+    needsSeparator = false;
+    return this;
+  }
+
+  public JsonWriter value(String value) {
+    separate();
+    if (value == null) {
+      buffer.append("null");
+    } else {
+      quote(value);
+    }
+    needsSeparator = true;
+    return this;
+  }
+
+  public JsonWriter value(boolean value) {
+    separate();
+    buffer.append(value);
+    needsSeparator = true;
+    return this;
+  }
+
+  /**
+   * Writes a number. Numbers are written as doubles, dropping the fraction of integral values, as
+   * JSON numbers are.
+   */
+  public JsonWriter value(double value) {
+    separate();
+    if (Double.isInfinite(value) || Double.isNaN(value)) {
+      buffer.append("null");
+    } else {
+      int start = buffer.length();
+      buffer.append(value);
+      int length = buffer.length();
+      if (length - start > 2 && buffer.charAt(length - 2) == '.'
+          && buffer.charAt(length - 1) == '0') {
+        buffer.setLength(length - 2);
+      }
+    }
+    needsSeparator = true;
+    return this;
+  }
+
+  /**
+   * Writes an already serialized JSON value as is.
+   */
+  public JsonWriter rawValue(String json) {
+    separate();
+    buffer.append(json);
+    needsSeparator = true;
+    return this;
+  }
+
+  /**
+   * Writes a string property, skipping it if the value is null.
+   */
+  public JsonWriter optional(String name, String value) {
+    return value != null ? name(name).value(value) : this;
+  }
+
+  /**
+   * Writes a number property, skipping it if the value is null.
+   */
+  public JsonWriter optional(String name, Number value) {
+    return value != null ? name(name).value(value.doubleValue()) : this;
+  }
+
+  /**
+   * Writes a boolean property, skipping it if the value is null.
+   */
+  public JsonWriter optional(String name, Boolean value) {
+    return value != null ? name(name).value(value.booleanValue()) : this;
+  }
+
+  /**
+   * Returns the length of the written JSON, including anything the buffer held before.
+   */
+  public int length() {
+    return buffer.length();
+  }
+
+  @Override
+  public String toString() {
+    return buffer.toString();
+  }
+
+  private void separate() {
+    if (needsSeparator) {
+      buffer.append(',');
+    }
+  }
+
+  private void quote(String value) {
+    buffer.append('"');
+    int length = value.length();
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '\b':
+          buffer.append("\\b");
+          break;
+        case '\t':
+          buffer.append("\\t");
+          break;
+        case '\n':
+          buffer.append("\\n");
+          break;
+        case '\f':
+          buffer.append("\\f");
+          break;
+        case '\r':
+          buffer.append("\\r");
+          break;
+        case '"':
+          buffer.append("\\\"");
+          break;
+        case '\\':
+          buffer.append("\\\\");
+          break;
+        default:
+          if (isControlChar(c)) {
+            String hex = Integer.toString(c, 16);
+            buffer.append("\\u").append("0000", 0, 4 - hex.length()).append(hex);
+          } else {
+            buffer.append(c);
+          }
+      }
+    }
+    buffer.append('"');
+  }
+
+  /**
+   * Characters escaped as unicode sequences, matching elemental's JSON serialization.
+   */
+  private static boolean isControlChar(char c) {
+    return c <= 0x1f || (c >= 0x7f && c <= 0x9f) || c == 0xad || c == 0x70f || c == 0x17b4
+        || c == 0x17b5 || c == 0xfeff || (c >= 0x600 && c <= 0x604) || (c >= 0x200c && c <= 0x200f)
+        || (c >= 0x2028 && c <= 0x202f) || (c >= 0x2060 && c <= 0x206f);
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Natural time buckets used to align event ranges fetched from the data provider. Aligning the
+ * requested ranges to the bucket of the view in display keeps the fetched windows stable while the
+ * user navigates, so previously fetched windows can be reused.
+ */
+public enum RangeBucket {
+
+  DAY, WEEK, MONTH;
+
+  /**
+   * Returns the start of the bucket containing the given date time.
+   *
+   * @param dateTime the date time to align
+   * @param firstDayOfWeek the first day of the week, only used by {@link #WEEK}
+   * @return the start of the bucket
+   */
+  public LocalDateTime floor(LocalDateTime dateTime, DayOfWeek firstDayOfWeek) {
+    LocalDateTime startOfDay = dateTime.toLocalDate().atStartOfDay();
+    return switch (this) {
+      case DAY -> startOfDay;
+      case WEEK -> startOfDay.with(TemporalAdjusters.previousOrSame(firstDayOfWeek));
+      case MONTH -> startOfDay.withDayOfMonth(1);
+    };
+  }
+
+  /**
+   * Returns the start of the bucket following the bucket that starts at {@code bucketStart}.
+   *
+   * @param bucketStart the start of a bucket
+   * @return the start of the next bucket
+   */
+  public LocalDateTime next(LocalDateTime bucketStart) {
+    return switch (this) {
+      case DAY -> bucketStart.plusDays(1);
+      case WEEK -> bucketStart.plusWeeks(1);
+      case MONTH -> bucketStart.plusMonths(1);
+    };
+  }
+
+  /**
+   * Returns the bucket matching the range loaded by the given view.
+   *
+   * @param view the view in display, may be null
+   * @return the bucket for the view
+   */
+  public static RangeBucket of(ViewType view) {
+    if (view == CalendarViewType.DAY || view == ResourceViewType.HOURLY) {
+      return DAY;
+    }
+    if (view == CalendarViewType.MONTH_GRID || view == CalendarViewType.MONTH_AGENDA
+        || view == ResourceViewType.DAILY) {
+      return MONTH;
+    }
+    return WEEK;
+  }
+
+  /**
+   * Converts the Schedule-X first day of the week value (0 = Sunday, 1 = Monday, ... 6 = Saturday)
+   * to a {@link DayOfWeek}. Defaults to Monday, as Schedule-X does.
+   *
+   * @param firstDayOfWeek the Schedule-X first day of the week, may be null
+   * @return the matching day of the week
+   */
+  public static DayOfWeek toDayOfWeek(Integer firstDayOfWeek) {
+    if (firstDayOfWeek == null) {
+      return DayOfWeek.MONDAY;
+    }
+    return firstDayOfWeek == 0 ? DayOfWeek.SUNDAY : DayOfWeek.of(firstDayOfWeek);
+  }
+}
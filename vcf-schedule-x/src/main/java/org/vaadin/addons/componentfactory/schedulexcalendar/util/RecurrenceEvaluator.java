@@ -13,34 +13,31 @@
  */
 package org.vaadin.addons.componentfactory.schedulexcalendar.util;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import org.vaadin.addons.componentfactory.schedulexcalendar.model.RecurrenceRule;
 
 /**
  * Utility class to evaluate recurrence rules against a date range.
  * <p>
  * This evaluator checks whether at least one occurrence of a recurring event
- * defined by a {@link RecurrenceRule} falls within a given date range.
+ * defined by a {@link RecurrenceRule} falls within a given date range, or lists
+ * the dates of the occurrences of the range.
  * </p>
  *
  * <p>
- * Supported rule parts:
- * <ul>
- *   <li>{@code FREQ=DAILY|WEEKLY|MONTHLY|YEARLY}</li>
- *   <li>{@code INTERVAL=n}</li>
- *   <li>{@code COUNT=n}</li>
- *   <li>{@code UNTIL=YYYYMMDD or YYYYMMDDTHHMMSS}</li>
- *   <li>{@code BYDAY=MO,TU,...} (for WEEKLY)</li>
- *   <li>{@code BYMONTHDAY=1,15,...} (for MONTHLY)</li>
- * </ul>
+ * Rules are evaluated by their {@link CompiledRecurrenceRule compiled form}, which supports the
+ * FREQ, INTERVAL, COUNT, UNTIL, WKST and BY* rule parts of RFC 5545, and is cached by rule string.
+ * Occurrences are evaluated by date: the series and the range start at the start of their days,
+ * and UNTIL includes the whole day when it has no time.
  * </p>
  *
  * <p>
- * This evaluator does <b>not</b> generate all occurrences. It stops early once
- * it detects that an occurrence falls within the provided date range.
+ * This evaluator does <b>not</b> generate all occurrences. It jumps to the recurrence period
+ * holding the start of the range with interval arithmetic, then only generates the occurrences
+ * until the end of the range.
  * </p>
  */
 public class RecurrenceEvaluator {
@@ -58,74 +55,33 @@ public class RecurrenceEvaluator {
    */
   public static boolean occursInRange(RecurrenceRule rule, LocalDate startDate,
                                       LocalDate rangeStart, LocalDate rangeEnd) {
-
     if (rule == null || rule.getFreq() == null) {
       return false;
     }
+    return CompiledRecurrenceRule.of(rule).occursInRange(startDate.atStartOfDay(),
+        rangeStart.atStartOfDay(), rangeEnd.atStartOfDay());
+  }
 
-    int interval = rule.getInterval() != null ? rule.getInterval() : 1;
-    Integer count = rule.getCount();
-    LocalDate until = rule.getUntil() != null ? rule.getUntil().getDate() : null;
-
-    Set<DayOfWeek> byDays = rule.getByDay() != null
-        ? rule.getByDay().stream().map(RecurrenceEvaluator::toDayOfWeek).collect(Collectors.toSet())
-        : Set.of();
-
-    Set<Integer> byMonthDays = rule.getByMonthDay() != null
-        ? Set.copyOf(rule.getByMonthDay())
-        : Set.of();
-
-    LocalDate current = startDate;
-    int occurrences = 0;
-
-    while (true) {
-      // Stop by COUNT
-      if (count != null && occurrences >= count) {
-        break;
-      }
-
-      // Stop by UNTIL
-      if (until != null && current.isAfter(until)) {
-        break;
-      }
-
-      boolean valid = switch (rule.getFreq()) {
-        case DAILY -> true;
-
-        case WEEKLY -> byDays.isEmpty() || byDays.contains(current.getDayOfWeek());
-
-        case MONTHLY -> byMonthDays.isEmpty() || byMonthDays.contains(current.getDayOfMonth());
-
-        case YEARLY -> true; // Simplified
-      };
-
-      if (valid && !current.isBefore(rangeStart) && current.isBefore(rangeEnd)) {
-        return true; // Found an occurrence within range
-      }
-
-      // Advance to next occurrence
-      switch (rule.getFreq()) {
-        case DAILY -> current = current.plusDays(interval);
-        case WEEKLY -> current = current.plusWeeks(interval);
-        case MONTHLY -> current = current.plusMonths(interval);
-        case YEARLY -> current = current.plusYears(interval);
+  /**
+   * Returns the dates of the occurrences of a recurring event described by {@code rule} and
+   * starting on {@code startDate} between {@code rangeStart} and {@code rangeEnd}.
+   *
+   * @param rule       the recurrence rule
+   * @param startDate  the start date of the first occurrence
+   * @param rangeStart the inclusive start of the range
+   * @param rangeEnd   the exclusive end of the range
+   * @return the dates of the occurrences in the range, in ascending order, repeated if several
+   *         occurrences fall on the same date
+   */
+  public static List<LocalDate> getOccurrences(RecurrenceRule rule, LocalDate startDate,
+                                               LocalDate rangeStart, LocalDate rangeEnd) {
+    List<LocalDate> occurrences = new ArrayList<>();
+    if (rule != null && rule.getFreq() != null) {
+      for (LocalDateTime occurrence : CompiledRecurrenceRule.of(rule).getOccurrences(
+          startDate.atStartOfDay(), rangeStart.atStartOfDay(), rangeEnd.atStartOfDay())) {
+        occurrences.add(occurrence.toLocalDate());
       }
-
-      occurrences++;
     }
-
-    return false;
-  }
-
-  private static DayOfWeek toDayOfWeek(RecurrenceRule.Day day) {
-    return switch (day) {
-      case MO -> DayOfWeek.MONDAY;
-      case TU -> DayOfWeek.TUESDAY;
-      case WE -> DayOfWeek.WEDNESDAY;
-      case TH -> DayOfWeek.THURSDAY;
-      case FR -> DayOfWeek.FRIDAY;
-      case SA -> DayOfWeek.SATURDAY;
-      case SU -> DayOfWeek.SUNDAY;
-    };
+    return occurrences;
   }
 }
@@ -21,10 +21,11 @@ import { createEventRecurrencePlugin, createEventsServicePlugin } from "@schedul
 import { createResizePlugin } from '@sx-premium/resize';
 import { createScrollControllerPlugin } from '@schedule-x/scroll-controller';
 import { createSchedulingAssistant } from '@sx-premium/scheduling-assistant';
-import { createIcalendarPlugin } from '@schedule-x/ical';
 import { addDays } from '@schedule-x/shared';
 import {
+	decodeCompactEvents,
 	getZonedDateTime,
+	isAllDayView,
 	handleOnEventClick,
 	handleOnSelectedDateUpdate,
 	handleEventUpdate,
@@ -43,9 +44,16 @@ import {
 	updateMaxDate,
 	updateMonthGridOptions,
 	updateEvents,
+	updateResourceSchedulerRange,
+	toPlainDateTime,
 	processAllDayEventForView
 } from './vcf-schedule-x-utils.js';
 
+/**
+ * Maximum number of prefetched ranges kept on the client.
+ */
+const MAX_PREFETCHED_RANGES = 16;
+
 /**
  * Creates and renders a Schedule-X calendar using provided factories and configuration.
  *
@@ -67,22 +75,23 @@ export function createCommonCalendar(container, viewFactories, config, calendars
 	const dragAndDropPlugin = createDragAndDropPlugin(config.dragAndDropInterval);
 	const scrollControllerPlugin = createScrollControllerPlugin(config.scrollControllerConfig);
 	const calendarControlsPlugin = createCalendarControlsPlugin();
-   	const recurrencePlugin = createEventRecurrencePlugin();
+   	// recurring events are expanded on the server in server-side recurrence mode
+   	const recurrencePlugin = container.serverSideRecurrence ? null : createEventRecurrencePlugin();
 	
 	let div = container;
+	clearPrefetchedRanges(container);
+	container._events = new Map();
+	container._unconvertedIds = new Set();
+	container._shownIds = null;
+	container._changedIds = null;
 	
-    let plugins = [calendarControlsPlugin, dragAndDropPlugin, eventsServicePlugin, recurrencePlugin, resizePlugin, scrollControllerPlugin];
+    let plugins = [calendarControlsPlugin, dragAndDropPlugin, eventsServicePlugin, recurrencePlugin, resizePlugin, scrollControllerPlugin]
+    	.filter(plugin => plugin);
     
     // Add Draw plugin if applies
     const drawPlugin = calendarOptions.drawPlugin;    
     if (drawPlugin) plugins.push(drawPlugin);
     
-     // Add iCal plugin if applies
-    if(config.iCal){
-		 const icalendarPlugin = createIcalendarPlugin({data:config.iCal.iCal});
-		 plugins.push(icalendarPlugin);
-	}
-	
     // Add Current Time Indicator plugin if applies
     if(config.currentTimeIndicatorConfig) {
 		const currentTimeIndicatorPlugin = createCurrentTimePlugin(config.currentTimeIndicatorConfig);
@@ -102,7 +111,7 @@ export function createCommonCalendar(container, viewFactories, config, calendars
 		calendars: parsedCalendars,
 		callbacks: {
 			onRangeUpdate(range) {
-				updateEvents(div, range);
+				requestRange(div, range);
 			},
 			beforeRender($app) {
 				
@@ -124,7 +133,7 @@ export function createCommonCalendar(container, viewFactories, config, calendars
                 
                 // Update events
 				const range = $app.calendarState.range.value;
-				updateEvents(div, range);
+				requestRange(div, range);
 			},
 			onEventClick(calendarEvent) {
 				handleOnEventClick(div, calendarEvent);
@@ -189,6 +198,8 @@ export function createCommonCalendar(container, viewFactories, config, calendars
 	calendar.render(div);
 	div.calendar = calendar;
 	container.calendar = calendar;
+	// kept to apply configuration patches
+	container._config = config;
 	
 	// Dispatch event to know calendar was rendered
 	container.parentElement.dispatchEvent(new CustomEvent('calendar-rendered'));
@@ -329,22 +340,52 @@ export function setMonthGridOptions(container, monthGridOptionsJson) {
 }
 
 /**
- * Adds an event to the calendar.
+ * Applies changed configuration properties to the rendered calendar.
+ * 
+ * @param {HTMLElement} container 
+ * @param {Object} patch - The changed properties with their values.
+ * @returns {boolean} false if a property can only be applied by recreating the calendar
  */
-export function addEvent(container, calendarEvent) {
-	const eventJson = JSON.parse(calendarEvent);
-	if(eventJson.start) {
-		eventJson.start = getZonedDateTime(container, eventJson.start);
+export function applyConfigurationPatch(container, patch) {
+	const $app = container.calendar.$app;
+	for (const [key, value] of Object.entries(patch)) {
+		switch (key) {
+			case 'showWeekNumbers':
+				if (!$app.config.showWeekNumbers || !('value' in $app.config.showWeekNumbers)) {
+					return false;
+				}
+				$app.config.showWeekNumbers.value = value;
+				break;
+			case 'drawOptions':
+				// read by the mouse down callbacks when drawing starts
+				container._config.drawOptions = value;
+				break;
+			case 'scrollControllerConfig':
+				if (value.initialScroll) {
+					$app.config.plugins.scrollController.scrollTo(value.initialScroll);
+				}
+				break;
+			default:
+				return false;
+		}
 	}
-	if(eventJson.end) {
-		eventJson.end = getZonedDateTime(container, eventJson.end);
-	}
-	
-	// Process all-day events for day/week views
-	processAllDayEventForView(container.calendar, eventJson);
-	
+	return true;
+}
+
+/**
+ * Adds an event to the calendar.
+ * 
+ * @param {HTMLElement} container 
+ * @param {Object} calendarEvent the event to add
+ * @param {boolean} normalized whether the event was normalized by the server
+ */
+export function addEvent(container, calendarEvent, normalized) {
+	const eventJson = toCalendarEvent(container, calendarEvent, normalized);
 	const eventId = eventJson.id;
+	clearPrefetchedRanges(container);
+	holdEvent(container, calendarEvent, eventJson, normalized);
 	container.calendar.eventsService.add(eventJson);
+	container._shownIds?.add(eventId);
 	container.parentElement.dispatchEvent(new CustomEvent('calendar-event-added', { detail: { eventId: eventId } }));
 }
 
@@ -352,82 +393,349 @@ export function addEvent(container, calendarEvent) {
  * Removes an event from the calendar.
  */
 export function removeEvent(container, calendarEventId) {
+	clearPrefetchedRanges(container);
+	if (container._events) {
+		container._events.delete(calendarEventId);
+		container._unconvertedIds.delete(calendarEventId);
+	}
 	container.calendar.eventsService.remove(calendarEventId);
+	container._shownIds?.delete(calendarEventId);
 	container.parentElement.dispatchEvent(new CustomEvent('calendar-event-removed', { detail: { eventId: calendarEventId } }));
 }
 
 /**
  * Updates an existing event.
+ * 
+ * @param {HTMLElement} container 
+ * @param {Object} calendarEvent the event to update
+ * @param {boolean} normalized whether the event was normalized by the server
+ */
+export function updateEvent(container, calendarEvent, normalized) {
+	const eventJson = toCalendarEvent(container, calendarEvent, normalized);
+	const eventId = eventJson.id;
+	clearPrefetchedRanges(container);
+	holdEvent(container, calendarEvent, eventJson, normalized);
+	container.calendar.eventsService.update(eventJson);
+	container._shownIds?.add(eventId);
+	container.parentElement.dispatchEvent(new CustomEvent('calendar-event-updated', { detail: { eventId: eventId } }));
+}
+
+/**
+ * Applies a batch of changes to the events of the calendar, then dispatches one aggregated event
+ * per kind of change, carrying the ids of all the events changed.
+ * 
+ * @param {HTMLElement} container 
+ * @param {Array} added the events to add
+ * @param {Array} updated the events to update
+ * @param {Array} removedIds the ids of the events to remove
+ * @param {boolean} normalized whether the added and updated events were normalized by the server
  */
-export function updateEvent(container, calendarEvent) {
-	const eventJson = JSON.parse(calendarEvent);
-	if(eventJson.start) {
-		eventJson.start = getZonedDateTime(container, eventJson.start);
+export function applyEventChanges(container, added, updated, removedIds, normalized) {
+	added = added || [];
+	updated = updated || [];
+	removedIds = removedIds || [];
+	clearPrefetchedRanges(container);
+	
+	const held = container._events;
+	const eventsService = container.calendar.eventsService;
+	if (held) {
+		// the calendar shows the held events, so the changes are applied to them first
+		removedIds.forEach(id => {
+			held.delete(id);
+			container._unconvertedIds.delete(id);
+			markHeldEventChanged(container, id);
+		});
+		added.concat(updated).forEach(raw => {
+			holdEvent(container, raw, toCalendarEvent(container, raw, normalized), normalized);
+			markHeldEventChanged(container, raw.id);
+		});
+		setHeldEvents(container);
+	} else {
+		removedIds.forEach(id => eventsService.remove(id));
+		added.forEach(raw => eventsService.add(toCalendarEvent(container, raw, normalized)));
+		updated.forEach(raw => eventsService.update(toCalendarEvent(container, raw, normalized)));
+	}
+	
+	dispatchEventChange(container, 'calendar-events-added', added.map(raw => raw.id));
+	dispatchEventChange(container, 'calendar-events-updated', updated.map(raw => raw.id));
+	dispatchEventChange(container, 'calendar-events-removed', removedIds);
+}
+
+function dispatchEventChange(container, type, eventIds) {
+	if (eventIds.length) {
+		container.parentElement.dispatchEvent(new CustomEvent(type, { detail: { eventIds } }));
+	}
+}
+
+/**
+ * Keeps an event in the events held by the client, mirroring the state tracked by the server.
+ */
+function holdEvent(container, raw, event, normalized) {
+	if (container._events) {
+		container._events.set(raw.id, { raw, normalized: !!normalized, event });
+		container._unconvertedIds.delete(raw.id);
+	}
+}
+
+/**
+ * Converts an event received from the server to the form expected by the calendar. Events
+ * normalized by the server are already in the time zone of the calendar and flagged when they
+ * span a whole day, so their start and end only need to be parsed.
+ */
+function toCalendarEvent(container, raw, normalized) {
+	const event = Object.assign({}, raw);
+	if (normalized) {
+		delete event._allDay;
+		if (raw._allDay && isAllDayView(container.calendar)) {
+			event.start = event.end = Temporal.PlainDate.from(raw.start.substring(0, 10));
+		} else {
+			event.start = Temporal.ZonedDateTime.from(raw.start);
+			event.end = Temporal.ZonedDateTime.from(raw.end);
+		}
+		return event;
 	}
-	if(eventJson.end) {
-		eventJson.end = getZonedDateTime(container, eventJson.end);
+	if(event.start) {
+		event.start = getZonedDateTime(container, event.start);
+	}
+	if(event.end) {
+		event.end = getZonedDateTime(container, event.end);
 	}
 	
 	// Process all-day events for day/week views
-	processAllDayEventForView(container.calendar, eventJson);
-	
-	const eventId = eventJson.id;
-	container.calendar.eventsService.update(eventJson);
-	container.parentElement.dispatchEvent(new CustomEvent('calendar-event-updated', { detail: { eventId: eventId } }));
+	processAllDayEventForView(container.calendar, event);
+	return event;
 }
 
-export function onUpdateRange(container, events, start, end){
+/**
+ * Applies a chunk of the diff of a range to the events held by the client: the events of the
+ * chunk are added or replace the held ones with the same id, and the removed ids are dropped.
+ * The server only sends the events the client does not hold yet or holds in another version, so
+ * the calendar is only updated when the held events changed, at most once per animation frame.
+ * The last chunk marks the range as completely loaded.
+ * 
+ * @param {HTMLElement} container 
+ * @param {Array|Object} events the added or changed events of the chunk, as an array, as an
+ *     array normalized by the server (<code>{normalized: true, events}</code>) or in the compact
+ *     columnar encoding
+ * @param {Array} removedIds the ids of the events no longer in the range, or null if all the
+ *     held events must be dropped
+ * @param {string} start the start of the range
+ * @param {string} end the end of the range
+ * @param {boolean} first whether this is the first chunk of the range
+ * @param {boolean} last whether this is the last chunk of the range
+ * @param {number} seq the sequence number of the request the chunk answers
+ */
+export function onRangeChunk(container, events, removedIds, start, end, first, last, seq){
 	if (!container || !container.calendar) {
         return;
     } 
-		
-    if (container.calendar.$app.config.plugins.ICalendarPlugin){
-		const parsedStart = getZonedDateTime(container, start);
-		const parsedEnd = getZonedDateTime(container, end);
-		container.calendar.$app.config.plugins.ICalendarPlugin.between(parsedStart, parsedEnd);
-		    
-		let allEvents = container.calendar.eventsService.getAll();
-	    allEvents.forEach(event => {
-	      event._options = {};
-	      event._options.disableDND = true;
-	      event._options.disableResize = true;
-	      container.calendar.eventsService.update(event);
-	    });
-		
-		JSON.parse(events).forEach(event => {
-			if(event.start) {
-	          event.start = getZonedDateTime(container, event.start);
-	        }
-		    if(event.end) {
-		      event.end = getZonedDateTime(container, event.end);
-		    }
-		    
-		    // Process all-day events for day/week views
-		    processAllDayEventForView(container.calendar, event);
-		    
-			container.calendar.eventsService.add(event);
-		});
-    } else {
-		const eventsJson = JSON.parse(events);
-	    eventsJson.forEach(event => {
-	      if(event.start) {
-	         event.start = getZonedDateTime(container, event.start);
-	      }
-	      if(event.end) {
-	         event.end = getZonedDateTime(container, event.end);
-	      }
-	      
-	      // Process all-day events for day/week views
-	      processAllDayEventForView(container.calendar, event);
-	    });    
-	    container.calendar.eventsService.set(eventsJson);
-    } 
+	
+	const stale = seq !== undefined && seq < (container._rangeSeq || 0);
+	const normalized = !!(events && events.normalized);
+	const rawEvents = !events ? [] : Array.isArray(events) ? events
+		: normalized ? events.events : decodeCompactEvents(events);
+	
+	const held = container._events || (container._events = new Map());
+	const unconvertedIds = container._unconvertedIds || (container._unconvertedIds = new Set());
+	const reset = removedIds === null;
+	if (reset) {
+		// the server no longer knows which events the client holds, the range replaces them all
+		held.clear();
+		unconvertedIds.clear();
+		clearPrefetchedRanges(container);
+		container._changedIds = null;
+	}
+	const viewName = container.calendar.$app.calendarState.view.value;
+	const viewChanged = container._eventsView !== viewName;
+	
+	// the held events are kept in sync with the server even for superseded requests, which are
+	// only converted when the calendar is next updated
+	rawEvents.forEach(raw => {
+		if (stale) {
+			held.set(raw.id, { raw, normalized, event: null });
+			unconvertedIds.add(raw.id);
+		} else {
+			held.set(raw.id, { raw, normalized, event: toCalendarEvent(container, raw, normalized) });
+			unconvertedIds.delete(raw.id);
+		}
+		markHeldEventChanged(container, raw.id);
+	});
+	const removed = removedIds || [];
+	removed.forEach(id => {
+		held.delete(id);
+		unconvertedIds.delete(id);
+		markHeldEventChanged(container, id);
+	});
+	
+	if (stale) {
+		return;
+	}
+	
+	if (reset || viewChanged || rawEvents.length || removed.length || unconvertedIds.size) {
+		if (viewChanged) {
+			// all-day events are displayed differently depending on the view
+			held.forEach(entry => entry.event = toCalendarEvent(container, entry.raw, entry.normalized));
+			unconvertedIds.clear();
+			container._changedIds = null;
+		}
+		container._eventsView = viewName;
+		scheduleHeldEvents(container);
+	}
+	
+	if (!last) {
+		return;
+	}
+	if (container._heldEventsFrame) {
+		// the range is rendered completely before it is reported as loaded
+		setHeldEvents(container);
+	}
 	
     if(container.calendar.$app.config.plugins.eventRecurrence){
 		 const parsedStart = getZonedDateTime(container, start);
 		 const parsedEnd = getZonedDateTime(container, end);
 	     container.calendar.$app.config.plugins.eventRecurrence.onRangeUpdate({parsedStart, parsedEnd})
-    }        
+    }
+    
+    container.parentElement.dispatchEvent(new CustomEvent('calendar-range-loaded', { detail: { start, end } }));
+}
+
+/**
+ * Sets the held events to the calendar on the next animation frame, so the chunks of a range
+ * received within the same frame update the calendar once.
+ */
+function scheduleHeldEvents(container) {
+	if (!container._heldEventsFrame) {
+		container._heldEventsFrame = requestAnimationFrame(() => {
+			container._heldEventsFrame = null;
+			if (container.calendar) {
+				setHeldEvents(container);
+			}
+		});
+	}
+}
+
+/**
+ * Records that a held event was added, changed or removed since the held events were last shown.
+ */
+function markHeldEventChanged(container, id) {
+	if (container._changedIds) {
+		container._changedIds.add(id);
+	}
+}
+
+/**
+ * Shows the held events in the calendar right away, converting the ones held without their
+ * calendar form first. Only the events changed since they were last shown are added, updated or
+ * removed, as each of these calls copies the events of the calendar. All the events are set at
+ * once instead after a reset or a change of view, or when many of them changed.
+ */
+function setHeldEvents(container) {
+	if (container._heldEventsFrame) {
+		cancelAnimationFrame(container._heldEventsFrame);
+		container._heldEventsFrame = null;
+	}
+	const held = container._events;
+	container._unconvertedIds.forEach(id => {
+		const entry = held.get(id);
+		entry.event = toCalendarEvent(container, entry.raw, entry.normalized);
+	});
+	container._unconvertedIds.clear();
+	const eventsService = container.calendar.eventsService;
+	const shown = container._shownIds;
+	const changedIds = container._changedIds;
+	container._changedIds = new Set();
+	if (!shown || !changedIds || changedIds.size > Math.max(16, held.size / 4)) {
+		eventsService.set(Array.from(held.values(), entry => entry.event));
+		container._shownIds = new Set(held.keys());
+		return;
+	}
+	changedIds.forEach(id => {
+		const entry = held.get(id);
+		if (!entry) {
+			if (shown.delete(id)) {
+				eventsService.remove(id);
+			}
+		} else if (shown.has(id)) {
+			eventsService.update(entry.event);
+		} else {
+			shown.add(id);
+			eventsService.add(entry.event);
+		}
+	});
+}
+
+/**
+ * Requests the events of the given range from the server. If the range is covered by a range
+ * prefetched ahead of time, the prefetched events are rendered right away and the server is
+ * only notified, so it can prefetch the next adjacent ranges.
+ * 
+ * @param {HTMLElement} container 
+ * @param {Object} range the range with start and end
+ * @param {boolean} resourceScheduler whether the range is requested by the resource scheduler lazy loading
+ */
+export function requestRange(container, range, resourceScheduler = false) {
+	const viewName = container.calendar ? container.calendar.$app.calendarState.view.value : null;
+	const seq = nextRangeSeq(container);
+	const prefetched = findPrefetchedRange(container, range);
+	if (prefetched) {
+		// the prefetched events are added to the held ones, as recorded by the server
+		onRangeChunk(container, prefetched.events, [], range.start.toString(), range.end.toString(), true, true, seq);
+	}
+	const prefetchId = prefetched ? prefetched.prefetchId : 0;
+	if (resourceScheduler) {
+		updateResourceSchedulerRange(container, range, viewName, prefetchId, seq);
+	} else {
+		updateEvents(container, range, viewName, prefetchId, seq);
+	}
+}
+
+/**
+ * Returns the sequence number of a new range request. Responses to older requests are dropped.
+ */
+function nextRangeSeq(container) {
+	container._rangeSeq = (container._rangeSeq || 0) + 1;
+	return container._rangeSeq;
+}
+
+/**
+ * Stores the events of a range prefetched by the server.
+ * 
+ * @param {HTMLElement} container 
+ * @param {Array|Object} events the events of the range, as an array or in the compact encoding
+ * @param {string} start the start of the range
+ * @param {string} end the end of the range
+ * @param {number} prefetchId the id of the prefetched range, reported back when it is rendered
+ */
+export function onPrefetch(container, events, start, end, prefetchId) {
+	const ranges = container._prefetchedRanges || (container._prefetchedRanges = []);
+	ranges.push({ start: toPlainDateTime(start), end: toPlainDateTime(end), events, prefetchId });
+	if (ranges.length > MAX_PREFETCHED_RANGES) {
+		ranges.shift();
+	}
+}
+
+function findPrefetchedRange(container, range) {
+	if (!container._prefetchedRanges || !container._prefetchedRanges.length) {
+		return null;
+	}
+	const start = toPlainDateTime(range.start);
+	const end = toPlainDateTime(range.end);
+	// search from the most recent one
+	for (let i = container._prefetchedRanges.length - 1; i >= 0; i--) {
+		const prefetched = container._prefetchedRanges[i];
+		if (Temporal.PlainDateTime.compare(prefetched.start, start) <= 0
+				&& Temporal.PlainDateTime.compare(prefetched.end, end) >= 0) {
+			return prefetched;
+		}
+	}
+	return null;
+}
+
+/**
+ * Discards the prefetched ranges, as they no longer reflect the events in the calendar.
+ */
+export function clearPrefetchedRanges(container) {
+	container._prefetchedRanges = [];
 }
 
 /**
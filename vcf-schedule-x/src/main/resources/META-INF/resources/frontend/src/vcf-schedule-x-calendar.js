@@ -19,6 +19,8 @@ import {
 
 import {
 	addEvent,
+	applyConfigurationPatch,
+	applyEventChanges,
 	createCommonCalendar,
 	navigateCalendar,
 	removeEvent,
@@ -35,7 +37,8 @@ import {
 	setMaxDate,
 	setMonthGridOptions,
 	updateEvent,
-	onUpdateRange
+	onRangeChunk,
+	onPrefetch
 } from './vcf-schedule-x-base.js';
 import { createDrawPlugin } from "@sx-premium/draw";
 import { processConfiguration } from './vcf-schedule-x-utils.js';
@@ -149,20 +152,32 @@ window.vcfschedulexcalendar = {
 		setMonthGridOptions(container, monthGridOptionsJson);
 	},
 
-	addEvent(container, calendarEvent) {
-		addEvent(container, calendarEvent);
+	applyConfigurationPatch(container, patch) {
+		return applyConfigurationPatch(container, patch);
+	},
+
+	addEvent(container, calendarEvent, normalized) {
+		addEvent(container, calendarEvent, normalized);
 	},
 
 	removeEvent(container, calendarEventId) {
 		removeEvent(container, calendarEventId);
 	},
 
-	updateEvent(container, calendarEvent) {
-		updateEvent(container, calendarEvent);
+	updateEvent(container, calendarEvent, normalized) {
+		updateEvent(container, calendarEvent, normalized);
 	},
-	
-	onUpdateRange(container, events, start, end) {
-		onUpdateRange(container, events, start, end);
+
+	applyEventChanges(container, added, updated, removedIds, normalized) {
+		applyEventChanges(container, added, updated, removedIds, normalized);
+	},
+
+	onRangeChunk(container, events, removedIds, start, end, first, last, seq) {
+		onRangeChunk(container, events, removedIds, start, end, first, last, seq);
+	},
+
+	onPrefetch(container, events, start, end, prefetchId) {
+		onPrefetch(container, events, start, end, prefetchId);
 	},
 
 	navigateForwards(container) {
@@ -21,6 +21,8 @@ import {
 
 import {
 	addEvent,
+	applyConfigurationPatch,
+	applyEventChanges,
 	createCommonCalendar,
 	navigateCalendar,
 	removeEvent,
@@ -37,11 +39,14 @@ import {
 	setMaxDate,
 	setMonthGridOptions,
 	updateEvent,
-	onUpdateRange
+	onRangeChunk,
+	onPrefetch,
+	clearPrefetchedRanges,
+	requestRange
 } from './vcf-schedule-x-base.js';
 
 import {
-	updateResourceSchedulerRange, 
+	getZonedDateTime,
 	processConfiguration
 } from './vcf-schedule-x-utils.js';
 
@@ -68,14 +73,17 @@ window.vcfschedulexresourcescheduler = {
 
 			// In v4, resources moved from rConfig to main calendar config
 			const parsedResourceConfig = JSON.parse(resourceConfigJson);
+			// resources by id, with their parent, for the resource operations
+			container._resourceNodes = new Map();
 			if (parsedResourceConfig.resources && parsedResourceConfig.resources.length > 0) {
-				config.resources = parsedResourceConfig.resources.map(resource => ({
-					...resource,
-					isOpen: signal(resource.isOpen)
-				}));
+				config.resources = parsedResourceConfig.resources.map(resource =>
+					this._toClientResource(container, resource, null));
 			}
+			container._resources = config.resources || [];
 
 			this._processResourceSchedulerConfig(resourceConfig, resourceConfigJson);
+			// kept to apply configuration patches to its signals
+			container._resourceConfig = resourceConfig;
 			
 			// attach lazy loading callbacks
 			// callback that runs when the user scrolls the daily view
@@ -96,7 +104,7 @@ window.vcfschedulexresourcescheduler = {
 				  end = lastPlainDate.toPlainDateTime();
 				}	
 				
-				updateResourceSchedulerRange(container, { start, end });
+				requestRange(container, { start, end }, true);
 			};
 		
 			// callback that runs when the user scrolls the hourly view
@@ -117,7 +125,7 @@ window.vcfschedulexresourcescheduler = {
 				  end = lastPlainDate.toPlainDateTime();
 				}	
 				
-				updateResourceSchedulerRange(container, { start, end });
+				requestRange(container, { start, end }, true);
 		    };
 			
 			// get scheduling assistant configuration if available
@@ -132,9 +140,81 @@ window.vcfschedulexresourcescheduler = {
 			if(currentViewJson){
 				this.setView(container,currentViewJson);
 			}
+
+			this._observeResourceWindow(container);
 		});
 	},
 
+	/**
+	 * Reports the resources in display, with the overscan rows, to the server as the user scrolls
+	 * and expands resources, when the server fetches only their events.
+	 */
+	_observeResourceWindow(container) {
+		if (!container.parentElement.resourceWindowing) {
+			return;
+		}
+		container.addEventListener('scroll', e => {
+			if (e.target.scrollHeight > e.target.clientHeight) {
+				// the element scrolling the rows, not the one scrolling the time axis
+				container._resourceScroller = e.target;
+			}
+			this._scheduleResourceWindowReport(container);
+		}, { capture: true, passive: true });
+		container.addEventListener('click', () => this._scheduleResourceWindowReport(container));
+		this._scheduleResourceWindowReport(container);
+	},
+
+	_scheduleResourceWindowReport(container) {
+		const scheduler = container.parentElement;
+		if (!scheduler || !scheduler.resourceWindowing || container._resourceWindowTimeout) {
+			return;
+		}
+		container._resourceWindowTimeout = setTimeout(() => {
+			container._resourceWindowTimeout = null;
+			this._reportResourceWindow(container);
+		}, 100);
+	},
+
+	/**
+	 * Sends the ids of the rows in display, with the overscan rows, if they changed. The server
+	 * sends the events of the range in display of the rows that entered the window, while the
+	 * prefetched ranges, fetched for the previous rows, are discarded. The rows are assumed to be of the configured
+	 * resource height, as the connector does not rely on the markup of the scheduler rows;
+	 * rows grown by overlapping events shift the window, which only the overscan rows make up for.
+	 */
+	_reportResourceWindow(container) {
+		const scheduler = container.parentElement;
+		if (!scheduler || !container.calendar) {
+			return;
+		}
+		// placeholder rows take a row but have no events
+		const rows = [];
+		const collect = resources => resources.forEach(resource => {
+			rows.push(resource.placeholder ? null : resource.id);
+			if (resource.resources && resource.isOpen.value) {
+				collect(resource.resources);
+			}
+		});
+		collect(container._resources);
+
+		const rowHeight = container._resourceConfig.resourceHeight.value || 1;
+		const scroller = container._resourceScroller;
+		const top = scroller ? scroller.scrollTop : 0;
+		const height = scroller ? scroller.clientHeight : container.clientHeight;
+		const overscan = scheduler.resourceWindowOverscan ?? 10;
+		const first = Math.max(0, Math.floor(top / rowHeight) - overscan);
+		const last = Math.ceil((top + height) / rowHeight) + overscan;
+		const ids = rows.slice(first, last).filter(id => id != null);
+
+		const key = ids.join('\n');
+		if (key === container._resourceWindowKey) {
+			return;
+		}
+		container._resourceWindowKey = key;
+		clearPrefetchedRanges(container);
+		scheduler.$server.onResourceWindowChange(ids);
+	},
+
 	_processResourceSchedulerConfig(resourceConfig, resourceConfigJson) {
 		const parsed = JSON.parse(resourceConfigJson);
 		const timeUnits = new TimeUnits();
@@ -162,6 +242,112 @@ window.vcfschedulexresourcescheduler = {
 		});
 	},
 
+	/**
+	 * Converts a resource from the server, with its child resources, to the form used by the
+	 * scheduler, with its open state in a signal, and indexes it.
+	 */
+	_toClientResource(container, resource, parent) {
+		const clientResource = {
+			...resource,
+			isOpen: signal(resource.isOpen)
+		};
+		if (resource.resources) {
+			clientResource.resources = resource.resources.map(child =>
+				this._toClientResource(container, child, clientResource));
+		} else if (resource.unloadedChildCount > 0) {
+			// a placeholder child makes the resource expandable until its children are loaded
+			clientResource.resources = [{
+				id: `${resource.id}#loading`,
+				label: '\u2026',
+				placeholder: true,
+				isOpen: signal(false)
+			}];
+			let requested = false;
+			clientResource.isOpen.subscribe(open => {
+				if (open && !requested) {
+					requested = true;
+					container.parentElement.$server.onResourceExpand(resource.id);
+				}
+			});
+		}
+		container._resourceNodes.set(resource.id, { resource: clientResource, parent });
+		return clientResource;
+	},
+
+	_unindexResource(container, resource) {
+		container._resourceNodes.delete(resource.id);
+		(resource.resources || []).forEach(child => this._unindexResource(container, child));
+	},
+
+	_childResources(container, parent) {
+		if (!parent) {
+			return container._resources;
+		}
+		parent.resources = parent.resources || [];
+		return parent.resources;
+	},
+
+	/**
+	 * Applies resource operations to the resource tree of the rendered scheduler. Returns false if
+	 * an operation cannot be applied in place.
+	 */
+	_applyResourceOperations(container, operations) {
+		const nodes = container._resourceNodes;
+		if (!nodes) {
+			return false;
+		}
+		let structureChanged = false;
+		for (const operation of operations) {
+			const node = nodes.get(operation.id);
+			const parent = operation.parentId != null ? nodes.get(operation.parentId)?.resource : null;
+			if ((operation.type !== 'add' && !node) || (operation.parentId != null && !parent)) {
+				return false;
+			}
+			if (operation.type === 'open') {
+				node.resource.isOpen.value = operation.open;
+				continue;
+			}
+			if (operation.type === 'add') {
+				structureChanged = true;
+				this._childResources(container, parent)
+					.push(this._toClientResource(container, operation.resource, parent));
+				continue;
+			}
+			if (!['remove', 'update', 'move'].includes(operation.type)) {
+				return false;
+			}
+			// checked before changing anything, so a resource missing from its siblings leaves the
+			// node as is and the caller refreshes the whole tree
+			const siblings = this._childResources(container, node.parent);
+			const index = siblings.indexOf(node.resource);
+			if (index === -1) {
+				return false;
+			}
+			structureChanged = true;
+			if (operation.type === 'remove') {
+				siblings.splice(index, 1);
+				this._unindexResource(container, node.resource);
+			} else if (operation.type === 'update') {
+				this._unindexResource(container, node.resource);
+				siblings[index] = this._toClientResource(container, operation.resource, node.parent);
+			} else {
+				siblings.splice(index, 1);
+				this._childResources(container, parent).splice(operation.position, 0, node.resource);
+				node.parent = parent;
+			}
+		}
+		if (structureChanged) {
+			const resources = container.calendar.$app.config.resources;
+			if (!resources || !('value' in resources)) {
+				return false;
+			}
+			// a new array, so the signal notifies the scheduler
+			resources.value = [...container._resources];
+			this._scheduleResourceWindowReport(container);
+		}
+		return true;
+	},
+
 	_parseInitialRange(value) {
 		if (typeof value === 'string') {
 			const [start, end] = value.split(',').map(s => s.trim());
@@ -240,21 +426,72 @@ window.vcfschedulexresourcescheduler = {
 	setMonthGridOptions(container, monthGridOptionsJson){
 		setMonthGridOptions(container, monthGridOptionsJson);
 	},
+
+	applyConfigurationPatch(container, patch) {
+		return applyConfigurationPatch(container, patch);
+	},
+
+	/**
+	 * Applies changed resource scheduler properties to the signals of the rendered scheduler.
+	 * Returns false if a property can only be applied by recreating the scheduler.
+	 */
+	applyResourceConfigPatch(container, patch) {
+		const resourceConfig = container._resourceConfig;
+		for (const [key, value] of Object.entries(patch)) {
+			if (key === 'resourceOperations') {
+				if (!this._applyResourceOperations(container, value)) {
+					return false;
+				}
+				continue;
+			}
+			if (!resourceConfig || !resourceConfig[key] || !('value' in resourceConfig[key])) {
+				return false;
+			}
+			resourceConfig[key].value = value;
+		}
+		return true;
+	},
+
+	/**
+	 * Moves the scheduling assistant of the rendered scheduler to the patched start and end.
+	 * Returns false if the scheduler has no scheduling assistant.
+	 */
+	applySchedulingAssistantPatch(container, patch) {
+		const plugin = container.calendar.$app.config.plugins["scheduling-assistant"];
+		if (!plugin) {
+			return false;
+		}
+		if (patch.initialStart) {
+			plugin.currentStart.value = getZonedDateTime(container, patch.initialStart);
+		}
+		if (patch.initialEnd) {
+			plugin.currentEnd.value = getZonedDateTime(container, patch.initialEnd);
+		}
+		return true;
+	},
 	
-	addEvent(container, calendarEvent) {
-		addEvent(container, calendarEvent);
+	addEvent(container, calendarEvent, normalized) {
+		addEvent(container, calendarEvent, normalized);
 	},
 	
 	removeEvent(container, calendarEventId) {
 		removeEvent(container, calendarEventId);
 	},
 	
-	updateEvent(container, calendarEvent) {
-		updateEvent(container, calendarEvent);
+	updateEvent(container, calendarEvent, normalized) {
+		updateEvent(container, calendarEvent, normalized);
+	},
+
+	applyEventChanges(container, added, updated, removedIds, normalized) {
+		applyEventChanges(container, added, updated, removedIds, normalized);
+	},
+
+	onRangeChunk(container, events, removedIds, start, end, first, last, seq) {
+		onRangeChunk(container, events, removedIds, start, end, first, last, seq);
 	},
 
-	onUpdateRange(container, events, start, end) {
-		onUpdateRange(container, events, start, end);
+	onPrefetch(container, events, start, end, prefetchId) {
+		onPrefetch(container, events, start, end, prefetchId);
 	},
 	
 	navigateForwards(container) {
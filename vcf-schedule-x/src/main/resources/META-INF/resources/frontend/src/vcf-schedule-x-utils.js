@@ -55,12 +55,16 @@ export function processViews(viewFnNames, viewFactories, resourceConfig) {
 		.map(factory => factory(resourceConfig)); // optional for resource views
 }
 
-export function updateEvents(div, range){
-	div.parentElement.$server.updateRange(range.start, range.end);
+export function updateEvents(div, range, viewName, prefetchId, seq){
+	div.parentElement.$server.updateRange(range.start, range.end, viewName, prefetchId, seq);
 }
 
-export function updateResourceSchedulerRange(container, range){
-	container.parentElement.$server.updateResourceSchedulerRange(range.start, range.end);
+export function updateResourceSchedulerRange(container, range, viewName, prefetchId, seq){
+	container.parentElement.$server.updateResourceSchedulerRange(range.start, range.end, viewName, prefetchId, seq);
+}
+
+export function toPlainDateTime(dateTime) {
+	return Temporal.PlainDateTime.from(dateTime.toString());
 }
 
 export function setSelectedView(calendar, viewName) {
@@ -155,6 +159,15 @@ export function getZonedDateTime(container, dateTime) {
 	return plainDateTime.toZonedDateTime(container.calendar.$app.config.timezone.value); 
 }
 
+/**
+ * Returns whether the current view of the calendar shows the events spanning an entire day as
+ * all-day events.
+ */
+export function isAllDayView(calendar) {
+	const viewName = calendar.$app.calendarState.view.value;
+	return viewName === 'day' || viewName === 'week';
+}
+
 /**
  * Checks if an event spans an entire day (0:00 - 23:59) on the same date and converts to PlainDate for day/week views.
  * This allows schedule-x to display the event in the header rather than in the time grid.
@@ -217,3 +230,88 @@ export function processAllDayEventForView(calendar, event) {
 	return event;
 }
 
+
+/**
+ * Expands events sent in the compact columnar encoding into the objects the regular encoding
+ * produces: string columns reference the string table by index (-1 when absent), and start and
+ * end are minute offsets from the base date time, with optional seconds columns.
+ * 
+ * @param {Object} encoded the encoded events
+ * @returns {Array} the events
+ */
+export function decodeCompactEvents(encoded) {
+	const strings = encoded.strings;
+	const ids = encoded.id;
+	const base = Date.parse(encoded.base + 'Z');
+	// same form as the regular encoding; events of a range share few distinct start and end times
+	const dateTimes = new Map();
+	const dateTime = (minutes, seconds) => {
+		const offset = minutes * 60 + (seconds || 0);
+		let formatted = dateTimes.get(offset);
+		if (formatted === undefined) {
+			formatted = new Date(base + offset * 1000).toISOString().slice(0, 19);
+			dateTimes.set(offset, formatted);
+		}
+		return formatted;
+	};
+	const events = new Array(ids.length);
+	for (let i = 0; i < ids.length; i++) {
+		events[i] = {
+			id: ids[i],
+			start: dateTime(encoded.start[i], encoded.startSeconds && encoded.startSeconds[i]),
+			end: dateTime(encoded.end[i], encoded.endSeconds && encoded.endSeconds[i]),
+		};
+	}
+	// decoded column by column, in the order of the regular encoding
+	decodeStringColumn(events, 'title', encoded.title, strings);
+	decodeStringColumn(events, 'description', encoded.description, strings);
+	decodeStringColumn(events, 'location', encoded.location, strings);
+	decodeStringColumn(events, 'calendarId', encoded.calendarId, strings);
+	decodeColumn(events, 'people', encoded.people, people => people.map(index => strings[index]));
+	decodeColumn(events, '_options', encoded.options, options => {
+		const decoded = {};
+		if (options[0] !== null) {
+			decoded.disableDND = options[0];
+		}
+		if (options[1] !== null) {
+			decoded.disableResize = options[1];
+		}
+		if (options[2]) {
+			decoded.additionalClasses = options[2].map(index => strings[index]);
+		}
+		return decoded;
+	});
+	decodeColumn(events, '_customContent', encoded.customContent, customContent => {
+		const decoded = {};
+		['timeGrid', 'dateGrid', 'monthGrid', 'monthAgenda'].forEach((key, k) => {
+			if (customContent[k] >= 0) {
+				decoded[key] = strings[customContent[k]];
+			}
+		});
+		return decoded;
+	});
+	decodeStringColumn(events, 'resourceId', encoded.resourceId, strings);
+	decodeStringColumn(events, 'rrule', encoded.rrule, strings);
+	decodeColumn(events, 'exdate', encoded.exdate, exdate => exdate.map(index => strings[index]));
+	return events;
+}
+
+function decodeStringColumn(events, key, column, strings) {
+	if (column) {
+		for (let i = 0; i < events.length; i++) {
+			if (column[i] >= 0) {
+				events[i][key] = strings[column[i]];
+			}
+		}
+	}
+}
+
+function decodeColumn(events, key, column, decode) {
+	if (column) {
+		for (let i = 0; i < events.length; i++) {
+			if (column[i] !== null) {
+				events[i][key] = decode(column[i]);
+			}
+		}
+	}
+}
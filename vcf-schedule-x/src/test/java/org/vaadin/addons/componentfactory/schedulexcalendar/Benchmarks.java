@@ -0,0 +1,71 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Shared harness of the benchmarks of the add-on, the classes named {@code *Benchmark}. They are
+ * not run as part of the tests: each one has a main method, run from the IDE or with
+ * <code>mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=&lt;class&gt;</code>
+ * from the add-on module. Those writing payloads take the directory to write them to as argument.
+ */
+public final class Benchmarks {
+
+  private Benchmarks() {}
+
+  /**
+   * Runs the given task and returns the time it took, in nanoseconds.
+   */
+  public static long time(Runnable task) {
+    long start = System.nanoTime();
+    task.run();
+    return System.nanoTime() - start;
+  }
+
+  /**
+   * Runs the given task the given number of times to warm up, then as many times again, and
+   * returns the average time of the measured runs, in milliseconds.
+   */
+  public static double averageMillis(int rounds, Runnable task) {
+    for (int i = 0; i < rounds; i++) {
+      task.run();
+    }
+    long total = 0;
+    for (int i = 0; i < rounds; i++) {
+      total += time(task);
+    }
+    return total / 1_000_000.0 / rounds;
+  }
+
+  /**
+   * Prints a line of results.
+   */
+  public static void report(String format, Object... args) {
+    System.out.println(String.format(format, args));
+  }
+
+  /**
+   * Writes a payload to the directory given as first argument of the benchmark, if any, so its
+   * client-side parse time can be measured as well.
+   */
+  public static void writePayload(String[] args, String fileName, String payload)
+      throws IOException {
+    if (args.length > 0) {
+      Files.writeString(Path.of(args[0]).resolve(fileName), payload);
+    }
+  }
+}
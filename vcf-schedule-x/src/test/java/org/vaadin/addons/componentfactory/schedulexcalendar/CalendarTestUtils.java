@@ -14,6 +14,10 @@
 package org.vaadin.addons.componentfactory.schedulexcalendar;
 
 import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.dom.DomEvent;
+import com.vaadin.flow.internal.nodefeature.ElementListenerMap;
+import elemental.json.Json;
+import elemental.json.JsonArray;
 import java.lang.reflect.Field;
 import java.time.LocalDateTime;
 import org.vaadin.addons.componentfactory.schedulexcalendar.util.DateTimeFormatUtils;
@@ -30,6 +34,11 @@ public class CalendarTestUtils {
     }
   }
 
+  public static void fireCalendarRendered(BaseScheduleXCalendar calendar) {
+    calendar.getElement().getNode().getFeature(ElementListenerMap.class)
+        .fireEvent(new DomEvent(calendar.getElement(), "calendar-rendered", Json.createObject()));
+  }
+
   public static void fireCalendarEventAdded(BaseScheduleXCalendar calendar, String eventId) {
     ComponentUtil.fireEvent(calendar,
         new BaseScheduleXCalendar.CalendarEventAddedEvent(calendar, false, eventId));
@@ -45,6 +54,15 @@ public class CalendarTestUtils {
         new BaseScheduleXCalendar.CalendarEventUpdatedEvent(calendar, false, eventId));
   }
 
+  public static void fireCalendarEventsAdded(BaseScheduleXCalendar calendar, String... eventIds) {
+    JsonArray ids = Json.createArray();
+    for (String eventId : eventIds) {
+      ids.set(ids.length(), eventId);
+    }
+    ComponentUtil.fireEvent(calendar,
+        new BaseScheduleXCalendar.CalendarEventsAddedEvent(calendar, false, ids));
+  }
+
   public static void fireEventUpdate(BaseScheduleXCalendar calendar, String eventId, String start,
       String end) {
     ComponentUtil.fireEvent(calendar,
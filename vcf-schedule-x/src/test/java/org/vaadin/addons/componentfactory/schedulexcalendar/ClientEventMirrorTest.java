@@ -0,0 +1,128 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class ClientEventMirrorTest {
+
+  @Test
+  void testOnlyNewVersionsAreSent() {
+    ClientEventMirror mirror = new ClientEventMirror();
+    assertTrue(mirror.update("1", "{\"id\":\"1\"}"));
+    assertFalse(mirror.update("1", "{\"id\":\"1\"}"));
+    assertTrue(mirror.update("1", "{\"id\":\"1\",\"title\":\"Changed\"}"));
+  }
+
+  @Test
+  void testRetainAllReturnsRemovedIds() {
+    ClientEventMirror mirror = new ClientEventMirror();
+    mirror.update("1", "a");
+    mirror.update("2", "b");
+    mirror.update("3", "c");
+
+    assertEquals(List.of("2"), mirror.retainAll(Set.of("1", "3")));
+    assertEquals(2, mirror.size());
+  }
+
+  @Test
+  void testAppliedPrefetchIsHeldByClient() {
+    ClientEventMirror mirror = new ClientEventMirror();
+    mirror.recordPrefetch(1, Map.of("1", ClientEventMirror.version("a")));
+    assertTrue(mirror.update("1", "a"));
+
+    mirror.clear();
+    mirror.recordPrefetch(1, Map.of("1", ClientEventMirror.version("a")));
+    mirror.applyPrefetch(1);
+    assertFalse(mirror.update("1", "a"));
+  }
+
+  @Test
+  void testAppliedPrefetchRemovesEventsOutsideRange() {
+    ClientEventMirror mirror = new ClientEventMirror();
+    mirror.update("1", "a");
+    mirror.update("2", "b");
+    mirror.recordPrefetch(1, Map.of("2", ClientEventMirror.version("b"), "3", 3L));
+
+    assertEquals(List.of("1"), mirror.applyPrefetch(1));
+    assertEquals(Set.of("2", "3"), mirror.getEventIds());
+  }
+
+  @Test
+  void testOldestPrefetchesAreForgotten() {
+    ClientEventMirror mirror = new ClientEventMirror();
+    for (int i = 1; i <= ClientEventMirror.MAX_PREFETCHED_RANGES + 1; i++) {
+      mirror.recordPrefetch(i, Map.of("event-" + i, 1L));
+    }
+    mirror.applyPrefetch(1);
+    assertEquals(0, mirror.size());
+    mirror.applyPrefetch(2);
+    assertEquals(1, mirror.size());
+  }
+
+  @Test
+  void testOnlyHeldEventsAreRemoved() {
+    ClientEventMirror mirror = new ClientEventMirror();
+    mirror.update("1", "a");
+    mirror.touch("2");
+
+    assertTrue(mirror.remove("1"));
+    assertTrue(mirror.remove("2"));
+    assertFalse(mirror.remove("3"));
+  }
+
+  @Test
+  void testTouchedEventIsSentAgain() {
+    ClientEventMirror mirror = new ClientEventMirror();
+    mirror.update("1", "a");
+    // moved on the client
+    mirror.touch("1");
+
+    assertTrue(mirror.update("1", "a"));
+  }
+
+  @Test
+  void testOverflowStopsTrackingUntilNextRange() {
+    ClientEventMirror mirror = new ClientEventMirror();
+    for (int i = 0; i <= ClientEventMirror.MAX_EVENTS; i++) {
+      mirror.update("event-" + i, "a");
+    }
+
+    assertFalse(mirror.isTracking());
+    assertEquals(0, mirror.size());
+    // every change is sent while the client state is unknown
+    assertTrue(mirror.update("event-0", "a"));
+    assertTrue(mirror.update("event-0", "a"));
+    assertTrue(mirror.remove("unknown"));
+
+    assertTrue(mirror.beginRange());
+    assertTrue(mirror.isTracking());
+    assertFalse(mirror.beginRange());
+    assertTrue(mirror.update("event-0", "a"));
+    assertFalse(mirror.update("event-0", "a"));
+  }
+
+  @Test
+  void testVersionIsSixtyFourBits() {
+    // "Aa" and "BB" share their 32-bit string hash
+    assertEquals("Aa".hashCode(), "BB".hashCode());
+    assertTrue(ClientEventMirror.version("Aa") != ClientEventMirror.version("BB"));
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import elemental.json.JsonObject;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.Event;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.Event.EventOptions;
+
+class CompactEventEncoderTest {
+
+  private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 6, 0, 0);
+
+  @Test
+  void testStartAndEndAreMinuteOffsets() {
+    Event event = new Event("e1", BASE.plusHours(9), BASE.plusDays(1).plusHours(10));
+    Event before = new Event("e2", BASE.minusMinutes(30), BASE.plusMinutes(30));
+
+    JsonObject encoded = CompactEventEncoder.encode(List.of(event, before), BASE);
+
+    assertEquals(CompactEventEncoder.VERSION, (int) encoded.getNumber("v"));
+    assertEquals("2025-01-06T00:00:00", encoded.getString("base"));
+    assertEquals("[\"e1\",\"e2\"]", encoded.getArray("id").toJson());
+    assertEquals("[540,-30]", encoded.getArray("start").toJson());
+    assertEquals("[2040,30]", encoded.getArray("end").toJson());
+    assertFalse(encoded.hasKey("startSeconds"));
+  }
+
+  @Test
+  void testSecondsAreSentOnlyWhenPresent() {
+    Event event = new Event("e1", BASE.plusSeconds(90), BASE.plusMinutes(5));
+
+    JsonObject encoded = CompactEventEncoder.encode(List.of(event), BASE);
+
+    assertEquals("[1]", encoded.getArray("start").toJson());
+    assertEquals("[30]", encoded.getArray("startSeconds").toJson());
+    assertEquals("[0]", encoded.getArray("endSeconds").toJson());
+  }
+
+  @Test
+  void testRepeatedStringsAreSentOnce() {
+    Event first = new Event("e1", BASE, BASE.plusHours(1));
+    first.setTitle("Standup");
+    first.setCalendarId("work");
+    first.setPeople(List.of("Ann", "Bob"));
+    Event second = new Event("e2", BASE.plusDays(1), BASE.plusDays(1).plusHours(1));
+    second.setTitle("Standup");
+    second.setCalendarId("work");
+    second.setPeople(List.of("Bob"));
+    Event third = new Event("e3", BASE.plusDays(2), BASE.plusDays(2).plusHours(1));
+
+    JsonObject encoded = CompactEventEncoder.encode(List.of(first, second, third), BASE);
+
+    assertEquals("[\"Standup\",\"work\",\"Ann\",\"Bob\"]", encoded.getArray("strings").toJson());
+    assertEquals("[0,0,-1]", encoded.getArray("title").toJson());
+    assertEquals("[1,1,-1]", encoded.getArray("calendarId").toJson());
+    assertEquals("[[2,3],[3],null]", encoded.getArray("people").toJson());
+  }
+
+  @Test
+  void testAbsentColumnsAreOmitted() {
+    Event event = new Event("e1", BASE, BASE.plusHours(1));
+    EventOptions options = new EventOptions();
+    options.setDisableDND(true);
+    event.setOptions(options);
+
+    JsonObject encoded = CompactEventEncoder.encode(List.of(event), BASE);
+
+    assertFalse(encoded.hasKey("title"));
+    assertFalse(encoded.hasKey("people"));
+    assertFalse(encoded.hasKey("rrule"));
+    assertEquals("[[true,null,null]]", encoded.getArray("options").toJson());
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.Event;
+
+/**
+ * Compares the size of a month of events sent as one JSON object per event with the same events
+ * in the compact columnar encoding. See {@link Benchmarks} to run it.
+ */
+public class CompactEventPayloadBenchmark {
+
+  private static final int EVENTS = 20_000;
+
+  private static final LocalDateTime MONTH_START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+  public static void main(String[] args) throws IOException {
+    List<Event> events = createEvents();
+
+    JsonArray array = Json.createArray();
+    events.forEach(event -> array.set(array.length(), event.toJsonObject()));
+    String regular = array.toJson();
+    String compact = CompactEventEncoder.encode(events, MONTH_START).toJson();
+
+    int regularBytes = regular.getBytes(StandardCharsets.UTF_8).length;
+    int compactBytes = compact.getBytes(StandardCharsets.UTF_8).length;
+    Benchmarks.report("%d events as objects: %d bytes", EVENTS, regularBytes);
+    Benchmarks.report("%d events compact:    %d bytes (%.0f%%)", EVENTS, compactBytes,
+        100.0 * compactBytes / regularBytes);
+
+    Benchmarks.writePayload(args, "events-regular.json", regular);
+    Benchmarks.writePayload(args, "events-compact.json", compact);
+  }
+
+  private static List<Event> createEvents() {
+    String[] titles = {"Standup", "Planning", "Review", "1:1", "Lunch", "Workshop"};
+    String[] calendars = {"work", "leisure", "personal"};
+    String[] people = {"Alice", "Bob", "Carol", "Dave", "Eve"};
+    List<Event> events = new ArrayList<>();
+    for (int i = 0; i < EVENTS; i++) {
+      // spread over the 31 days of the month, in quarter hours between 6:00 and 22:00
+      LocalDateTime start = MONTH_START.plusDays(i % 31).plusHours(6).plusMinutes(15L * (i % 64));
+      Event event = new Event("event-" + i, start, start.plusMinutes(30 + 15L * (i % 4)));
+      event.setTitle(titles[i % titles.length]);
+      event.setCalendarId(calendars[i % calendars.length]);
+      event.setResourceId("room-" + (i % 40));
+      event.setPeople(List.of(people[i % people.length], people[(i + 2) % people.length]));
+      events.add(event);
+    }
+    return events;
+  }
+}
@@ -111,14 +111,15 @@ class ConfigurationSerializationTest {
   }
 
   @Test
-  void testICalSerialization() {
+  void testICalIsNotSerialized() {
     Configuration config = new Configuration();
     ICal iCal = new ICal();
     iCal.setiCal("BEGIN:VCALENDAR...");
     config.setiCal(iCal);
 
+    // the source is parsed on the server, its events are sent with the range events
     JsonObject json = Json.parse(config.getJson());
-    assertEquals("BEGIN:VCALENDAR...", json.getObject("iCal").getString("iCal"));
+    assertFalse(json.hasKey("iCal"));
   }
 
   @Test
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.Event;
+
+class EventChangeSetTest {
+
+  private static Event event(String id) {
+    return new Event(id, LocalDateTime.of(2025, 1, 6, 8, 0), LocalDateTime.of(2025, 1, 6, 9, 0));
+  }
+
+  @Test
+  void testAddThenUpdateIsSentAsAdd() {
+    EventChangeSet changeSet = new EventChangeSet();
+    Event added = event("1");
+    Event updated = event("1");
+    changeSet.add(added);
+    changeSet.update(updated);
+
+    assertEquals(1, changeSet.getAdded().size());
+    assertSame(updated, changeSet.getAdded().get(0));
+    assertTrue(changeSet.getUpdated().isEmpty());
+  }
+
+  @Test
+  void testAddThenRemoveIsNotSent() {
+    EventChangeSet changeSet = new EventChangeSet();
+    changeSet.add(event("1"));
+    changeSet.update(event("1"));
+    changeSet.remove("1");
+
+    assertTrue(changeSet.isEmpty());
+  }
+
+  @Test
+  void testRepeatedUpdatesAreSentOnce() {
+    EventChangeSet changeSet = new EventChangeSet();
+    Event last = event("1");
+    changeSet.update(event("1"));
+    changeSet.update(last);
+
+    assertEquals(List.of(last), changeSet.getUpdated());
+  }
+
+  @Test
+  void testUpdateThenRemoveIsSentAsRemove() {
+    EventChangeSet changeSet = new EventChangeSet();
+    changeSet.update(event("1"));
+    changeSet.remove("1");
+
+    assertEquals(List.of("1"), changeSet.getRemovedIds());
+    assertTrue(changeSet.getUpdated().isEmpty());
+  }
+
+  @Test
+  void testRemoveThenAddReplacesTheEvent() {
+    EventChangeSet changeSet = new EventChangeSet();
+    Event replacement = event("1");
+    changeSet.remove("1");
+    changeSet.add(replacement);
+
+    assertEquals(List.of("1"), changeSet.getRemovedIds());
+    assertEquals(List.of(replacement), changeSet.getAdded());
+  }
+
+  @Test
+  void testChangesKeepTheirOrder() {
+    EventChangeSet changeSet = new EventChangeSet();
+    Event third = event("3");
+    Event first = event("1");
+    changeSet.add(third);
+    changeSet.remove("2");
+    changeSet.add(first);
+
+    assertEquals(List.of(third, first), changeSet.getAdded());
+    assertEquals(List.of("2"), changeSet.getRemovedIds());
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import elemental.json.JsonObject;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.Event;
+
+class EventNormalizerTest {
+
+  private final EventNormalizer normalizer = new EventNormalizer(ZoneId.of("Europe/Helsinki"));
+
+  @Test
+  void testStartAndEndAreZoned() {
+    Event event = new Event("e1", LocalDateTime.of(2025, 1, 6, 8, 0),
+        LocalDateTime.of(2025, 7, 6, 9, 30));
+
+    JsonObject normalized = normalizer.normalize(event);
+
+    assertEquals("2025-01-06T08:00:00+02:00[Europe/Helsinki]", normalized.getString("start"));
+    assertEquals("2025-07-06T09:30:00+03:00[Europe/Helsinki]", normalized.getString("end"));
+    assertEquals("e1", normalized.getString("id"));
+    assertFalse(normalized.hasKey("_allDay"));
+  }
+
+  @Test
+  void testNonexistentTimesAreShiftedForward() {
+    // clocks go from 03:00 to 04:00
+    assertEquals("2025-03-30T04:30:00+03:00[Europe/Helsinki]",
+        normalizer.format(LocalDateTime.of(2025, 3, 30, 3, 30)));
+  }
+
+  @Test
+  void testUtcIsBracketed() {
+    assertEquals("2025-01-06T08:00:00Z[UTC]",
+        new EventNormalizer(ZoneOffset.UTC).format(LocalDateTime.of(2025, 1, 6, 8, 0)));
+  }
+
+  @Test
+  void testWholeDayEventsAreFlagged() {
+    Event event = new Event("e1", LocalDateTime.of(2025, 1, 6, 0, 0),
+        LocalDateTime.of(2025, 1, 6, 23, 59));
+
+    assertTrue(normalizer.normalize(event).getBoolean("_allDay"));
+    assertFalse(EventNormalizer.isAllDay(LocalDateTime.of(2025, 1, 6, 0, 0),
+        LocalDateTime.of(2025, 1, 7, 23, 59)));
+  }
+
+  @Test
+  void testNormalizedEventIsCachedUntilChanged() {
+    Event event = new Event("e1", LocalDateTime.of(2025, 1, 6, 8, 0),
+        LocalDateTime.of(2025, 1, 6, 9, 0));
+
+    JsonObject normalized = normalizer.normalize(event);
+    assertSame(normalized, normalizer.normalize(event));
+
+    event.setTitle("Changed");
+    JsonObject changed = normalizer.normalize(event);
+    assertNotSame(normalized, changed);
+    assertEquals("Changed", changed.getString("title"));
+    assertEquals(1, normalizer.size());
+  }
+
+  @Test
+  void testEqualEventsBuiltAgainHitTheCache() {
+    JsonObject normalized = normalizer.normalize(new Event("e1",
+        LocalDateTime.of(2025, 1, 6, 8, 0), LocalDateTime.of(2025, 1, 6, 9, 0)));
+
+    // as a data provider building new events on each fetch does
+    assertSame(normalized, normalizer.normalize(new Event("e1",
+        LocalDateTime.of(2025, 1, 6, 8, 0), LocalDateTime.of(2025, 1, 6, 9, 0))));
+  }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import com.vaadin.flow.data.provider.CallbackDataProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.Event;
+import org.vaadin.addons.componentfactory.schedulexcalendar.util.CalendarViewType;
+import org.vaadin.addons.componentfactory.schedulexcalendar.util.RangeBucket;
+
+class EventRangeCacheTest {
+
+  private List<Event> backend;
+  private List<LocalDateTime[]> loads;
+
+  @BeforeEach
+  void setUp() {
+    backend = new ArrayList<>();
+    // one event per day in January 2025, 10:00 - 11:00
+    for (int day = 1; day <= 31; day++) {
+      LocalDateTime start = LocalDateTime.of(2025, 1, day, 10, 0);
+      backend.add(new Event("event-" + day, start, start.plusHours(1)));
+    }
+    loads = new ArrayList<>();
+  }
+
+  private List<Event> load(LocalDateTime start, LocalDateTime end) {
+    loads.add(new LocalDateTime[] {start, end});
+    return backend.stream()
+        .filter(e -> !e.getStart().isAfter(end) && !e.getEnd().isBefore(start))
+        .collect(Collectors.toList());
+  }
+
+  private List<Event> getWeek(EventRangeCache cache, LocalDateTime start) {
+    return cache.getEvents(start, start.plusDays(7).minusSeconds(1), RangeBucket.WEEK,
+        DayOfWeek.MONDAY, this::load);
+  }
+
+  @Test
+  void testRepeatedRangeIsServedFromCache() {
+    EventRangeCache cache = new EventRangeCache();
+    // Monday 2025-01-06
+    List<Event> first = getWeek(cache, LocalDateTime.of(2025, 1, 6, 0, 0));
+    List<Event> second = getWeek(cache, LocalDateTime.of(2025, 1, 6, 0, 0));
+
+    assertEquals(1, loads.size());
+    assertEquals(7, first.size());
+    assertEquals(first, second);
+  }
+
+  @Test
+  void testOnlyUncoveredBucketsAreFetched() {
+    EventRangeCache cache = new EventRangeCache();
+    getWeek(cache, LocalDateTime.of(2025, 1, 6, 0, 0));
+
+    // range covering the cached week and the following one
+    List<Event> events = cache.getEvents(LocalDateTime.of(2025, 1, 8, 0, 0),
+        LocalDateTime.of(2025, 1, 15, 23, 59), RangeBucket.WEEK, DayOfWeek.MONDAY, this::load);
+
+    assertEquals(2, loads.size());
+    assertEquals(LocalDateTime.of(2025, 1, 13, 0, 0), loads.get(1)[0]);
+    assertTrue(loads.get(1)[1].isBefore(LocalDateTime.of(2025, 1, 20, 0, 0)));
+    assertEquals(14, events.size());
+  }
+
+  @Test
+  void testRangeIsSnappedToBuckets() {
+    EventRangeCache cache = new EventRangeCache();
+    cache.getEvents(LocalDateTime.of(2025, 1, 15, 8, 0), LocalDateTime.of(2025, 1, 15, 18, 0),
+        RangeBucket.MONTH, DayOfWeek.MONDAY, this::load);
+
+    assertEquals(LocalDateTime.of(2025, 1, 1, 0, 0), loads.get(0)[0]);
+    assertEquals(LocalDateTime.of(2025, 2, 1, 0, 0).minusNanos(1), loads.get(0)[1]);
+  }
+
+  @Test
+  void testLargerWindowAnswersSmallerBucket() {
+    EventRangeCache cache = new EventRangeCache();
+    cache.getEvents(LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 1, 31, 23, 59),
+        RangeBucket.MONTH, DayOfWeek.MONDAY, this::load);
+
+    List<Event> events = getWeek(cache, LocalDateTime.of(2025, 1, 13, 0, 0));
+
+    assertEquals(1, loads.size());
+    assertEquals(7, events.size());
+  }
+
+  @Test
+  void testLeastRecentlyUsedWindowIsEvicted() {
+    EventRangeCache cache = new EventRangeCache(2);
+    getWeek(cache, LocalDateTime.of(2025, 1, 6, 0, 0));
+    getWeek(cache, LocalDateTime.of(2025, 1, 13, 0, 0));
+    getWeek(cache, LocalDateTime.of(2025, 1, 6, 0, 0));
+    getWeek(cache, LocalDateTime.of(2025, 1, 20, 0, 0));
+    assertEquals(2, cache.size());
+    assertEquals(3, loads.size());
+
+    getWeek(cache, LocalDateTime.of(2025, 1, 6, 0, 0));
+    assertEquals(3, loads.size());
+    getWeek(cache, LocalDateTime.of(2025, 1, 13, 0, 0));
+    assertEquals(4, loads.size());
+  }
+
+  @Test
+  void testExpiredWindowIsRefetched() {
+    MutableClock clock = new MutableClock();
+    EventRangeCache cache = new EventRangeCache(10, Duration.ofMinutes(5), clock);
+    getWeek(cache, LocalDateTime.of(2025, 1, 6, 0, 0));
+
+    clock.advance(Duration.ofMinutes(4));
+    getWeek(cache, LocalDateTime.of(2025, 1, 6, 0, 0));
+    assertEquals(1, loads.size());
+
+    clock.advance(Duration.ofMinutes(2));
+    getWeek(cache, LocalDateTime.of(2025, 1, 6, 0, 0));
+    assertEquals(2, loads.size());
+  }
+
+  @Test
+  void testInvalidateEvent() {
+    EventRangeCache cache = new EventRangeCache();
+    getWeek(cache, LocalDateTime.of(2025, 1, 6, 0, 0));
+    getWeek(cache, LocalDateTime.of(2025, 1, 13, 0, 0));
+
+    backend.removeIf(e -> e.getId().equals("event-7"));
+    cache.invalidateEvent("event-7");
+    assertEquals(1, cache.size());
+
+    List<Event> events = getWeek(cache, LocalDateTime.of(2025, 1, 6, 0, 0));
+    assertEquals(3, loads.size());
+    assertEquals(6, events.size());
+  }
+
+  @Test
+  void testInvalidateRange() {
+    EventRangeCache cache = new EventRangeCache();
+    getWeek(cache, LocalDateTime.of(2025, 1, 6, 0, 0));
+    getWeek(cache, LocalDateTime.of(2025, 1, 13, 0, 0));
+
+    cache.invalidateRange(LocalDateTime.of(2025, 1, 14, 9, 0),
+        LocalDateTime.of(2025, 1, 14, 10, 0));
+    assertEquals(1, cache.size());
+
+    cache.invalidateAll();
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void testCalendarUsesCache() {
+    List<Integer> fetches = new ArrayList<>();
+    ScheduleXCalendar calendar = new ScheduleXCalendar(List.of(CalendarViewType.WEEK),
+        new CallbackDataProvider<>(query -> {
+          fetches.add(1);
+          return load(query.getFilter().get().getStartDate(), query.getFilter().get().getEndDate())
+              .stream();
+        }, query -> 0), new Configuration());
+    calendar.setEventCache(new EventRangeCache());
+
+    LocalDateTime start = LocalDateTime.of(2025, 1, 6, 0, 0);
+    calendar.fetchEvents(start, start.plusDays(6));
+    calendar.fetchEvents(start.plusDays(1), start.plusDays(5));
+    assertEquals(1, fetches.size());
+
+    calendar.removeEvent("event-7");
+    calendar.fetchEvents(start, start.plusDays(6));
+    assertEquals(2, fetches.size());
+  }
+
+  @Test
+  void testRangeLoadedDuringInvalidationIsNotCached() {
+    EventRangeCache cache = new EventRangeCache();
+    LocalDateTime start = LocalDateTime.of(2025, 1, 6, 0, 0);
+
+    List<Event> events = cache.getEvents(start, start.plusDays(7).minusSeconds(1),
+        RangeBucket.WEEK, DayOfWeek.MONDAY, (from, to) -> {
+          // another thread invalidates the cache while the range is loaded, without waiting
+          Thread invalidation = new Thread(cache::invalidateAll);
+          invalidation.start();
+          try {
+            invalidation.join(5_000);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          assertFalse(invalidation.isAlive());
+          return load(from, to);
+        });
+
+    assertEquals(7, events.size());
+    assertEquals(0, cache.size());
+    getWeek(cache, start);
+    assertEquals(2, loads.size());
+  }
+
+  private static class MutableClock extends Clock {
+
+    private Instant instant = Instant.parse("2025-01-01T00:00:00Z");
+
+    void advance(Duration duration) {
+      instant = instant.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
+}
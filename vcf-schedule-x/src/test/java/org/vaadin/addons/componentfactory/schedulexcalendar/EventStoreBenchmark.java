@@ -0,0 +1,91 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.Event;
+
+/**
+ * Compares the week queries of an {@link EventStore} with filtering a list of events, as a data
+ * provider built on a plain list does, for 100k and 1M events spread over two years. See
+ * {@link Benchmarks} to run it.
+ */
+public class EventStoreBenchmark {
+
+  private static final int[] SIZES = {100_000, 1_000_000};
+
+  private static final int QUERIES = 200;
+
+  private static final LocalDateTime FIRST_DAY = LocalDateTime.of(2025, 1, 6, 0, 0);
+
+  public static void main(String[] args) {
+    for (int size : SIZES) {
+      List<Event> events = createEvents(size);
+      long buildStart = System.nanoTime();
+      EventStore store = new EventStore(events);
+      long buildTime = System.nanoTime() - buildStart;
+
+      // warm up
+      run(events, store, QUERIES, true);
+      run(events, store, QUERIES, false);
+
+      long linear = run(events, store, QUERIES, true);
+      long indexed = run(events, store, QUERIES, false);
+      Benchmarks.report("%,d events, store built in %d ms", size, buildTime / 1_000_000);
+      Benchmarks.report("  linear filtering: %.3f ms/query", linear / 1_000_000.0 / QUERIES);
+      Benchmarks.report("  event store:      %.3f ms/query", indexed / 1_000_000.0 / QUERIES);
+    }
+  }
+
+  private static long run(List<Event> events, EventStore store, int queries, boolean linear) {
+    Random random = new Random(7);
+    long found = 0;
+    long start = System.nanoTime();
+    for (int i = 0; i < queries; i++) {
+      LocalDateTime weekStart = FIRST_DAY.plusWeeks(random.nextInt(104));
+      LocalDateTime weekEnd = weekStart.plusDays(6).plusHours(23).plusMinutes(59);
+      if (linear) {
+        found += events.stream().filter(
+            event -> !event.getStart().isAfter(weekEnd) && !event.getEnd().isBefore(weekStart))
+            .count();
+      } else {
+        found += store.getEvents(weekStart, weekEnd).size();
+      }
+    }
+    long time = System.nanoTime() - start;
+    if (found < 0) {
+      // keeps the results alive
+      throw new IllegalStateException();
+    }
+    return time;
+  }
+
+  private static List<Event> createEvents(int count) {
+    Random random = new Random(42);
+    List<Event> events = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      // working hours of the 730 days, in quarter hours
+      LocalDateTime start =
+          FIRST_DAY.plusDays(random.nextInt(730)).plusHours(8).plusMinutes(15L * random.nextInt(40));
+      Event event = new Event("event-" + i, start, start.plusMinutes(15L * (1 + random.nextInt(8))));
+      event.setCalendarId("calendar-" + i % 10);
+      event.setResourceId("room-" + i % 200);
+      events.add(event);
+    }
+    return events;
+  }
+}
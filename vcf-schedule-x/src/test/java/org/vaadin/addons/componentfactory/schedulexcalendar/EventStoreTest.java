@@ -0,0 +1,206 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.vaadin.flow.data.provider.Query;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.Event;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.EventQueryFilter;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.RecurrenceRule;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.RecurrenceRule.Frequency;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.RecurrenceRule.Until;
+
+class EventStoreTest {
+
+  private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 1, 6, 0, 0);
+
+  private static Event event(String id, LocalDateTime start, long minutes) {
+    return new Event(id, start, start.plusMinutes(minutes));
+  }
+
+  private static List<String> ids(List<Event> events) {
+    return events.stream().map(Event::getId).toList();
+  }
+
+  @Test
+  void testRangeQueryReturnsOverlappingEventsInStartOrder() {
+    EventStore store = new EventStore(List.of(event("late", MONDAY.plusHours(10), 60),
+        event("long", MONDAY.minusDays(3), 60 * 24 * 4), event("early", MONDAY.plusHours(8), 30),
+        event("before", MONDAY.minusDays(1), 60), event("after", MONDAY.plusDays(7), 60)));
+
+    assertEquals(List.of("long", "early", "late"),
+        ids(store.getEvents(MONDAY, MONDAY.plusDays(6).plusHours(23))));
+    // both ends are inclusive
+    assertEquals(List.of("long", "early"),
+        ids(store.getEvents(MONDAY.plusHours(8).plusMinutes(30), MONDAY.plusHours(9))));
+  }
+
+  @Test
+  void testProviderHonorsFilterOffsetAndLimit() {
+    EventStore store = new EventStore();
+    for (int i = 0; i < 10; i++) {
+      store.add(event("event-" + i, MONDAY.plusHours(i), 30));
+    }
+    EventQueryFilter filter = new EventQueryFilter(MONDAY.plusHours(2), MONDAY.plusHours(7));
+
+    assertEquals(6, store.size(new Query<>(filter)));
+    assertEquals(List.of("event-4", "event-5", "event-6"),
+        store.fetch(new Query<>(2, 3, null, null, filter)).map(Event::getId).toList());
+    assertEquals(10, store.fetch(new Query<>()).count());
+  }
+
+  @Test
+  void testUpdateReindexesEventChangedInPlace() {
+    Event event = event("e1", MONDAY.plusHours(8), 60);
+    event.setCalendarId("work");
+    EventStore store = new EventStore(List.of(event));
+
+    event.setStart(MONDAY.plusDays(8));
+    event.setEnd(MONDAY.plusDays(8).plusHours(1));
+    event.setCalendarId("personal");
+    store.update(event);
+
+    assertEquals(1, store.size());
+    assertTrue(store.getEvents(MONDAY, MONDAY.plusDays(6)).isEmpty());
+    assertEquals(List.of("e1"), ids(store.getEvents(MONDAY.plusDays(7), MONDAY.plusDays(13))));
+    assertTrue(store.getCalendarEvents("work", MONDAY, MONDAY.plusDays(13)).isEmpty());
+    assertEquals(List.of("e1"),
+        ids(store.getCalendarEvents("personal", MONDAY, MONDAY.plusDays(13))));
+
+    assertTrue(store.remove("e1"));
+    assertFalse(store.remove("e1"));
+    assertTrue(store.getEvents(MONDAY, MONDAY.plusDays(13)).isEmpty());
+    assertTrue(store.get("e1").isEmpty());
+  }
+
+  @Test
+  void testCalendarAndResourceIndexes() {
+    EventStore store = new EventStore();
+    for (int i = 0; i < 12; i++) {
+      Event event = event("event-" + i, MONDAY.plusHours(i), 30);
+      event.setCalendarId(i % 2 == 0 ? "work" : "personal");
+      event.setResourceId("room-" + i % 3);
+      store.add(event);
+    }
+
+    assertEquals(List.of("event-0", "event-2", "event-4"),
+        ids(store.getCalendarEvents("work", MONDAY, MONDAY.plusHours(5))));
+    assertEquals(List.of("event-1", "event-4", "event-7"),
+        ids(store.getResourceEvents("room-1", MONDAY, MONDAY.plusHours(8))));
+    assertTrue(store.getResourceEvents("room-9", MONDAY, MONDAY.plusDays(1)).isEmpty());
+  }
+
+  @Test
+  void testProviderHonorsResourceIdsOfFilter() {
+    EventStore store = new EventStore();
+    for (int i = 0; i < 12; i++) {
+      Event event = event("event-" + i, MONDAY.plusHours(i), 30);
+      event.setResourceId("room-" + i % 3);
+      store.add(event);
+    }
+    EventQueryFilter filter = new EventQueryFilter(MONDAY, MONDAY.plusHours(8));
+    filter.setResourceIds(Set.of("room-2", "room-0"));
+
+    // merged in start order, so paging still works
+    assertEquals(List.of("event-0", "event-2", "event-3", "event-5", "event-6", "event-8"),
+        store.fetch(new Query<>(filter)).map(Event::getId).toList());
+    assertEquals(List.of("event-3", "event-5"),
+        store.fetch(new Query<>(2, 2, null, null, filter)).map(Event::getId).toList());
+  }
+
+  @Test
+  void testRecurringEventsAreReturnedForTheirOccurrences() {
+    Event weekly = event("weekly", MONDAY.plusHours(9), 60);
+    RecurrenceRule rule = new RecurrenceRule(Frequency.WEEKLY);
+    rule.setUntil(new Until(MONDAY.plusWeeks(3).toLocalDate()));
+    weekly.setRecurrenceRule(rule);
+    Event monthly = event("monthly", MONDAY.plusHours(9), 60);
+    monthly.setRecurrenceRule(new RecurrenceRule(Frequency.MONTHLY));
+    EventStore store = new EventStore(List.of(weekly, monthly));
+
+    assertEquals(List.of("weekly"),
+        ids(store.getEvents(MONDAY.plusWeeks(2), MONDAY.plusWeeks(2).plusDays(6))));
+    assertTrue(store.getEvents(MONDAY.plusWeeks(5), MONDAY.plusWeeks(5).plusDays(6)).isEmpty());
+    assertEquals(List.of("monthly"),
+        ids(store.getEvents(MONDAY.plusMonths(5), MONDAY.plusMonths(5).plusDays(6))));
+  }
+
+  @Test
+  void testMatchesLinearFiltering() {
+    Random random = new Random(42);
+    EventStore store = new EventStore();
+    List<Event> events = new ArrayList<>();
+    for (int i = 0; i < 2_000; i++) {
+      Event event = event("event-" + i, MONDAY.plusMinutes(random.nextInt(60 * 24 * 90)),
+          random.nextInt(10) == 0 ? random.nextInt(60 * 24 * 20) : random.nextInt(240));
+      events.add(event);
+      store.add(event);
+    }
+    // removals rebalance the tree as well
+    for (int i = 0; i < 500; i++) {
+      store.remove(events.remove(random.nextInt(events.size())).getId());
+    }
+
+    for (int i = 0; i < 200; i++) {
+      LocalDateTime start = MONDAY.plusMinutes(random.nextInt(60 * 24 * 100) - 60 * 24 * 5);
+      LocalDateTime end = start.plusMinutes(random.nextInt(60 * 24 * 31));
+      List<String> expected = events.stream()
+          .filter(event -> !event.getStart().isAfter(end) && !event.getEnd().isBefore(start))
+          .sorted((a, b) -> a.getStart().equals(b.getStart()) ? a.getId().compareTo(b.getId())
+              : a.getStart().compareTo(b.getStart()))
+          .map(Event::getId).toList();
+      assertEquals(expected, ids(store.getEvents(start, end)));
+    }
+  }
+
+  @Test
+  void testConcurrentChangesAndQueries() throws Exception {
+    EventStore store = new EventStore();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int thread = 0; thread < 4; thread++) {
+        int offset = thread * 1_000;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 1_000; i++) {
+            store.add(event("event-" + (offset + i), MONDAY.plusMinutes(offset + i), 30));
+            store.getEvents(MONDAY, MONDAY.plusDays(7));
+            if (i % 2 == 1) {
+              store.remove("event-" + (offset + i));
+            }
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertEquals(2_000, store.size());
+    assertEquals(2_000, store.getEvents(MONDAY, MONDAY.plusDays(7)).size());
+  }
+}
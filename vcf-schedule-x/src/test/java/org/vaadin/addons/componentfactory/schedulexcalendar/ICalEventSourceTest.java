@@ -0,0 +1,88 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.Event;
+
+class ICalEventSourceTest {
+
+  private static final ZoneId UTC = ZoneId.of("UTC");
+
+  private static final String ICAL = """
+      BEGIN:VCALENDAR
+      BEGIN:VEVENT
+      UID:long
+      DTSTART;VALUE=DATE:20250101
+      DTEND;VALUE=DATE:20250111
+      END:VEVENT
+      BEGIN:VEVENT
+      UID:monday
+      DTSTART:20250106T080000
+      DTEND:20250106T090000
+      END:VEVENT
+      BEGIN:VEVENT
+      UID:next-week
+      DTSTART:20250114T080000
+      DTEND:20250114T090000
+      END:VEVENT
+      BEGIN:VEVENT
+      UID:weekly
+      DTSTART:20241202T080000
+      DTEND:20241202T090000
+      RRULE:FREQ=WEEKLY;UNTIL=20241216
+      END:VEVENT
+      BEGIN:VEVENT
+      UID:daily
+      DTSTART:20241202T080000
+      DTEND:20241202T090000
+      RRULE:FREQ=DAILY
+      END:VEVENT
+      END:VCALENDAR
+      """;
+
+  private static List<String> ids(List<Event> events) {
+    return events.stream().map(Event::getId).toList();
+  }
+
+  @Test
+  void testEventsOverlappingRange() {
+    ICalEventSource source = ICalEventSource.of(ICAL, UTC);
+
+    assertEquals(5, source.size());
+    assertEquals(List.of("long", "monday", "daily"), ids(source
+        .getEvents(LocalDateTime.of(2025, 1, 6, 0, 0), LocalDateTime.of(2025, 1, 12, 23, 59))));
+    assertEquals(List.of("next-week", "daily"), ids(source
+        .getEvents(LocalDateTime.of(2025, 1, 13, 0, 0), LocalDateTime.of(2025, 1, 19, 23, 59))));
+    assertEquals(List.of("weekly", "daily"), ids(source
+        .getEvents(LocalDateTime.of(2024, 12, 9, 0, 0), LocalDateTime.of(2024, 12, 15, 23, 59))));
+    assertEquals(List.of(), ids(source
+        .getEvents(LocalDateTime.of(2024, 11, 1, 0, 0), LocalDateTime.of(2024, 11, 30, 23, 59))));
+  }
+
+  @Test
+  void testIsFor() {
+    ICalEventSource source = ICalEventSource.of(ICAL, UTC);
+
+    assertTrue(source.isFor(ICAL, UTC));
+    assertFalse(source.isFor(ICAL, ZoneId.of("Europe/Helsinki")));
+    assertFalse(source.isFor("BEGIN:VCALENDAR", UTC));
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.vaadin.flow.internal.Pair;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.vaadin.addons.componentfactory.schedulexcalendar.util.CalendarViewType;
+import org.vaadin.addons.componentfactory.schedulexcalendar.util.ResourceViewType;
+
+class RangePrefetcherTest {
+
+  @Test
+  void testDisabledByDefault() {
+    RangePrefetcher prefetcher = new RangePrefetcher();
+    assertFalse(prefetcher.isEnabled(CalendarViewType.WEEK));
+  }
+
+  @Test
+  void testPerViewSettingsOverrideDefaults() {
+    RangePrefetcher prefetcher = new RangePrefetcher();
+    prefetcher.setEnabled(true);
+    prefetcher.setEnabled(CalendarViewType.DAY, false);
+    prefetcher.setDepth(CalendarViewType.MONTH_GRID, 0);
+    prefetcher.setDepth(CalendarViewType.WEEK, 3);
+
+    assertTrue(prefetcher.isEnabled(CalendarViewType.WEEK));
+    assertFalse(prefetcher.isEnabled(CalendarViewType.DAY));
+    assertFalse(prefetcher.isEnabled(CalendarViewType.MONTH_GRID));
+    assertEquals(3, prefetcher.getDepth(CalendarViewType.WEEK));
+    assertEquals(RangePrefetcher.DEFAULT_DEPTH, prefetcher.getDepth(ResourceViewType.HOURLY));
+  }
+
+  @Test
+  void testWeekViewPrefetchesAdjacentWeeks() {
+    RangePrefetcher prefetcher = new RangePrefetcher();
+    LocalDateTime start = LocalDateTime.of(2025, 1, 6, 0, 0);
+    LocalDateTime end = LocalDateTime.of(2025, 1, 12, 23, 59);
+
+    List<Pair<LocalDateTime, LocalDateTime>> ranges =
+        prefetcher.getAdjacentRanges(CalendarViewType.WEEK, start, end, DayOfWeek.MONDAY);
+
+    assertEquals(2, ranges.size());
+    assertEquals(LocalDateTime.of(2025, 1, 13, 0, 0), ranges.get(0).getFirst());
+    assertEquals(LocalDateTime.of(2025, 1, 19, 23, 59), ranges.get(0).getSecond());
+    assertEquals(LocalDateTime.of(2024, 12, 30, 0, 0), ranges.get(1).getFirst());
+  }
+
+  @Test
+  void testMonthGridPrefetchesWholeWeeksOfAdjacentMonths() {
+    RangePrefetcher prefetcher = new RangePrefetcher();
+    prefetcher.setDepth(2);
+    // month grid of January 2025 with weeks starting on Monday
+    LocalDateTime start = LocalDateTime.of(2024, 12, 30, 0, 0);
+    LocalDateTime end = LocalDateTime.of(2025, 2, 2, 23, 59);
+
+    List<Pair<LocalDateTime, LocalDateTime>> ranges =
+        prefetcher.getAdjacentRanges(CalendarViewType.MONTH_GRID, start, end, DayOfWeek.MONDAY);
+
+    assertEquals(4, ranges.size());
+    // February 2025
+    assertEquals(LocalDateTime.of(2025, 1, 27, 0, 0), ranges.get(0).getFirst());
+    assertEquals(LocalDateTime.of(2025, 3, 3, 0, 0).minusNanos(1), ranges.get(0).getSecond());
+    // December 2024
+    assertEquals(LocalDateTime.of(2024, 11, 25, 0, 0), ranges.get(1).getFirst());
+    // March 2025
+    assertEquals(LocalDateTime.of(2025, 2, 24, 0, 0), ranges.get(2).getFirst());
+  }
+
+  @Test
+  void testResourceViewPrefetchesVisibleSpan() {
+    RangePrefetcher prefetcher = new RangePrefetcher();
+    LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+    LocalDateTime end = LocalDateTime.of(2025, 1, 3, 23, 59, 59);
+
+    List<Pair<LocalDateTime, LocalDateTime>> ranges =
+        prefetcher.getAdjacentRanges(ResourceViewType.HOURLY, start, end, DayOfWeek.MONDAY);
+
+    assertEquals(LocalDateTime.of(2025, 1, 4, 0, 0), ranges.get(0).getFirst());
+    assertEquals(LocalDateTime.of(2025, 1, 6, 23, 59, 59), ranges.get(0).getSecond());
+    assertEquals(LocalDateTime.of(2024, 12, 29, 0, 0), ranges.get(1).getFirst());
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.vaadin.flow.data.provider.CallbackDataProvider;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.Event;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.EventQueryFilter;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.RecurrenceRule;
+import org.vaadin.addons.componentfactory.schedulexcalendar.util.CalendarViewType;
+
+class RecurrenceExpanderTest {
+
+  private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 1, 6, 0, 0);
+
+  private static Event standup() {
+    Event event = new Event("standup", MONDAY.plusHours(9), MONDAY.plusHours(9).plusMinutes(15));
+    event.setTitle("Standup");
+    event.setCalendarId("work");
+    event.setRecurrenceRule(RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO,WE,FR"));
+    return event;
+  }
+
+  private static List<String> ids(List<Event> events) {
+    return events.stream().map(Event::getId).toList();
+  }
+
+  @Test
+  void testExpandReplacesRecurringEventsByOccurrences() {
+    Event single = new Event("single", MONDAY.plusHours(12), MONDAY.plusHours(13));
+    Event standup = standup();
+    standup.setExcludedDates(List.of(MONDAY.plusDays(2).plusHours(9)));
+
+    List<Event> expanded = RecurrenceExpander.expand(List.of(single, standup), MONDAY,
+        MONDAY.plusDays(6).plusHours(23).plusMinutes(59));
+
+    assertEquals(List.of("single", "standup#20250106T090000", "standup#20250110T090000"),
+        ids(expanded));
+    Event occurrence = expanded.get(2);
+    assertEquals(MONDAY.plusDays(4).plusHours(9), occurrence.getStart());
+    assertEquals(MONDAY.plusDays(4).plusHours(9).plusMinutes(15), occurrence.getEnd());
+    assertEquals("Standup", occurrence.getTitle());
+    assertEquals("work", occurrence.getCalendarId());
+    assertNull(occurrence.getRecurrenceRule());
+    assertNull(occurrence.getExcludedDates());
+  }
+
+  @Test
+  void testExpandKeepsListWithoutRecurringEvents() {
+    List<Event> events = List.of(new Event("single", MONDAY, MONDAY.plusHours(1)));
+
+    assertSame(events, RecurrenceExpander.expand(events, MONDAY, MONDAY.plusDays(7)));
+  }
+
+  @Test
+  void testExpandIncludesOccurrencesOverlappingRangeStart() {
+    Event event = new Event("night", MONDAY.minusDays(8).plusHours(22), MONDAY.minusDays(7));
+    event.setRecurrenceRule(RecurrenceRule.parse("FREQ=WEEKLY"));
+
+    assertEquals(List.of("night#20250105T220000"), ids(RecurrenceExpander.expand(event,
+        MONDAY.minusHours(1), MONDAY.plusDays(5))));
+  }
+
+  @Test
+  void testOccurrenceIds() {
+    String id = RecurrenceExpander.occurrenceId("a#b", MONDAY.plusHours(9));
+
+    assertEquals("a#b#20250106T090000", id);
+    assertEquals("a#b", RecurrenceExpander.getRecurringEventId(id));
+    assertEquals(MONDAY.plusHours(9), RecurrenceExpander.getOccurrenceStart(id));
+    assertTrue(RecurrenceExpander.isOccurrenceOf(id, "a#b"));
+    assertFalse(RecurrenceExpander.isOccurrenceOf(id, "a"));
+    assertNull(RecurrenceExpander.getRecurringEventId("standup"));
+    assertNull(RecurrenceExpander.getOccurrenceStart("standup#notadatetime00"));
+  }
+
+  @Test
+  void testCalendarExpandsFetchedEventsAndMapsUpdates() {
+    Event standup = standup();
+    ScheduleXCalendar calendar = new ScheduleXCalendar(List.of(CalendarViewType.WEEK),
+        new CallbackDataProvider<Event, EventQueryFilter>(query -> List.of(standup).stream(),
+            query -> 1),
+        new Configuration());
+    LocalDateTime end = MONDAY.plusDays(6).plusHours(23).plusMinutes(59);
+
+    assertEquals(List.of("standup"), ids(calendar.fetchEvents(MONDAY, end)));
+
+    calendar.setServerSideRecurrenceExpansion(true);
+
+    assertEquals(List.of("standup#20250106T090000", "standup#20250108T090000",
+        "standup#20250110T090000"), ids(calendar.fetchEvents(MONDAY, end)));
+    AtomicReference<BaseScheduleXCalendar.EventUpdateEvent> update = new AtomicReference<>();
+    calendar.addEventUpdateEventListener(update::set);
+    CalendarTestUtils.fireEventUpdate(calendar, "standup#20250108T090000", "2025-01-08 10:00",
+        "2025-01-08 10:15");
+    assertEquals("standup", update.get().getRecurringEventId());
+    assertEquals(MONDAY.plusDays(2).plusHours(9), update.get().getOccurrenceStart());
+  }
+}
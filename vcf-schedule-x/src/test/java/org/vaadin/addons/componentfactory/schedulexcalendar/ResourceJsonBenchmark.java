@@ -0,0 +1,114 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import elemental.json.JsonValue;
+import java.util.ArrayList;
+import java.util.List;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.Resource;
+
+/**
+ * Measures the serialization of a resource tree of 10k resources, 6 levels deep, comparing the
+ * single-pass writer with serializing each child and parsing it again to embed it in its parent,
+ * as was done before. See {@link Benchmarks} to run it.
+ */
+public class ResourceJsonBenchmark {
+
+  private static final int DEPTH = 6;
+
+  /**
+   * Children per resource, so the tree holds about 10k resources: 1 + 5 + 25 + ... + 5^5 = 3906
+   * per top-level resource, with 3 top-level resources.
+   */
+  private static final int CHILDREN = 5;
+
+  private static final int ROOTS = 3;
+
+  private static final int ROUNDS = 20;
+
+  public static void main(String[] args) {
+    ResourceSchedulerConfig config = new ResourceSchedulerConfig();
+    List<Resource> roots = new ArrayList<>();
+    int[] count = {0};
+    for (int i = 0; i < ROOTS; i++) {
+      roots.add(createResource("r" + i, 1, count));
+    }
+    config.setResources(roots);
+    if (!config.getJson().equals(serializeByParsing(config))) {
+      throw new IllegalStateException("Outputs differ");
+    }
+
+    double singlePass = Benchmarks.averageMillis(ROUNDS, config::getJson);
+    double byParsing = Benchmarks.averageMillis(ROUNDS, () -> serializeByParsing(config));
+
+    Benchmarks.report("%d resources, depth %d, single pass: %.2f ms", count[0], DEPTH,
+        singlePass);
+    Benchmarks.report("%d resources, depth %d, by parsing:  %.2f ms", count[0], DEPTH, byParsing);
+  }
+
+  private static Resource createResource(String id, int level, int[] count) {
+    count[0]++;
+    Resource resource = new Resource(id);
+    resource.setLabel("Resource " + id);
+    if (level < DEPTH) {
+      List<Resource> children = new ArrayList<>();
+      for (int i = 0; i < CHILDREN; i++) {
+        children.add(createResource(id + "-" + i, level + 1, count));
+      }
+      resource.setResources(children);
+    }
+    return resource;
+  }
+
+  /**
+   * Serializes the configuration the way it was done before the single-pass writer.
+   */
+  private static String serializeByParsing(ResourceSchedulerConfig config) {
+    JsonObject json = config.getPatchableJson();
+    JsonArray resources = Json.createArray();
+    config.getResources().forEach(
+        resource -> resources.set(resources.length(), Json.parse(toJsonByParsing(resource))));
+    return insertResources(json, resources);
+  }
+
+  private static String toJsonByParsing(Resource resource) {
+    JsonObject json = Json.createObject();
+    json.put("id", resource.getId());
+    if (resource.getLabel() != null) {
+      json.put("label", resource.getLabel());
+    }
+    if (!resource.getResources().isEmpty()) {
+      JsonArray children = Json.createArray();
+      resource.getResources().forEach(
+          child -> children.set(children.length(), Json.parse(toJsonByParsing(child))));
+      json.put("resources", children);
+    }
+    json.put("isOpen", resource.isOpen());
+    return json.toJson();
+  }
+
+  private static String insertResources(JsonObject json, JsonArray resources) {
+    JsonObject ordered = Json.createObject();
+    for (String key : json.keys()) {
+      ordered.put(key, json.<JsonValue>get(key));
+      if (key.equals("infiniteScroll")) {
+        ordered.put("resources", resources);
+      }
+    }
+    return ordered.toJson();
+  }
+}
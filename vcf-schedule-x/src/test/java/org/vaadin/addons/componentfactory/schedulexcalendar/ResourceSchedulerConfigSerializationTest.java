@@ -23,6 +23,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import org.junit.jupiter.api.Test;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.Calendar.ColorDefinition;
 import org.vaadin.addons.componentfactory.schedulexcalendar.model.Resource;
 
 class ResourceSchedulerConfigSerializationTest {
@@ -71,5 +72,44 @@ class ResourceSchedulerConfigSerializationTest {
     assertTrue(json.getArray("resources").length() > 0);
     assertEquals("r1", json.getArray("resources").getObject(0).getString("id"));
   }
-}
 
+  @Test
+  void testResourceTreeSerialization() {
+    Resource alice = new Resource("alice");
+    alice.setLabel("Alice \"A\"");
+    alice.setLightColors(new ColorDefinition("#1", "#2", "#3"));
+    Resource team = new Resource("team");
+    team.setLabelHtml("<b>Team</b>");
+    team.setOpen(false);
+    team.setResources(List.of(alice, new Resource("bob")));
+    ResourceSchedulerConfig config = new ResourceSchedulerConfig();
+    config.setHourWidth(120);
+    config.setResources(List.of(team, new Resource("room")));
+
+    assertEquals("{\"hourWidth\":120,\"dragAndDrop\":false,\"resize\":false,"
+        + "\"infiniteScroll\":false,\"resources\":[{\"id\":\"team\","
+        + "\"labelHTML\":\"<b>Team</b>\",\"resources\":[{\"id\":\"alice\","
+        + "\"label\":\"Alice \\\"A\\\"\",\"lightColors\":{\"main\":\"#1\","
+        + "\"container\":\"#2\",\"onContainer\":\"#3\"},\"isOpen\":true},"
+        + "{\"id\":\"bob\",\"isOpen\":true}],\"isOpen\":false},"
+        + "{\"id\":\"room\",\"isOpen\":true}],\"dayNameFormat\":false}", config.getJson());
+  }
+
+  @Test
+  void testDeepResourceTreeSerialization() {
+    int depth = 50_000;
+    Resource root = new Resource("r0");
+    Resource parent = root;
+    for (int i = 1; i < depth; i++) {
+      Resource child = new Resource("r" + i);
+      parent.setResources(List.of(child));
+      parent = child;
+    }
+
+    String json = root.getJson();
+
+    assertTrue(json.startsWith("{\"id\":\"r0\",\"resources\":[{\"id\":\"r1\","));
+    assertTrue(json.endsWith("{\"id\":\"r" + (depth - 1) + "\",\"isOpen\":true}"
+        + "],\"isOpen\":true}".repeat(depth - 1)));
+  }
+}
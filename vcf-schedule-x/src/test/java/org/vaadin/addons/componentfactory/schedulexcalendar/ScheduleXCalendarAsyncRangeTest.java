@@ -0,0 +1,170 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.data.provider.CallbackDataProvider;
+import elemental.json.JsonArray;
+import elemental.json.JsonValue;
+import com.vaadin.flow.server.Command;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.vaadin.addons.componentfactory.schedulexcalendar.BaseScheduleXCalendar.RangeLoadErrorEvent;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.Event;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.EventQueryFilter;
+import org.vaadin.addons.componentfactory.schedulexcalendar.util.CalendarViewType;
+
+class ScheduleXCalendarAsyncRangeTest {
+
+  /**
+   * UI running the access commands right away, on the calling thread.
+   */
+  private static class DirectAccessUI extends UI {
+    @Override
+    public Future<Void> access(Command command) {
+      synchronized (this) {
+        command.execute();
+      }
+      return CompletableFuture.completedFuture(null);
+    }
+  }
+
+  private final UI ui = new DirectAccessUI();
+  private List<String> pages;
+  private List<String> fetchThreads;
+
+  @BeforeEach
+  void setUp() {
+    pages = new CopyOnWriteArrayList<>();
+    fetchThreads = new CopyOnWriteArrayList<>();
+  }
+
+  private ScheduleXCalendar createCalendar(CallbackDataProvider<Event, EventQueryFilter> provider) {
+    ScheduleXCalendar calendar = new ScheduleXCalendar(List.of(CalendarViewType.WEEK), provider,
+        new Configuration()) {
+      @Override
+      public Optional<UI> getUI() {
+        return Optional.of(ui);
+      }
+
+      @Override
+      void sendRangePage(JsonValue events, JsonArray removedIds, String start, String end,
+          boolean first, boolean last, int seq) {
+        pages.add(events.toJson());
+      }
+    };
+    calendar.setAsyncRangeLoading(true);
+    return calendar;
+  }
+
+  private CallbackDataProvider<Event, EventQueryFilter> provider() {
+    Event event = new Event("e1", LocalDateTime.of(2025, 1, 6, 10, 0),
+        LocalDateTime.of(2025, 1, 6, 11, 0));
+    return new CallbackDataProvider<>(query -> {
+      fetchThreads.add(Thread.currentThread().getName());
+      return List.of(event).stream();
+    }, query -> 1);
+  }
+
+  @Test
+  void testRangeIsLoadedOnExecutor() throws InterruptedException {
+    ScheduleXCalendar calendar = createCalendar(provider());
+    CountDownLatch done = new CountDownLatch(1);
+    calendar.setRangeLoadingExecutor(task -> new Thread(() -> {
+      task.run();
+      done.countDown();
+    }, "range-loader").start());
+
+    calendar.updateRange("2025-01-06T00:00:00", "2025-01-12T23:59:59", "week", 0, 1);
+
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    assertEquals(List.of("range-loader"), fetchThreads);
+    assertEquals(1, pages.size());
+    assertTrue(pages.get(0).contains("\"id\":\"e1\""));
+  }
+
+  @Test
+  void testFailureFiresRangeLoadErrorEvent() {
+    ScheduleXCalendar calendar = createCalendar(new CallbackDataProvider<>(query -> {
+      throw new IllegalStateException("database down");
+    }, query -> 0));
+    calendar.setRangeLoadingExecutor(Runnable::run);
+    AtomicReference<RangeLoadErrorEvent> error = new AtomicReference<>();
+    calendar.addRangeLoadErrorEventListener(error::set);
+
+    calendar.updateRange("2025-01-06T00:00:00", "2025-01-12T23:59:59", "week", 0, 1);
+
+    assertTrue(error.get().getError() instanceof IllegalStateException);
+    assertFalse(error.get().isTimeout());
+    assertEquals(LocalDateTime.of(2025, 1, 6, 0, 0), error.get().getStart());
+    assertTrue(pages.isEmpty());
+  }
+
+  @Test
+  void testTimeoutFiresRangeLoadErrorEvent() throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(1);
+    ScheduleXCalendar calendar = createCalendar(new CallbackDataProvider<>(query -> {
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return provider().fetch(query);
+    }, query -> 1));
+    calendar.setRangeLoadingTimeout(Duration.ofMillis(50));
+    CountDownLatch errorFired = new CountDownLatch(1);
+    AtomicReference<RangeLoadErrorEvent> error = new AtomicReference<>();
+    calendar.addRangeLoadErrorEventListener(event -> {
+      error.set(event);
+      errorFired.countDown();
+    });
+
+    calendar.updateRange("2025-01-06T00:00:00", "2025-01-12T23:59:59", "week", 0, 1);
+
+    assertTrue(errorFired.await(5, TimeUnit.SECONDS));
+    assertTrue(error.get().isTimeout());
+    release.countDown();
+    Thread.sleep(100);
+    // the late result is not delivered
+    assertTrue(pages.isEmpty());
+  }
+
+  @Test
+  void testSupersededRangeIsNotDelivered() {
+    ScheduleXCalendar calendar = createCalendar(provider());
+    List<Runnable> tasks = new CopyOnWriteArrayList<>();
+    calendar.setRangeLoadingExecutor(tasks::add);
+
+    calendar.updateRange("2025-01-06T00:00:00", "2025-01-12T23:59:59", "week", 0, 1);
+    calendar.updateRange("2025-01-13T00:00:00", "2025-01-19T23:59:59", "week", 0, 2);
+    tasks.forEach(Runnable::run);
+
+    // the first load is cancelled before fetching
+    assertEquals(1, fetchThreads.size());
+    assertEquals(1, pages.size());
+  }
+}
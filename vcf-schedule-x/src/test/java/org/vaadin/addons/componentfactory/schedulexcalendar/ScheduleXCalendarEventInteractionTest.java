@@ -14,20 +14,28 @@
 package org.vaadin.addons.componentfactory.schedulexcalendar;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.data.provider.CallbackDataProvider;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.vaadin.addons.componentfactory.schedulexcalendar.model.Event;
 import org.vaadin.addons.componentfactory.schedulexcalendar.model.EventQueryFilter;
@@ -61,7 +69,31 @@ class ScheduleXCalendarEventInteractionTest {
 
     spy.addEvent(event);
 
-    verify(mockElement, times(1)).executeJs(contains(".addEvent"), eq(spy.container), eq(event.getJson()));
+    verify(mockElement, times(1)).executeJs(contains(".addEvent"), eq(spy.container), eq(event.toJsonObject()));
+  }
+
+  @Test
+  void testAddedEventIsNormalized() {
+    Configuration configuration = new Configuration();
+    configuration.setTimeZone(ZoneId.of("Europe/Helsinki"));
+    ScheduleXCalendar normalizingCalendar = new ScheduleXCalendar(List.of(CalendarViewType.WEEK),
+        new CallbackDataProvider<>(query -> Collections.<Event>emptyList().stream(), query -> 0),
+        configuration);
+    CalendarTestUtils.forceCalendarRendered(normalizingCalendar);
+    normalizingCalendar.setServerSideEventNormalization(true);
+    ScheduleXCalendar spy = Mockito.spy(normalizingCalendar);
+    Element mockElement = mock(Element.class);
+    when(spy.getElement()).thenReturn(mockElement);
+
+    Event event =
+        new Event("e2", LocalDateTime.of(2025, 6, 1, 9, 0), LocalDateTime.of(2025, 6, 1, 10, 0));
+    spy.addEvent(event);
+
+    ArgumentCaptor<Serializable> sent = ArgumentCaptor.forClass(Serializable.class);
+    verify(mockElement, times(1)).executeJs(contains(".addEvent($0, $1, true)"),
+        eq(spy.container), sent.capture());
+    assertEquals("2025-06-01T09:00:00+03:00[Europe/Helsinki]",
+        ((JsonObject) sent.getValue()).getString("start"));
   }
 
   @Test
@@ -69,12 +101,42 @@ class ScheduleXCalendarEventInteractionTest {
     ScheduleXCalendar spy = Mockito.spy(calendar);
     Element mockElement = mock(Element.class);
     when(spy.getElement()).thenReturn(mockElement);
+    spy.addEvent(
+        new Event("e1", LocalDateTime.of(2025, 6, 2, 10, 00), LocalDateTime.of(2025, 6, 2, 12, 00)));
     
     spy.removeEvent("e1");
 
     verify(spy.getElement(), times(1)).executeJs(contains(".removeEvent"), eq(spy.container), eq("e1"));
   }
 
+  @Test
+  void testRemoveUnknownEventIsNotSent() {
+    ScheduleXCalendar spy = Mockito.spy(calendar);
+    Element mockElement = mock(Element.class);
+    when(spy.getElement()).thenReturn(mockElement);
+
+    spy.removeEvent("never-sent");
+
+    verify(mockElement, never()).executeJs(contains(".removeEvent"), any(), any());
+  }
+
+  @Test
+  void testUnchangedEventIsNotSentAgain() {
+    ScheduleXCalendar spy = Mockito.spy(calendar);
+    Element mockElement = mock(Element.class);
+    when(spy.getElement()).thenReturn(mockElement);
+    Event event =
+        new Event("e2", LocalDateTime.of(2025, 6, 1, 9, 0), LocalDateTime.of(2025, 6, 1, 10, 0));
+
+    spy.addEvent(event);
+    spy.updateEvent(event);
+    event.setTitle("Changed");
+    spy.updateEvent(event);
+
+    verify(mockElement, times(1)).executeJs(contains(".updateEvent"), eq(spy.container),
+        eq(event.toJsonObject()));
+  }
+
   @Test
   void testUpdateEventCallsExecuteJs() {
     ScheduleXCalendar spy = Mockito.spy(calendar);
@@ -88,7 +150,7 @@ class ScheduleXCalendarEventInteractionTest {
 
     // Modified verification: target spy.container
     verify(spy.getElement(), times(1)).executeJs(contains(".updateEvent"), eq(spy.container),
-        eq(event.getJson()));
+        eq(event.toJsonObject()));
   }
 
   @Test
@@ -120,4 +182,34 @@ class ScheduleXCalendarEventInteractionTest {
 
     assertEquals("abc123", updatedEventId.get());
   }
+
+  @Test
+  void testAddEventsCallsExecuteJsOnce() {
+    ScheduleXCalendar spy = Mockito.spy(calendar);
+    Element mockElement = mock(Element.class);
+    when(spy.getElement()).thenReturn(mockElement);
+
+    Event first =
+        new Event("e2", LocalDateTime.of(2025, 6, 1, 9, 0), LocalDateTime.of(2025, 6, 1, 10, 0));
+    Event second =
+        new Event("e3", LocalDateTime.of(2025, 6, 1, 11, 0), LocalDateTime.of(2025, 6, 1, 12, 0));
+
+    spy.addEvents(List.of(first, second));
+
+    ArgumentCaptor<Serializable> added = ArgumentCaptor.forClass(Serializable.class);
+    verify(mockElement, times(1)).executeJs(contains(".applyEventChanges"), eq(spy.container),
+        added.capture(), any(), any());
+    assertEquals("[" + first.getJson() + "," + second.getJson() + "]",
+        ((JsonArray) added.getValue()).toJson());
+  }
+
+  @Test
+  void testEventsAddedListenerFiresOnce() {
+    List<List<String>> addedEventIds = new ArrayList<>();
+    calendar.addCalendarEventsAddedEventListener(e -> addedEventIds.add(e.getEventIds()));
+
+    CalendarTestUtils.fireCalendarEventsAdded(calendar, "abc123", "def456");
+
+    assertEquals(List.of(List.of("abc123", "def456")), addedEventIds);
+  }
 }
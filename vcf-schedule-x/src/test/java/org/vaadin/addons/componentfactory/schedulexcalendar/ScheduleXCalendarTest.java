@@ -14,15 +14,29 @@
 package org.vaadin.addons.componentfactory.schedulexcalendar;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.data.provider.CallbackDataProvider;
+import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.internal.ExecutionContext;
+import com.vaadin.flow.internal.StateTree.ExecutionRegistration;
+import elemental.json.JsonArray;
+import elemental.json.JsonValue;
 import com.vaadin.flow.data.provider.Query;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.vaadin.addons.componentfactory.schedulexcalendar.Configuration.ICal;
 import org.vaadin.addons.componentfactory.schedulexcalendar.model.Event;
 import org.vaadin.addons.componentfactory.schedulexcalendar.model.EventQueryFilter;
 import org.vaadin.addons.componentfactory.schedulexcalendar.util.CalendarViewType;
@@ -94,4 +108,307 @@ class ScheduleXCalendarTest {
     assertEquals(CalendarViewType.WEEK, calendar.getViews().get(0));
     assertEquals(CalendarViewType.MONTH_GRID, calendar.getViews().get(1));
   }
+
+  private List<String> pages;
+  private List<String> removedIds;
+  private List<Integer> queriedOffsets;
+
+  private ScheduleXCalendar createPagedCalendar(int eventCount, boolean honorLimit) {
+    List<Event> events = new ArrayList<>();
+    for (int i = 0; i < eventCount; i++) {
+      LocalDateTime start = LocalDateTime.of(2025, 1, 6, 8, 0).plusMinutes(i);
+      events.add(new Event("event-" + i, start, start.plusMinutes(30)));
+    }
+    return createPagedCalendar(events, honorLimit);
+  }
+
+  private ScheduleXCalendar createPagedCalendar(List<Event> events, boolean honorLimit) {
+    pages = new ArrayList<>();
+    removedIds = new ArrayList<>();
+    queriedOffsets = new ArrayList<>();
+    CallbackDataProvider<Event, EventQueryFilter> dataProvider = new CallbackDataProvider<>(
+        query -> {
+          queriedOffsets.add(query.getOffset());
+          return honorLimit
+              ? events.stream().skip(query.getOffset()).limit(query.getLimit())
+              : events.stream();
+        }, query -> events.size());
+    return new ScheduleXCalendar(views, dataProvider, configuration) {
+      @Override
+      void sendRangePage(JsonValue events, JsonArray removedIds, String start, String end,
+          boolean first, boolean last, int seq) {
+        pages.add(first + ":" + last + ":" + events.toJson());
+        ScheduleXCalendarTest.this.removedIds.add(removedIds.toJson());
+      }
+    };
+  }
+
+  @Test
+  void testRangeIsSentInPages() {
+    ScheduleXCalendar pagedCalendar = createPagedCalendar(5, true);
+    pagedCalendar.setFetchPageSize(2);
+    pagedCalendar.updateRange("2025-01-06T00:00:00", "2025-01-12T23:59:59", "week", 0, 1);
+
+    assertEquals(List.of(0, 2, 4), queriedOffsets);
+    assertEquals(3, pages.size());
+    assertTrue(pages.get(0).startsWith("true:false:[{\"id\":\"event-0\""));
+    assertTrue(pages.get(1).startsWith("false:false:[{\"id\":\"event-2\""));
+    assertTrue(pages.get(2).startsWith("false:true:[{\"id\":\"event-4\""));
+  }
+
+  @Test
+  void testCompletionMarkerSentAfterFullLastPage() {
+    ScheduleXCalendar pagedCalendar = createPagedCalendar(4, true);
+    pagedCalendar.setFetchPageSize(2);
+    pagedCalendar.updateRange("2025-01-06T00:00:00", "2025-01-12T23:59:59", "week", 0, 1);
+
+    assertEquals(3, pages.size());
+    assertEquals("false:true:[]", pages.get(2));
+  }
+
+  @Test
+  void testProviderIgnoringPagingIsQueriedOnce() {
+    ScheduleXCalendar pagedCalendar = createPagedCalendar(5, false);
+    pagedCalendar.setFetchPageSize(2);
+    pagedCalendar.updateRange("2025-01-06T00:00:00", "2025-01-12T23:59:59", "week", 0, 1);
+
+    assertEquals(List.of(0), queriedOffsets);
+    assertEquals(1, pages.size());
+    assertTrue(pages.get(0).startsWith("true:true:"));
+  }
+
+  @Test
+  void testProviderIgnoringPagingWithFullPageStopsOnRepeatedPage() {
+    ScheduleXCalendar pagedCalendar = createPagedCalendar(2, false);
+    pagedCalendar.setFetchPageSize(2);
+    pagedCalendar.updateRange("2025-01-06T00:00:00", "2025-01-12T23:59:59", "week", 0, 1);
+
+    assertEquals(List.of(0, 2), queriedOffsets);
+    assertEquals(2, pages.size());
+    assertTrue(pages.get(0).startsWith("true:false:[{\"id\":\"event-0\""));
+    assertEquals("false:true:[]", pages.get(1));
+  }
+
+  @Test
+  void testRangeIsSentAtOnceByDefault() {
+    ScheduleXCalendar pagedCalendar = createPagedCalendar(5, true);
+    pagedCalendar.updateRange("2025-01-06T00:00:00", "2025-01-12T23:59:59", "week", 0, 1);
+
+    assertEquals(1, pages.size());
+    assertTrue(pages.get(0).startsWith("true:true:"));
+  }
+
+  @Test
+  void testRangeIsSentAsDiffOfClientEvents() {
+    List<Event> events = new ArrayList<>();
+    Event kept = new Event("kept", LocalDateTime.of(2025, 1, 6, 8, 0),
+        LocalDateTime.of(2025, 1, 6, 9, 0));
+    Event changed = new Event("changed", LocalDateTime.of(2025, 1, 7, 8, 0),
+        LocalDateTime.of(2025, 1, 7, 9, 0));
+    Event dropped = new Event("dropped", LocalDateTime.of(2025, 1, 8, 8, 0),
+        LocalDateTime.of(2025, 1, 8, 9, 0));
+    events.addAll(List.of(kept, changed, dropped));
+    ScheduleXCalendar pagedCalendar = createPagedCalendar(events, true);
+    pagedCalendar.updateRange("2025-01-06T00:00:00", "2025-01-12T23:59:59", "week", 0, 1);
+
+    changed.setTitle("Changed");
+    events.remove(dropped);
+    events.add(new Event("added", LocalDateTime.of(2025, 1, 9, 8, 0),
+        LocalDateTime.of(2025, 1, 9, 9, 0)));
+    pagedCalendar.updateRange("2025-01-06T00:00:00", "2025-01-12T23:59:59", "week", 0, 2);
+
+    String diff = pages.get(1);
+    assertFalse(diff.contains("\"id\":\"kept\""));
+    assertTrue(diff.contains("\"id\":\"changed\""));
+    assertTrue(diff.contains("\"id\":\"added\""));
+    assertEquals("[\"dropped\"]", removedIds.get(1));
+  }
+
+  @Test
+  void testUnchangedRangeSendsEmptyDiff() {
+    ScheduleXCalendar pagedCalendar = createPagedCalendar(3, true);
+    pagedCalendar.updateRange("2025-01-06T00:00:00", "2025-01-12T23:59:59", "week", 0, 1);
+    pagedCalendar.updateRange("2025-01-06T00:00:00", "2025-01-12T23:59:59", "week", 0, 2);
+
+    assertEquals("true:true:[]", pages.get(1));
+    assertEquals("[]", removedIds.get(1));
+  }
+
+  @Test
+  void testCompactEventEncodingIsOptIn() {
+    Event first = new Event("first", LocalDateTime.of(2025, 1, 6, 8, 0),
+        LocalDateTime.of(2025, 1, 6, 9, 0));
+    Event second = new Event("second", LocalDateTime.of(2025, 1, 6, 8, 1),
+        LocalDateTime.of(2025, 1, 6, 9, 0));
+    ScheduleXCalendar pagedCalendar = createPagedCalendar(List.of(first, second), true);
+    assertFalse(pagedCalendar.isCompactEventEncoding());
+    pagedCalendar.updateRange("2025-01-06T00:00:00", "2025-01-12T23:59:59", "week", 0, 1);
+    assertTrue(pages.get(0).startsWith("true:true:["));
+
+    pagedCalendar.setCompactEventEncoding(true);
+    first.setTitle("Standup");
+    second.setTitle("Standup");
+    pagedCalendar.updateRange("2025-01-06T00:00:00", "2025-01-12T23:59:59", "week", 0, 2);
+
+    String page = pages.get(pages.size() - 1);
+    assertTrue(page.startsWith("true:true:{"));
+    assertTrue(page.contains("\"id\":[\"first\",\"second\"]"));
+    assertTrue(page.contains("\"start\":[480,481]"));
+    assertTrue(page.contains("\"title\":[0,0]"));
+  }
+
+  @Test
+  void testUpdateSendsFoldedChangesOnCommit() {
+    List<String> sent = new ArrayList<>();
+    ScheduleXCalendar updatingCalendar = new ScheduleXCalendar(views,
+        new CallbackDataProvider<>(query -> Collections.<Event>emptyList().stream(), query -> 0),
+        configuration) {
+      @Override
+      void sendEventChanges(List<Event> added, List<Event> updated, List<String> removedIds) {
+        sent.add(added.stream().map(Event::getId).toList() + ":"
+            + updated.stream().map(Event::getId).toList() + ":" + removedIds);
+      }
+    };
+    CalendarTestUtils.forceCalendarRendered(updatingCalendar);
+    Event event = new Event("e1", LocalDateTime.of(2025, 1, 6, 8, 0),
+        LocalDateTime.of(2025, 1, 6, 9, 0));
+    Event transientEvent = new Event("e2", LocalDateTime.of(2025, 1, 6, 8, 0),
+        LocalDateTime.of(2025, 1, 6, 9, 0));
+
+    updatingCalendar.beginUpdate();
+    assertTrue(updatingCalendar.isUpdateInProgress());
+    updatingCalendar.addEvent(event);
+    updatingCalendar.updateEvent(event);
+    updatingCalendar.addEvent(transientEvent);
+    updatingCalendar.removeEvent("e2");
+    updatingCalendar.updateEvents(List.of(event));
+    updatingCalendar.removeEvents(List.of("e3"));
+    assertTrue(sent.isEmpty());
+
+    updatingCalendar.commit();
+    assertFalse(updatingCalendar.isUpdateInProgress());
+    assertEquals(List.of("[e1]:[]:[e3]"), sent);
+
+    // nothing left to send
+    updatingCalendar.commit();
+    assertEquals(1, sent.size());
+  }
+
+  @Test
+  void testBatchChangesWaitForTheCalendarToBeRendered() {
+    List<String> sent = new ArrayList<>();
+    ScheduleXCalendar renderingCalendar = new ScheduleXCalendar(views,
+        new CallbackDataProvider<>(query -> Collections.<Event>emptyList().stream(), query -> 0),
+        configuration) {
+      @Override
+      void sendEventChanges(List<Event> added, List<Event> updated, List<String> removedIds) {
+        sent.add(added.stream().map(Event::getId).toList() + ":"
+            + updated.stream().map(Event::getId).toList() + ":" + removedIds);
+      }
+    };
+    Event event = new Event("e1", LocalDateTime.of(2025, 1, 6, 8, 0),
+        LocalDateTime.of(2025, 1, 6, 9, 0));
+
+    renderingCalendar.addEvents(List.of(event));
+    renderingCalendar.updateEvents(List.of(event));
+    renderingCalendar.removeEvents(List.of("e2"));
+    assertTrue(sent.isEmpty());
+
+    CalendarTestUtils.fireCalendarRendered(renderingCalendar);
+    assertEquals(List.of("[e1]:[]:[]", "[]:[e1]:[]", "[]:[]:[e2]"), sent);
+
+    renderingCalendar.removeEvents(List.of("e1"));
+    assertEquals("[]:[]:[e1]", sent.get(3));
+  }
+
+  @Test
+  void testUpdateOfDetachedCalendarIsCommittedAfterAttach() {
+    List<SerializableConsumer<ExecutionContext>> callbacks = new ArrayList<>();
+    UI ui = new UI() {
+      @Override
+      public ExecutionRegistration beforeClientResponse(Component component,
+          SerializableConsumer<ExecutionContext> execution) {
+        callbacks.add(execution);
+        return () -> callbacks.remove(execution);
+      }
+    };
+    List<String> sent = new ArrayList<>();
+    ScheduleXCalendar detachedCalendar = new ScheduleXCalendar(views,
+        new CallbackDataProvider<>(query -> Collections.<Event>emptyList().stream(), query -> 0),
+        configuration) {
+      private boolean attached;
+
+      @Override
+      protected void onAttach(AttachEvent attachEvent) {
+        attached = true;
+        super.onAttach(attachEvent);
+      }
+
+      @Override
+      public Optional<UI> getUI() {
+        return attached ? Optional.of(ui) : Optional.empty();
+      }
+
+      @Override
+      protected void initCalendar(boolean refreshView) {}
+
+      @Override
+      void sendEventChanges(List<Event> added, List<Event> updated, List<String> removedIds) {
+        sent.add(added.stream().map(Event::getId).toList() + ":"
+            + updated.stream().map(Event::getId).toList() + ":" + removedIds);
+      }
+    };
+    CalendarTestUtils.forceCalendarRendered(detachedCalendar);
+
+    detachedCalendar.beginUpdate();
+    detachedCalendar.addEvent(new Event("e1", LocalDateTime.of(2025, 1, 6, 8, 0),
+        LocalDateTime.of(2025, 1, 6, 9, 0)));
+    assertTrue(callbacks.isEmpty());
+
+    // the commit is registered once the calendar is attached
+    detachedCalendar.onAttach(new AttachEvent(detachedCalendar, true));
+    assertEquals(1, callbacks.size());
+    callbacks.remove(0).accept(null);
+    assertFalse(detachedCalendar.isUpdateInProgress());
+    assertEquals(List.of("[e1]:[]:[]"), sent);
+  }
+
+  @Test
+  void testNormalizedRangeIsFlagged() {
+    Event event = new Event("e1", LocalDateTime.of(2025, 1, 6, 8, 0),
+        LocalDateTime.of(2025, 1, 6, 9, 0));
+    ScheduleXCalendar pagedCalendar = createPagedCalendar(List.of(event), true);
+    pagedCalendar.setServerSideEventNormalization(true);
+    // without time zone the connector converts the events
+    pagedCalendar.updateRange("2025-01-06T00:00:00", "2025-01-12T23:59:59", "week", 0, 1);
+    assertTrue(pages.get(0).startsWith("true:true:["));
+
+    pagedCalendar.getConfiguration().setTimeZone(ZoneId.of("Europe/Helsinki"));
+    event.setTitle("Changed");
+    pagedCalendar.updateRange("2025-01-06T00:00:00", "2025-01-12T23:59:59", "week", 0, 2);
+
+    String page = pages.get(1);
+    assertTrue(page.startsWith("true:true:{\"normalized\":true,\"events\":["));
+    assertTrue(page.contains("\"start\":\"2025-01-06T08:00:00+02:00[Europe/Helsinki]\""));
+  }
+
+  @Test
+  void testICalEventsAreServedWithRange() {
+    ScheduleXCalendar pagedCalendar = createPagedCalendar(2, true);
+    pagedCalendar.setFetchPageSize(2);
+    pagedCalendar.getConfiguration().setTimeZone(ZoneId.of("UTC"));
+    ICal iCal = new ICal();
+    iCal.setiCal("BEGIN:VCALENDAR\nBEGIN:VEVENT\nUID:feed-1\nDTSTART:20250107T080000Z\n"
+        + "END:VEVENT\nBEGIN:VEVENT\nUID:feed-2\nDTSTART:20250301T080000Z\nEND:VEVENT\n"
+        + "END:VCALENDAR");
+    pagedCalendar.getConfiguration().setiCal(iCal);
+    pagedCalendar.updateRange("2025-01-06T00:00:00", "2025-01-12T23:59:59", "week", 0, 1);
+
+    // the feed events of the range are sent after the provider pages, read-only
+    assertEquals(3, pages.size());
+    assertTrue(pages.get(1).startsWith("false:false:"));
+    assertTrue(pages.get(2).startsWith("false:true:[{\"id\":\"feed-1\""));
+    assertTrue(pages.get(2).contains("\"disableDND\":true"));
+    assertFalse(pages.get(2).contains("feed-2"));
+  }
 }
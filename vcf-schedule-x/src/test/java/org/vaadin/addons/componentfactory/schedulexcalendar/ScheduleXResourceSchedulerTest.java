@@ -14,15 +14,32 @@
 package org.vaadin.addons.componentfactory.schedulexcalendar;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.vaadin.addons.componentfactory.schedulexcalendar.model.Event;
 import org.vaadin.addons.componentfactory.schedulexcalendar.model.Resource;
 import org.vaadin.addons.componentfactory.schedulexcalendar.util.ResourceViewType;
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.data.provider.CallbackDataProvider;
+import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.internal.ExecutionContext;
+import com.vaadin.flow.internal.StateTree.ExecutionRegistration;
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonValue;
 import org.vaadin.addons.componentfactory.schedulexcalendar.model.EventQueryFilter;
 
 class ScheduleXResourceSchedulerTest {
@@ -59,4 +76,411 @@ class ScheduleXResourceSchedulerTest {
     assertEquals(end, view.getSchedulingAssistantConfig().getInitialEnd());
   }
 
+  @Test
+  void testConfigChangesArePatched() {
+    ResourceSchedulerConfig schedulerConfig = new ResourceSchedulerConfig();
+    schedulerConfig.setResources(List.of(new Resource("rA")));
+    SchedulingAssistantConfig assistantConfig = new SchedulingAssistantConfig(
+        LocalDateTime.of(2025, 6, 1, 9, 0), LocalDateTime.of(2025, 6, 1, 11, 0));
+    createView(schedulerConfig, assistantConfig);
+
+    schedulerConfig.setHourWidth(120);
+    schedulerConfig.setEventHeight(30);
+    schedulerConfig.setHourWidth(140);
+    assistantConfig.setInitialStart(LocalDateTime.of(2025, 6, 1, 10, 0));
+
+    // only the changed properties, without the resources
+    assertEquals("{\"hourWidth\":140,\"eventHeight\":30}",
+        schedulerConfig.takePatch().toJson());
+    assertEquals("{}", schedulerConfig.takePatch().toJson());
+    assertEquals("{\"initialStart\":\"2025-06-01T10:00:00\"}",
+        assistantConfig.takePatch().toJson());
+  }
+
+  @Test
+  void testClearedConfigPropertyRequiresRefresh() {
+    ResourceSchedulerConfig schedulerConfig = new ResourceSchedulerConfig();
+    schedulerConfig.setHourWidth(120);
+    createView(schedulerConfig, new SchedulingAssistantConfig(LocalDateTime.of(2025, 6, 1, 9, 0),
+        LocalDateTime.of(2025, 6, 1, 11, 0)));
+
+    schedulerConfig.setHourWidth(null);
+
+    assertNull(schedulerConfig.takePatch());
+  }
+
+  /**
+   * UI collecting the callbacks to run before the client response.
+   */
+  private static class CollectingUI extends UI {
+    private final List<SerializableConsumer<ExecutionContext>> callbacks = new ArrayList<>();
+
+    @Override
+    public ExecutionRegistration beforeClientResponse(Component component,
+        SerializableConsumer<ExecutionContext> execution) {
+      callbacks.add(execution);
+      return () -> callbacks.remove(execution);
+    }
+
+    void respond() {
+      List<SerializableConsumer<ExecutionContext>> pending = new ArrayList<>(callbacks);
+      callbacks.clear();
+      pending.forEach(callback -> callback.accept(null));
+    }
+  }
+
+  private static class AttachedScheduler extends ScheduleXResourceScheduler {
+    private final CollectingUI ui = new CollectingUI();
+    private int creations;
+    private final List<String> rangePages = new ArrayList<>();
+    private int sentChanges;
+    private boolean attached = true;
+
+    AttachedScheduler(ResourceSchedulerConfig schedulerConfig) {
+      super(List.of(ResourceViewType.HOURLY),
+          new CallbackDataProvider<>(query -> Collections.<Event>emptyList().stream(),
+              query -> 0),
+          new Configuration(), null, schedulerConfig);
+      CalendarTestUtils.forceCalendarRendered(this);
+    }
+
+    @Override
+    public Optional<UI> getUI() {
+      return Optional.of(ui);
+    }
+
+    @Override
+    public boolean isAttached() {
+      return attached;
+    }
+
+    @Override
+    protected void initCalendar(boolean refreshView) {
+      creations++;
+    }
+
+    @Override
+    void sendRangePage(JsonValue events, JsonArray removedIds, String start, String end,
+        boolean first, boolean last, int seq) {
+      rangePages.add(events.toJson());
+    }
+
+    @Override
+    void sendEventChanges(List<Event> added, List<Event> updated, List<String> removedIds) {
+      sentChanges++;
+    }
+  }
+
+  @Test
+  void testConfigChangesAreFlushedOncePerResponse() {
+    ResourceSchedulerConfig schedulerConfig = new ResourceSchedulerConfig();
+    AttachedScheduler scheduler = new AttachedScheduler(schedulerConfig);
+
+    schedulerConfig.setHourWidth(120);
+    schedulerConfig.setDayWidth(300);
+    schedulerConfig.setEventHeight(30);
+    scheduler.getConfiguration().setShowWeekNumbers(true);
+
+    assertEquals(1, scheduler.ui.callbacks.size());
+    scheduler.ui.respond();
+    // patched, not recreated
+    assertEquals(0, scheduler.creations);
+    assertEquals("{}", schedulerConfig.takePatch().toJson());
+
+    schedulerConfig.setHourWidth(140);
+    schedulerConfig.setResources(List.of(new Resource("rA")));
+    scheduler.refreshCalendar();
+
+    assertEquals(1, scheduler.ui.callbacks.size());
+    scheduler.ui.respond();
+    assertEquals(1, scheduler.creations);
+    assertEquals("{}", schedulerConfig.takePatch().toJson());
+  }
+
+  @Test
+  void testConfigChangesWhileDetachedAreAppliedOnAttach() {
+    ResourceSchedulerConfig schedulerConfig = new ResourceSchedulerConfig();
+    AttachedScheduler scheduler = new AttachedScheduler(schedulerConfig);
+    scheduler.attached = false;
+
+    schedulerConfig.setHourWidth(120);
+    scheduler.refreshCalendar();
+
+    assertEquals(0, scheduler.ui.callbacks.size());
+    scheduler.attached = true;
+    scheduler.onAttach(new AttachEvent(scheduler, false));
+    // created with the whole configuration, nothing left to flush
+    assertEquals(1, scheduler.creations);
+    assertEquals(0, scheduler.ui.callbacks.size());
+    assertEquals("{}", schedulerConfig.takePatch().toJson());
+  }
+
+  private static List<String> ids(List<Resource> resources) {
+    return resources.stream().map(Resource::getId).toList();
+  }
+
+  @Test
+  void testResourceOperationsChangeTreeAndArePatched() {
+    Resource team = new Resource("team");
+    team.setResources(List.of(new Resource("alice"), new Resource("bob")));
+    ResourceSchedulerConfig schedulerConfig = new ResourceSchedulerConfig();
+    schedulerConfig.setResources(List.of(team, new Resource("room")));
+    AttachedScheduler scheduler = new AttachedScheduler(schedulerConfig);
+    schedulerConfig.takePatch();
+
+    scheduler.addResource("team", new Resource("carol"));
+    scheduler.moveResource("bob", null, 0);
+    scheduler.setResourceOpen("team", false);
+    assertTrue(scheduler.removeResource("room"));
+    assertFalse(scheduler.removeResource("room"));
+
+    assertEquals(List.of("bob", "team"), ids(schedulerConfig.getResources()));
+    assertEquals(List.of("alice", "carol"), ids(team.getResources()));
+    assertEquals("carol", scheduler.getResource("carol").get().getId());
+    assertTrue(scheduler.getResource("room").isEmpty());
+    // one flush for all the operations, which do not recreate the scheduler
+    assertEquals(1, scheduler.ui.callbacks.size());
+    assertEquals("{\"resourceOperations\":["
+        + "{\"type\":\"add\",\"id\":\"carol\",\"parentId\":\"team\",\"resource\":"
+        + new Resource("carol").getJson() + "},"
+        + "{\"type\":\"move\",\"id\":\"bob\",\"parentId\":null,\"position\":0},"
+        + "{\"type\":\"open\",\"id\":\"team\",\"open\":false},"
+        + "{\"type\":\"remove\",\"id\":\"room\"}]}", schedulerConfig.takePatch().toJson());
+    assertEquals("{}", schedulerConfig.takePatch().toJson());
+    assertEquals(0, scheduler.creations);
+  }
+
+  @Test
+  void testInvalidResourceOperationsAreRejected() {
+    Resource team = new Resource("team");
+    team.setResources(List.of(new Resource("alice")));
+    ResourceSchedulerConfig schedulerConfig = new ResourceSchedulerConfig();
+    schedulerConfig.setResources(List.of(team));
+    AttachedScheduler scheduler = new AttachedScheduler(schedulerConfig);
+    schedulerConfig.takePatch();
+
+    assertThrows(IllegalArgumentException.class,
+        () -> scheduler.addResource("team", new Resource("alice")));
+    assertThrows(IllegalArgumentException.class,
+        () -> scheduler.addResource("nobody", new Resource("bob")));
+    assertThrows(IllegalArgumentException.class,
+        () -> scheduler.moveResource("team", "alice", -1));
+
+    Resource updated = new Resource("team");
+    updated.setResources(List.of(new Resource("bob")));
+    scheduler.updateResource(updated);
+    assertEquals(List.of(updated), schedulerConfig.getResources());
+    assertTrue(scheduler.getResource("bob").isPresent());
+    assertTrue(scheduler.getResource("alice").isEmpty());
+    assertEquals("{\"resourceOperations\":[{\"type\":\"update\",\"id\":\"team\","
+        + "\"resource\":" + updated.getJson() + "}]}", schedulerConfig.takePatch().toJson());
+  }
+
+  /**
+   * Provides a team, collapsed, with two members, and a room, counting the fetches.
+   */
+  private static class TeamResourceProvider implements ResourceProvider {
+    private final List<String> fetchedParents = new ArrayList<>();
+
+    @Override
+    public List<Resource> fetchChildren(String parentId) {
+      fetchedParents.add(parentId);
+      if (parentId == null) {
+        Resource team = new Resource("team");
+        team.setOpen(false);
+        return List.of(team, new Resource("room"));
+      }
+      return "team".equals(parentId) ? List.of(new Resource("alice"), new Resource("bob"))
+          : List.of();
+    }
+
+    @Override
+    public int getChildCount(String parentId) {
+      return "team".equals(parentId) ? 2 : 0;
+    }
+  }
+
+  @Test
+  void testCollapsedResourcesAreLoadedOnExpand() {
+    ResourceSchedulerConfig schedulerConfig = new ResourceSchedulerConfig();
+    AttachedScheduler scheduler = new AttachedScheduler(schedulerConfig);
+    TeamResourceProvider provider = new TeamResourceProvider();
+    LocalDateTime start = LocalDateTime.of(2025, 6, 2, 0, 0);
+    List<Event> events = List.of(new Event("e1", start.plusHours(9), start.plusHours(10)),
+        new Event("e2", start.plusHours(9), start.plusHours(10)));
+    events.get(0).setResourceId("room");
+    events.get(1).setResourceId("alice");
+    List<EventQueryFilter> filters = new ArrayList<>();
+    scheduler.setDataProvider(new CallbackDataProvider<>(query -> {
+      filters.add(query.getFilter().get());
+      return events.stream();
+    }, query -> events.size()));
+
+    scheduler.setResourceProvider(provider);
+
+    // the children of the collapsed team are counted, not fetched
+    assertEquals(Arrays.asList(null, "room"), provider.fetchedParents);
+    assertTrue(schedulerConfig.getJson().contains(
+        "{\"id\":\"team\",\"unloadedChildCount\":2,\"isOpen\":false}"));
+    assertEquals(List.of("e1"), scheduler.fetchEvents(start, start.plusDays(1)).stream()
+        .map(Event::getId).toList());
+    scheduler.updateResourceSchedulerRange("2025-06-02T00:00:00", "2025-06-02T23:59:59", null, 0,
+        1);
+    scheduler.ui.respond();
+    schedulerConfig.takePatch();
+    int creations = scheduler.creations;
+    scheduler.rangePages.clear();
+
+    scheduler.setResourceOpen("team", true);
+
+    // the events of the loaded resources are queried and sent with the range
+    assertEquals(Set.of("alice", "bob"), filters.get(filters.size() - 1).getResourceIds());
+    assertEquals(1, scheduler.rangePages.size());
+    assertTrue(scheduler.rangePages.get(0).contains("\"e2\""));
+    assertFalse(scheduler.rangePages.get(0).contains("\"e1\""));
+    assertEquals(0, scheduler.sentChanges);
+
+    assertEquals(Arrays.asList(null, "room", "team", "alice", "bob"), provider.fetchedParents);
+    assertTrue(scheduler.getResource("alice").isPresent());
+    Resource team = scheduler.getResource("team").get();
+    assertEquals("{\"resourceOperations\":[{\"type\":\"update\",\"id\":\"team\","
+        + "\"resource\":" + team.getJson() + "}]}", schedulerConfig.takePatch().toJson());
+    assertTrue(team.isOpen());
+    assertEquals(List.of("e1", "e2"), scheduler.fetchEvents(start, start.plusDays(1)).stream()
+        .map(Event::getId).toList());
+    // expanded in place
+    assertEquals(creations, scheduler.creations);
+  }
+
+  @Test
+  void testOnlyEventsOfResourceWindowAreFetched() {
+    ResourceSchedulerConfig schedulerConfig = new ResourceSchedulerConfig();
+    schedulerConfig.setResources(List.of(new Resource("r1"), new Resource("r2"),
+        new Resource("r3")));
+    AttachedScheduler scheduler = new AttachedScheduler(schedulerConfig);
+    LocalDateTime start = LocalDateTime.of(2025, 6, 2, 0, 0);
+    List<EventQueryFilter> filters = new ArrayList<>();
+    List<Event> events = new ArrayList<>();
+    for (int i = 1; i <= 3; i++) {
+      Event event = new Event("e" + i, start.plusHours(i), start.plusHours(i + 1));
+      event.setResourceId("r" + i);
+      events.add(event);
+    }
+    // a provider ignoring the resource ids
+    scheduler.setDataProvider(new CallbackDataProvider<>(query -> {
+      filters.add(query.getFilter().get());
+      return events.stream();
+    }, query -> events.size()));
+    scheduler.setResourceWindowing(true);
+    assertEquals(List.of("e1", "e2", "e3"), scheduler.fetchEvents(start, start.plusDays(1))
+        .stream().map(Event::getId).toList());
+    assertNull(filters.get(0).getResourceIds());
+
+    JsonArray window = Json.createArray();
+    window.set(0, "r2");
+    window.set(1, "r3");
+    scheduler.onResourceWindowChange(window);
+
+    assertEquals(List.of("e2", "e3"), scheduler.fetchEvents(start, start.plusDays(1)).stream()
+        .map(Event::getId).toList());
+    assertEquals(Set.of("r2", "r3"), filters.get(1).getResourceIds());
+
+    scheduler.setResourceWindowing(false);
+    assertEquals(3, scheduler.fetchEvents(start, start.plusDays(1)).size());
+    assertNull(filters.get(2).getResourceIds());
+  }
+
+  @Test
+  void testResourceWindowKeepsOnlyLoadedResources() {
+    ResourceSchedulerConfig schedulerConfig = new ResourceSchedulerConfig();
+    List<Resource> resources = new ArrayList<>();
+    for (int i = 0; i < ScheduleXResourceScheduler.MAX_RESOURCE_WINDOW_ROWS + 100; i++) {
+      resources.add(new Resource("r" + i));
+    }
+    schedulerConfig.setResources(resources);
+    AttachedScheduler scheduler = new AttachedScheduler(schedulerConfig);
+    scheduler.setResourceWindowing(true);
+    scheduler.setResourceWindowOverscan(0);
+
+    JsonArray window = Json.createArray();
+    window.set(0, "r1");
+    window.set(1, "unknown");
+    window.set(2, 3);
+    scheduler.onResourceWindowChange(window);
+    assertEquals(Set.of("r1"), scheduler.getFetchedResourceIds());
+
+    JsonArray all = Json.createArray();
+    resources.forEach(resource -> all.set(all.length(), resource.getId()));
+    scheduler.onResourceWindowChange(all);
+    assertEquals(ScheduleXResourceScheduler.MAX_RESOURCE_WINDOW_ROWS,
+        scheduler.getFetchedResourceIds().size());
+  }
+
+  @Test
+  void testOnlyResourcesEnteringWindowAreQueried() {
+    ResourceSchedulerConfig schedulerConfig = new ResourceSchedulerConfig();
+    schedulerConfig.setResources(List.of(new Resource("r1"), new Resource("r2"),
+        new Resource("r3")));
+    AttachedScheduler scheduler = new AttachedScheduler(schedulerConfig);
+    LocalDateTime start = LocalDateTime.of(2025, 6, 2, 0, 0);
+    List<EventQueryFilter> filters = new ArrayList<>();
+    List<Event> events = new ArrayList<>();
+    for (int i = 1; i <= 3; i++) {
+      Event event = new Event("e" + i, start.plusHours(i), start.plusHours(i + 1));
+      event.setResourceId("r" + i);
+      events.add(event);
+    }
+    scheduler.setDataProvider(new CallbackDataProvider<>(query -> {
+      filters.add(query.getFilter().get());
+      return events.stream();
+    }, query -> events.size()));
+    scheduler.setResourceWindowing(true);
+    JsonArray window = Json.createArray();
+    window.set(0, "r1");
+    scheduler.onResourceWindowChange(window);
+    scheduler.updateResourceSchedulerRange("2025-06-02T00:00:00", "2025-06-02T23:59:59", null, 0,
+        1);
+    scheduler.ui.respond();
+    assertEquals(Set.of("r1"), filters.get(filters.size() - 1).getResourceIds());
+    scheduler.rangePages.clear();
+
+    window.set(1, "r2");
+    scheduler.onResourceWindowChange(window);
+
+    // the events of the resource entering the window are sent as a page of the range
+    assertEquals(Set.of("r2"), filters.get(filters.size() - 1).getResourceIds());
+    assertEquals(1, scheduler.rangePages.size());
+    assertTrue(scheduler.rangePages.get(0).contains("\"e2\""));
+    assertFalse(scheduler.rangePages.get(0).contains("\"e1\""));
+  }
+
+  @Test
+  void testResourceWindowIsCapturedWhenRangeIsRequested() {
+    ResourceSchedulerConfig schedulerConfig = new ResourceSchedulerConfig();
+    schedulerConfig.setResources(List.of(new Resource("r1"), new Resource("r2")));
+    AttachedScheduler scheduler = new AttachedScheduler(schedulerConfig);
+    List<EventQueryFilter> filters = new ArrayList<>();
+    scheduler.setDataProvider(new CallbackDataProvider<>(query -> {
+      filters.add(query.getFilter().get());
+      return Collections.<Event>emptyList().stream();
+    }, query -> 0));
+    List<Runnable> tasks = new ArrayList<>();
+    scheduler.setAsyncRangeLoading(true);
+    scheduler.setRangeLoadingExecutor(tasks::add);
+    scheduler.setResourceWindowing(true);
+    JsonArray window = Json.createArray();
+    window.set(0, "r1");
+    scheduler.onResourceWindowChange(window);
+
+    scheduler.updateResourceSchedulerRange("2025-06-02T00:00:00", "2025-06-02T23:59:59", null, 0,
+        1);
+    window.set(0, "r2");
+    scheduler.onResourceWindowChange(window);
+    tasks.forEach(Runnable::run);
+
+    // the resource entering the window is queried right away, the range is fetched in the
+    // background for the resources in display when it was requested
+    assertEquals(Set.of("r2"), filters.get(0).getResourceIds());
+    assertEquals(Set.of("r1"), filters.get(1).getResourceIds());
+  }
 }
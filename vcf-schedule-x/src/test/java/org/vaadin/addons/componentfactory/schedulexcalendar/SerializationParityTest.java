@@ -0,0 +1,197 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import elemental.json.Json;
+import elemental.json.JsonObject;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+import org.vaadin.addons.componentfactory.schedulexcalendar.Configuration.CurrentTimeIndicatorConfig;
+import org.vaadin.addons.componentfactory.schedulexcalendar.Configuration.DayBoundaries;
+import org.vaadin.addons.componentfactory.schedulexcalendar.Configuration.DrawOptions;
+import org.vaadin.addons.componentfactory.schedulexcalendar.Configuration.MonthGridOptions;
+import org.vaadin.addons.componentfactory.schedulexcalendar.Configuration.ScrollControllerConfig;
+import org.vaadin.addons.componentfactory.schedulexcalendar.Configuration.WeekOptions;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.Calendar;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.Calendar.ColorDefinition;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.Event;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.RecurrenceRule;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.Resource;
+import org.vaadin.addons.componentfactory.schedulexcalendar.util.CalendarViewType;
+import org.vaadin.addons.componentfactory.schedulexcalendar.util.TimeInterval;
+
+class SerializationParityTest {
+
+  private static final String TEXT =
+      "Quote \" back\\slash / \u00e9 \u2028 line\nbreak\ttab \u0001 \ud83d\ude00 <b>";
+
+  // the expected strings are the output of the JsonObject based serialization JsonWriter replaced
+
+  private static final String TEXT_JSON =
+      "\"Quote \\\" back\\\\slash / \u00e9 \\u2028 line\\nbreak\\ttab \\u0001 \ud83d\ude00 <b>\"";
+
+  private static final String EVENT_JSON =
+      "{\"id\":\"event-1\",\"start\":\"2025-01-06T08:00:00\",\"end\":\"2025-01-06T09:30:00\","
+      + "\"title\":" + TEXT_JSON + ","
+      + "\"description\":\"Description\",\"location\":\"Room 1\",\"calendarId\":\"work\","
+      + "\"people\":[\"Alice\"," + TEXT_JSON + "],"
+      + "\"_options\":{\"disableDND\":true,\"disableResize\":false,\"additionalClasses\":[\"a\","
+      + "\"b\"]},\"_customContent\":{\"timeGrid\":\"<i>time</i>\",\"dateGrid\":\"date\","
+      + "\"monthGrid\":\"month\",\"monthAgenda\":\"agenda\"},\"resourceId\":\"room-1\","
+      + "\"rrule\":\"FREQ=WEEKLY;COUNT=10;INTERVAL=2;BYDAY=MO,WE\","
+      + "\"exdate\":[\"2025-01-20 08:00\"]}";
+
+  private static final String RESOURCE_JSON =
+      "{\"id\":\"r1\",\"label\":" + TEXT_JSON + ","
+      + "\"labelHTML\":\"<b>R1</b>\",\"colorName\":\"blue\",\"lightColors\":{\"main\":\"#00f\","
+      + "\"container\":\"#ccf\",\"onContainer\":\"#003\"},\"darkColors\":{\"main\":\"#33f\","
+      + "\"container\":\"#003\",\"onContainer\":\"#ccf\"},\"resources\":[{\"id\":\"r1-1\","
+      + "\"isOpen\":false},{\"id\":\"r1-2\",\"isOpen\":true}],\"isOpen\":true}";
+
+  private static final String CALENDAR_JSON =
+      "{\"colorName\":\"work\",\"lightColors\":{\"main\":\"#f00\",\"container\":\"#fcc\","
+      + "\"onContainer\":\"#300\"},\"darkColors\":{\"main\":\"#f33\",\"container\":\"#300\","
+      + "\"onContainer\":\"#fcc\"}}";
+
+  private static final String CONFIGURATION_JSON =
+      "{\"defaultView\":\"createViewWeek\",\"selectedDate\":\"2025-05-20\",\"locale\":\"en-US\","
+      + "\"timezone\":\"Europe/Helsinki\",\"firstDayOfWeek\":1,\"isDark\":true,"
+      + "\"dayBoundaries\":{\"start\":\"06:00\",\"end\":\"18:30\"},\"minDate\":\"2025-01-01\","
+      + "\"maxDate\":\"2025-12-31\",\"weekOptions\":{\"gridHeight\":800,\"nDays\":5,"
+      + "\"eventWidth\":95,\"timeAxisFormatOptions\":{\"hour\":\"2-digit\","
+      + "\"minute\":\"2-digit\"},\"eventOverlap\":false},\"drawOptions\":{\"snapDrawDuration\":30,"
+      + "\"defaultTitle\":" + TEXT_JSON + "},"
+      + "\"monthGridOptions\":{\"nEventsPerDay\":3},\"showWeekNumbers\":true,"
+      + "\"isResponsive\":false,\"skipValidation\":true,\"resizeInterval\":15,"
+      + "\"dragAndDropInterval\":60,\"currentTimeIndicatorConfig\":{\"fullWeekWidth\":true,"
+      + "\"timeZoneOffset\":120},\"scrollControllerConfig\":{\"initialScroll\":\"07:45\"}}";
+
+  @Test
+  void testEventJsonMatchesElementalOutput() {
+    Event event = new Event("event-1", LocalDateTime.of(2025, 1, 6, 8, 0),
+        LocalDateTime.of(2025, 1, 6, 9, 30));
+    event.setTitle(TEXT);
+    event.setDescription("Description");
+    event.setLocation("Room 1");
+    event.setCalendarId("work");
+    event.setPeople(List.of("Alice", TEXT));
+    Event.EventOptions options = new Event.EventOptions();
+    options.setDisableDND(true);
+    options.setDisableResize(false);
+    options.setAdditionalClasses(List.of("a", "b"));
+    event.setOptions(options);
+    Event.EventCustomContent content = new Event.EventCustomContent();
+    content.setTimeGrid("<i>time</i>");
+    content.setDateGrid("date");
+    content.setMonthGrid("month");
+    content.setMonthAgenda("agenda");
+    event.setCustomContent(content);
+    event.setResourceId("room-1");
+    RecurrenceRule rule = new RecurrenceRule(RecurrenceRule.Frequency.WEEKLY);
+    rule.setInterval(2);
+    rule.setCount(10);
+    rule.setByDay(List.of(RecurrenceRule.Day.MO, RecurrenceRule.Day.WE));
+    event.setRecurrenceRule(rule);
+    event.setExcludedDates(List.of(LocalDateTime.of(2025, 1, 20, 8, 0)));
+
+    assertEquals(EVENT_JSON, event.getJson());
+    assertEquals(EVENT_JSON, event.toJsonObject().toJson());
+  }
+
+  @Test
+  void testResourceJsonMatchesElementalOutput() {
+    Resource resource = new Resource("r1");
+    resource.setLabel(TEXT);
+    resource.setLabelHtml("<b>R1</b>");
+    resource.setColorName("blue");
+    resource.setLightColors(new ColorDefinition("#00f", "#ccf", "#003"));
+    resource.setDarkColors(new ColorDefinition("#33f", "#003", "#ccf"));
+    Resource child = new Resource("r1-1");
+    child.setOpen(false);
+    resource.setResources(List.of(child, new Resource("r1-2")));
+
+    assertEquals(RESOURCE_JSON, resource.getJson());
+  }
+
+  @Test
+  void testCalendarJsonMatchesElementalOutput() {
+    Calendar calendar = new Calendar("work", new ColorDefinition("#f00", "#fcc", "#300"),
+        new ColorDefinition("#f33", "#300", "#fcc"));
+
+    assertEquals(CALENDAR_JSON, calendar.toJsonObject().toJson());
+  }
+
+  @Test
+  void testConfigurationJsonMatchesElementalOutput() {
+    Configuration config = new Configuration();
+    config.setDefaultView(CalendarViewType.WEEK);
+    config.setSelectedDate(LocalDate.of(2025, 5, 20));
+    config.setLocale(Locale.US);
+    config.setTimeZone(ZoneId.of("Europe/Helsinki"));
+    config.setFirstDayOfWeek(1);
+    config.setDark(true);
+    DayBoundaries boundaries = new DayBoundaries();
+    boundaries.setStart(LocalTime.of(6, 0));
+    boundaries.setEnd(LocalTime.of(18, 30));
+    config.setDayBoundaries(boundaries);
+    config.setMinDate(LocalDate.of(2025, 1, 1));
+    config.setMaxDate(LocalDate.of(2025, 12, 31));
+    WeekOptions week = new WeekOptions();
+    week.setGridHeight(800);
+    week.setnDays(5);
+    week.setEventWidth(95);
+    week.setTimeAxisFormatOptions(new TreeMap<>(Map.of("hour", "2-digit", "minute", "2-digit")));
+    week.setEventOverlap(false);
+    config.setWeekOptions(week);
+    MonthGridOptions month = new MonthGridOptions();
+    month.setnEventsPerDay(3);
+    config.setMonthGridOptions(month);
+    DrawOptions draw = new DrawOptions();
+    draw.setSnapDrawDuration(TimeInterval.MIN_30);
+    draw.setDefaultTitle(TEXT);
+    config.setDrawOptions(draw);
+    config.setShowWeekNumbers(true);
+    config.setResponsive(false);
+    config.setSkipValidation(true);
+    config.setResizeInterval(TimeInterval.MIN_15);
+    config.setDragAndDropInterval(TimeInterval.MIN_60);
+    CurrentTimeIndicatorConfig indicator = new CurrentTimeIndicatorConfig();
+    indicator.setFullWeekWidth(true);
+    indicator.setTimeZoneOffset(120);
+    config.setCurrentTimeIndicatorConfig(indicator);
+    ScrollControllerConfig scroll = new ScrollControllerConfig();
+    scroll.setInitialScroll(LocalTime.of(7, 45));
+    config.setScrollControllerConfig(scroll);
+
+    assertEquals(CONFIGURATION_JSON, config.getJson());
+
+    JsonObject expected = Json.parse(CONFIGURATION_JSON);
+    assertEquals(expected.getObject("dayBoundaries").toJson(), boundaries.toJson().toJson());
+    assertEquals(expected.getObject("weekOptions").toJson(), week.toJson().toJson());
+    assertEquals(expected.getObject("monthGridOptions").toJson(), month.toJson().toJson());
+    assertEquals(expected.getObject("drawOptions").toJson(), draw.toJson().toJson());
+    assertEquals(expected.getObject("currentTimeIndicatorConfig").toJson(),
+        indicator.toJson().toJson());
+    assertEquals(expected.getObject("scrollControllerConfig").toJson(),
+        scroll.toJson().toJson());
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.vaadin.addons.componentfactory.schedulexcalendar.Benchmarks;
+
+/**
+ * Measures the serialization throughput of 10k events, comparing a full serialization of every
+ * event with the serialization of unchanged events whose JSON is cached. See {@link Benchmarks} to
+ * run it.
+ */
+public class EventJsonBenchmark {
+
+  private static final int EVENTS = 10_000;
+
+  private static final int ROUNDS = 20;
+
+  public static void main(String[] args) {
+    List<Event> events = createEvents();
+    // warm up
+    for (int i = 0; i < ROUNDS; i++) {
+      serialize(events, true);
+      serialize(events, false);
+    }
+
+    long uncached = 0;
+    long cached = 0;
+    for (int i = 0; i < ROUNDS; i++) {
+      uncached += serialize(events, true);
+      cached += serialize(events, false);
+    }
+
+    Benchmarks.report("%d events, uncached: %.1f events/ms", EVENTS,
+        (double) EVENTS * ROUNDS / (uncached / 1_000_000.0));
+    Benchmarks.report("%d events, cached:   %.1f events/ms", EVENTS,
+        (double) EVENTS * ROUNDS / (cached / 1_000_000.0));
+  }
+
+  private static long serialize(List<Event> events, boolean invalidate) {
+    if (invalidate) {
+      events.forEach(Event::markDirty);
+    }
+    int[] length = {0};
+    long elapsed =
+        Benchmarks.time(() -> events.forEach(event -> length[0] += event.getJson().length()));
+    if (length[0] == 0) {
+      throw new IllegalStateException();
+    }
+    return elapsed;
+  }
+
+  private static List<Event> createEvents() {
+    List<Event> events = new ArrayList<>();
+    LocalDateTime start = LocalDateTime.of(2025, 1, 6, 8, 0);
+    for (int i = 0; i < EVENTS; i++) {
+      Event event = new Event("event-" + i, start.plusMinutes(i * 15L),
+          start.plusMinutes(i * 15L + 45));
+      event.setTitle("Event " + i);
+      event.setDescription("Description of event " + i);
+      event.setCalendarId(i % 2 == 0 ? "work" : "leisure");
+      event.setPeople(List.of("Alice", "Bob"));
+      Event.EventOptions options = new Event.EventOptions();
+      options.setDisableDND(i % 3 == 0);
+      options.setAdditionalClasses(List.of("event-" + (i % 5)));
+      event.setOptions(options);
+      events.add(event);
+    }
+    return events;
+  }
+}
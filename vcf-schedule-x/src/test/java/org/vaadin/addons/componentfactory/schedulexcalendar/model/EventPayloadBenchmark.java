@@ -0,0 +1,72 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar.model;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.vaadin.addons.componentfactory.schedulexcalendar.Benchmarks;
+
+/**
+ * Compares the size of a range payload sent as a JSON string, which the client has to parse a
+ * second time, with the same events sent as a structured JSON array. See {@link Benchmarks} to run
+ * it.
+ */
+public class EventPayloadBenchmark {
+
+  private static final int EVENTS = 10_000;
+
+  public static void main(String[] args) throws IOException {
+    List<Event> events = createEvents();
+
+    StringBuilder json = new StringBuilder("[");
+    JsonArray structured = Json.createArray();
+    for (Event event : events) {
+      json.append(json.length() > 1 ? "," : "").append(event.getJson());
+      structured.set(structured.length(), event.toJsonObject());
+    }
+    json.append("]");
+
+    // the argument as written to the UIDL response
+    String asString = Json.create(json.toString()).toJson();
+    String asArray = structured.toJson();
+
+    Benchmarks.report("%d events as string: %d bytes", EVENTS,
+        asString.getBytes(StandardCharsets.UTF_8).length);
+    Benchmarks.report("%d events as array:  %d bytes", EVENTS,
+        asArray.getBytes(StandardCharsets.UTF_8).length);
+
+    Benchmarks.writePayload(args, "events-string.json", asString);
+    Benchmarks.writePayload(args, "events-array.json", asArray);
+  }
+
+  private static List<Event> createEvents() {
+    List<Event> events = new ArrayList<>();
+    LocalDateTime start = LocalDateTime.of(2025, 1, 6, 8, 0);
+    for (int i = 0; i < EVENTS; i++) {
+      Event event = new Event("event-" + i, start.plusMinutes(i * 15L),
+          start.plusMinutes(i * 15L + 45));
+      event.setTitle("Event " + i);
+      event.setDescription("Description of event " + i);
+      event.setCalendarId(i % 2 == 0 ? "work" : "leisure");
+      event.setPeople(List.of("Alice", "Bob"));
+      events.add(event);
+    }
+    return events;
+  }
+}
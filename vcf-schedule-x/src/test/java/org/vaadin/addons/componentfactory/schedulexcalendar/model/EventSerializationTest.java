@@ -16,9 +16,11 @@ package org.vaadin.addons.componentfactory.schedulexcalendar.model;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import elemental.json.Json;
 import elemental.json.JsonObject;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 
@@ -100,5 +102,53 @@ class EventSerializationTest {
 
     assertEquals("FREQ=WEEKLY;INTERVAL=1;BYDAY=MO,WE", json.getString("rrule"));
   }
-  
+
+  @Test
+  void testJsonIsCachedUntilModified() {
+    Event event = new Event("e6", LocalDateTime.of(2025, 06, 01, 9, 00),
+        LocalDateTime.of(2025, 06, 01, 10, 00));
+    String json = event.getJson();
+    assertSame(json, event.getJson());
+
+    event.setTitle("Changed");
+    assertEquals("Changed", Json.parse(event.getJson()).getString("title"));
+  }
+
+  @Test
+  void testNestedChangesInvalidateCachedJson() {
+    Event event = new Event("e7", LocalDateTime.of(2025, 06, 01, 9, 00),
+        LocalDateTime.of(2025, 06, 01, 10, 00));
+    Event.EventOptions options = new Event.EventOptions();
+    options.setAdditionalClasses(new ArrayList<>(List.of("vip")));
+    event.setOptions(options);
+    RecurrenceRule rule = new RecurrenceRule(RecurrenceRule.Frequency.WEEKLY);
+    rule.setByDay(new ArrayList<>(List.of(RecurrenceRule.Day.MO)));
+    event.setRecurrenceRule(rule);
+    event.setPeople(new ArrayList<>(List.of("Alice")));
+    event.getJson();
+
+    event.getPeople().add("Bob");
+    options.getAdditionalClasses().add("highlight");
+    rule.getByDay().add(RecurrenceRule.Day.FR);
+    JsonObject json = Json.parse(event.getJson());
+
+    assertEquals("Bob", json.getArray("people").getString(1));
+    assertEquals("highlight", json.getObject("_options").getArray("additionalClasses").getString(1));
+    assertEquals("FREQ=WEEKLY;BYDAY=MO,FR", json.getString("rrule"));
+  }
+
+  @Test
+  void testMarkDirtyAfterDirectListModification() {
+    Event event = new Event("e8", LocalDateTime.of(2025, 06, 01, 9, 00),
+        LocalDateTime.of(2025, 06, 01, 10, 00));
+    List<String> people = new ArrayList<>(List.of("Alice"));
+    event.setPeople(people);
+    event.getJson();
+
+    people.add("Bob");
+    event.markDirty();
+
+    assertEquals(2, Json.parse(event.getJson()).getArray("people").length());
+  }
+
 }
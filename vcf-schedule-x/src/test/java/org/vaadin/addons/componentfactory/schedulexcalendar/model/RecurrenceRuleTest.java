@@ -17,6 +17,7 @@ package org.vaadin.addons.componentfactory.schedulexcalendar.model;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.Arrays;
@@ -25,6 +26,7 @@ import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.vaadin.addons.componentfactory.schedulexcalendar.model.RecurrenceRule.Day;
 import org.vaadin.addons.componentfactory.schedulexcalendar.model.RecurrenceRule.Frequency;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.RecurrenceRule.OrdinalDay;
 import org.vaadin.addons.componentfactory.schedulexcalendar.model.RecurrenceRule.Until;
 
 class RecurrenceRuleTest {
@@ -173,4 +175,59 @@ class RecurrenceRuleTest {
 
     assertEquals("FREQ=MONTHLY;BYDAY=FR;BYMONTHDAY=15", rule.getRule());
   }
+
+  @Test
+  void testParseRoundTrip() {
+    RecurrenceRule rule =
+        RecurrenceRule.parse("FREQ=WEEKLY;COUNT=4;INTERVAL=2;BYDAY=MO,WE;UNTIL=20250601T143000Z");
+
+    assertEquals(Frequency.WEEKLY, rule.getFreq());
+    assertEquals(List.of(Day.MO, Day.WE), rule.getByDay());
+    assertEquals(LocalTime.of(14, 30), rule.getUntil().getTime());
+    assertEquals("FREQ=WEEKLY;COUNT=4;INTERVAL=2;BYDAY=MO,WE;UNTIL=20250601T143000",
+        rule.getRule());
+  }
+
+  @Test
+  void testParseByParts() {
+    RecurrenceRule rule = RecurrenceRule.parse(
+        "FREQ=YEARLY;BYDAY=MO,TU;BYMONTH=1,12;BYWEEKNO=-1;BYYEARDAY=100;BYSETPOS=-1;BYHOUR=9;"
+            + "BYMINUTE=0,30");
+
+    assertEquals(List.of(1, 12), rule.getByMonth());
+    assertEquals(List.of(-1), rule.getByWeekNo());
+    assertEquals(List.of(-1), rule.getBySetPos());
+    assertEquals(List.of(0, 30), rule.getByMinute());
+    assertEquals("FREQ=YEARLY;BYDAY=MO,TU;BYMONTH=1,12;BYWEEKNO=-1;BYYEARDAY=100;BYSETPOS=-1;"
+        + "BYHOUR=9;BYMINUTE=0,30", rule.getRule());
+  }
+
+  @Test
+  void testParseOrdinalDays() {
+    RecurrenceRule rule = RecurrenceRule.parse("FREQ=MONTHLY;BYDAY=+3MO,-1FR,SA");
+
+    assertEquals(List.of(Day.SA), rule.getByDay());
+    assertEquals(List.of(new OrdinalDay(3, Day.MO), new OrdinalDay(-1, Day.FR)),
+        rule.getByOrdinalDay());
+    assertEquals("FREQ=MONTHLY;BYDAY=SA,3MO,-1FR", rule.getRule());
+  }
+
+  @Test
+  void testParseRejectsUnsupportedParts() {
+    assertThrows(IllegalArgumentException.class,
+        () -> RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=-1MO"));
+    assertThrows(IllegalArgumentException.class,
+        () -> RecurrenceRule.parse("FREQ=MONTHLY;BYDAY=6XX"));
+    assertThrows(IllegalArgumentException.class,
+        () -> RecurrenceRule.parse("FREQ=MINUTELY;BYSECOND=30"));
+    assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("COUNT=3"));
+  }
+
+  @Test
+  void testParseRejectsValuesOutOfRange() {
+    assertThrows(IllegalArgumentException.class,
+        () -> RecurrenceRule.parse("FREQ=YEARLY;BYMONTH=13"));
+    assertThrows(IllegalArgumentException.class,
+        () -> RecurrenceRule.parse("FREQ=DAILY;BYHOUR=-1"));
+  }
 }
@@ -0,0 +1,391 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.time.temporal.WeekFields;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.RecurrenceRule;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.RecurrenceRule.Day;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.RecurrenceRule.OrdinalDay;
+
+class CompiledRecurrenceRuleTest {
+
+  private static final LocalDateTime FAR_END = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+  @Test
+  void testLastWorkDayOfMonth() {
+    CompiledRecurrenceRule rule =
+        CompiledRecurrenceRule.compile("FREQ=MONTHLY;BYDAY=MO,TU,WE,TH,FR;BYSETPOS=-1");
+    LocalDateTime start = LocalDateTime.of(1997, 9, 29, 9, 0);
+
+    assertEquals(dates("1997-09-30T09:00", "1997-10-31T09:00", "1997-11-28T09:00",
+        "1997-12-31T09:00"),
+        rule.getOccurrences(start, start, LocalDateTime.of(1998, 1, 1, 0, 0)));
+  }
+
+  @Test
+  void testWeekNumber() {
+    CompiledRecurrenceRule rule =
+        CompiledRecurrenceRule.compile("FREQ=YEARLY;BYWEEKNO=20;BYDAY=MO");
+    LocalDateTime start = LocalDateTime.of(1997, 5, 12, 9, 0);
+
+    assertEquals(dates("1997-05-12T09:00", "1998-05-11T09:00", "1999-05-17T09:00"),
+        rule.getOccurrences(start, start, FAR_END));
+  }
+
+  @Test
+  void testYearDaysWithCount() {
+    CompiledRecurrenceRule rule =
+        CompiledRecurrenceRule.compile("FREQ=YEARLY;INTERVAL=3;COUNT=10;BYYEARDAY=1,100,200");
+    LocalDateTime start = LocalDateTime.of(1997, 1, 1, 9, 0);
+
+    // the tenth occurrence is the first one of 2006
+    assertEquals(dates("2003-04-10T09:00", "2003-07-19T09:00", "2006-01-01T09:00"),
+        rule.getOccurrences(start, LocalDateTime.of(2003, 2, 1, 0, 0), FAR_END.plusYears(20)));
+  }
+
+  @Test
+  void testHoursAndMinutes() {
+    CompiledRecurrenceRule rule =
+        CompiledRecurrenceRule.compile("FREQ=DAILY;COUNT=5;BYHOUR=9,16;BYMINUTE=0,40");
+    LocalDateTime start = LocalDateTime.of(1997, 9, 2, 12, 0);
+
+    assertEquals(dates("1997-09-02T16:00", "1997-09-02T16:40", "1997-09-03T09:00",
+        "1997-09-03T09:40", "1997-09-03T16:00"), rule.getOccurrences(start, start, FAR_END));
+  }
+
+  @Test
+  void testFourthThursdayOfNovember() {
+    CompiledRecurrenceRule rule =
+        CompiledRecurrenceRule.compile("FREQ=YEARLY;BYMONTH=11;BYDAY=TH;BYSETPOS=4");
+    LocalDateTime start = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    assertEquals(dates("2024-11-28T00:00", "2025-11-27T00:00"), rule.getOccurrences(start,
+        LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2026, 1, 1, 0, 0)));
+  }
+
+  @Test
+  void testSecondTuesdayOfMonth() {
+    CompiledRecurrenceRule rule = CompiledRecurrenceRule.compile("FREQ=MONTHLY;BYDAY=2TU");
+    LocalDateTime start = LocalDateTime.of(2025, 1, 14, 18, 0);
+
+    assertEquals(dates("2025-01-14T18:00", "2025-02-11T18:00", "2025-03-11T18:00",
+        "2025-04-08T18:00"), rule.getOccurrences(start, start, LocalDateTime.of(2025, 5, 1, 0, 0)));
+  }
+
+  @Test
+  void testLastFridayOfMonth() {
+    CompiledRecurrenceRule rule = CompiledRecurrenceRule.compile("FREQ=MONTHLY;BYDAY=-1FR");
+    LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    assertEquals(dates("2025-01-31T09:00", "2025-02-28T09:00", "2025-03-28T09:00",
+        "2025-04-25T09:00"), rule.getOccurrences(start, start, LocalDateTime.of(2025, 5, 1, 0, 0)));
+  }
+
+  @Test
+  void testFourthThursdayOfNovemberByOrdinal() {
+    CompiledRecurrenceRule rule =
+        CompiledRecurrenceRule.compile("FREQ=YEARLY;BYMONTH=11;BYDAY=4TH");
+    LocalDateTime start = LocalDateTime.of(2020, 11, 26, 0, 0);
+
+    assertEquals(dates("2024-11-28T00:00", "2025-11-27T00:00"), rule.getOccurrences(start,
+        LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2026, 1, 1, 0, 0)));
+  }
+
+  @Test
+  void testOrdinalDayOfYearWithSetPosition() {
+    // the first and last Monday of the year, of which only the last one
+    CompiledRecurrenceRule rule =
+        CompiledRecurrenceRule.compile("FREQ=YEARLY;BYDAY=1MO,-1MO;BYSETPOS=-1");
+    LocalDateTime start = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    assertEquals(dates("2024-12-30T09:00", "2025-12-29T09:00"),
+        rule.getOccurrences(start, start, LocalDateTime.of(2026, 1, 1, 0, 0)));
+  }
+
+  @Test
+  void testCompiledRulesAreShared() {
+    RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO,WE");
+
+    assertSame(CompiledRecurrenceRule.compile("FREQ=WEEKLY;BYDAY=MO,WE"),
+        CompiledRecurrenceRule.of(rule));
+  }
+
+  @Test
+  void testValuesOutOfRangeAreIgnored() {
+    RecurrenceRule rule = new RecurrenceRule(RecurrenceRule.Frequency.MONTHLY);
+    rule.setCount(3);
+    rule.setByMonthDay(List.of(40, 15));
+    rule.setByMinute(List.of(70));
+    LocalDateTime start = LocalDateTime.of(2025, 1, 15, 9, 0);
+
+    assertEquals(dates("2025-01-15T09:00", "2025-02-15T09:00", "2025-03-15T09:00"),
+        CompiledRecurrenceRule.of(rule).getOccurrences(start, start, FAR_END.plusYears(30)));
+    // the rule string is still rejected
+    assertThrows(IllegalArgumentException.class,
+        () -> CompiledRecurrenceRule.compile(rule.format()));
+  }
+
+  @Test
+  void testMatchesNaiveEvaluation() {
+    Random random = new Random(18);
+    String[] frequencies = {"DAILY", "WEEKLY", "MONTHLY", "YEARLY"};
+    for (int i = 0; i < 4_000; i++) {
+      String freq = frequencies[random.nextInt(frequencies.length)];
+      StringBuilder rule = new StringBuilder("FREQ=" + freq);
+      LocalDateTime start = LocalDateTime.of(2020, 1, 1, random.nextInt(24), random.nextInt(60))
+          .plusDays(random.nextInt(1500));
+      if (random.nextBoolean()) {
+        rule.append(";INTERVAL=").append(1 + random.nextInt(3));
+      }
+      if (random.nextInt(3) == 0) {
+        rule.append(";COUNT=").append(1 + random.nextInt(80));
+      }
+      if (random.nextInt(4) == 0) {
+        rule.append(";UNTIL=").append(start.plusDays(random.nextInt(900)).toLocalDate()
+            .format(DateTimeFormatUtils.COMPACT_DATE_FORMATTER));
+      }
+      if (random.nextInt(3) == 0) {
+        StringJoiner days = new StringJoiner(",");
+        for (Day day : Day.values()) {
+          if (random.nextInt(3) == 0) {
+            days.add(day.name());
+          }
+        }
+        if (!freq.equals("DAILY") && !freq.equals("WEEKLY") && random.nextBoolean()) {
+          int ordinal = 1 + random.nextInt(5);
+          days.add((random.nextBoolean() ? -ordinal : ordinal)
+              + Day.values()[random.nextInt(7)].name());
+        }
+        if (days.length() > 0) {
+          rule.append(";BYDAY=").append(days);
+        }
+      }
+      appendNumbers(random, rule, "BYMONTHDAY", 31, true, 3);
+      appendNumbers(random, rule, "BYMONTH", 12, false, 4);
+      if (freq.equals("YEARLY")) {
+        appendNumbers(random, rule, "BYWEEKNO", 53, true, 4);
+      }
+      appendNumbers(random, rule, "BYYEARDAY", 366, true, 6);
+      appendNumbers(random, rule, "BYSETPOS", 5, true, 4);
+      appendNumbers(random, rule, "BYHOUR", 23, false, 4);
+      appendNumbers(random, rule, "BYMINUTE", 59, false, 4);
+      if (random.nextBoolean()) {
+        rule.append(";WKST=").append(Day.values()[random.nextInt(7)]);
+      }
+      LocalDateTime rangeStart =
+          start.toLocalDate().plusDays(random.nextInt(1000) - 100).atStartOfDay();
+      LocalDateTime rangeEnd = rangeStart.plusDays(1 + random.nextInt(400));
+
+      CompiledRecurrenceRule compiled = CompiledRecurrenceRule.compile(rule.toString());
+      List<LocalDateTime> expected =
+          naiveOccurrences(RecurrenceRule.parse(rule.toString()), start, rangeStart, rangeEnd);
+      assertEquals(expected, compiled.getOccurrences(start, rangeStart, rangeEnd),
+          rule + " from " + start + " in " + rangeStart + "/" + rangeEnd);
+      assertEquals(!expected.isEmpty(), compiled.occursInRange(start, rangeStart, rangeEnd));
+    }
+  }
+
+  private static void appendNumbers(Random random, StringBuilder rule, String name, int max,
+      boolean negative, int odds) {
+    if (random.nextInt(odds) != 0) {
+      return;
+    }
+    StringJoiner numbers = new StringJoiner(",");
+    for (int i = random.nextInt(3); i >= 0; i--) {
+      int number = (name.equals("BYHOUR") || name.equals("BYMINUTE") ? 0 : 1)
+          + random.nextInt(name.equals("BYHOUR") || name.equals("BYMINUTE") ? max + 1 : max);
+      numbers.add(String.valueOf(negative && random.nextInt(3) == 0 ? -number : number));
+    }
+    rule.append(';').append(name).append('=').append(numbers);
+  }
+
+  /**
+   * Walks every day from the start of the first period, checking each one against the rule and
+   * grouping them by period for BYSETPOS.
+   */
+  private static List<LocalDateTime> naiveOccurrences(RecurrenceRule rule, LocalDateTime start,
+      LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+    DayOfWeek weekStart = rule.getWkst() != null ? DayOfWeek.values()[rule.getWkst().ordinal()]
+        : DayOfWeek.MONDAY;
+    LocalDate startDate = start.toLocalDate();
+    LocalDate day = switch (rule.getFreq()) {
+      case DAILY -> startDate;
+      case WEEKLY -> startDate.with(TemporalAdjusters.previousOrSame(weekStart));
+      case MONTHLY -> startDate.withDayOfMonth(1);
+      case YEARLY -> startDate.withDayOfYear(1);
+    };
+    LocalDateTime until = rule.getUntil() == null ? null
+        : rule.getUntil().getDate().atTime(rule.getUntil().getTime() != null
+            ? rule.getUntil().getTime() : LocalTime.MAX);
+    int interval = rule.getInterval() != null ? rule.getInterval() : 1;
+
+    List<LocalDateTime> occurrences = new ArrayList<>();
+    List<LocalDateTime> period = new ArrayList<>();
+    long periodKey = 0;
+    int count = 0;
+    LocalDate last = rangeEnd.toLocalDate().plusYears(1);
+    for (; !day.isAfter(last); day = day.plusDays(1)) {
+      long key = switch (rule.getFreq()) {
+        case DAILY -> ChronoUnit.DAYS.between(startDate, day);
+        case WEEKLY -> ChronoUnit.DAYS.between(
+            startDate.with(TemporalAdjusters.previousOrSame(weekStart)), day) / 7;
+        case MONTHLY -> (day.getYear() - startDate.getYear()) * 12L + day.getMonthValue()
+            - startDate.getMonthValue();
+        case YEARLY -> day.getYear() - startDate.getYear();
+      };
+      if (key != periodKey) {
+        for (LocalDateTime occurrence : selectPositions(rule, period)) {
+          if (occurrence.isBefore(start)) {
+            continue;
+          }
+          if (until != null && occurrence.isAfter(until)
+              || rule.getCount() != null && count >= rule.getCount()
+              || !occurrence.isBefore(rangeEnd)) {
+            return occurrences;
+          }
+          count++;
+          if (!occurrence.isBefore(rangeStart)) {
+            occurrences.add(occurrence);
+          }
+        }
+        period.clear();
+        periodKey = key;
+      }
+      if (key % interval == 0 && matches(rule, start, day, weekStart)) {
+        TreeSet<LocalTime> times = new TreeSet<>();
+        for (int hour : orDefault(rule.getByHour(), start.getHour())) {
+          for (int minute : orDefault(rule.getByMinute(), start.getMinute())) {
+            times.add(LocalTime.of(hour, minute, start.getSecond()));
+          }
+        }
+        for (LocalTime time : times) {
+          period.add(day.atTime(time));
+        }
+      }
+    }
+    return occurrences;
+  }
+
+  private static List<Integer> orDefault(List<Integer> values, int defaultValue) {
+    return values != null && !values.isEmpty() ? values : List.of(defaultValue);
+  }
+
+  private static List<LocalDateTime> selectPositions(RecurrenceRule rule,
+      List<LocalDateTime> period) {
+    if (rule.getBySetPos() == null) {
+      return period;
+    }
+    TreeSet<LocalDateTime> selected = new TreeSet<>();
+    for (int position : rule.getBySetPos()) {
+      int index = position > 0 ? position - 1 : period.size() + position;
+      if (index >= 0 && index < period.size()) {
+        selected.add(period.get(index));
+      }
+    }
+    return new ArrayList<>(selected);
+  }
+
+  private static boolean matches(RecurrenceRule rule, LocalDateTime start, LocalDate day,
+      DayOfWeek weekStart) {
+    List<Integer> byMonth = rule.getByMonth();
+    List<Integer> byMonthDay = rule.getByMonthDay();
+    List<Day> byDay = rule.getByDay();
+    List<OrdinalDay> byOrdinalDay = rule.getByOrdinalDay();
+    if (rule.getByWeekNo() == null && rule.getByYearDay() == null && byMonthDay == null
+        && byDay == null && byOrdinalDay == null) {
+      // the defaults of RFC 5545
+      switch (rule.getFreq()) {
+        case YEARLY -> {
+          byMonth = byMonth != null ? byMonth : List.of(start.getMonthValue());
+          byMonthDay = List.of(start.getDayOfMonth());
+        }
+        case MONTHLY -> byMonthDay = List.of(start.getDayOfMonth());
+        case WEEKLY -> byDay = List.of(Day.values()[start.getDayOfWeek().ordinal()]);
+        case DAILY -> {
+        }
+      }
+    }
+    if (byMonth != null && !byMonth.contains(day.getMonthValue())) {
+      return false;
+    }
+    if ((byDay != null || byOrdinalDay != null)
+        && !matchesDay(rule, byDay, byOrdinalDay, day)) {
+      return false;
+    }
+    if (byMonthDay != null && !byMonthDay.contains(day.getDayOfMonth())
+        && !byMonthDay.contains(day.getDayOfMonth() - day.lengthOfMonth() - 1)) {
+      return false;
+    }
+    if (rule.getByYearDay() != null && !rule.getByYearDay().contains(day.getDayOfYear())
+        && !rule.getByYearDay().contains(day.getDayOfYear() - day.lengthOfYear() - 1)) {
+      return false;
+    }
+    if (rule.getByWeekNo() != null) {
+      WeekFields weekFields = WeekFields.of(weekStart, 4);
+      int week = day.get(weekFields.weekOfWeekBasedYear());
+      int weeks = (int) day.range(weekFields.weekOfWeekBasedYear()).getMaximum();
+      return rule.getByWeekNo().contains(week) || rule.getByWeekNo().contains(week - weeks - 1);
+    }
+    return true;
+  }
+
+  private static boolean matchesDay(RecurrenceRule rule, List<Day> byDay,
+      List<OrdinalDay> byOrdinalDay, LocalDate day) {
+    Day dayOfWeek = Day.values()[day.getDayOfWeek().ordinal()];
+    if (byDay != null && byDay.contains(dayOfWeek)) {
+      return true;
+    }
+    if (byOrdinalDay == null) {
+      return false;
+    }
+    // the days of the week of the month, or of the year without BYMONTH
+    boolean inMonth = rule.getFreq() == RecurrenceRule.Frequency.MONTHLY
+        || rule.getByMonth() != null;
+    LocalDate first = inMonth ? day.withDayOfMonth(1) : day.withDayOfYear(1);
+    LocalDate last = inMonth ? day.withDayOfMonth(day.lengthOfMonth())
+        : day.withDayOfYear(day.lengthOfYear());
+    List<LocalDate> sameDays = new ArrayList<>();
+    for (LocalDate date = first; !date.isAfter(last); date = date.plusDays(1)) {
+      if (date.getDayOfWeek() == day.getDayOfWeek()) {
+        sameDays.add(date);
+      }
+    }
+    int index = sameDays.indexOf(day);
+    return byOrdinalDay.contains(new OrdinalDay(index + 1, dayOfWeek))
+        || byOrdinalDay.contains(new OrdinalDay(index - sameDays.size(), dayOfWeek));
+  }
+
+  private static List<LocalDateTime> dates(String... dates) {
+    List<LocalDateTime> result = new ArrayList<>();
+    for (String date : dates) {
+      result.add(LocalDateTime.parse(date));
+    }
+    return result;
+  }
+}
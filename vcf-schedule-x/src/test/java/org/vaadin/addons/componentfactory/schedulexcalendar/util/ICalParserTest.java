@@ -0,0 +1,219 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.Event;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.RecurrenceRule.Frequency;
+
+class ICalParserTest {
+
+  private static final ZoneId HELSINKI = ZoneId.of("Europe/Helsinki");
+
+  private static String calendar(String... events) {
+    StringBuilder iCal = new StringBuilder("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n");
+    for (String event : events) {
+      iCal.append("BEGIN:VEVENT\r\n").append(event).append("END:VEVENT\r\n");
+    }
+    return iCal.append("END:VCALENDAR\r\n").toString();
+  }
+
+  @Test
+  void testParseEvent() {
+    List<Event> events = ICalParser.parse(calendar("""
+        UID:e1
+        SUMMARY:Trip to 900 Jay St.\\, Brooklyn
+        DESCRIPTION:First line\\nsecond
+         line
+        DTSTART;TZID=America/New_York:20250506T103400
+        DTEND;TZID=America/New_York:20250506T110400
+        """), HELSINKI);
+
+    assertEquals(1, events.size());
+    Event event = events.get(0);
+    assertEquals("e1", event.getId());
+    assertEquals("Trip to 900 Jay St., Brooklyn", event.getTitle());
+    assertEquals("First line\nsecondline", event.getDescription());
+    assertEquals(LocalDateTime.of(2025, 5, 6, 17, 34), event.getStart());
+    assertEquals(LocalDateTime.of(2025, 5, 6, 18, 4), event.getEnd());
+    assertTrue(event.getOptions().getDisableDND());
+    assertTrue(event.getOptions().getDisableResize());
+  }
+
+  @Test
+  void testUtcAndFloatingDateTimes() {
+    List<Event> events = ICalParser.parse(calendar("""
+        UID:utc
+        DTSTART:20250106T080000Z
+        DURATION:PT1H30M
+        """, """
+        UID:floating
+        DTSTART:20250106T080000
+        """), HELSINKI);
+
+    assertEquals(LocalDateTime.of(2025, 1, 6, 10, 0), events.get(0).getStart());
+    assertEquals(LocalDateTime.of(2025, 1, 6, 11, 30), events.get(0).getEnd());
+    assertEquals(LocalDateTime.of(2025, 1, 6, 8, 0), events.get(1).getStart());
+    assertEquals(LocalDateTime.of(2025, 1, 6, 8, 0), events.get(1).getEnd());
+  }
+
+  @Test
+  void testAllDayEvents() {
+    List<Event> events = ICalParser.parse(calendar("""
+        UID:day
+        DTSTART;VALUE=DATE:20250106
+        DTEND;VALUE=DATE:20250107
+        """, """
+        UID:days
+        DTSTART;VALUE=DATE:20250106
+        DURATION:P1W
+        """), HELSINKI);
+
+    assertEquals(LocalDateTime.of(2025, 1, 6, 0, 0), events.get(0).getStart());
+    assertEquals(LocalDateTime.of(2025, 1, 6, 23, 59), events.get(0).getEnd());
+    assertEquals(LocalDateTime.of(2025, 1, 12, 23, 59), events.get(1).getEnd());
+  }
+
+  @Test
+  void testRecurringEventWithExceptions() {
+    List<Event> events = ICalParser.parse(calendar("""
+        UID:daily
+        DTSTART:20250106T080000
+        DTEND:20250106T090000
+        RRULE:FREQ=DAILY;COUNT=5
+        EXDATE:20250107T080000
+        """, """
+        UID:daily
+        RECURRENCE-ID:20250108T080000
+        DTSTART:20250108T100000
+        DTEND:20250108T110000
+        """), HELSINKI);
+
+    assertEquals(2, events.size());
+    Event recurring = events.get(0);
+    assertEquals(Frequency.DAILY, recurring.getRecurrenceRule().getFreq());
+    assertEquals(List.of(LocalDateTime.of(2025, 1, 7, 8, 0), LocalDateTime.of(2025, 1, 8, 8, 0)),
+        recurring.getExcludedDates());
+    Event moved = events.get(1);
+    assertEquals("daily_20250108T080000", moved.getId());
+    assertNull(moved.getRecurrenceRule());
+    assertEquals(LocalDateTime.of(2025, 1, 8, 10, 0), moved.getStart());
+  }
+
+  @Test
+  void testCancelledAndInvalidEventsAreSkipped() {
+    List<Event> events = ICalParser.parse(calendar("""
+        UID:cancelled
+        STATUS:CANCELLED
+        DTSTART:20250106T080000
+        """, """
+        UID:invalid
+        DTSTART:not a date
+        """, """
+        DTSTART:20250106T080000
+        RRULE:FREQ=WEEKLY;BYDAY=-1MO
+        """, """
+        UID:short-until
+        DTSTART:20250106T080000
+        RRULE:FREQ=DAILY;UNTIL=2025
+        """), HELSINKI);
+
+    // the unsupported or malformed rules are dropped, the events are kept
+    assertEquals(2, events.size());
+    assertEquals("ical-3", events.get(0).getId());
+    assertNull(events.get(0).getRecurrenceRule());
+    assertEquals("short-until", events.get(1).getId());
+    assertNull(events.get(1).getRecurrenceRule());
+  }
+
+  @Test
+  void testPropertiesOfNestedComponentsAreIgnored() {
+    List<Event> events = ICalParser.parse(calendar("""
+        UID:alarmed
+        DESCRIPTION:Meeting
+        DTSTART:20250106T080000
+        BEGIN:VALARM
+        ACTION:DISPLAY
+        DESCRIPTION:Reminder
+        TRIGGER:-PT15M
+        END:VALARM
+        DTEND:20250106T090000
+        EXDATE:20250107T080000
+        EXDATE:20250108T080000
+        """), HELSINKI);
+
+    assertEquals(1, events.size());
+    Event event = events.get(0);
+    assertEquals("Meeting", event.getDescription());
+    assertEquals(LocalDateTime.of(2025, 1, 6, 9, 0), event.getEnd());
+    assertEquals(List.of(LocalDateTime.of(2025, 1, 7, 8, 0), LocalDateTime.of(2025, 1, 8, 8, 0)),
+        event.getExcludedDates());
+  }
+
+  @Test
+  void testNonIanaTimeZones() {
+    String iCal = """
+        BEGIN:VCALENDAR
+        VERSION:2.0
+        BEGIN:VTIMEZONE
+        TZID:Custom Berlin
+        X-LIC-LOCATION:Europe/Berlin
+        BEGIN:STANDARD
+        TZOFFSETFROM:+0200
+        TZOFFSETTO:+0100
+        END:STANDARD
+        END:VTIMEZONE
+        BEGIN:VEVENT
+        UID:windows
+        DTSTART;TZID=W. Europe Standard Time:20250106T080000
+        END:VEVENT
+        BEGIN:VEVENT
+        UID:mozilla
+        DTSTART;TZID=/mozilla.org/20050126_1/Europe/Berlin:20250106T080000
+        END:VEVENT
+        BEGIN:VEVENT
+        UID:vtimezone
+        DTSTART;TZID=Custom Berlin:20250106T080000
+        RRULE:FREQ=DAILY;COUNT=3
+        END:VEVENT
+        BEGIN:VEVENT
+        UID:vtimezone
+        RECURRENCE-ID;TZID=Custom Berlin:20250107T080000
+        DTSTART;TZID=Custom Berlin:20250107T100000
+        END:VEVENT
+        BEGIN:VEVENT
+        UID:unknown
+        DTSTART;TZID=Nowhere Standard Time:20250106T080000
+        END:VEVENT
+        END:VCALENDAR
+        """;
+
+    List<Event> events = ICalParser.parse(iCal, HELSINKI);
+
+    assertEquals(5, events.size());
+    assertEquals(LocalDateTime.of(2025, 1, 6, 9, 0), events.get(0).getStart());
+    assertEquals(LocalDateTime.of(2025, 1, 6, 9, 0), events.get(1).getStart());
+    assertEquals(LocalDateTime.of(2025, 1, 6, 9, 0), events.get(2).getStart());
+    assertEquals(List.of(LocalDateTime.of(2025, 1, 7, 9, 0)), events.get(2).getExcludedDates());
+    // the time zone cannot be resolved, the date time is kept floating
+    assertEquals(LocalDateTime.of(2025, 1, 6, 8, 0), events.get(3).getStart());
+    assertEquals(LocalDateTime.of(2025, 1, 7, 11, 0), events.get(4).getStart());
+  }
+}
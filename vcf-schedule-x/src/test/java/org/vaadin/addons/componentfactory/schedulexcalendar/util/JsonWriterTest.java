@@ -0,0 +1,63 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import org.junit.jupiter.api.Test;
+
+class JsonWriterTest {
+
+  private static final String SPECIAL =
+      "quote \" backslash \\ tab \t newline \n \u0001 \u00ad \u2028 \u200e \u00e9";
+
+  @Test
+  void testOutputMatchesElemental() {
+    JsonObject expected = Json.createObject();
+    expected.put("text", SPECIAL);
+    expected.put("integer", 42);
+    expected.put("decimal", 1.5);
+    expected.put("large", 1e21);
+    expected.put("flag", false);
+    JsonArray array = Json.createArray();
+    array.set(0, "a");
+    array.set(1, Json.createObject());
+    expected.put("array", array);
+    JsonObject nested = Json.createObject();
+    nested.put("empty", Json.createArray());
+    expected.put("nested", nested);
+
+    JsonWriter writer = new JsonWriter().beginObject();
+    writer.name("text").value(SPECIAL);
+    writer.optional("integer", Integer.valueOf(42));
+    writer.name("decimal").value(1.5);
+    writer.name("large").value(1e21);
+    writer.optional("flag", Boolean.FALSE);
+    writer.optional("skipped", (String) null);
+    writer.name("array").beginArray().value("a").beginObject().endObject().endArray();
+    writer.name("nested").beginObject().name("empty").beginArray().endArray().endObject();
+    writer.endObject();
+
+    assertEquals(expected.toJson(), writer.toString());
+  }
+
+  @Test
+  void testRawValuesAreSeparated() {
+    JsonWriter writer = new JsonWriter().beginArray();
+    writer.rawValue("{\"id\":\"1\"}").rawValue("{\"id\":\"2\"}");
+    assertEquals("[{\"id\":\"1\"},{\"id\":\"2\"}]", writer.endArray().toString());
+  }
+}
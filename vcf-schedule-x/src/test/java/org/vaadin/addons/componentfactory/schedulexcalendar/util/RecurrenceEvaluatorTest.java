@@ -0,0 +1,208 @@
+/*
+ * Copyright 2025 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.vaadin.addons.componentfactory.schedulexcalendar.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.RecurrenceRule;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.RecurrenceRule.Day;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.RecurrenceRule.Frequency;
+import org.vaadin.addons.componentfactory.schedulexcalendar.model.RecurrenceRule.Until;
+
+class RecurrenceEvaluatorTest {
+
+  @Test
+  void testWeeklyByDay() {
+    RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,FR");
+    // Wednesday
+    LocalDate start = LocalDate.of(2025, 1, 1);
+
+    assertEquals(
+        List.of(LocalDate.of(2025, 1, 3), LocalDate.of(2025, 1, 13), LocalDate.of(2025, 1, 17)),
+        RecurrenceEvaluator.getOccurrences(rule, start, start, LocalDate.of(2025, 1, 20)));
+  }
+
+  @Test
+  void testMonthlySkipsMissingDays() {
+    RecurrenceRule rule = RecurrenceRule.parse("FREQ=MONTHLY;COUNT=3");
+    LocalDate start = LocalDate.of(2025, 1, 31);
+
+    assertEquals(
+        List.of(LocalDate.of(2025, 1, 31), LocalDate.of(2025, 3, 31), LocalDate.of(2025, 5, 31)),
+        RecurrenceEvaluator.getOccurrences(rule, start, start, LocalDate.of(2026, 1, 1)));
+  }
+
+  @Test
+  void testLastDayOfMonth() {
+    RecurrenceRule rule = RecurrenceRule.parse("FREQ=MONTHLY;BYMONTHDAY=-1");
+    LocalDate start = LocalDate.of(2024, 1, 10);
+
+    assertEquals(List.of(LocalDate.of(2024, 2, 29)), RecurrenceEvaluator.getOccurrences(rule,
+        start, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 3, 1)));
+  }
+
+  @Test
+  void testCountIsReachedBeforeRange() {
+    RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY;COUNT=10;BYDAY=MO");
+    LocalDate start = LocalDate.of(2025, 1, 6);
+
+    assertTrue(RecurrenceEvaluator.occursInRange(rule, start, LocalDate.of(2025, 3, 10),
+        LocalDate.of(2025, 3, 11)));
+    assertFalse(RecurrenceEvaluator.occursInRange(rule, start, LocalDate.of(2025, 3, 17),
+        LocalDate.of(2025, 3, 18)));
+  }
+
+  @Test
+  void testUnboundedRuleWithoutOccurrenceInRangeTerminates() {
+    RecurrenceRule rule = RecurrenceRule.parse("FREQ=YEARLY");
+    LocalDate start = LocalDate.of(2000, 6, 1);
+
+    assertFalse(RecurrenceEvaluator.occursInRange(rule, start, LocalDate.of(2025, 1, 1),
+        LocalDate.of(2025, 2, 1)));
+  }
+
+  @Test
+  void testOldSeriesJumpsToRange() {
+    RecurrenceRule daily = RecurrenceRule.parse("FREQ=DAILY;COUNT=5000000");
+    RecurrenceRule weekly = RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO,WE,FR");
+    LocalDate start = LocalDate.of(1900, 1, 1);
+    LocalDate rangeStart = LocalDate.of(2025, 3, 3);
+
+    assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+      for (int i = 0; i < 10_000; i++) {
+        assertTrue(RecurrenceEvaluator.occursInRange(daily, start, rangeStart,
+            rangeStart.plusDays(1)));
+        assertTrue(RecurrenceEvaluator.occursInRange(weekly, start, rangeStart,
+            rangeStart.plusDays(1)));
+      }
+    });
+  }
+
+  @Test
+  void testMatchesNaiveEvaluation() {
+    Random random = new Random(17);
+    Frequency[] frequencies = Frequency.values();
+    Day[] days = Day.values();
+    for (int i = 0; i < 20_000; i++) {
+      RecurrenceRule rule = new RecurrenceRule(frequencies[random.nextInt(frequencies.length)]);
+      if (random.nextBoolean()) {
+        rule.setInterval(1 + random.nextInt(4));
+      }
+      if (random.nextInt(3) == 0) {
+        rule.setCount(1 + random.nextInt(60));
+      }
+      LocalDate start = LocalDate.of(2020, 1, 1).plusDays(random.nextInt(1500));
+      if (random.nextInt(3) == 0) {
+        rule.setUntil(new Until(start.plusDays(random.nextInt(1000))));
+      }
+      if (random.nextInt(3) == 0) {
+        List<Day> byDay = new ArrayList<>();
+        for (Day day : days) {
+          if (random.nextInt(3) == 0) {
+            byDay.add(day);
+          }
+        }
+        rule.setByDay(byDay);
+      }
+      if (random.nextInt(3) == 0) {
+        List<Integer> byMonthDay = new ArrayList<>();
+        for (int j = random.nextInt(3); j >= 0; j--) {
+          int day = 1 + random.nextInt(31);
+          byMonthDay.add(random.nextInt(4) == 0 ? -day : day);
+        }
+        rule.setByMonthDay(byMonthDay);
+      }
+      if (random.nextBoolean()) {
+        rule.setWkst(days[random.nextInt(days.length)]);
+      }
+      LocalDate rangeStart = start.plusDays(random.nextInt(1200) - 100);
+      LocalDate rangeEnd = rangeStart.plusDays(1 + random.nextInt(random.nextBoolean() ? 10 : 400));
+
+      List<LocalDate> expected = naiveOccurrences(rule, start, rangeStart, rangeEnd);
+      assertEquals(expected,
+          RecurrenceEvaluator.getOccurrences(rule, start, rangeStart, rangeEnd),
+          () -> rule.getFreq() + " " + rule.getByDay() + " " + rule.getByMonthDay() + " "
+              + rule.getCount() + " " + start + " " + rangeStart + "/" + rangeEnd);
+      assertEquals(!expected.isEmpty(),
+          RecurrenceEvaluator.occursInRange(rule, start, rangeStart, rangeEnd));
+    }
+  }
+
+  /**
+   * Walks every day from the start date, checking each one against the rule.
+   */
+  private static List<LocalDate> naiveOccurrences(RecurrenceRule rule, LocalDate start,
+      LocalDate rangeStart, LocalDate rangeEnd) {
+    List<LocalDate> occurrences = new ArrayList<>();
+    int count = 0;
+    for (LocalDate date = start; date.isBefore(rangeEnd); date = date.plusDays(1)) {
+      if (rule.getUntil() != null && date.isAfter(rule.getUntil().getDate())
+          || rule.getCount() != null && count >= rule.getCount()) {
+        break;
+      }
+      if (matches(rule, start, date)) {
+        count++;
+        if (!date.isBefore(rangeStart)) {
+          occurrences.add(date);
+        }
+      }
+    }
+    return occurrences;
+  }
+
+  private static boolean matches(RecurrenceRule rule, LocalDate start, LocalDate date) {
+    int interval = rule.getInterval() != null ? rule.getInterval() : 1;
+    boolean byDay = rule.getByDay() != null && !rule.getByDay().isEmpty();
+    boolean byMonthDay = rule.getByMonthDay() != null && !rule.getByMonthDay().isEmpty();
+    boolean dayMatches = !byDay
+        || rule.getByDay().contains(Day.values()[date.getDayOfWeek().ordinal()]);
+    boolean monthDayMatches = !byMonthDay
+        || rule.getByMonthDay().contains(date.getDayOfMonth())
+        || rule.getByMonthDay().contains(date.getDayOfMonth() - date.lengthOfMonth() - 1);
+    switch (rule.getFreq()) {
+      case DAILY:
+        return ChronoUnit.DAYS.between(start, date) % interval == 0 && dayMatches
+            && monthDayMatches;
+      case WEEKLY:
+        DayOfWeek weekStart = rule.getWkst() != null
+            ? DayOfWeek.values()[rule.getWkst().ordinal()] : DayOfWeek.MONDAY;
+        long weeks = ChronoUnit.DAYS.between(
+            start.with(TemporalAdjusters.previousOrSame(weekStart)), date) / 7;
+        return weeks % interval == 0 && monthDayMatches
+            && (byDay || byMonthDay ? dayMatches : date.getDayOfWeek() == start.getDayOfWeek());
+      case MONTHLY:
+        long months = (date.getYear() - start.getYear()) * 12L + date.getMonthValue()
+            - start.getMonthValue();
+        return months % interval == 0 && (byMonthDay ? monthDayMatches && dayMatches
+            : byDay ? dayMatches : date.getDayOfMonth() == start.getDayOfMonth());
+      default:
+        return (date.getYear() - start.getYear()) % interval == 0
+            && (byMonthDay ? monthDayMatches && dayMatches
+                : byDay ? dayMatches
+                    : date.getMonth() == start.getMonth()
+                        && date.getDayOfMonth() == start.getDayOfMonth());
+    }
+  }
+}